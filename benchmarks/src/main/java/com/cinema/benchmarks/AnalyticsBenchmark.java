@@ -0,0 +1,87 @@
+package com.cinema.benchmarks;
+
+import com.cinema.analytics.OccupancyAnalytics;
+import com.cinema.models.Cinema;
+import com.cinema.models.Room;
+import com.cinema.models.Seance;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Analyse de remplissage d'une chaîne selon le nombre de threads du pool fork-join :
+ * le temps doit baisser avec le nombre de cœurs disponibles.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AnalyticsBenchmark {
+
+    @Param({"1", "2", "4", "8"})
+    public int threads;
+
+    @Param({"10000", "100000"})
+    public int seances;
+
+    private static final int CINEMAS = 20;
+    private static final int ROOMS_PER_CINEMA = 10;
+
+    private List<Cinema> chain;
+    private ForkJoinPool pool;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        char[][] layout = Fixtures.layout(15, 24);
+        // Une séance remplie à 60 % sert de modèle : les autres reprennent son bitset
+        Room model = new Room("Modèle", layout);
+        Seance filled = Fixtures.seance(model);
+        Fixtures.fill(filled, layout, 60);
+        long[] occupancy = filled.exportOccupancy();
+
+        chain = new ArrayList<>();
+        int perRoom = Math.max(1, seances / (CINEMAS * ROOMS_PER_CINEMA));
+        for (int c = 0; c < CINEMAS; c++) {
+            Cinema cinema = new Cinema("Cinéma " + c);
+            for (int r = 0; r < ROOMS_PER_CINEMA; r++) {
+                Room room = new Room("Salle " + r, layout);
+                List<Seance> added = new ArrayList<>(perRoom);
+                for (int s = 0; s < perRoom; s++) {
+                    Seance seance = new Seance((1 + s / 14 % 28) + "/12/2025", (10 + s % 14) + "h00", "Film " + (s % 40), room);
+                    seance.restoreOccupancy(occupancy);
+                    added.add(seance);
+                }
+                room.addSeances(added);
+                cinema.addRoom(room);
+            }
+            chain.add(cinema);
+        }
+        pool = new ForkJoinPool(threads);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        pool.shutdown();
+    }
+
+    @Benchmark
+    public OccupancyAnalytics analyzeChain() {
+        return OccupancyAnalytics.of(chain, pool);
+    }
+}
@@ -0,0 +1,52 @@
+package com.cinema.benchmarks;
+
+import com.cinema.enums.SeatType;
+import com.cinema.models.Room;
+import com.cinema.models.Seance;
+import com.cinema.utils.RoomBuilder;
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Meilleur bloc de six places dans une grande salle en arc (120 x 160) dont une rangée
+ * sur deux est entamée d'un siège sur trois : les rangées du centre ne suffisent pas
+ * toutes, la recherche doit s'en écarter.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class BestBlockBenchmark {
+
+    private Seance seance;
+
+    @Setup
+    public void setUp() throws Seance.SeatReservationException {
+        char[][] layout = RoomBuilder.createArched(120, 160);
+        seance = Fixtures.seance(new Room("Salle Benchmark", layout));
+        for (int row = 0; row < layout.length; row += 2) {
+            for (int col = 0; col < layout[row].length; col += 3) {
+                if (layout[row][col] == '0') {
+                    seance.reserve(new int[]{row, col}, SeatType.NORMAL);
+                }
+            }
+        }
+    }
+
+    @Benchmark
+    public ArrayList<int[]> findBestBlock() {
+        return seance.findBestBlock(6, SeatType.NORMAL);
+    }
+}
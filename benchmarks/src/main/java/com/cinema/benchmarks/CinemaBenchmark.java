@@ -0,0 +1,60 @@
+package com.cinema.benchmarks;
+
+import com.cinema.models.Cinema;
+import com.cinema.models.Room;
+import com.cinema.models.Seance;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Totaux d'un cinéma selon le nombre de salles, de séances et le remplissage.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CinemaBenchmark {
+
+    @Param({"1", "10", "50"})
+    public int rooms;
+
+    @Param({"4", "20"})
+    public int seancesPerRoom;
+
+    @Param({"0", "50", "95"})
+    public int occupancyPercent;
+
+    private Cinema cinema;
+
+    @Setup
+    public void setUp() {
+        cinema = new Cinema("Cinéma Benchmark");
+        char[][] layout = Fixtures.layout(15, 24);
+        for (int r = 0; r < rooms; r++) {
+            Room room = new Room("Salle " + r, layout);
+            for (int s = 0; s < seancesPerRoom; s++) {
+                Seance seance = Fixtures.seance(room);
+                Fixtures.fill(seance, layout, occupancyPercent);
+                room.addSeance(seance);
+            }
+            cinema.addRoom(room);
+        }
+    }
+
+    @Benchmark
+    public int getTotalReservations() {
+        return cinema.getTotalReservations();
+    }
+}
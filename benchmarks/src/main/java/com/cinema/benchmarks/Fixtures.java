@@ -0,0 +1,113 @@
+package com.cinema.benchmarks;
+
+import com.cinema.enums.SeatType;
+import com.cinema.models.Person;
+import com.cinema.models.Reservation;
+import com.cinema.models.Room;
+import com.cinema.models.Seance;
+import com.cinema.utils.RoomBuilder;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Salles et séances de test partagées par les benchmarks.
+ * Les tirages utilisent une graine fixe : deux exécutions mesurent le même état.
+ */
+final class Fixtures {
+    static final long SEED = 42L;
+
+    private Fixtures() {
+    }
+
+    /**
+     * Salle de {@code rows} rangées avec deux allées : la première rangée est PMR,
+     * la deuxième en places doubles, les autres en sièges normaux.
+     */
+    static char[][] layout(int rows, int columns) {
+        RoomBuilder builder = new RoomBuilder();
+        for (int r = 0; r < rows; r++) {
+            StringBuilder pattern = new StringBuilder();
+            for (int c = 0; c < columns; c++) {
+                if (c == columns / 4 || c == columns - 1 - columns / 4) {
+                    pattern.append('X');
+                } else if (r == 0) {
+                    pattern.append('P');
+                } else if (r == 1) {
+                    boolean pairFits = c + 1 < columns && c + 1 != columns / 4 && c + 1 != columns - 1 - columns / 4;
+                    if (pairFits) {
+                        pattern.append("Dx");
+                        c++;
+                    } else {
+                        pattern.append('0');
+                    }
+                } else {
+                    pattern.append('0');
+                }
+            }
+            builder.addRow(0, pattern.toString());
+        }
+        return builder.build();
+    }
+
+    static SeatType typeAt(char[][] layout, int row, int col) {
+        switch (layout[row][col]) {
+            case '0':
+                return SeatType.NORMAL;
+            case 'P':
+                return SeatType.PMR;
+            case 'D':
+                return SeatType.DOUBLE;
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * Tous les sièges réservables du plan, mélangés.
+     */
+    static List<int[]> shuffledSeats(char[][] layout) {
+        List<int[]> seats = new ArrayList<>();
+        for (int r = 0; r < layout.length; r++) {
+            for (int c = 0; c < layout[r].length; c++) {
+                if (typeAt(layout, r, c) != null) {
+                    seats.add(new int[]{r, c});
+                }
+            }
+        }
+        Collections.shuffle(seats, new Random(SEED));
+        return seats;
+    }
+
+    /**
+     * Remplit la séance jusqu'au pourcentage demandé, une réservation d'une personne par siège.
+     *
+     * @return Les sièges restés libres.
+     */
+    static List<int[]> fill(Seance seance, char[][] layout, int occupancyPercent) {
+        List<int[]> seats = shuffledSeats(layout);
+        int target = seats.size() * occupancyPercent / 100;
+        List<int[]> free = new ArrayList<>();
+        for (int i = 0; i < seats.size(); i++) {
+            int[] seat = seats.get(i);
+            if (i >= target) {
+                free.add(seat);
+                continue;
+            }
+            Person holder = new Person("Client", "N" + i);
+            holder.assignSeat(seat[0], seat[1]);
+            Reservation reservation = new Reservation(holder);
+            try {
+                seance.reserveGroup(reservation, List.of(typeAt(layout, seat[0], seat[1])));
+            } catch (Seance.SeatReservationException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+        return free;
+    }
+
+    static Seance seance(Room room) {
+        return new Seance("10/12/2025", "20h00", "Benchmark", room);
+    }
+}
@@ -0,0 +1,80 @@
+package com.cinema.benchmarks;
+
+import com.cinema.enums.SeatType;
+import com.cinema.holds.SeatHolds;
+import com.cinema.holds.TimerWheel;
+import com.cinema.models.Room;
+import com.cinema.models.Seance;
+import com.cinema.models.SeatHold;
+import com.cinema.utils.RoomBuilder;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Retenues prises puis rendues par 4 threads sur une même séance. Rendre une retenue
+ * suit le même chemin que son expiration (sièges rendus, retenue désinscrite,
+ * observateurs prévenus), sans attendre le tic de la roue. Les retenues ont une durée
+ * d'une seconde : la roue purge en parallèle celles déjà rendues, comme en service.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(4)
+@State(Scope.Benchmark)
+public class HoldsBenchmark {
+    private static final int COLUMNS = 200;
+    private static final Duration TTL = Duration.ofSeconds(1);
+
+    private SeatHolds holds;
+    private Seance seance;
+    private final AtomicInteger rows = new AtomicInteger();
+
+    /**
+     * Rangée propre à chaque thread : les threads ne se disputent que la séance.
+     */
+    @State(Scope.Thread)
+    public static class Seat {
+        int row = -1;
+        int col;
+    }
+
+    @Setup
+    public void setUp() {
+        holds = new SeatHolds(TimerWheel.start(Duration.ofMillis(10), 512), Clock.systemUTC());
+        seance = Fixtures.seance(new Room("Salle Benchmark", RoomBuilder.createRectangular(16, COLUMNS)));
+    }
+
+    @TearDown
+    public void tearDown() {
+        holds.close();
+    }
+
+    @Benchmark
+    public SeatHold holdThenRelease(Seat seat) throws Exception {
+        if (seat.row < 0) {
+            seat.row = rows.getAndIncrement();
+        }
+        int[] position = {seat.row, seat.col};
+        seat.col = (seat.col + 1) % COLUMNS;
+        SeatHold hold = holds.hold(seance, List.of(position), List.of(SeatType.NORMAL), TTL);
+        hold.release();
+        return hold;
+    }
+}
@@ -0,0 +1,45 @@
+package com.cinema.benchmarks;
+
+import com.cinema.ids.BlockIdAllocator;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Identifiants distribués par 16 threads selon la taille des blocs : plus les blocs sont
+ * grands, moins les threads se disputent le compteur commun.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(16)
+@State(Scope.Benchmark)
+public class IdAllocatorBenchmark {
+
+    @Param({"1", "64", "1024"})
+    public int blockSize;
+
+    private BlockIdAllocator allocator;
+
+    @Setup
+    public void setUp() {
+        allocator = new BlockIdAllocator(3, blockSize);
+    }
+
+    @Benchmark
+    public long nextId() {
+        return allocator.nextId();
+    }
+}
@@ -0,0 +1,81 @@
+package com.cinema.benchmarks;
+
+import com.cinema.models.Cinema;
+import com.cinema.models.Room;
+import com.cinema.persistence.BatchImporter;
+import com.cinema.persistence.ReservationExporter;
+import com.cinema.utils.RoomBuilder;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Import du programme d'une chaîne : 100 000 séances réparties sur 50 salles, dans un
+ * cinéma vide à chaque mesure.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ImportBenchmark {
+    private static final int SEANCES = 100_000;
+    private static final int ROOMS = 50;
+
+    private Path dir;
+    private Path file;
+    private Cinema chain;
+
+    @Setup(Level.Trial)
+    public void writeSchedule() throws IOException {
+        dir = Files.createTempDirectory("import-bench");
+        file = dir.resolve("programme.csv");
+        try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            writer.write("salle,date,heure,film\n");
+            for (int i = 0; i < SEANCES; i++) {
+                int slot = i / ROOMS;
+                writer.write("Salle " + (i % ROOMS) + "," + (1 + slot / 80 % 28) + "/" + (1 + slot / 2240 % 12) + "/2026,"
+                        + (10 + slot % 80 / 6) + "h" + (slot % 6) + "0,Film " + (i % 300) + "\n");
+            }
+        }
+    }
+
+    @Setup(Level.Iteration)
+    public void emptyChain() {
+        chain = new Cinema("Chaîne");
+        for (int r = 0; r < ROOMS; r++) {
+            chain.addRoom(new Room("Salle " + r, RoomBuilder.createArched(12, 20)));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(file);
+        Files.deleteIfExists(dir);
+    }
+
+    @Benchmark
+    public BatchImporter.Report importSeances() throws IOException {
+        BatchImporter.Report report = new BatchImporter(chain, ReservationExporter.Format.CSV).importSeances(file);
+        if (report.getApplied() != SEANCES) {
+            throw new IllegalStateException("Import incomplet : " + report);
+        }
+        return report;
+    }
+}
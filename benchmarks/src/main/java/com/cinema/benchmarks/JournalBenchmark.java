@@ -0,0 +1,90 @@
+package com.cinema.benchmarks;
+
+import com.cinema.enums.SeatType;
+import com.cinema.models.Room;
+import com.cinema.models.Seance;
+import com.cinema.persistence.ReservationJournal;
+import com.cinema.utils.RoomBuilder;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Réservations journalisées par 16 threads selon la taille des lots de fsync : plus les
+ * lots sont grands, plus un fsync couvre de réservations.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(16)
+@State(Scope.Benchmark)
+public class JournalBenchmark {
+
+    @Param({"1", "8", "64"})
+    public int batchSize;
+
+    private static final int COLUMNS = 100;
+
+    private Path dir;
+    private ReservationJournal journal;
+    private Seance seance;
+    private final AtomicInteger rows = new AtomicInteger();
+
+    /**
+     * Rangée propre à chaque thread : les threads ne se disputent que le journal.
+     */
+    @State(Scope.Thread)
+    public static class Seat {
+        int row = -1;
+        int col;
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        dir = Files.createTempDirectory("journal-bench");
+        Room room = new Room("Salle", RoomBuilder.createRectangular(64, COLUMNS));
+        seance = new Seance("10/12/2025", "20h00", "Film", room);
+        room.addSeance(seance);
+        journal = new ReservationJournal(dir.resolve("bench.journal"), batchSize, 1_000);
+        journal.watch(seance);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        journal.close();
+        Files.deleteIfExists(dir.resolve("bench.journal"));
+        Files.deleteIfExists(dir);
+    }
+
+    /**
+     * Une prise puis une libération de siège : deux enregistrements par opération.
+     */
+    @Benchmark
+    public void reserveAndCancel(Seat seat) throws Exception {
+        if (seat.row < 0) {
+            seat.row = rows.getAndIncrement();
+        }
+        int[] position = {seat.row, seat.col};
+        seat.col = (seat.col + 1) % COLUMNS;
+        seance.reserve(position, SeatType.NORMAL);
+        seance.cancel(position, SeatType.NORMAL);
+    }
+}
@@ -0,0 +1,81 @@
+package com.cinema.benchmarks;
+
+import com.cinema.enums.SeatType;
+import com.cinema.models.Room;
+import com.cinema.models.Seance;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.ThreadParams;
+
+/**
+ * Tentatives de réservation de 64 threads sur une même séance, avec le moteur d'occupation
+ * par défaut. Chaque thread parcourt tous les sièges dans son propre ordre et rend aussitôt
+ * ceux qu'il obtient ; une tentative sur un siège déjà pris compte aussi comme une opération.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(64)
+@State(Scope.Benchmark)
+public class OccupancyBenchmark {
+    private static final char[][] LAYOUT = Fixtures.layout(30, 40);
+
+    private Seance seance;
+
+    /**
+     * Ordre de passage propre à chaque thread.
+     */
+    @State(Scope.Thread)
+    public static class Claims {
+        int[][] seats;
+        SeatType[] types;
+        int next;
+
+        @Setup
+        public void setUp(ThreadParams params) {
+            List<int[]> shuffled = Fixtures.shuffledSeats(LAYOUT);
+            Collections.shuffle(shuffled, new Random(Fixtures.SEED + params.getThreadIndex()));
+            seats = shuffled.toArray(new int[0][]);
+            types = new SeatType[seats.length];
+            for (int i = 0; i < seats.length; i++) {
+                types[i] = Fixtures.typeAt(LAYOUT, seats[i][0], seats[i][1]);
+            }
+        }
+    }
+
+    @Setup
+    public void setUp() {
+        seance = Fixtures.seance(new Room("Salle Benchmark", LAYOUT));
+    }
+
+    /**
+     * @return true si le siège a été obtenu (puis rendu), false s'il était déjà pris.
+     */
+    @Benchmark
+    public boolean reserveThenCancel(Claims claims) throws Exception {
+        int i = claims.next;
+        claims.next = (i + 1) % claims.seats.length;
+        try {
+            seance.reserve(claims.seats[i], claims.types[i]);
+        } catch (Seance.SeatReservationException e) {
+            return false;
+        }
+        seance.cancel(claims.seats[i], claims.types[i]);
+        return true;
+    }
+}
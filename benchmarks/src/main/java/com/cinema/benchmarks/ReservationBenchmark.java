@@ -0,0 +1,59 @@
+package com.cinema.benchmarks;
+
+import com.cinema.models.Person;
+import com.cinema.models.Reservation;
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Lecture des sièges d'une réservation selon la taille du groupe.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ReservationBenchmark {
+
+    @Param({"1", "4", "12"})
+    public int groupSize;
+
+    private Reservation reservation;
+
+    @Setup
+    public void setUp() {
+        Person holder = new Person("Client", "Titulaire");
+        holder.assignSeat(3, 0);
+        reservation = new Reservation(holder, new ArrayList<>());
+        for (int i = 1; i < groupSize; i++) {
+            reservation.addPersonToReservation(new Person("Invité", "N" + i), new int[]{3, i});
+        }
+    }
+
+    @Benchmark
+    public ArrayList<int[]> getSeats() {
+        return reservation.getSeats();
+    }
+
+    @Benchmark
+    public int[] getPackedSeats() {
+        return reservation.getPackedSeats();
+    }
+
+    @Benchmark
+    public String getSeatString() {
+        return reservation.getSeatString();
+    }
+}
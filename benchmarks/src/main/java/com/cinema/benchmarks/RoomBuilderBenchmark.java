@@ -0,0 +1,57 @@
+package com.cinema.benchmarks;
+
+import com.cinema.utils.RoomBuilder;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Construction des plans de salle.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class RoomBuilderBenchmark {
+
+    @Param({"10", "30", "100"})
+    public int rows;
+
+    @Param({"20", "40", "100"})
+    public int columns;
+
+    private RoomBuilder builder;
+
+    @Setup
+    public void setUp() {
+        builder = new RoomBuilder();
+        for (int r = 0; r < rows; r++) {
+            StringBuilder pattern = new StringBuilder();
+            for (int c = 0; c < columns - r % 3; c++) {
+                pattern.append(c == columns / 2 ? 'X' : '0');
+            }
+            builder.addRow(r % 3, pattern.toString());
+        }
+    }
+
+    @Benchmark
+    public char[][] build() {
+        return builder.build();
+    }
+
+    @Benchmark
+    public char[][] createArched() {
+        return RoomBuilder.createArched(rows, columns);
+    }
+}
@@ -0,0 +1,136 @@
+package com.cinema.benchmarks;
+
+import com.cinema.enums.SeatType;
+import com.cinema.models.Person;
+import com.cinema.models.Reservation;
+import com.cinema.models.Room;
+import com.cinema.models.Seance;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Chemins critiques de {@link Seance} : réservation et annulation de siège,
+ * annulation d'une réservation complète, recherche par siège et meilleur bloc de places.
+ *
+ * Chaque mesure laisse la séance dans son état initial (le siège pris est rendu),
+ * de sorte que le taux d'occupation reste celui du paramètre pendant toute l'itération.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class SeanceBenchmark {
+
+    @Param({"10x20", "30x40", "100x100"})
+    public String roomSize;
+
+    @Param({"0", "50", "95"})
+    public int occupancyPercent;
+
+    @Param({"NORMAL", "PMR", "DOUBLE"})
+    public SeatType seatType;
+
+    private char[][] layout;
+    private Seance seance;
+    private int[][] freeSeats;
+    private int[][] occupiedSeats;
+    private int nextFree;
+    private int nextOccupied;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        String[] size = roomSize.split("x");
+        layout = Fixtures.layout(Integer.parseInt(size[0]), Integer.parseInt(size[1]));
+        seance = Fixtures.seance(new Room("Salle Benchmark", layout));
+        List<int[]> free = Fixtures.fill(seance, layout, occupancyPercent);
+
+        List<int[]> freeOfType = new ArrayList<>();
+        for (int[] seat : free) {
+            if (Fixtures.typeAt(layout, seat[0], seat[1]) == seatType) {
+                freeOfType.add(seat);
+            }
+        }
+        if (freeOfType.isEmpty()) {
+            // Salle pleine pour ce type : on libère un siège pour garder une mesure
+            freeOfType.add(releaseOneOfType());
+        }
+        freeSeats = freeOfType.toArray(new int[0][]);
+
+        List<int[]> occupied = new ArrayList<>();
+        for (int[] seat : Fixtures.shuffledSeats(layout)) {
+            if (seance.findReservationBySeat(seat[0], seat[1]) != null) {
+                occupied.add(seat);
+            }
+        }
+        occupiedSeats = occupied.isEmpty() ? freeSeats : occupied.toArray(new int[0][]);
+    }
+
+    private int[] releaseOneOfType() {
+        for (Reservation reservation : seance.getReservations()) {
+            int[] seat = reservation.getHolder().getSeat();
+            if (Fixtures.typeAt(layout, seat[0], seat[1]) == seatType) {
+                try {
+                    seance.cancelReservation(reservation);
+                } catch (Seance.SeatCancellationException e) {
+                    throw new IllegalStateException(e);
+                }
+                return seat;
+            }
+        }
+        throw new IllegalStateException("Aucun siège de type " + seatType + " dans la salle");
+    }
+
+    private int[] nextFreeSeat() {
+        int[] seat = freeSeats[nextFree];
+        nextFree = (nextFree + 1) % freeSeats.length;
+        return seat;
+    }
+
+    @Benchmark
+    public void reserveThenCancel() throws Exception {
+        int[] seat = nextFreeSeat();
+        seance.reserve(seat, seatType);
+        seance.cancel(seat, seatType);
+    }
+
+    /**
+     * Réservation de groupe suivie de {@code cancelReservation} : le coût inclut
+     * la création de la réservation, l'indexation et la désindexation des sièges.
+     */
+    @Benchmark
+    public void reserveGroupThenCancelReservation() throws Exception {
+        int[] seat = nextFreeSeat();
+        Person holder = new Person("Client", "Benchmark");
+        holder.assignSeat(seat[0], seat[1]);
+        Reservation reservation = new Reservation(holder);
+        seance.reserveGroup(reservation, List.of(seatType));
+        seance.cancelReservation(reservation);
+    }
+
+    @Benchmark
+    public Reservation findReservationBySeat() {
+        int[] seat = occupiedSeats[nextOccupied];
+        nextOccupied = (nextOccupied + 1) % occupiedSeats.length;
+        return seance.findReservationBySeat(seat[0], seat[1]);
+    }
+
+    @Benchmark
+    public ArrayList<int[]> findBestBlock() {
+        return seance.findBestBlock(4, seatType);
+    }
+}
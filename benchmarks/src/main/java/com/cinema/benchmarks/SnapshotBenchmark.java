@@ -0,0 +1,112 @@
+package com.cinema.benchmarks;
+
+import com.cinema.enums.SeatType;
+import com.cinema.models.Cinema;
+import com.cinema.models.Person;
+import com.cinema.models.Reservation;
+import com.cinema.models.Room;
+import com.cinema.models.Seance;
+import com.cinema.persistence.CinemaSnapshot;
+import com.cinema.utils.RoomBuilder;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Rechargement d'un snapshot d'un million de réservations (10 salles de 1 000 sièges,
+ * 100 séances complètes par salle). L'objectif est un rechargement en moins d'une seconde :
+ * lancé par sa méthode {@link #main}, le benchmark échoue s'il n'est pas atteint.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 10)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx3g"})
+@State(Scope.Benchmark)
+public class SnapshotBenchmark {
+    static final int RESERVATIONS = 1_000_000;
+    static final double TARGET_MILLIS = 1_000;
+
+    private static final int ROOMS = 10;
+    private static final int SEANCES_PER_ROOM = 100;
+    private static final int ROWS = 20;
+    private static final int COLUMNS = 50;
+
+    private Path dir;
+    private Path file;
+
+    @Setup
+    public void setUp() throws IOException {
+        Cinema cinema = new Cinema("Chaîne");
+        for (int r = 0; r < ROOMS; r++) {
+            Room room = new Room("Salle " + r, RoomBuilder.createRectangular(ROWS, COLUMNS));
+            cinema.addRoom(room);
+            for (int s = 0; s < SEANCES_PER_ROOM; s++) {
+                Seance seance = new Seance("1" + (s % 7) + "/12/2025", "20h00", "Film " + (s % 12), room);
+                room.addSeance(seance);
+                for (int row = 0; row < ROWS; row++) {
+                    for (int col = 0; col < COLUMNS; col++) {
+                        Person holder = new Person("Client" + (col % 50), "Nom" + row);
+                        holder.assignSeat(row, col);
+                        try {
+                            seance.reserveGroup(new Reservation(holder), List.of(SeatType.NORMAL));
+                        } catch (Seance.SeatReservationException e) {
+                            throw new IllegalStateException(e);
+                        }
+                    }
+                }
+            }
+        }
+        dir = Files.createTempDirectory("snapshot-bench");
+        file = dir.resolve("cinemas.snapshot");
+        CinemaSnapshot.write(file, List.of(cinema));
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(file);
+        Files.deleteIfExists(dir);
+    }
+
+    @Benchmark
+    public ArrayList<Cinema> read() throws IOException {
+        ArrayList<Cinema> cinemas = CinemaSnapshot.read(file);
+        if (cinemas.get(0).getTotalReservations() != RESERVATIONS) {
+            throw new IllegalStateException("Rechargement incomplet : " + cinemas.get(0).getTotalReservations());
+        }
+        return cinemas;
+    }
+
+    /**
+     * Lance le benchmark et échoue si le rechargement moyen dépasse l'objectif.
+     */
+    public static void main(String[] args) throws RunnerException {
+        RunResult result = new Runner(new OptionsBuilder()
+                .include(SnapshotBenchmark.class.getName())
+                .build()).runSingle();
+        double millis = result.getPrimaryResult().getScore();
+        System.out.printf("Rechargement de %d réservations : %.1f ms (objectif < %.0f ms)%n",
+                RESERVATIONS, millis, TARGET_MILLIS);
+        if (millis >= TARGET_MILLIS) {
+            System.exit(1);
+        }
+    }
+}
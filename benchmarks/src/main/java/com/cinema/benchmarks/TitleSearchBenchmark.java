@@ -0,0 +1,53 @@
+package com.cinema.benchmarks;
+
+import com.cinema.models.Cinema;
+import com.cinema.models.Room;
+import com.cinema.models.Seance;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Recherche par titre dans un catalogue de 40 000 séances (50 salles de 800 séances),
+ * avec des mots incomplets et sans accents.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class TitleSearchBenchmark {
+    private static final String[] WORDS = {"Le", "Retour", "Guerre", "Étoiles", "Mystère", "Château", "Nuit",
+            "Été", "Chronique", "Dernier", "Voyage", "Océan", "Cœur", "Ombre", "Lumière", "Secret"};
+
+    private Cinema cinema;
+
+    @Setup
+    public void setUp() {
+        cinema = new Cinema("Cinéma Benchmark");
+        for (int r = 0; r < 50; r++) {
+            Room room = new Room("Salle " + r);
+            for (int s = 0; s < 800; s++) {
+                int n = r * 800 + s;
+                String title = WORDS[n % 16] + " " + WORDS[(n / 16) % 16] + " " + WORDS[(n / 256) % 16] + " " + n % 97;
+                room.addSeance(new Seance((1 + s % 28) + "/12/2025", (10 + s % 12) + "h00", title, room));
+            }
+            cinema.addRoom(room);
+        }
+    }
+
+    @Benchmark
+    public List<Seance> searchByTitle() {
+        return cinema.searchByTitle("chat nuit ocea");
+    }
+}
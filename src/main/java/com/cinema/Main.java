@@ -1,10 +1,109 @@
 package com.cinema;
 
 import com.cinema.cli.InteractiveCLI;
+import com.cinema.http.BookingServer;
+import com.cinema.http.LoadGenerator;
+import com.cinema.ids.BlockIdAllocator;
+import com.cinema.models.Cinema;
+import com.cinema.models.Reservation;
+import com.cinema.occupancy.MappedOccupancyStore;
+import com.cinema.persistence.CinemaSnapshot;
+import com.cinema.persistence.IdLeaseFile;
+import com.cinema.persistence.ReservationJournal;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
 
+/**
+ * Point d'entrée. Modes :
+ * <pre>
+ * (aucun)                          interface interactive en console
+ * serve [port]                     API HTTP de réservation (port 8080 par défaut)
+ * load [url] [secondes] [clients]  générateur de charge pour l'API HTTP
+ * </pre>
+ * Avec la propriété {@code cinema.occupancy} (un répertoire), l'occupation des séances est
+ * rangée dans des fichiers mappés, repris après un arrêt brutal.
+ */
 public class Main {
-    public static void main(String[] args) {
-        InteractiveCLI cli = new InteractiveCLI();
-        cli.start();
+    public static void main(String[] args) throws Exception {
+        Path snapshotFile = Paths.get(System.getProperty("cinema.snapshot", "cinemas.snapshot"));
+        String mode = args.length > 0 ? args[0] : "";
+
+        if (!mode.equals("load")) {
+            useIdAllocator(snapshotFile, mode.equals("serve"));
+        }
+
+        switch (mode) {
+            case "serve":
+                serve(snapshotFile, args.length > 1 ? Integer.parseInt(args[1]) : 8080, occupancyStore());
+                break;
+            case "load":
+                LoadGenerator.main(Arrays.copyOfRange(args, 1, args.length));
+                break;
+            default:
+                InteractiveCLI cli = new InteractiveCLI(snapshotFile, occupancyStore());
+                cli.start();
+        }
+    }
+
+    /**
+     * @return Stockage des occupations dans le répertoire de la propriété
+     *         {@code cinema.occupancy}, ou null (occupation sur le tas) si elle est absente.
+     */
+    private static MappedOccupancyStore occupancyStore() throws IOException {
+        String directory = System.getProperty("cinema.occupancy");
+        return directory == null ? null : new MappedOccupancyStore(Paths.get(directory));
+    }
+
+    /**
+     * Installe un allocateur d'identifiants dont le bail est conservé à côté de la sauvegarde.
+     * Le numéro de nœud (propriété {@code cinema.node}, 0 par défaut) doit être propre à chaque
+     * serveur qui crée des réservations. Le serveur puise dans de grands blocs pour ses threads ;
+     * la console, seule à réserver, garde des blocs courts et donc des numéros rapprochés.
+     */
+    private static void useIdAllocator(Path snapshotFile, boolean server) throws IOException {
+        int nodeId = Integer.getInteger("cinema.node", 0);
+        Path leaseFile = snapshotFile.resolveSibling(snapshotFile.getFileName() + ".ids");
+        Reservation.setIdAllocator(new BlockIdAllocator(nodeId, server ? 1024 : 16, new IdLeaseFile(leaseFile)));
+    }
+
+    /**
+     * Recharge la sauvegarde, journalise les réservations faites par l'API et écrit un
+     * snapshot à l'arrêt du serveur.
+     */
+    private static void serve(Path snapshotFile, int port, MappedOccupancyStore occupancyStore) throws IOException {
+        // Lue par le serveur HTTP du JDK à sa première création : voir BookingServer
+        if (System.getProperty("sun.net.httpserver.nodelay") == null) {
+            System.setProperty("sun.net.httpserver.nodelay", "true");
+        }
+        Path journalFile = snapshotFile.resolveSibling(snapshotFile.getFileName() + ".journal");
+        ArrayList<Cinema> cinemas = Files.exists(snapshotFile) ? CinemaSnapshot.read(snapshotFile, occupancyStore) : new ArrayList<>();
+        if (Files.exists(journalFile)) {
+            ReservationJournal.replay(journalFile, cinemas);
+            // Le journal rejoué est absorbé dans un snapshot : il repart vide, au format courant
+            CinemaSnapshot.write(snapshotFile, cinemas);
+            Files.delete(journalFile);
+        }
+        ReservationJournal journal = new ReservationJournal(journalFile);
+        for (Cinema cinema : cinemas) {
+            journal.watch(cinema);
+        }
+
+        BookingServer server = new BookingServer(cinemas, port);
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            server.stop();
+            try {
+                CinemaSnapshot.write(snapshotFile, cinemas);
+                journal.checkpoint();
+                journal.close();
+            } catch (IOException e) {
+                System.err.println("Erreur lors de la sauvegarde : " + e.getMessage());
+            }
+        }));
+        server.start();
+        System.out.println("API de réservation sur http://localhost:" + server.getPort() + "/seances");
     }
 }
@@ -0,0 +1,61 @@
+package com.cinema.analytics;
+
+/**
+ * Taux de remplissage agrégé sur un ensemble de séances : places offertes, places
+ * occupées et nombre de séances prises en compte.
+ */
+public final class FillRate {
+    private final long seats;
+    private final long occupied;
+    private final int seances;
+
+    public FillRate(long seats, long occupied, int seances) {
+        if (seats < 0 || occupied < 0 || occupied > seats || seances < 0) {
+            throw new IllegalArgumentException("Taux de remplissage incohérent : " + occupied + "/" + seats);
+        }
+        this.seats = seats;
+        this.occupied = occupied;
+        this.seances = seances;
+    }
+
+    public long getSeats() {
+        return seats;
+    }
+
+    public long getOccupied() {
+        return occupied;
+    }
+
+    public int getSeances() {
+        return seances;
+    }
+
+    /**
+     * @return Part des places occupées, entre 0 et 1 (0 s'il n'y a aucune place).
+     */
+    public double getRate() {
+        return seats == 0 ? 0 : (double) occupied / seats;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof FillRate)) {
+            return false;
+        }
+        FillRate other = (FillRate) o;
+        return seats == other.seats && occupied == other.occupied && seances == other.seances;
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(seats) * 31 * 31 + Long.hashCode(occupied) * 31 + seances;
+    }
+
+    @Override
+    public String toString() {
+        return occupied + "/" + seats + String.format(" (%.1f %%, %d séance(s))", getRate() * 100, seances);
+    }
+}
@@ -0,0 +1,240 @@
+package com.cinema.analytics;
+
+import com.cinema.enums.SeatType;
+import com.cinema.models.Cinema;
+import com.cinema.models.Room;
+import com.cinema.models.Seance;
+import com.cinema.models.SeatCatalogue;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Taux de remplissage d'un ou plusieurs cinémas, par film, par salle, par créneau horaire
+ * et par type de place.
+ *
+ * Le calcul découpe la liste des séances en tranches traitées en fork-join ; chaque
+ * tranche agrège dans ses propres compteurs, fusionnés en remontant. L'occupation d'une
+ * séance est lue mot par mot dans son bitset et comptée par type avec les masques du
+ * catalogue de sièges, sans parcourir le plan case par case.
+ *
+ * Les réservations ne sont pas bloquées pendant le calcul : une séance modifiée entre-temps
+ * est lue mot par mot, le résultat est cohérent par bloc de 64 sièges et non pour
+ * l'ensemble de la chaîne à un instant donné.
+ */
+public final class OccupancyAnalytics {
+    // Nombre de séances en dessous duquel une tranche n'est plus découpée
+    private static final int THRESHOLD = 256;
+    private static final SeatType[] SEAT_TYPES = SeatType.values();
+
+    private final FillRate overall;
+    private final SortedMap<String, FillRate> byMovie;
+    private final Map<Room, FillRate> byRoom;
+    private final SortedMap<LocalTime, FillRate> byTimeSlot;
+    private final Map<SeatType, FillRate> bySeatType;
+
+    private OccupancyAnalytics(FillRate overall, SortedMap<String, FillRate> byMovie, Map<Room, FillRate> byRoom,
+                               SortedMap<LocalTime, FillRate> byTimeSlot, Map<SeatType, FillRate> bySeatType) {
+        this.overall = overall;
+        this.byMovie = Collections.unmodifiableSortedMap(byMovie);
+        this.byRoom = Collections.unmodifiableMap(byRoom);
+        this.byTimeSlot = Collections.unmodifiableSortedMap(byTimeSlot);
+        this.bySeatType = Collections.unmodifiableMap(bySeatType);
+    }
+
+    /**
+     * Analyse les cinémas sur le pool fork-join commun.
+     */
+    public static OccupancyAnalytics of(Collection<Cinema> cinemas) {
+        return of(cinemas, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Analyse les cinémas sur le pool donné : son parallélisme borne le nombre de
+     * tranches traitées en même temps.
+     */
+    public static OccupancyAnalytics of(Collection<Cinema> cinemas, ForkJoinPool pool) {
+        if (cinemas == null || pool == null) {
+            throw new IllegalArgumentException("Les cinémas et le pool ne peuvent pas être null");
+        }
+        List<Seance> seances = new ArrayList<>();
+        List<Room> rooms = new ArrayList<>();
+        for (Cinema cinema : cinemas) {
+            seances.addAll(cinema.getSeances());
+            rooms.addAll(cinema.getRooms());
+        }
+        Tally tally = pool.invoke(new Slice(seances.toArray(new Seance[0]), 0, seances.size()));
+
+        SortedMap<String, FillRate> byMovie = new TreeMap<>();
+        tally.movies.forEach((movie, counter) -> byMovie.put(movie, counter.toFillRate()));
+        Map<Room, FillRate> byRoom = new LinkedHashMap<>();
+        for (Room room : rooms) {
+            Counter counter = tally.rooms.get(room);
+            if (counter != null) {
+                byRoom.put(room, counter.toFillRate());
+            }
+        }
+        SortedMap<LocalTime, FillRate> byTimeSlot = new TreeMap<>();
+        for (int hour = 0; hour < tally.hours.length; hour++) {
+            if (tally.hours[hour].seances > 0) {
+                byTimeSlot.put(LocalTime.of(hour, 0), tally.hours[hour].toFillRate());
+            }
+        }
+        Map<SeatType, FillRate> bySeatType = new EnumMap<>(SeatType.class);
+        for (SeatType type : SEAT_TYPES) {
+            bySeatType.put(type, tally.types[type.ordinal()].toFillRate());
+        }
+        return new OccupancyAnalytics(tally.total.toFillRate(), byMovie, byRoom, byTimeSlot, bySeatType);
+    }
+
+    public FillRate getOverall() {
+        return overall;
+    }
+
+    /**
+     * @return Remplissage par titre de film, par ordre alphabétique.
+     */
+    public SortedMap<String, FillRate> getByMovie() {
+        return byMovie;
+    }
+
+    /**
+     * @return Remplissage par salle, dans l'ordre des cinémas puis de leurs salles ;
+     *         les salles sans séance n'y figurent pas.
+     */
+    public Map<Room, FillRate> getByRoom() {
+        return byRoom;
+    }
+
+    /**
+     * @return Remplissage par heure de début (créneaux d'une heure) ; les séances sans
+     *         date lisible n'y figurent pas.
+     */
+    public SortedMap<LocalTime, FillRate> getByTimeSlot() {
+        return byTimeSlot;
+    }
+
+    /**
+     * @return Remplissage par type de place ; une séance compte pour un type si sa salle
+     *         en propose.
+     */
+    public Map<SeatType, FillRate> getBySeatType() {
+        return bySeatType;
+    }
+
+    /**
+     * Tranche [from, to) des séances à analyser.
+     */
+    private static final class Slice extends RecursiveTask<Tally> {
+        private final Seance[] seances;
+        private final int from;
+        private final int to;
+
+        Slice(Seance[] seances, int from, int to) {
+            this.seances = seances;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected Tally compute() {
+            if (to - from <= THRESHOLD) {
+                Tally tally = new Tally();
+                for (int i = from; i < to; i++) {
+                    tally.add(seances[i]);
+                }
+                return tally;
+            }
+            int middle = (from + to) >>> 1;
+            Slice left = new Slice(seances, from, middle);
+            left.fork();
+            Tally right = new Slice(seances, middle, to).compute();
+            return left.join().merge(right);
+        }
+    }
+
+    /**
+     * Compteurs d'une tranche, fusionnables.
+     */
+    private static final class Tally {
+        private final Counter total = new Counter();
+        private final HashMap<String, Counter> movies = new HashMap<>();
+        private final IdentityHashMap<Room, Counter> rooms = new IdentityHashMap<>();
+        private final Counter[] hours = counters(24);
+        private final Counter[] types = counters(SEAT_TYPES.length);
+
+        private static Counter[] counters(int count) {
+            Counter[] counters = new Counter[count];
+            for (int i = 0; i < count; i++) {
+                counters[i] = new Counter();
+            }
+            return counters;
+        }
+
+        void add(Seance seance) {
+            SeatCatalogue catalogue = seance.getLayout().getCatalogue();
+            long[] occupancy = seance.exportOccupancy();
+            long seats = 0;
+            long occupied = 0;
+            for (SeatType type : SEAT_TYPES) {
+                int typeSeats = catalogue.seatCount(type);
+                if (typeSeats > 0) {
+                    int typeOccupied = catalogue.countOccupied(type, occupancy);
+                    types[type.ordinal()].add(typeSeats, typeOccupied, 1);
+                    seats += typeSeats;
+                    occupied += typeOccupied;
+                }
+            }
+            total.add(seats, occupied, 1);
+            movies.computeIfAbsent(seance.getMovie(), movie -> new Counter()).add(seats, occupied, 1);
+            rooms.computeIfAbsent(seance.getRoom(), room -> new Counter()).add(seats, occupied, 1);
+            if (seance.getStart() != null) {
+                hours[seance.getStart().getHour()].add(seats, occupied, 1);
+            }
+        }
+
+        Tally merge(Tally other) {
+            total.add(other.total);
+            other.movies.forEach((movie, counter) -> movies.computeIfAbsent(movie, m -> new Counter()).add(counter));
+            other.rooms.forEach((room, counter) -> rooms.computeIfAbsent(room, r -> new Counter()).add(counter));
+            for (int i = 0; i < hours.length; i++) {
+                hours[i].add(other.hours[i]);
+            }
+            for (int i = 0; i < types.length; i++) {
+                types[i].add(other.types[i]);
+            }
+            return this;
+        }
+    }
+
+    private static final class Counter {
+        private long seats;
+        private long occupied;
+        private int seances;
+
+        void add(long seats, long occupied, int seances) {
+            this.seats += seats;
+            this.occupied += occupied;
+            this.seances += seances;
+        }
+
+        void add(Counter other) {
+            add(other.seats, other.occupied, other.seances);
+        }
+
+        FillRate toFillRate() {
+            return new FillRate(seats, occupied, seances);
+        }
+    }
+}
@@ -2,18 +2,114 @@ package com.cinema.cli;
 
 import com.cinema.models.*;
 import com.cinema.enums.SeatType;
+import com.cinema.occupancy.MappedOccupancyStore;
+import com.cinema.persistence.BatchImporter;
+import com.cinema.persistence.CinemaSnapshot;
+import com.cinema.persistence.ReservationExporter;
+import com.cinema.persistence.ReservationJournal;
 import com.cinema.utils.RoomBuilder;
+import com.cinema.utils.ShowtimeParser;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
 import java.util.*;
 
 public class InteractiveCLI {
+    private static final int HISTORY_PAGE_SIZE = 20;
     private ArrayList<Cinema> cinemas;
     private Cinema currentCinema;
     private Scanner scanner;
+    private final Path snapshotFile;
+    private final MappedOccupancyStore occupancyStore;
+    private ReservationJournal journal;
 
     public InteractiveCLI() {
+        this(null);
+    }
+
+    /**
+     * @param snapshotFile Fichier de sauvegarde rechargé au démarrage et écrit en quittant (null = aucun).
+     *                     Les changements intermédiaires sont journalisés dans le fichier ".journal" voisin.
+     */
+    public InteractiveCLI(Path snapshotFile) {
+        this(snapshotFile, null);
+    }
+
+    /**
+     * @param occupancyStore Stockage des occupations des séances dans des fichiers mappés
+     *                       (null = occupation sur le tas), repris au rechargement.
+     */
+    public InteractiveCLI(Path snapshotFile, MappedOccupancyStore occupancyStore) {
         this.cinemas = new ArrayList<>();
         this.currentCinema = null;
         this.scanner = new Scanner(System.in);
+        this.snapshotFile = snapshotFile;
+        this.occupancyStore = occupancyStore;
+    }
+
+    private Path journalFile() {
+        return snapshotFile.resolveSibling(snapshotFile.getFileName() + ".journal");
+    }
+
+    private void loadSnapshot() {
+        if (snapshotFile == null) {
+            return;
+        }
+        try {
+            if (Files.exists(snapshotFile)) {
+                cinemas = CinemaSnapshot.read(snapshotFile, occupancyStore);
+                System.out.println(cinemas.size() + " cinéma(s) rechargé(s) depuis " + snapshotFile);
+            }
+            if (Files.exists(journalFile())) {
+                int replayed = ReservationJournal.replay(journalFile(), cinemas);
+                System.out.println(replayed + " opération(s) rejouée(s) depuis le journal");
+                // Le journal rejoué est absorbé dans un snapshot : il repart vide, au format courant
+                CinemaSnapshot.write(snapshotFile, cinemas);
+                Files.delete(journalFile());
+            }
+            journal = new ReservationJournal(journalFile());
+            for (Cinema cinema : cinemas) {
+                journal.watch(cinema);
+            }
+        } catch (IOException e) {
+            System.out.println("Impossible de recharger la sauvegarde : " + e.getMessage());
+        }
+    }
+
+    /**
+     * Écrit un snapshot complet puis vide le journal. Appelé en quittant et après chaque
+     * changement de structure (cinéma, salle, séance), que le journal ne couvre pas.
+     */
+    private void saveSnapshot() {
+        if (snapshotFile == null) {
+            return;
+        }
+        try {
+            CinemaSnapshot.write(snapshotFile, cinemas);
+            if (journal != null) {
+                journal.checkpoint();
+            }
+        } catch (IOException e) {
+            System.out.println("Erreur lors de la sauvegarde : " + e.getMessage());
+        }
+    }
+
+    private void closeJournal() {
+        if (journal == null) {
+            return;
+        }
+        try {
+            journal.close();
+        } catch (IOException e) {
+            System.out.println("Erreur lors de la fermeture du journal : " + e.getMessage());
+        }
     }
 
     private void clearConsole() {
@@ -32,6 +128,7 @@ public class InteractiveCLI {
     public void start() {
         clearConsole();
         System.out.println("=== Bienvenue dans le système de gestion de cinémas ===");
+        loadSnapshot();
 
         boolean running = true;
         while (running) {
@@ -53,6 +150,8 @@ public class InteractiveCLI {
                 case 0:
                     if (confirmAction("Voulez-vous vraiment quitter ?")) {
                         running = false;
+                        saveSnapshot();
+                        closeJournal();
                         System.out.println("Au revoir !");
                     }
                     break;
@@ -85,8 +184,10 @@ public class InteractiveCLI {
         }
 
         Cinema newCinema = new Cinema(name);
+        newCinema.setOccupancyStore(occupancyStore);
         cinemas.add(newCinema);
         currentCinema = newCinema;
+        saveSnapshot();
         System.out.println("Cinéma '" + name + "' créé avec succès !");
         System.out.println("Vous êtes maintenant dans le cinéma : " + name);
         waitForEnter();
@@ -173,6 +274,14 @@ public class InteractiveCLI {
                     displayCinemaInfo();
                     waitForEnter();
                     break;
+                case 9:
+                    exportReservations();
+                    waitForEnter();
+                    break;
+                case 10:
+                    importFile();
+                    waitForEnter();
+                    break;
                 case 0:
                     managing = false;
                     System.out.println("Retour au menu principal...");
@@ -194,6 +303,8 @@ public class InteractiveCLI {
         System.out.println("6. Rechercher une séance");
         System.out.println("7. Historique des réservations");
         System.out.println("8. Informations du cinéma");
+        System.out.println("9. Exporter les réservations (CSV / JSON Lines)");
+        System.out.println("10. Importer des séances ou des réservations");
         System.out.println("0. Retour au menu principal");
     }
 
@@ -203,6 +314,7 @@ public class InteractiveCLI {
         System.out.println("Nombre de salles : " + currentCinema.getRoomCount());
         System.out.println("Nombre de séances : " + currentCinema.getTotalSeances());
         System.out.println("Nombre de réservations : " + currentCinema.getTotalReservations());
+        System.out.println("Sièges occupés : " + currentCinema.getTotalOccupiedSeats());
     }
 
     private void waitForEnter() {
@@ -251,6 +363,7 @@ public class InteractiveCLI {
             System.out.println("\n=== Gestion des Séances ===");
             System.out.println("1. Créer une séance");
             System.out.println("2. Afficher les séances");
+            System.out.println("3. Séances entre deux horaires");
             System.out.println("0. Retour");
             int choice = getIntInput("Choisissez une option : ");
 
@@ -263,6 +376,10 @@ public class InteractiveCLI {
                     displaySeances();
                     waitForEnter();
                     break;
+                case 3:
+                    displaySeancesBetween();
+                    waitForEnter();
+                    break;
                 case 0:
                     back = true;
                     break;
@@ -333,6 +450,7 @@ public class InteractiveCLI {
         }
 
         currentCinema.addRoom(room);
+        saveSnapshot();
         System.out.println("✓ Salle '" + name + "' créée avec succès !");
     }
 
@@ -367,6 +485,7 @@ public class InteractiveCLI {
         if (confirmAction("Voulez-vous vraiment supprimer cette salle ?")) {
             Room room = currentCinema.getRooms().get(roomIndex);
             currentCinema.removeRoom(room);
+            saveSnapshot();
             System.out.println("Salle '" + room.getName() + "' supprimée avec succès !");
         }
     }
@@ -392,6 +511,10 @@ public class InteractiveCLI {
 
         Seance seance = new Seance(date, time, movie, selectedRoom);
         selectedRoom.addSeance(seance);
+        if (journal != null) {
+            journal.watch(seance);
+        }
+        saveSnapshot();
         System.out.println("Séance '" + movie + "' créée avec succès !");
     }
 
@@ -404,16 +527,14 @@ public class InteractiveCLI {
         System.out.println("\n=== Liste des Séances ===");
         List<String[]> rows = new ArrayList<>();
         int seanceIndex = 1;
-        for (Room room : currentCinema.getRooms()) {
-            for (Seance seance : room.getSeances()) {
-                rows.add(new String[]{
-                        String.valueOf(seanceIndex++),
-                        seance.getMovie(),
-                        seance.getDate(),
-                        seance.getTime(),
-                        room.getName()
-                });
-            }
+        for (Seance seance : getAllSeances()) {
+            rows.add(new String[]{
+                    String.valueOf(seanceIndex++),
+                    seance.getMovie(),
+                    seance.getDate(),
+                    seance.getTime(),
+                    seance.getRoom().getName()
+            });
         }
 
         if (rows.isEmpty()) {
@@ -423,6 +544,36 @@ public class InteractiveCLI {
         }
     }
 
+    private void displaySeancesBetween() {
+        System.out.println("\n=== Séances entre deux horaires ===");
+        LocalDate day = ShowtimeParser.parseDate(getStringInput("Date (ex. 10/12/2025) : "));
+        LocalTime from = ShowtimeParser.parseTime(getStringInput("À partir de (ex. 18h00) : "));
+        LocalTime to = ShowtimeParser.parseTime(getStringInput("Jusqu'à (ex. 22h00) : "));
+        if (day == null || from == null || to == null) {
+            System.out.println("Date ou heure invalide.");
+            return;
+        }
+
+        LocalDateTime start = LocalDateTime.of(day, from);
+        // Une heure de fin avant l'heure de début désigne le lendemain (séances de nuit)
+        LocalDateTime end = LocalDateTime.of(to.isAfter(from) ? day : day.plusDays(1), to);
+        List<String[]> rows = new ArrayList<>();
+        for (Seance seance : currentCinema.getSeancesBetween(start, end)) {
+            rows.add(new String[]{
+                    seance.getMovie(),
+                    seance.getDate(),
+                    seance.getTime(),
+                    seance.getRoom().getName()
+            });
+        }
+
+        if (rows.isEmpty()) {
+            System.out.println("Aucune séance dans cet intervalle.");
+        } else {
+            displayTable(new String[]{"Film", "Date", "Heure", "Salle"}, rows);
+        }
+    }
+
     private void reserveSeat() {
         if (currentCinema.getRooms().isEmpty()) {
             System.out.println("Aucune salle disponible.");
@@ -452,39 +603,44 @@ public class InteractiveCLI {
 
         System.out.println("\n--- Personne principale (titulaire de la réservation) ---");
         Person holder = createPerson();
+        Reservation reservation = new Reservation(holder);
+        List<SeatType> types = new ArrayList<>();
 
         selectedSeance.displaySeatMap();
-        int row = getIntInput("Entrez la ligne du siège pour " + holder.getFirstName() + " : ");
-        int col = getIntInput("Entrez la colonne du siège pour " + holder.getFirstName() + " : ");
-        SeatType type = getSeatTypeInput("Entrez le type de siège (NORMAL, PMR, DOUBLE) : ");
-        int[] holderSeat = new int[]{row, col};
+        SeatType blockType = null;
+        List<int[]> block = null;
+        if (confirmAction("Placement automatique côte à côte ?")) {
+            blockType = getSeatTypeInput("Type de siège souhaité (NORMAL, PMR, DOUBLE) : ");
+            block = proposeBestBlock(selectedSeance, numberOfPeople, blockType);
+        }
 
-        try {
-            selectedSeance.reserve(holderSeat, type);
+        if (block != null) {
+            holder.assignSeat(block.get(0)[0], block.get(0)[1]);
+            types.add(blockType);
+            for (int i = 2; i <= numberOfPeople; i++) {
+                System.out.println("\n--- Personne " + i + " ---");
+                reservation.addPersonToReservation(createPerson(), block.get(i - 1));
+                types.add(blockType);
+            }
+        } else {
+            int row = getIntInput("Entrez la ligne du siège pour " + holder.getFirstName() + " : ");
+            int col = getIntInput("Entrez la colonne du siège pour " + holder.getFirstName() + " : ");
+            types.add(getSeatTypeInput("Entrez le type de siège (NORMAL, PMR, DOUBLE) : "));
             holder.assignSeat(row, col);
 
-            Reservation reservation = new Reservation(holder);
-
             for (int i = 2; i <= numberOfPeople; i++) {
                 System.out.println("\n--- Personne " + i + " ---");
                 Person additionalPerson = createPerson();
 
-                selectedSeance.displaySeatMap();
                 int additionalRow = getIntInput("Entrez la ligne du siège pour " + additionalPerson.getFirstName() + " : ");
                 int additionalCol = getIntInput("Entrez la colonne du siège pour " + additionalPerson.getFirstName() + " : ");
-                SeatType additionalType = getSeatTypeInput("Entrez le type de siège (NORMAL, PMR, DOUBLE) : ");
-                int[] additionalSeat = new int[]{additionalRow, additionalCol};
-
-                try {
-                    selectedSeance.reserve(additionalSeat, additionalType);
-                    reservation.addPersonToReservation(additionalPerson, additionalSeat);
-                    System.out.println("Siège réservé pour " + additionalPerson.getFullName() + " !");
-                } catch (Exception e) {
-                    System.out.println("Erreur pour " + additionalPerson.getFirstName() + " : " + e.getMessage());
-                }
+                types.add(getSeatTypeInput("Entrez le type de siège (NORMAL, PMR, DOUBLE) : "));
+                reservation.addPersonToReservation(additionalPerson, new int[]{additionalRow, additionalCol});
             }
+        }
 
-            selectedSeance.addReservation(reservation);
+        try {
+            selectedSeance.reserveGroup(reservation, types);
 
             System.out.println("\n=== Réservation complète ===");
             System.out.println("Réservation #" + reservation.getId() + " créée avec succès !");
@@ -499,11 +655,35 @@ public class InteractiveCLI {
 
         } catch (Exception e) {
             System.out.println("Erreur : " + e.getMessage());
+            System.out.println("Aucun siège n'a été réservé.");
         }
 
         waitForEnter();
     }
 
+    /**
+     * Affiche le meilleur bloc de places côte à côte pour le groupe et demande de le confirmer.
+     *
+     * @return Les sièges du bloc, ou null s'il faut passer à la saisie manuelle.
+     */
+    private List<int[]> proposeBestBlock(Seance seance, int numberOfPeople, SeatType type) {
+        List<int[]> block = seance.findBestBlock(numberOfPeople, type);
+        if (block.isEmpty()) {
+            System.out.println("Aucun bloc de " + numberOfPeople + " places " + type + " disponible, saisie manuelle.");
+            return null;
+        }
+        StringBuilder seats = new StringBuilder();
+        for (int[] seat : block) {
+            seats.append("[").append(seat[0]).append(",").append(seat[1]).append("] ");
+        }
+        System.out.println("Meilleur bloc proposé : " + seats.toString().trim());
+        if (!confirmAction("Réserver ce bloc ?")) {
+            System.out.println("Bloc refusé, saisie manuelle.");
+            return null;
+        }
+        return block;
+    }
+
     private Person createPerson() {
         String firstName = getStringInput("Entrez le prénom : ");
         String lastName = getStringInput("Entrez le nom de famille : ");
@@ -548,15 +728,9 @@ public class InteractiveCLI {
         }
         displayTable(new String[]{"ID", "Titulaire", "Nb Pers.", "Sièges"}, rows);
 
-        int reservationId = getIntInput("Entrez l'ID de la réservation à annuler : ");
+        long reservationId = getLongInput("Entrez l'ID de la réservation à annuler : ");
 
-        Reservation toCancel = null;
-        for (Reservation reservation : selectedSeance.getReservations()) {
-            if (reservation.getId() == reservationId) {
-                toCancel = reservation;
-                break;
-            }
-        }
+        Reservation toCancel = selectedSeance.findReservationById(reservationId);
 
         if (toCancel == null) {
             System.out.println("Réservation introuvable.");
@@ -598,22 +772,27 @@ public class InteractiveCLI {
         System.out.println("\n=== Rechercher une Séance ===");
         String query = getStringInput("Rechercher un film (ou laisser vide pour tout afficher) : ").trim();
 
-        List<String[]> rows = new ArrayList<>();
-        int seanceIndex = 1;
-        for (Room room : currentCinema.getRooms()) {
-            for (Seance seance : room.getSeances()) {
-                if (query.isEmpty() || seance.getMovie().toLowerCase().contains(query.toLowerCase())) {
-                    rows.add(new String[]{
-                            String.valueOf(seanceIndex++),
-                            seance.getMovie(),
-                            seance.getDate(),
-                            seance.getTime(),
-                            room.getName()
-                    });
-                }
+        List<Seance> matches = currentCinema.searchByTitle(query);
+        // Même ID que dans la liste complète des séances, pour réserver ensuite
+        Map<Seance, Integer> ids = new IdentityHashMap<>();
+        if (!matches.isEmpty()) {
+            List<Seance> allSeances = getAllSeances();
+            for (int i = 0; i < allSeances.size(); i++) {
+                ids.put(allSeances.get(i), i + 1);
             }
         }
 
+        List<String[]> rows = new ArrayList<>();
+        for (Seance seance : matches) {
+            rows.add(new String[]{
+                    String.valueOf(ids.get(seance)),
+                    seance.getMovie(),
+                    seance.getDate(),
+                    seance.getTime(),
+                    seance.getRoom().getName()
+            });
+        }
+
         if (rows.isEmpty()) {
             System.out.println("Aucune séance trouvée.");
         } else {
@@ -623,46 +802,140 @@ public class InteractiveCLI {
 
     private void displayReservationHistory() {
         System.out.println("\n=== Historique des Réservations ===");
+        String[] headers = {"ID Rés.", "Film", "Date et Heure", "Salle", "Nb Pers.", "Noms", "Sièges"};
+
+        // Une page à la fois : seules HISTORY_PAGE_SIZE lignes sont gardées en mémoire
+        List<String[]> page = new ArrayList<>(HISTORY_PAGE_SIZE);
+        int[] shown = {0};
+        boolean completed = true;
+        for (Seance seance : getAllSeances()) {
+            completed = seance.forEachReservation(reservation -> {
+                page.add(historyRow(seance, reservation));
+                if (page.size() < HISTORY_PAGE_SIZE) {
+                    return true;
+                }
+                displayTable(headers, page);
+                shown[0] += page.size();
+                page.clear();
+                String answer = getStringInput("Entrée pour la page suivante, 'q' pour arrêter : ");
+                return !answer.equalsIgnoreCase("q");
+            });
+            if (!completed) {
+                break;
+            }
+        }
 
-        List<String[]> rows = new ArrayList<>();
-        for (Room room : currentCinema.getRooms()) {
-            for (Seance seance : room.getSeances()) {
-                for (Reservation reservation : seance.getReservations()) {
-                    StringBuilder names = new StringBuilder();
-                    names.append(reservation.getHolder().getFullName()).append(" (Titulaire)");
-
-                    if (!reservation.getOthers().isEmpty()) {
-                        for (Person guest : reservation.getOthers()) {
-                            names.append(", ").append(guest.getFullName());
-                        }
-                    }
+        if (completed && !page.isEmpty()) {
+            displayTable(headers, page);
+            shown[0] += page.size();
+        }
+        if (shown[0] == 0) {
+            System.out.println("Aucune réservation trouvée.");
+        }
+    }
 
-                    rows.add(new String[]{
-                            String.valueOf(reservation.getId()),
-                            seance.getMovie(),
-                            seance.getDate() + " " + seance.getTime(),
-                            room.getName(),
-                            String.valueOf(reservation.getTotalPeople()),
-                            names.toString(),
-                            reservation.getSeatString()
-                    });
+    private String[] historyRow(Seance seance, Reservation reservation) {
+        StringBuilder names = new StringBuilder();
+        names.append(reservation.getHolder().getFullName()).append(" (Titulaire)");
+        for (Person guest : reservation.getOthers()) {
+            names.append(", ").append(guest.getFullName());
+        }
+        return new String[]{
+                String.valueOf(reservation.getId()),
+                seance.getMovie(),
+                seance.getDate() + " " + seance.getTime(),
+                seance.getRoom().getName(),
+                String.valueOf(reservation.getTotalPeople()),
+                names.toString(),
+                reservation.getSeatString()
+        };
+    }
+
+    private void importFile() {
+        System.out.println("\n=== Importer depuis un fichier ===");
+        System.out.println("1. Séances (salle, date, heure, film)");
+        System.out.println("2. Réservations (format de l'export)");
+        int kind = getIntInput("Que voulez-vous importer ? ");
+        if (kind != 1 && kind != 2) {
+            System.out.println("Choix invalide.");
+            return;
+        }
+        System.out.println("1. CSV");
+        System.out.println("2. JSON Lines");
+        int choice = getIntInput("Choisissez le format : ");
+        if (choice != 1 && choice != 2) {
+            System.out.println("Format invalide.");
+            return;
+        }
+        ReservationExporter.Format format = choice == 1 ? ReservationExporter.Format.CSV : ReservationExporter.Format.JSON_LINES;
+        String fileName = getStringInput("Fichier à importer : ");
+
+        BatchImporter importer = new BatchImporter(currentCinema, format);
+        Set<Seance> watched = Collections.newSetFromMap(new IdentityHashMap<>());
+        watched.addAll(currentCinema.getSeances());
+        // L'import est couvert par le snapshot écrit juste après, pas par le journal
+        if (journal != null) {
+            journal.pause();
+        }
+        try {
+            BatchImporter.Report report = kind == 1
+                    ? importer.importSeances(Paths.get(fileName))
+                    : importer.importReservations(Paths.get(fileName));
+            if (kind == 1 && journal != null) {
+                for (Seance seance : currentCinema.getSeances()) {
+                    if (!watched.contains(seance)) {
+                        journal.watch(seance);
+                    }
                 }
             }
+            saveSnapshot();
+            System.out.println(report);
+            List<BatchImporter.LineError> errors = report.getErrors();
+            for (int i = 0; i < Math.min(HISTORY_PAGE_SIZE, errors.size()); i++) {
+                System.out.println("  " + errors.get(i));
+            }
+            if (errors.size() > HISTORY_PAGE_SIZE) {
+                System.out.println("  ... et " + (errors.size() - HISTORY_PAGE_SIZE) + " autre(s) erreur(s)");
+            }
+        } catch (IOException | InvalidPathException e) {
+            System.out.println("Erreur lors de l'import : " + e.getMessage());
+        } finally {
+            if (journal != null) {
+                journal.resume();
+            }
         }
+    }
 
-        if (rows.isEmpty()) {
-            System.out.println("Aucune réservation trouvée.");
-        } else {
-            displayTable(new String[]{"ID Rés.", "Film", "Date et Heure", "Salle", "Nb Pers.", "Noms", "Sièges"}, rows);
+    private void exportReservations() {
+        System.out.println("\n=== Exporter les Réservations ===");
+        System.out.println("1. CSV");
+        System.out.println("2. JSON Lines");
+        int choice = getIntInput("Choisissez le format : ");
+        if (choice != 1 && choice != 2) {
+            System.out.println("Format invalide.");
+            return;
+        }
+        ReservationExporter.Format format = choice == 1 ? ReservationExporter.Format.CSV : ReservationExporter.Format.JSON_LINES;
+        String fileName = getStringInput("Fichier de destination : ");
+        if (fileName.trim().isEmpty()) {
+            System.out.println("Le nom de fichier ne peut pas être vide.");
+            return;
+        }
+
+        try (FileChannel channel = FileChannel.open(Paths.get(fileName.trim()), StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            long exported = new ReservationExporter(channel, format).export(List.of(currentCinema));
+            System.out.println(exported + " réservation(s) exportée(s) vers " + fileName.trim());
+        } catch (IOException | InvalidPathException e) {
+            System.out.println("Erreur lors de l'export : " + e.getMessage());
         }
     }
 
+    /**
+     * @return Les séances du cinéma par heure de début ; leur position (à partir de 1) sert d'ID.
+     */
     private List<Seance> getAllSeances() {
-        List<Seance> allSeances = new ArrayList<>();
-        for (Room room : currentCinema.getRooms()) {
-            allSeances.addAll(room.getSeances());
-        }
-        return allSeances;
+        return currentCinema.getSeances();
     }
 
     private void displayTable(String[] headers, List<String[]> rows) {
@@ -722,6 +995,18 @@ public class InteractiveCLI {
         return input;
     }
 
+    private long getLongInput(String prompt) {
+        System.out.print(prompt);
+        while (!scanner.hasNextLong()) {
+            System.out.println("Entrée invalide. Veuillez entrer un nombre.");
+            scanner.next();
+            System.out.print(prompt);
+        }
+        long input = scanner.nextLong();
+        scanner.nextLine();
+        return input;
+    }
+
     private String getStringInput(String prompt) {
         System.out.print(prompt);
         return scanner.nextLine().trim();
@@ -0,0 +1,74 @@
+package com.cinema.feed;
+
+import com.cinema.enums.SeatType;
+
+/**
+ * Changement d'état d'un siège (ou d'une place double) d'une séance, tel que publié
+ * par un {@link SeatFeed}. Immuable : la même instance est remise à tous les abonnés.
+ */
+public final class SeatDelta {
+    public enum State {
+        FREE,
+        RESERVED
+    }
+
+    private final long sequence;
+    private final int row;
+    private final int col;
+    private final SeatType type;
+    private final State oldState;
+    private final State newState;
+    private final long reservationId;
+
+    SeatDelta(long sequence, int row, int col, SeatType type, State oldState, State newState, long reservationId) {
+        this.sequence = sequence;
+        this.row = row;
+        this.col = col;
+        this.type = type;
+        this.oldState = oldState;
+        this.newState = newState;
+        this.reservationId = reservationId;
+    }
+
+    /**
+     * @return Numéro de publication dans le flux, ou -1 pour un changement reconstitué
+     *         lors d'un rattrapage (voir {@link SeatFeed.Subscription#getResyncCount()}).
+     */
+    public long getSequence() {
+        return sequence;
+    }
+
+    public int getRow() {
+        return row;
+    }
+
+    public int getCol() {
+        return col;
+    }
+
+    public SeatType getType() {
+        return type;
+    }
+
+    public State getOldState() {
+        return oldState;
+    }
+
+    public State getNewState() {
+        return newState;
+    }
+
+    /**
+     * @return Réservation qui occupe le siège (ou l'occupait, pour une libération) ;
+     *         0 si elle n'est pas connue.
+     */
+    public long getReservationId() {
+        return reservationId;
+    }
+
+    @Override
+    public String toString() {
+        return "SeatDelta{#" + sequence + " " + row + "," + col + " " + type + " " + oldState + "->" + newState
+                + (reservationId != 0 ? " réservation " + reservationId : "") + "}";
+    }
+}
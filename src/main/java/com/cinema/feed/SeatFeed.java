@@ -0,0 +1,394 @@
+package com.cinema.feed;
+
+import com.cinema.enums.SeatType;
+import com.cinema.interfaces.SeanceObserver;
+import com.cinema.models.Reservation;
+import com.cinema.models.Seance;
+import com.cinema.models.SeatCatalogue;
+import com.cinema.models.SeatHold;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Consumer;
+
+/**
+ * Flux des changements de sièges d'une séance, pour les bornes et écrans qui affichent
+ * le plan de salle en direct : au lieu de relire tout le plan, chaque abonné reçoit les
+ * seuls sièges qui ont changé.
+ *
+ * Les changements sont publiés dans un anneau de taille fixe, sans verrou : une
+ * publication réserve son numéro par un incrément atomique du curseur puis écrit sa case
+ * par compare-and-set, à moins qu'une publication plus récente ne l'ait déjà prise. Le
+ * numéro porté par chaque changement sert de séquence de case : un abonné sait si la case
+ * qu'il lit est celle qu'il attend, pas encore écrite ou déjà écrasée.
+ *
+ * Il n'y a volontairement pas de contre-pression : les publications se font dans les
+ * threads qui réservent, et un écran lent ne doit jamais ralentir une réservation. Un
+ * abonné qui ne suit pas perd des changements et est rattrapé depuis l'occupation.
+ * Chaque abonné lit à son rythme depuis sa propre position :
+ * <ul>
+ *   <li>un abonné à jour reçoit les changements un par un ;</li>
+ *   <li>un abonné en retard reçoit son arriéré regroupé par siège : seul l'état final
+ *       de chaque siège lui est remis ;</li>
+ *   <li>un abonné dépassé par l'anneau (changements écrasés) est rattrapé en comparant
+ *       l'occupation de la séance à l'état qu'il connaît.</li>
+ * </ul>
+ * Un siège réservé puis libéré avant que l'abonné ne lise n'apparaît donc pas du tout.
+ *
+ * Les sièges retenus (voir {@link SeatHold}) comptent comme libres, comme dans
+ * {@link Seance#exportOccupancy()}. Le dernier état publié de chaque siège est tenu par
+ * compare-and-set : quand deux threads changent le même siège en même temps, le dernier
+ * changement publié pour ce siège donne toujours son état final.
+ */
+public class SeatFeed implements SeanceObserver, AutoCloseable {
+    public static final int DEFAULT_CAPACITY = 4096;
+    // Au-delà de ce retard, l'arriéré d'un abonné est regroupé par siège
+    static final int COALESCE_AFTER = 64;
+
+    private final Seance seance;
+    private final SeatCatalogue catalogue;
+    private final AtomicReferenceArray<SeatDelta> ring;
+    private final int mask;
+    // Numéro de la prochaine publication
+    private final AtomicLong cursor = new AtomicLong();
+    private final AtomicInteger subscribers = new AtomicInteger();
+    // Dernier état publié de chaque siège : 0 si libre, (id de réservation << 1) | 1 si réservé
+    private final AtomicLongArray published;
+
+    /**
+     * Crée le flux d'une séance et l'inscrit comme observateur.
+     */
+    public static SeatFeed attach(Seance seance) {
+        return attach(seance, DEFAULT_CAPACITY);
+    }
+
+    /**
+     * @param capacity Nombre de changements conservés pour les abonnés en retard,
+     *                 arrondi à la puissance de 2 supérieure.
+     */
+    public static SeatFeed attach(Seance seance, int capacity) {
+        SeatFeed feed = new SeatFeed(seance, capacity);
+        feed.start();
+        return feed;
+    }
+
+    private SeatFeed(Seance seance, int capacity) {
+        if (seance == null) {
+            throw new IllegalArgumentException("La séance ne peut pas être null");
+        }
+        if (capacity < 1 || capacity > 1 << 24) {
+            throw new IllegalArgumentException("Capacité invalide : " + capacity);
+        }
+        this.seance = seance;
+        this.catalogue = seance.getLayout().getCatalogue();
+        int size = capacity == 1 ? 1 : Integer.highestOneBit(capacity - 1) << 1;
+        this.ring = new AtomicReferenceArray<>(size);
+        this.mask = size - 1;
+        this.published = new AtomicLongArray(catalogue.size());
+    }
+
+    private void start() {
+        seance.addObserver(this);
+        // Après l'inscription : un changement concurrent est publié ici ou par son observateur,
+        // avant tout abonnement
+        for (int index = 0; index < catalogue.size(); index++) {
+            SeatType type = catalogue.typeOf(index);
+            if (type != null) {
+                publish(catalogue.rowOf(index), catalogue.columnOf(index), type);
+            }
+        }
+    }
+
+    /**
+     * Abonne un lecteur à partir de l'état actuel de la séance : il ne recevra que les
+     * changements qui suivent.
+     */
+    public Subscription subscribe() {
+        subscribers.incrementAndGet();
+        return new Subscription();
+    }
+
+    /**
+     * @return Nombre de changements publiés depuis la création du flux, sièges déjà
+     *         réservés à sa création compris.
+     */
+    public long getPublished() {
+        return cursor.get();
+    }
+
+    public int getCapacity() {
+        return ring.length();
+    }
+
+    public int getSubscriberCount() {
+        return subscribers.get();
+    }
+
+    public Seance getSeance() {
+        return seance;
+    }
+
+    @Override
+    public void seatReserved(Seance seance, int row, int col, SeatType type) {
+        publish(row, col, type);
+    }
+
+    @Override
+    public void seatCancelled(Seance seance, int row, int col, SeatType type) {
+        publish(row, col, type);
+    }
+
+    @Override
+    public void holdEnded(Seance seance, SeatHold hold) {
+        // Un siège lu pendant qu'il était retenu a pu être publié à tort comme réservé
+        List<int[]> seats = hold.getSeats();
+        List<SeatType> types = hold.getTypes();
+        for (int i = 0; i < seats.size(); i++) {
+            publish(seats.get(i)[0], seats.get(i)[1], types.get(i));
+        }
+    }
+
+    /**
+     * Publie l'état réel du siège s'il diffère du dernier état publié. L'état est relu
+     * plutôt que cru sur la foi de l'événement, et la boucle ne s'arrête que lorsque l'état
+     * réel, le dernier état publié et le dernier changement écrit par ce thread concordent :
+     * si un autre thread a changé le siège entre-temps avec un numéro plus petit que le
+     * nôtre, l'état final est publié de nouveau, avec un numéro plus grand.
+     */
+    private void publish(int row, int col, SeatType type) {
+        if (!catalogue.contains(row, col)) {
+            return;
+        }
+        int index = catalogue.indexOf(row, col);
+        long written = -1;
+        while (true) {
+            long previous = published.get(index);
+            boolean reserved = seance.isSeatReserved(row, col);
+            if (reserved == isReserved(previous)) {
+                if (written < 0 || isReserved(written) == reserved) {
+                    return;
+                }
+                write(row, col, type, written, previous);
+                written = previous;
+            } else {
+                long next = reserved ? reservationAt(row, col) << 1 | 1 : 0;
+                if (published.compareAndSet(index, previous, next)) {
+                    write(row, col, type, previous, next);
+                    written = next;
+                }
+            }
+        }
+    }
+
+    private static boolean isReserved(long state) {
+        return (state & 1) != 0;
+    }
+
+    private void write(int row, int col, SeatType type, long from, long to) {
+        boolean reserved = isReserved(to);
+        long sequence = cursor.getAndIncrement();
+        SeatDelta delta = new SeatDelta(sequence, row, col, type,
+                reserved ? SeatDelta.State.FREE : SeatDelta.State.RESERVED,
+                reserved ? SeatDelta.State.RESERVED : SeatDelta.State.FREE,
+                (reserved ? to : from) >>> 1);
+        int slot = (int) (sequence & mask);
+        while (true) {
+            SeatDelta current = ring.get(slot);
+            if (current != null && current.getSequence() > sequence) {
+                // Déjà écrasée par une publication d'un tour suivant : les abonnés concernés se rattrapent
+                return;
+            }
+            if (ring.compareAndSet(slot, current, delta)) {
+                return;
+            }
+        }
+    }
+
+    private long reservationAt(int row, int col) {
+        Reservation reservation = seance.findReservationBySeat(row, col);
+        return reservation == null ? 0 : reservation.getId();
+    }
+
+    /**
+     * Détache le flux de la séance ; les abonnés gardent les changements déjà publiés.
+     */
+    @Override
+    public void close() {
+        seance.removeObserver(this);
+    }
+
+    /**
+     * Lecteur du flux. Un abonnement n'est lu que par un thread à la fois ; les abonnements
+     * sont indépendants entre eux et ne ralentissent jamais les publications.
+     */
+    public final class Subscription implements AutoCloseable {
+        private long position;
+        // Occupation telle que l'abonné la connaît (bit i = siège i, places doubles sur leurs deux bits)
+        private long[] known;
+        private int resyncs;
+        private boolean closed;
+
+        private Subscription() {
+            // Position lue avant l'occupation : les changements entre les deux sont filtrés par known
+            position = cursor.get();
+            known = seance.exportOccupancy();
+        }
+
+        /**
+         * Remet au consommateur les changements disponibles, sans attendre.
+         *
+         * @return Nombre de changements remis.
+         */
+        public int poll(Consumer<? super SeatDelta> consumer) {
+            if (consumer == null) {
+                throw new IllegalArgumentException("Le consommateur ne peut pas être null");
+            }
+            if (closed) {
+                return 0;
+            }
+            long end = cursor.get();
+            long lag = end - position;
+            if (lag > ring.length()) {
+                return resync(consumer);
+            }
+            if (lag > COALESCE_AFTER) {
+                return coalesce(consumer, end);
+            }
+            int delivered = 0;
+            while (position < end) {
+                SeatDelta delta = ring.get((int) (position & mask));
+                if (delta == null || delta.getSequence() < position) {
+                    // Numéro réservé mais case pas encore écrite : la suite au prochain appel
+                    break;
+                }
+                if (delta.getSequence() > position) {
+                    return delivered + resync(consumer);
+                }
+                position++;
+                if (apply(delta)) {
+                    consumer.accept(delta);
+                    delivered++;
+                }
+            }
+            return delivered;
+        }
+
+        private int coalesce(Consumer<? super SeatDelta> consumer, long end) {
+            LinkedHashMap<Integer, SeatDelta> latest = new LinkedHashMap<>();
+            long next = position;
+            while (next < end) {
+                SeatDelta delta = ring.get((int) (next & mask));
+                if (delta == null || delta.getSequence() < next) {
+                    break;
+                }
+                if (delta.getSequence() > next) {
+                    return resync(consumer);
+                }
+                latest.put(catalogue.indexOf(delta.getRow(), delta.getCol()), delta);
+                next++;
+            }
+            position = next;
+            int delivered = 0;
+            for (SeatDelta delta : latest.values()) {
+                // Les états sont binaires : le dernier changement d'un siège donne son état final
+                if (apply(delta)) {
+                    consumer.accept(delta);
+                    delivered++;
+                }
+            }
+            return delivered;
+        }
+
+        /**
+         * Reconstitue les changements manqués en comparant l'occupation actuelle à l'état connu.
+         */
+        private int resync(Consumer<? super SeatDelta> consumer) {
+            resyncs++;
+            position = cursor.get();
+            long[] current = seance.exportOccupancy();
+            int delivered = 0;
+            for (int word = 0; word < current.length; word++) {
+                long diff = current[word] ^ (word < known.length ? known[word] : 0);
+                while (diff != 0) {
+                    int index = (word << 6) + Long.numberOfTrailingZeros(diff);
+                    diff &= diff - 1;
+                    SeatType type = index < catalogue.size() ? catalogue.typeOf(index) : null;
+                    if (type == null) {
+                        continue;
+                    }
+                    int row = catalogue.rowOf(index);
+                    int col = catalogue.columnOf(index);
+                    boolean reserved = (current[word] & (1L << index)) != 0;
+                    consumer.accept(new SeatDelta(-1, row, col, type,
+                            reserved ? SeatDelta.State.FREE : SeatDelta.State.RESERVED,
+                            reserved ? SeatDelta.State.RESERVED : SeatDelta.State.FREE,
+                            reserved ? reservationAt(row, col) : 0));
+                    delivered++;
+                }
+            }
+            known = current;
+            return delivered;
+        }
+
+        /**
+         * @return true si le changement modifie l'état connu de l'abonné.
+         */
+        private boolean apply(SeatDelta delta) {
+            int index = catalogue.indexOf(delta.getRow(), delta.getCol());
+            boolean reserved = delta.getNewState() == SeatDelta.State.RESERVED;
+            if (isKnownReserved(index) == reserved) {
+                return false;
+            }
+            setKnown(index, reserved);
+            int partner = catalogue.partnerOf(index);
+            if (partner >= 0) {
+                setKnown(partner, reserved);
+            }
+            return true;
+        }
+
+        private boolean isKnownReserved(int index) {
+            return (known[index >>> 6] & (1L << index)) != 0;
+        }
+
+        private void setKnown(int index, boolean reserved) {
+            if (reserved) {
+                known[index >>> 6] |= 1L << index;
+            } else {
+                known[index >>> 6] &= ~(1L << index);
+            }
+        }
+
+        /**
+         * @return Nombre de changements publiés que l'abonné n'a pas encore lus.
+         */
+        public long getLag() {
+            return cursor.get() - position;
+        }
+
+        /**
+         * @return Nombre de rattrapages subis parce que l'anneau avait dépassé l'abonné.
+         */
+        public int getResyncCount() {
+            return resyncs;
+        }
+
+        /**
+         * @return true si l'abonné connaît ce siège comme réservé.
+         */
+        public boolean isReserved(int row, int col) {
+            return catalogue.contains(row, col) && isKnownReserved(catalogue.indexOf(row, col));
+        }
+
+        @Override
+        public void close() {
+            if (!closed) {
+                closed = true;
+                subscribers.decrementAndGet();
+            }
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.cinema.holds;
+
+import com.cinema.enums.SeatType;
+import com.cinema.models.Seance;
+import com.cinema.models.SeatHold;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Retenues de sièges à durée limitée, toutes séances confondues.
+ *
+ * Chaque retenue est enregistrée par identifiant et programmée une seule fois dans la
+ * roue : à l'échéance, elle expire si elle est encore active et quitte le registre.
+ * Une retenue transformée ou rendue avant n'est pas retirée de la roue : son échéance
+ * la trouve terminée et se contente de l'oublier.
+ */
+public class SeatHolds implements AutoCloseable {
+    public static final Duration DEFAULT_TTL = Duration.ofMinutes(10);
+
+    private final TimerWheel wheel;
+    private final Clock clock;
+    private final ConcurrentHashMap<Long, SeatHold> holds = new ConcurrentHashMap<>();
+
+    /**
+     * Roue de 4096 cases de 250 ms : un tour couvre 17 minutes.
+     */
+    public SeatHolds() {
+        this(TimerWheel.start(Duration.ofMillis(250), 4096), Clock.systemUTC());
+    }
+
+    public SeatHolds(TimerWheel wheel, Clock clock) {
+        if (wheel == null || clock == null) {
+            throw new IllegalArgumentException("La roue et l'horloge ne peuvent pas être null");
+        }
+        this.wheel = wheel;
+        this.clock = clock;
+    }
+
+    public SeatHold hold(Seance seance, List<int[]> seats, List<SeatType> types) throws Seance.SeatReservationException {
+        return hold(seance, seats, types, DEFAULT_TTL);
+    }
+
+    /**
+     * Retient les sièges pour la durée donnée.
+     *
+     * @throws Seance.SeatReservationException Si l'un des sièges est déjà pris ou retenu.
+     */
+    public SeatHold hold(Seance seance, List<int[]> seats, List<SeatType> types, Duration ttl)
+            throws Seance.SeatReservationException {
+        if (seance == null || ttl == null || ttl.isNegative() || ttl.isZero()) {
+            throw new IllegalArgumentException("La séance et une durée positive sont requises");
+        }
+        SeatHold hold = seance.hold(seats, types, clock.instant().plus(ttl));
+        holds.put(hold.getId(), hold);
+        wheel.schedule(() -> {
+            hold.expire();
+            holds.remove(hold.getId());
+        }, ttl);
+        return hold;
+    }
+
+    /**
+     * @return La retenue encore active de cet identifiant, ou null.
+     */
+    public SeatHold find(long id) {
+        SeatHold hold = holds.get(id);
+        return hold != null && hold.isActive() ? hold : null;
+    }
+
+    /**
+     * @return Nombre de retenues enregistrées et pas encore échues (actives ou déjà terminées).
+     */
+    public int size() {
+        return holds.size();
+    }
+
+    @Override
+    public void close() {
+        wheel.close();
+    }
+}
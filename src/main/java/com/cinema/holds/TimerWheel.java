@@ -0,0 +1,190 @@
+package com.cinema.holds;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Échéancier à roue (hashed timing wheel) : un seul thread fait avancer la roue d'une
+ * case par tic et exécute les tâches arrivées à échéance, au lieu d'un timer par tâche.
+ *
+ * Programmer une tâche ne fait qu'ajouter une entrée à une file sans verrou ; le thread
+ * de la roue la range dans la case de son échéance au tic suivant. Chaque entrée est
+ * visitée une fois par tour de roue : avec une roue qui couvre la durée des échéances
+ * courantes, le coût par tâche est constant. La précision est d'un tic.
+ *
+ * Les tâches s'exécutent dans le thread de la roue et doivent être courtes. Une tâche qui
+ * échoue, même par une {@link Error}, est remise au gestionnaire d'exceptions non
+ * capturées du thread (celui de la JVM par défaut) et comptée ; la roue continue de tourner.
+ */
+public class TimerWheel implements AutoCloseable {
+    private final long tickNanos;
+    private final Entry[] buckets;
+    private final int mask;
+    private final ConcurrentLinkedQueue<Entry> pending = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger scheduled = new AtomicInteger();
+    private final AtomicLong failures = new AtomicLong();
+    // Tic en cours : écrit par le thread de la roue, lu par ceux qui programment
+    private volatile long tick;
+    private volatile Thread worker;
+    private volatile boolean running;
+
+    /**
+     * Crée une roue et démarre son thread.
+     *
+     * @param tickDuration Durée d'un tic (précision des échéances).
+     * @param wheelSize Nombre de cases, arrondi à la puissance de 2 supérieure.
+     */
+    public static TimerWheel start(Duration tickDuration, int wheelSize) {
+        TimerWheel wheel = new TimerWheel(tickDuration, wheelSize);
+        wheel.running = true;
+        Thread thread = new Thread(wheel::run, "timer-wheel");
+        thread.setDaemon(true);
+        wheel.worker = thread;
+        thread.start();
+        return wheel;
+    }
+
+    /**
+     * Roue sans thread, qui n'avance que par {@link #advance()} (tests).
+     */
+    TimerWheel(Duration tickDuration, int wheelSize) {
+        if (tickDuration == null || tickDuration.toNanos() <= 0) {
+            throw new IllegalArgumentException("La durée d'un tic doit être positive");
+        }
+        if (wheelSize <= 0 || wheelSize > 1 << 20) {
+            throw new IllegalArgumentException("Taille de roue invalide : " + wheelSize);
+        }
+        this.tickNanos = tickDuration.toNanos();
+        int size = wheelSize == 1 ? 1 : Integer.highestOneBit(wheelSize - 1) << 1;
+        this.buckets = new Entry[size];
+        this.mask = size - 1;
+    }
+
+    /**
+     * Programme une tâche. Une échéance nulle ou négative s'exécute au tic suivant.
+     */
+    public void schedule(Runnable task, Duration delay) {
+        if (task == null || delay == null) {
+            throw new IllegalArgumentException("La tâche et le délai ne peuvent pas être null");
+        }
+        long ticks = Math.max(1, (delay.toNanos() + tickNanos - 1) / tickNanos);
+        pending.add(new Entry(task, tick + ticks));
+        scheduled.incrementAndGet();
+    }
+
+    /**
+     * @return Nombre de tâches programmées et pas encore exécutées.
+     */
+    public int size() {
+        return scheduled.get();
+    }
+
+    /**
+     * @return Nombre de tâches qui ont échoué depuis la création de la roue.
+     */
+    public long getFailureCount() {
+        return failures.get();
+    }
+
+    public Duration getTickDuration() {
+        return Duration.ofNanos(tickNanos);
+    }
+
+    /**
+     * Avance la roue d'un tic et exécute les tâches échues.
+     *
+     * @return Nombre de tâches exécutées.
+     */
+    int advance() {
+        long now = tick + 1;
+        Entry entry;
+        while ((entry = pending.poll()) != null) {
+            // Une tâche programmée pendant le tic précédent peut déjà être échue
+            long deadline = Math.max(entry.deadline, now);
+            int bucket = (int) (deadline & mask);
+            entry.deadline = deadline;
+            entry.next = buckets[bucket];
+            buckets[bucket] = entry;
+        }
+        tick = now;
+
+        int bucket = (int) (now & mask);
+        Entry previous = null;
+        Entry current = buckets[bucket];
+        int ran = 0;
+        while (current != null) {
+            Entry next = current.next;
+            if (current.deadline <= now) {
+                if (previous == null) {
+                    buckets[bucket] = next;
+                } else {
+                    previous.next = next;
+                }
+                scheduled.decrementAndGet();
+                ran++;
+                try {
+                    current.task.run();
+                } catch (Throwable failure) {
+                    failures.incrementAndGet();
+                    report(failure);
+                }
+            } else {
+                previous = current;
+            }
+            current = next;
+        }
+        return ran;
+    }
+
+    private static void report(Throwable failure) {
+        Thread thread = Thread.currentThread();
+        try {
+            thread.getUncaughtExceptionHandler().uncaughtException(thread, failure);
+        } catch (Throwable ignored) {
+            // Un gestionnaire défaillant ne doit pas arrêter la roue
+        }
+    }
+
+    private void run() {
+        long start = System.nanoTime();
+        while (running) {
+            long wait = start + (tick + 1) * tickNanos - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(this, wait);
+            } else {
+                advance();
+            }
+        }
+    }
+
+    /**
+     * Arrête le thread de la roue ; les tâches encore programmées ne s'exécutent pas.
+     */
+    @Override
+    public void close() {
+        running = false;
+        Thread worker = this.worker;
+        if (worker != null) {
+            LockSupport.unpark(worker);
+            try {
+                worker.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private static final class Entry {
+        private final Runnable task;
+        private long deadline;
+        private Entry next;
+
+        Entry(Runnable task, long deadline) {
+            this.task = task;
+            this.deadline = deadline;
+        }
+    }
+}
@@ -0,0 +1,466 @@
+package com.cinema.http;
+
+import com.cinema.enums.SeatType;
+import com.cinema.holds.SeatHolds;
+import com.cinema.models.Cinema;
+import com.cinema.models.Person;
+import com.cinema.models.Reservation;
+import com.cinema.models.Seance;
+import com.cinema.models.SeatMapSnapshot;
+import com.cinema.models.SeatHold;
+import com.cinema.waitlist.Waitlist;
+import com.cinema.waitlist.WaitlistEntry;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * API HTTP de réservation, servie par le serveur intégré du JDK avec un thread virtuel par requête.
+ *
+ * <pre>
+ * GET    /seances                          liste des séances (id, cinéma, salle, film, date, heure, places libres)
+ * GET    /seances/{id}/seats               plan de la séance ('O' = occupé) ; avec If-None-Match, répond 304
+ *                                          tant que l'ETag de la séance n'a pas changé
+ * POST   /seances/{id}/reservations        réserve ; formulaire firstName, lastName et
+ *                                          soit seat=rangée,colonne,TYPE (répétable), soit count=N&amp;type=TYPE
+ *                                          pour le meilleur bloc de N places
+ * DELETE /seances/{id}/reservations/{rid}  annule une réservation
+ * POST   /seances/{id}/holds               retient des places le temps du paiement ; mêmes sièges que pour
+ *                                          une réservation (seat=... ou count=N&amp;type=TYPE)
+ * POST   /seances/{id}/holds/{hid}         transforme la retenue en réservation ; formulaire firstName, lastName
+ * DELETE /seances/{id}/holds/{hid}         rend les places retenues
+ * POST   /seances/{id}/waitlist            inscrit un groupe en liste d'attente ; formulaire firstName, lastName,
+ *                                          count, type et loyalty (facultatif)
+ * GET    /seances/{id}/waitlist/{wid}      état de l'inscription et, dès que des places se libèrent,
+ *                                          la retenue à confirmer par POST /seances/{id}/holds/{hid}
+ * DELETE /seances/{id}/waitlist/{wid}      quitte la liste d'attente
+ * </pre>
+ *
+ * Les séances sont numérotées à partir de 1 au démarrage du serveur, par cinéma puis par heure ; la structure
+ * (cinémas, salles, séances) n'est pas modifiable par l'API.
+ *
+ * Le serveur du JDK doit être lancé avec {@code -Dsun.net.httpserver.nodelay=true} (le mode
+ * {@code serve} de {@link com.cinema.Main} la positionne) : sans TCP_NODELAY, l'en-tête et le corps
+ * partent en deux segments et le client attend l'ACK retardé (~40 ms) sur les connexions persistantes.
+ *
+ * Une erreur imprévue pendant une requête répond 500 ; l'exception est remise au gestionnaire
+ * d'exceptions non capturées du thread.
+ */
+public class BookingServer {
+
+    private final List<Seance> seances;
+    private final Map<Seance, String> cinemaNames;
+    private final SeatHolds holds;
+    // Listes d'attente créées à la première inscription sur une séance
+    private final Map<Seance, Waitlist> waitlists = new ConcurrentHashMap<>();
+    private final HttpServer server;
+    private final ExecutorService executor;
+    // Préfixe des ETag : les versions repartent de zéro à chaque démarrage
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+
+    public BookingServer(List<Cinema> cinemas, int port) throws IOException {
+        this(cinemas, port, new SeatHolds());
+    }
+
+    /**
+     * @param holds Retenues de places, fermées avec le serveur.
+     */
+    public BookingServer(List<Cinema> cinemas, int port, SeatHolds holds) throws IOException {
+        if (cinemas == null || holds == null) {
+            throw new IllegalArgumentException("La liste de cinémas et les retenues ne peuvent pas être null");
+        }
+        List<Seance> all = new ArrayList<>();
+        Map<Seance, String> names = new HashMap<>();
+        for (Cinema cinema : cinemas) {
+            for (Seance seance : cinema.getSeances()) {
+                all.add(seance);
+                names.put(seance, cinema.getName());
+            }
+        }
+        this.seances = Collections.unmodifiableList(all);
+        this.cinemaNames = names;
+        this.holds = holds;
+        this.executor = Executors.newVirtualThreadPerTaskExecutor();
+        this.server = HttpServer.create(new InetSocketAddress(port), 1024);
+        this.server.createContext("/seances", this::handle);
+        this.server.setExecutor(executor);
+    }
+
+    public void start() {
+        server.start();
+    }
+
+    public void stop() {
+        server.stop(0);
+        executor.close();
+        for (Waitlist waitlist : waitlists.values()) {
+            waitlist.close();
+        }
+        holds.close();
+    }
+
+    /**
+     * @return Port d'écoute effectif (utile si le serveur a été créé sur le port 0).
+     */
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            try {
+                route(exchange);
+            } catch (HttpError e) {
+                send(exchange, e.status, "{\"error\":" + quote(e.getMessage()) + "}");
+            } catch (IllegalArgumentException e) {
+                send(exchange, 400, "{\"error\":" + quote(e.getMessage()) + "}");
+            } catch (RuntimeException e) {
+                Thread thread = Thread.currentThread();
+                thread.getUncaughtExceptionHandler().uncaughtException(thread, e);
+                send(exchange, 500, "{\"error\":\"Erreur interne du serveur\"}");
+            }
+        }
+    }
+
+    private void route(HttpExchange exchange) throws IOException, HttpError {
+        String[] parts = exchange.getRequestURI().getPath().split("/");
+        String method = exchange.getRequestMethod();
+        // parts[0] est vide, parts[1] vaut "seances"
+        if (parts.length == 2) {
+            requireMethod(method, "GET");
+            send(exchange, 200, listSeances());
+            return;
+        }
+        Seance seance = seanceAt(parts[2]);
+        if (parts.length == 4 && parts[3].equals("seats")) {
+            requireMethod(method, "GET");
+            SeatMapSnapshot snapshot = seance.getSeatMapSnapshot();
+            String etag = "\"" + epoch + "-" + snapshot.getVersion() + "-" + seance.getReservationCount() + "\"";
+            exchange.getResponseHeaders().set("ETag", etag);
+            if (etag.equals(exchange.getRequestHeaders().getFirst("If-None-Match"))) {
+                send(exchange, 304, null);
+            } else {
+                send(exchange, 200, seatMap(seance, snapshot));
+            }
+        } else if (parts.length == 4 && parts[3].equals("reservations")) {
+            requireMethod(method, "POST");
+            send(exchange, 201, reserve(seance, readForm(exchange.getRequestBody())));
+        } else if (parts.length == 5 && parts[3].equals("reservations")) {
+            requireMethod(method, "DELETE");
+            cancel(seance, parseLong(parts[4]));
+            send(exchange, 204, null);
+        } else if (parts.length == 4 && parts[3].equals("holds")) {
+            requireMethod(method, "POST");
+            send(exchange, 201, hold(seance, readForm(exchange.getRequestBody())));
+        } else if (parts.length == 5 && parts[3].equals("holds")) {
+            SeatHold hold = holdOf(seance, parseLong(parts[4]));
+            if (method.equals("DELETE")) {
+                hold.release();
+                send(exchange, 204, null);
+            } else {
+                requireMethod(method, "POST");
+                send(exchange, 201, promote(hold, readForm(exchange.getRequestBody())));
+            }
+        } else if (parts.length == 4 && parts[3].equals("waitlist")) {
+            requireMethod(method, "POST");
+            send(exchange, 201, joinWaitlist(seance, readForm(exchange.getRequestBody())));
+        } else if (parts.length == 5 && parts[3].equals("waitlist")) {
+            Waitlist waitlist = waitlists.get(seance);
+            WaitlistEntry entry = waitlist == null ? null : waitlist.find(parseLong(parts[4]));
+            if (entry == null) {
+                throw new HttpError(404, "Inscription introuvable : " + parts[4]);
+            }
+            if (method.equals("DELETE")) {
+                waitlist.leave(entry);
+                send(exchange, 204, null);
+            } else {
+                requireMethod(method, "GET");
+                send(exchange, 200, waitlistEntry(entry));
+            }
+        } else {
+            throw new HttpError(404, "Ressource inconnue");
+        }
+    }
+
+    private String listSeances() {
+        StringBuilder json = new StringBuilder("[");
+        for (int i = 0; i < seances.size(); i++) {
+            Seance seance = seances.get(i);
+            if (i > 0) {
+                json.append(',');
+            }
+            json.append("{\"id\":").append(i + 1)
+                    .append(",\"cinema\":").append(quote(cinemaNames.get(seance)))
+                    .append(",\"room\":").append(quote(seance.getRoom().getName()))
+                    .append(",\"movie\":").append(quote(seance.getMovie()))
+                    .append(",\"date\":").append(quote(seance.getDate()))
+                    .append(",\"time\":").append(quote(seance.getTime()))
+                    .append(",\"freeSeats\":").append(seance.getFreeSeatCount())
+                    .append('}');
+        }
+        return json.append(']').toString();
+    }
+
+    private String seatMap(Seance seance, SeatMapSnapshot snapshot) {
+        StringBuilder json = new StringBuilder("{\"rows\":[");
+        for (int row = 0; row < snapshot.getRowCount(); row++) {
+            if (row > 0) {
+                json.append(',');
+            }
+            json.append('"').append(snapshot.getRow(row)).append('"');
+        }
+        return json.append("],\"freeSeats\":").append(seance.getFreeSeatCount())
+                .append(",\"reservations\":").append(seance.getReservationCount())
+                .append(",\"version\":").append(snapshot.getVersion())
+                .append('}').toString();
+    }
+
+    private String reserve(Seance seance, Map<String, List<String>> form) throws HttpError {
+        Person holder = new Person(required(form, "firstName"), required(form, "lastName"));
+        List<SeatType> types = new ArrayList<>();
+        List<int[]> seats = readSeats(seance, form, types);
+        Reservation reservation = seatGroup(holder, seats);
+        try {
+            seance.reserveGroup(reservation, types);
+        } catch (Seance.SeatReservationException e) {
+            throw new HttpError(409, e.getMessage());
+        }
+        return "{\"id\":" + reservation.getId() + ",\"seats\":" + quote(reservation.getSeatString()) + "}";
+    }
+
+    private String hold(Seance seance, Map<String, List<String>> form) throws HttpError {
+        List<SeatType> types = new ArrayList<>();
+        List<int[]> seats = readSeats(seance, form, types);
+        SeatHold hold;
+        try {
+            hold = holds.hold(seance, seats, types);
+        } catch (Seance.SeatReservationException e) {
+            throw new HttpError(409, e.getMessage());
+        }
+        StringBuilder seatString = new StringBuilder();
+        for (int[] seat : seats) {
+            seatString.append(seatString.length() == 0 ? "" : ", ").append('[').append(seat[0]).append(',').append(seat[1]).append(']');
+        }
+        return "{\"id\":" + hold.getId() + ",\"seats\":" + quote(seatString.toString())
+                + ",\"expiresAt\":" + quote(hold.getExpiresAt().toString()) + "}";
+    }
+
+    private String promote(SeatHold hold, Map<String, List<String>> form) throws HttpError {
+        Person holder = new Person(required(form, "firstName"), required(form, "lastName"));
+        Reservation reservation = seatGroup(holder, hold.getSeats());
+        try {
+            hold.promote(reservation);
+        } catch (Seance.SeatReservationException e) {
+            throw new HttpError(409, e.getMessage());
+        }
+        return "{\"id\":" + reservation.getId() + ",\"seats\":" + quote(reservation.getSeatString()) + "}";
+    }
+
+    private String joinWaitlist(Seance seance, Map<String, List<String>> form) {
+        Person contact = new Person(required(form, "firstName"), required(form, "lastName"));
+        int count = parseInt(required(form, "count"));
+        SeatType type = parseSeatType(required(form, "type"));
+        int loyalty = form.containsKey("loyalty") ? parseInt(required(form, "loyalty")) : 0;
+        Waitlist waitlist = waitlists.computeIfAbsent(seance, s -> Waitlist.attach(s, holds, SeatHolds.DEFAULT_TTL));
+        return waitlistEntry(waitlist.join(contact, count, type, loyalty));
+    }
+
+    private static String waitlistEntry(WaitlistEntry entry) {
+        StringBuilder json = new StringBuilder("{\"id\":").append(entry.getId())
+                .append(",\"state\":").append(quote(entry.getState().name()));
+        SeatHold offer = entry.getOffer();
+        if (offer != null) {
+            json.append(",\"hold\":").append(offer.getId())
+                    .append(",\"holdState\":").append(quote(offer.getState().name()))
+                    .append(",\"expiresAt\":").append(quote(offer.getExpiresAt().toString()));
+        }
+        return json.append('}').toString();
+    }
+
+    private SeatHold holdOf(Seance seance, long holdId) throws HttpError {
+        SeatHold hold = holds.find(holdId);
+        if (hold == null || hold.getSeance() != seance) {
+            throw new HttpError(404, "Retenue introuvable ou expirée : " + holdId);
+        }
+        return hold;
+    }
+
+    /**
+     * Lit les sièges demandés : soit seat=rangée,colonne,TYPE (répétable), soit le meilleur
+     * bloc de count=N places de type=TYPE.
+     *
+     * @param types Reçoit le type de chaque siège.
+     */
+    private static List<int[]> readSeats(Seance seance, Map<String, List<String>> form, List<SeatType> types)
+            throws HttpError {
+        List<int[]> seats = new ArrayList<>();
+        if (form.containsKey("count")) {
+            int count = parseInt(required(form, "count"));
+            SeatType type = parseSeatType(required(form, "type"));
+            seats = seance.findBestBlock(count, type);
+            if (seats.isEmpty()) {
+                throw new HttpError(409, "Aucun bloc de " + count + " places " + type + " disponible");
+            }
+            for (int i = 0; i < count; i++) {
+                types.add(type);
+            }
+        } else {
+            for (String seat : form.getOrDefault("seat", List.of())) {
+                String[] fields = seat.split(",");
+                if (fields.length != 3) {
+                    throw new IllegalArgumentException("Siège attendu sous la forme rangée,colonne,TYPE : " + seat);
+                }
+                seats.add(new int[]{parseInt(fields[0]), parseInt(fields[1])});
+                types.add(parseSeatType(fields[2]));
+            }
+            if (seats.isEmpty()) {
+                throw new IllegalArgumentException("Au moins un siège (seat) ou un nombre de places (count) est requis");
+            }
+        }
+        return seats;
+    }
+
+    /**
+     * Réservation du titulaire sur le premier siège, des invités sur les suivants.
+     */
+    private static Reservation seatGroup(Person holder, List<int[]> seats) {
+        holder.assignSeat(seats.get(0)[0], seats.get(0)[1]);
+        Reservation reservation = new Reservation(holder);
+        for (int i = 1; i < seats.size(); i++) {
+            reservation.addPersonToReservation(new Person("Invité", String.valueOf(i)), seats.get(i));
+        }
+        return reservation;
+    }
+
+    private void cancel(Seance seance, long reservationId) throws HttpError {
+        Reservation reservation = seance.findReservationById(reservationId);
+        if (reservation == null) {
+            throw new HttpError(404, "Réservation introuvable : " + reservationId);
+        }
+        // Deux annulations simultanées de la même réservation : une seule libère les sièges
+        synchronized (reservation) {
+            if (seance.findReservationById(reservationId) != reservation) {
+                throw new HttpError(404, "Réservation introuvable : " + reservationId);
+            }
+            try {
+                seance.cancelReservation(reservation);
+            } catch (Seance.SeatCancellationException e) {
+                throw new HttpError(409, e.getMessage());
+            }
+        }
+    }
+
+    private Seance seanceAt(String id) throws HttpError {
+        int index = parseInt(id) - 1;
+        if (index < 0 || index >= seances.size()) {
+            throw new HttpError(404, "Séance introuvable : " + id);
+        }
+        return seances.get(index);
+    }
+
+    private static void requireMethod(String method, String expected) throws HttpError {
+        if (!method.equals(expected)) {
+            throw new HttpError(405, "Méthode non autorisée : " + method);
+        }
+    }
+
+    private static String required(Map<String, List<String>> form, String key) {
+        List<String> values = form.get(key);
+        if (values == null || values.get(0).trim().isEmpty()) {
+            throw new IllegalArgumentException("Paramètre manquant : " + key);
+        }
+        return values.get(0).trim();
+    }
+
+    private static int parseInt(String value) {
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Nombre invalide : " + value);
+        }
+    }
+
+    private static long parseLong(String value) {
+        try {
+            return Long.parseLong(value.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Nombre invalide : " + value);
+        }
+    }
+
+    private static SeatType parseSeatType(String value) {
+        try {
+            return SeatType.valueOf(value.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Type de siège invalide : " + value);
+        }
+    }
+
+    private static Map<String, List<String>> readForm(InputStream body) throws IOException {
+        Map<String, List<String>> form = new HashMap<>();
+        String content = new String(body.readAllBytes(), StandardCharsets.UTF_8);
+        for (String pair : content.split("&")) {
+            if (pair.isEmpty()) {
+                continue;
+            }
+            int equals = pair.indexOf('=');
+            String key = URLDecoder.decode(equals < 0 ? pair : pair.substring(0, equals), StandardCharsets.UTF_8);
+            String value = equals < 0 ? "" : URLDecoder.decode(pair.substring(equals + 1), StandardCharsets.UTF_8);
+            form.computeIfAbsent(key, k -> new ArrayList<>()).add(value);
+        }
+        return form;
+    }
+
+    private static void send(HttpExchange exchange, int status, String json) throws IOException {
+        if (json == null) {
+            exchange.sendResponseHeaders(status, -1);
+            return;
+        }
+        byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    private static String quote(String value) {
+        StringBuilder json = new StringBuilder(value.length() + 2).append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"' || c == '\\') {
+                json.append('\\').append(c);
+            } else if (c < 0x20) {
+                json.append(String.format("\\u%04x", (int) c));
+            } else {
+                json.append(c);
+            }
+        }
+        return json.append('"').toString();
+    }
+
+    /**
+     * Erreur renvoyée au client avec son code HTTP.
+     */
+    private static class HttpError extends Exception {
+        private final int status;
+
+        HttpError(int status, String message) {
+            super(message);
+            this.status = status;
+        }
+    }
+}
@@ -0,0 +1,237 @@
+package com.cinema.http;
+
+import com.cinema.models.Cinema;
+import com.cinema.models.Room;
+import com.cinema.models.Seance;
+import com.cinema.utils.RoomBuilder;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Générateur de charge local pour {@link BookingServer} : chaque client virtuel enchaîne
+ * lectures du plan (70 %) et cycles réservation + annulation d'un bloc de deux places (30 %),
+ * puis le débit (requêtes/s) et les latences p50/p99 sont affichés.
+ *
+ * Sans URL, un serveur de démonstration est démarré dans le même processus.
+ */
+public class LoadGenerator {
+    private static final Pattern ID = Pattern.compile("\"id\":(\\d+)");
+
+    private final HttpClient client;
+    private final String baseUrl;
+    private final int seanceCount;
+
+    public LoadGenerator(String baseUrl, ExecutorService executor) throws IOException, InterruptedException {
+        this.baseUrl = baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .executor(executor)
+                .build();
+        String seances = client.send(HttpRequest.newBuilder(URI.create(this.baseUrl + "/seances")).build(),
+                HttpResponse.BodyHandlers.ofString()).body();
+        int count = 0;
+        Matcher matcher = ID.matcher(seances);
+        while (matcher.find()) {
+            count++;
+        }
+        if (count == 0) {
+            throw new IllegalStateException("Le serveur ne propose aucune séance");
+        }
+        this.seanceCount = count;
+    }
+
+    /**
+     * Lance {@code concurrency} clients pendant {@code seconds} secondes.
+     */
+    public Report run(int concurrency, int seconds) throws Exception {
+        long deadline = System.nanoTime() + seconds * 1_000_000_000L;
+        long start = System.nanoTime();
+        List<Future<Worker>> futures = new ArrayList<>();
+        try (ExecutorService workers = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < concurrency; i++) {
+                futures.add(workers.submit(() -> new Worker().runUntil(deadline)));
+            }
+        }
+        long elapsed = System.nanoTime() - start;
+
+        int total = 0;
+        int conflicts = 0;
+        int errors = 0;
+        for (Future<Worker> future : futures) {
+            Worker worker = future.get();
+            total += worker.count;
+            conflicts += worker.conflicts;
+            errors += worker.errors;
+        }
+        long[] latencies = new long[total];
+        int offset = 0;
+        for (Future<Worker> future : futures) {
+            Worker worker = future.get();
+            System.arraycopy(worker.latencies, 0, latencies, offset, worker.count);
+            offset += worker.count;
+        }
+        Arrays.sort(latencies);
+        return new Report(total, conflicts, errors, elapsed, latencies);
+    }
+
+    /**
+     * Un client virtuel : ses latences sont gardées localement, sans partage entre threads.
+     */
+    private class Worker {
+        long[] latencies = new long[1024];
+        int count;
+        int conflicts;
+        int errors;
+
+        Worker runUntil(long deadline) {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            while (System.nanoTime() < deadline) {
+                String seance = baseUrl + "/seances/" + (1 + random.nextInt(seanceCount));
+                if (random.nextInt(10) < 7) {
+                    call(HttpRequest.newBuilder(URI.create(seance + "/seats")).build());
+                    continue;
+                }
+                String body = call(HttpRequest.newBuilder(URI.create(seance + "/reservations"))
+                        .header("Content-Type", "application/x-www-form-urlencoded")
+                        .POST(HttpRequest.BodyPublishers.ofString("firstName=Charge&lastName=Test&count=2&type=NORMAL"))
+                        .build());
+                Matcher matcher = body == null ? null : ID.matcher(body);
+                if (matcher != null && matcher.find()) {
+                    call(HttpRequest.newBuilder(URI.create(seance + "/reservations/" + matcher.group(1)))
+                            .DELETE().build());
+                }
+            }
+            return this;
+        }
+
+        private String call(HttpRequest request) {
+            long start = System.nanoTime();
+            try {
+                HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+                record(System.nanoTime() - start);
+                if (response.statusCode() == 409) {
+                    conflicts++;
+                } else if (response.statusCode() >= 400) {
+                    errors++;
+                }
+                return response.body();
+            } catch (IOException e) {
+                record(System.nanoTime() - start);
+                errors++;
+                return null;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return null;
+            }
+        }
+
+        private void record(long nanos) {
+            if (count == latencies.length) {
+                latencies = Arrays.copyOf(latencies, count * 2);
+            }
+            latencies[count++] = nanos;
+        }
+    }
+
+    /**
+     * Résultat d'une campagne de charge ; les latences sont triées.
+     */
+    public static class Report {
+        private final int requests;
+        private final int conflicts;
+        private final int errors;
+        private final long elapsedNanos;
+        private final long[] latencies;
+
+        Report(int requests, int conflicts, int errors, long elapsedNanos, long[] latencies) {
+            this.requests = requests;
+            this.conflicts = conflicts;
+            this.errors = errors;
+            this.elapsedNanos = elapsedNanos;
+            this.latencies = latencies;
+        }
+
+        public int getRequests() {
+            return requests;
+        }
+
+        public int getErrors() {
+            return errors;
+        }
+
+        public double getRequestsPerSecond() {
+            return requests * 1e9 / elapsedNanos;
+        }
+
+        /**
+         * @param percentile Entre 0 et 100.
+         * @return Latence en microsecondes.
+         */
+        public long getLatencyMicros(double percentile) {
+            if (latencies.length == 0) {
+                return 0;
+            }
+            int index = (int) Math.ceil(percentile / 100 * latencies.length) - 1;
+            return latencies[Math.max(0, Math.min(index, latencies.length - 1))] / 1_000;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%d requêtes en %.1f s : %.0f req/s, p50 %d µs, p99 %d µs, max %d µs"
+                            + " (%d conflits, %d erreurs)",
+                    requests, elapsedNanos / 1e9, getRequestsPerSecond(), getLatencyMicros(50),
+                    getLatencyMicros(99), getLatencyMicros(100), conflicts, errors);
+        }
+    }
+
+    /**
+     * Salle en arc de démonstration avec quatre séances, pour une campagne sans serveur externe.
+     */
+    static Cinema demoCinema() {
+        Cinema cinema = new Cinema("Cinéma Démo");
+        Room room = new Room("Grande Salle", RoomBuilder.createArched(30, 40));
+        for (int i = 0; i < 4; i++) {
+            room.addSeance(new Seance("10/12/2025", (14 + 2 * i) + "h00", "Film " + (i + 1), room));
+        }
+        cinema.addRoom(room);
+        return cinema;
+    }
+
+    /**
+     * Arguments : [url] [secondes] [clients]. Sans URL (ou avec "-"), un serveur de
+     * démonstration est démarré localement.
+     */
+    public static void main(String[] args) throws Exception {
+        String url = args.length > 0 ? args[0] : "-";
+        int seconds = args.length > 1 ? Integer.parseInt(args[1]) : 10;
+        int concurrency = args.length > 2 ? Integer.parseInt(args[2]) : 64;
+
+        BookingServer server = null;
+        if (url.equals("-")) {
+            server = new BookingServer(List.of(demoCinema()), 0);
+            server.start();
+            url = "http://localhost:" + server.getPort();
+        }
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            LoadGenerator generator = new LoadGenerator(url, executor);
+            System.out.println("Charge sur " + url + " : " + concurrency + " clients pendant " + seconds + " s...");
+            System.out.println(generator.run(concurrency, seconds));
+        } finally {
+            if (server != null) {
+                server.stop();
+            }
+        }
+    }
+}
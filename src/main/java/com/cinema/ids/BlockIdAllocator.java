@@ -0,0 +1,192 @@
+package com.cinema.ids;
+
+import com.cinema.interfaces.IdAllocator;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Allocateur d'identifiants sans verrou, par blocs.
+ *
+ * Un identifiant est composé du numéro de nœud (16 bits de poids fort) et d'un numéro de
+ * séquence (47 bits) : plusieurs nœuds de réservation distribuent des identifiants sans se
+ * coordonner, tant que chacun a son propre numéro. Sur un nœud, chaque bande (choisie
+ * d'après le thread) puise dans un bloc de {@code blockSize} séquences réservé d'un seul
+ * {@code getAndAdd} sur le compteur global ; le chemin courant n'est qu'un
+ * {@code getAndIncrement} sur le bloc de la bande.
+ *
+ * Avec un {@link LeaseStore}, la séquence maximale réservée (le bail) est écrite avant qu'un
+ * bloc qui la dépasse ne soit utilisé, par tranches de {@code leaseBlocks} blocs : après un
+ * redémarrage, la distribution reprend au-dessus du dernier bail, sans réutiliser d'identifiant.
+ *
+ * Les identifiants sont uniques mais pas contigus : la fin d'un bloc abandonné (bande
+ * remplacée, redémarrage) reste inutilisée.
+ */
+public class BlockIdAllocator implements IdAllocator {
+    public static final int NODE_BITS = 16;
+    public static final int SEQUENCE_BITS = 47;
+    public static final long MAX_SEQUENCE = (1L << SEQUENCE_BITS) - 1;
+
+    private static final int DEFAULT_BLOCK_SIZE = 1024;
+    private static final int DEFAULT_LEASE_BLOCKS = 64;
+
+    /**
+     * Stockage durable du bail d'un nœud.
+     */
+    public interface LeaseStore {
+        /**
+         * @return Dernier bail enregistré, 0 s'il n'y en a pas.
+         */
+        long load() throws IOException;
+
+        /**
+         * Enregistre durablement le nouveau bail avant que ses séquences ne soient distribuées.
+         */
+        void store(long ceiling) throws IOException;
+    }
+
+    private final long nodeBits;
+    private final int blockSize;
+    private final long leaseSize;
+    private final LeaseStore leaseStore;
+    private final AtomicLong nextBlock;
+    private final AtomicReferenceArray<Block> stripes;
+    private final ReentrantLock leaseLock = new ReentrantLock();
+    private volatile long leased;
+
+    /**
+     * Allocateur en mémoire du nœud 0 : les identifiants recommencent à 1 à chaque démarrage.
+     */
+    public BlockIdAllocator() {
+        this(0, DEFAULT_BLOCK_SIZE);
+    }
+
+    public BlockIdAllocator(int nodeId, int blockSize) {
+        this(nodeId, blockSize, 1, null, 0);
+    }
+
+    /**
+     * Allocateur persistant : reprend au-dessus du bail enregistré dans {@code leaseStore}.
+     */
+    public BlockIdAllocator(int nodeId, int blockSize, LeaseStore leaseStore) throws IOException {
+        this(nodeId, blockSize, Math.max(1, leaseStore.load()), leaseStore, DEFAULT_LEASE_BLOCKS);
+    }
+
+    private BlockIdAllocator(int nodeId, int blockSize, long firstSequence, LeaseStore leaseStore, int leaseBlocks) {
+        if (nodeId < 0 || nodeId >= 1 << NODE_BITS) {
+            throw new IllegalArgumentException("Le numéro de nœud doit être compris entre 0 et " + ((1 << NODE_BITS) - 1));
+        }
+        if (blockSize < 1) {
+            throw new IllegalArgumentException("La taille de bloc doit être au moins 1");
+        }
+        this.nodeBits = (long) nodeId << SEQUENCE_BITS;
+        this.blockSize = blockSize;
+        this.leaseSize = (long) blockSize * leaseBlocks;
+        this.leaseStore = leaseStore;
+        this.nextBlock = new AtomicLong(firstSequence);
+        this.leased = firstSequence;
+        int stripeCount = Integer.highestOneBit(Math.max(1, Runtime.getRuntime().availableProcessors() * 2 - 1)) << 1;
+        this.stripes = new AtomicReferenceArray<>(stripeCount);
+    }
+
+    @Override
+    public long nextId() {
+        int slot = stripe();
+        Block block = stripes.get(slot);
+        if (block != null) {
+            long sequence = block.next.getAndIncrement();
+            if (sequence < block.end) {
+                return nodeBits | sequence;
+            }
+        }
+        Block fresh = claimBlock();
+        long sequence = fresh.next.getAndIncrement();
+        // En cas d'échec, une autre tâche de la bande a déjà installé un bloc neuf :
+        // le nôtre n'aura servi qu'à cet identifiant
+        stripes.compareAndSet(slot, block, fresh);
+        return nodeBits | sequence;
+    }
+
+    @Override
+    public void advancePast(long id) {
+        if ((id & ~MAX_SEQUENCE) != nodeBits) {
+            return;
+        }
+        long sequence = id & MAX_SEQUENCE;
+        nextBlock.accumulateAndGet(sequence + 1, Math::max);
+        // Un bloc déjà distribué peut contenir la séquence restaurée : son curseur passe
+        // au-delà ; un bloc ainsi épuisé est remplacé au prochain appel
+        for (int i = 0; i < stripes.length(); i++) {
+            Block block = stripes.get(i);
+            if (block != null && block.next.get() <= sequence) {
+                block.next.accumulateAndGet(sequence + 1, Math::max);
+            }
+        }
+    }
+
+    @Override
+    public long highWaterMark() {
+        return nodeBits | nextBlock.get();
+    }
+
+    /**
+     * @return Numéro de nœud encodé dans les identifiants de cet allocateur.
+     */
+    public int getNodeId() {
+        return (int) (nodeBits >>> SEQUENCE_BITS);
+    }
+
+    /**
+     * @return Numéro de nœud d'un identifiant distribué par un {@code BlockIdAllocator}.
+     */
+    public static int nodeOf(long id) {
+        return (int) (id >>> SEQUENCE_BITS);
+    }
+
+    private Block claimBlock() {
+        long start = nextBlock.getAndAdd(blockSize);
+        long end = start + blockSize;
+        if (end - 1 > MAX_SEQUENCE) {
+            throw new IllegalStateException("Séquence d'identifiants épuisée pour le nœud " + getNodeId());
+        }
+        if (leaseStore != null && end > leased) {
+            extendLease(end);
+        }
+        return new Block(start, end);
+    }
+
+    private void extendLease(long needed) {
+        leaseLock.lock();
+        try {
+            if (leased < needed) {
+                long ceiling = Math.min(MAX_SEQUENCE + 1, needed + leaseSize);
+                leaseStore.store(ceiling);
+                leased = ceiling;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Impossible d'enregistrer le bail d'identifiants", e);
+        } finally {
+            leaseLock.unlock();
+        }
+    }
+
+    private int stripe() {
+        long id = Thread.currentThread().threadId();
+        return (int) ((id * 0x9E3779B97F4A7C15L) >>> 40) & (stripes.length() - 1);
+    }
+
+    /**
+     * Séquences [next, end) réservées pour une bande.
+     */
+    private static final class Block {
+        final AtomicLong next;
+        final long end;
+
+        Block(long start, long end) {
+            this.next = new AtomicLong(start);
+            this.end = end;
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.cinema.interfaces;
+
+/**
+ * Source d'identifiants 64 bits uniques pour les réservations.
+ * Les implémentations doivent pouvoir être appelées depuis plusieurs threads à la fois.
+ */
+public interface IdAllocator {
+    /**
+     * @return Un identifiant jamais distribué auparavant (strictement positif).
+     */
+    long nextId();
+
+    /**
+     * Garantit que les identifiants distribués ensuite ne reprendront pas {@code id}
+     * (rechargement d'une réservation existante).
+     */
+    void advancePast(long id);
+
+    /**
+     * @return Borne stricte : tout identifiant déjà distribué par cet allocateur lui est inférieur.
+     */
+    long highWaterMark();
+}
@@ -0,0 +1,119 @@
+package com.cinema.interfaces;
+
+/**
+ * Moteur d'occupation des sièges d'une séance.
+ * Le plan de la salle reste partagé avec la {@code Room} : le moteur ne suit
+ * que l'état libre/occupé de chaque siège, repéré par un index linéaire
+ * ({@code rangée * colonnes + colonne}).
+ */
+public interface OccupancyEngine {
+    /**
+     * @return Nombre de sièges suivis par le moteur.
+     */
+    int capacity();
+
+    /**
+     * @param index Index linéaire du siège.
+     * @return true si le siège est occupé.
+     */
+    boolean isOccupied(int index);
+
+    /**
+     * Marque un siège comme occupé.
+     *
+     * @param index Index linéaire du siège.
+     * @return true si le siège était libre, false s'il était déjà occupé.
+     */
+    boolean occupy(int index);
+
+    /**
+     * Libère un siège.
+     *
+     * @param index Index linéaire du siège.
+     * @return true si le siège était occupé, false s'il était déjà libre.
+     */
+    boolean release(int index);
+
+    /**
+     * Occupe deux sièges voisins (place double) en une seule opération :
+     * soit les deux sont pris, soit aucun.
+     *
+     * @param index Index linéaire du premier siège de la paire.
+     * @return true si les deux sièges étaient libres.
+     */
+    default boolean occupyPair(int index) {
+        if (isOccupied(index) || isOccupied(index + 1)) {
+            return false;
+        }
+        occupy(index);
+        occupy(index + 1);
+        return true;
+    }
+
+    /**
+     * Libère deux sièges voisins, uniquement s'ils sont tous deux occupés.
+     *
+     * @param index Index linéaire du premier siège de la paire.
+     * @return true si la paire a été libérée.
+     */
+    default boolean releasePair(int index) {
+        if (!isOccupied(index) || !isOccupied(index + 1)) {
+            return false;
+        }
+        release(index);
+        release(index + 1);
+        return true;
+    }
+
+    /**
+     * @return Nombre total de sièges occupés.
+     */
+    int occupiedCount();
+
+    /**
+     * Marque un siège pris mais pas encore durable (retenue, réservation en attente du
+     * journal), ou lève cette marque. Un moteur persistant libère à sa réouverture les
+     * sièges encore marqués ; les autres moteurs l'ignorent.
+     *
+     * @param index Index linéaire du siège.
+     */
+    default void setPending(int index, boolean pending) {
+    }
+
+    /**
+     * @return true si l'occupation vit hors du tas : la séance garde alors ses index par
+     *         siège à la taille de ses réservations plutôt qu'à celle de la salle.
+     */
+    default boolean isOffHeap() {
+        return false;
+    }
+
+    /**
+     * @return true si l'occupation a été relue d'un stockage existant à l'ouverture du
+     *         moteur (reprise après arrêt), plutôt que créée vide.
+     */
+    default boolean isRecovered() {
+        return false;
+    }
+
+    /**
+     * Lit l'occupation de 64 sièges consécutifs en une fois.
+     *
+     * @param word Index du mot : sièges {@code word * 64} à {@code word * 64 + 63}.
+     * @return Bit i posé si le siège {@code word * 64 + i} est occupé.
+     */
+    default long wordAt(int word) {
+        int first = word << 6;
+        if (word < 0 || first >= capacity()) {
+            throw new IndexOutOfBoundsException("Index de mot invalide: " + word);
+        }
+        long bits = 0;
+        int end = Math.min(first + 64, capacity());
+        for (int index = first; index < end; index++) {
+            if (isOccupied(index)) {
+                bits |= 1L << index;
+            }
+        }
+        return bits;
+    }
+}
@@ -16,7 +16,8 @@ public interface Reservable {
     void reserve(int[] seat, SeatType type) throws SeatReservationException;
 
     /**
-     * Annule la réservation d'un siège.
+     * Annule la réservation d'un siège isolé. Un siège retenu ou appartenant à une
+     * réservation se libère avec sa retenue ou sa réservation, pas par cette méthode.
      *
      * @param seat Coordonnées du siège.
      * @param type Type de siège.
@@ -0,0 +1,47 @@
+package com.cinema.interfaces;
+
+import com.cinema.enums.SeatType;
+import com.cinema.models.Reservation;
+import com.cinema.models.Seance;
+import java.util.List;
+
+/**
+ * Journal durable des changements d'une séance, appelé avant les observateurs.
+ *
+ * Une prise de siège est journalisée une fois faite ; si l'écriture échoue, la séance rend
+ * les sièges puis propage l'exception. Une libération ou un retrait est journalisé avant
+ * d'être appliqué ; si l'écriture échoue, rien n'est changé. Dans les deux cas, un
+ * changement visible dans la séance est toujours dans le journal.
+ */
+public interface SeanceJournal {
+    /**
+     * Un siège isolé vient d'être pris ({@link Seance#reserve}).
+     */
+    void seatReserved(Seance seance, int row, int col, SeatType type);
+
+    /**
+     * Un siège isolé va être libéré ({@link Seance#cancel}).
+     */
+    void seatCancelling(Seance seance, int row, int col, SeatType type);
+
+    /**
+     * Les sièges d'une réservation viennent d'être pris ({@link Seance#reserveGroup} ou
+     * transformation d'une retenue) ; la réservation va être enregistrée.
+     */
+    void reservationBooked(Seance seance, Reservation reservation, List<SeatType> types);
+
+    /**
+     * Une réservation va être enregistrée sans prise de siège ({@link Seance#addReservation}).
+     */
+    void reservationAdding(Seance seance, Reservation reservation);
+
+    /**
+     * Une réservation va être retirée sans libérer ses sièges ({@link Seance#removeReservation}).
+     */
+    void reservationRemoving(Seance seance, Reservation reservation);
+
+    /**
+     * Une réservation va être annulée, sièges compris ({@link Seance#cancelReservation}).
+     */
+    void reservationCancelling(Seance seance, Reservation reservation);
+}
@@ -0,0 +1,57 @@
+package com.cinema.interfaces;
+
+import com.cinema.enums.SeatType;
+import com.cinema.models.Reservation;
+import com.cinema.models.Seance;
+import com.cinema.models.SeatHold;
+
+/**
+ * Observateur des changements d'une séance.
+ * Chaque méthode est appelée après que le changement a réussi, dans le thread qui l'a effectué.
+ */
+public interface SeanceObserver {
+    /**
+     * Un siège (ou une place double) vient d'être réservé.
+     */
+    default void seatReserved(Seance seance, int row, int col, SeatType type) {
+    }
+
+    /**
+     * Un siège (ou une place double) vient d'être libéré.
+     */
+    default void seatCancelled(Seance seance, int row, int col, SeatType type) {
+    }
+
+    /**
+     * Une réservation vient d'être enregistrée dans la séance.
+     */
+    default void reservationAdded(Seance seance, Reservation reservation) {
+    }
+
+    /**
+     * Une réservation vient d'être retirée de la séance sans libérer ses sièges.
+     */
+    default void reservationRemoved(Seance seance, Reservation reservation) {
+    }
+
+    /**
+     * Une réservation vient d'être annulée : ses sièges ont été libérés (voir seatCancelled)
+     * puis elle a été retirée de la séance.
+     */
+    default void reservationCancelled(Seance seance, Reservation reservation) {
+    }
+
+    /**
+     * Une retenue vient d'être rendue ou d'expirer : ses sièges sont de nouveau libres.
+     * Une retenue transformée en réservation est signalée par holdPromoted.
+     */
+    default void holdEnded(Seance seance, SeatHold hold) {
+    }
+
+    /**
+     * Une retenue vient d'être transformée en réservation : ses sièges ont été signalés par
+     * seatReserved et la réservation par reservationAdded.
+     */
+    default void holdPromoted(Seance seance, SeatHold hold, Reservation reservation) {
+    }
+}
@@ -1,10 +1,41 @@
 package com.cinema.models;
 
+import com.cinema.analytics.OccupancyAnalytics;
+import com.cinema.occupancy.MappedOccupancyStore;
+import com.cinema.utils.TitleTokenizer;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.LongAdder;
 
 public class Cinema {
+    // Clés de tri de searchByTitle : minutes depuis l'an 0 (toujours positives), puis 24 bits de position
+    private static final long EPOCH_MINUTE_OFFSET = LocalDateTime.of(0, 1, 1, 0, 0).toEpochSecond(ZoneOffset.UTC) / 60;
+    private static final long UNSCHEDULED_MINUTE = 1L << 38;
     private String name;
     private ArrayList<Room> rooms;
+    // Totaux maintenus par les salles à chaque ajout, suppression, réservation ou annulation
+    private final LongAdder totalSeances = new LongAdder();
+    private final LongAdder totalReservations = new LongAdder();
+    private final LongAdder totalOccupiedSeats = new LongAdder();
+    // Séances de toutes les salles triées par heure de début, tenues à jour par les salles ;
+    // celles dont la date n'est pas lisible sont gardées à part
+    private final TreeMap<LocalDateTime, ArrayList<Seance>> showtimes = new TreeMap<>();
+    private final ArrayList<Seance> unscheduled = new ArrayList<>();
+    // Index inversé mot du titre (normalisé) -> emplacements des séances qui le contiennent,
+    // trié pour la recherche par préfixe ; protégé par le même verrou que l'index des horaires
+    private final TreeMap<String, BitSet> titleIndex = new TreeMap<>();
+    private final ArrayList<Seance> slots = new ArrayList<>();
+    private final HashMap<Seance, Integer> slotOf = new HashMap<>();
+    private final ArrayDeque<Integer> freeSlots = new ArrayDeque<>();
+    // Stockage des occupations, transmis à chaque salle (voir Room#setOccupancyStore)
+    private MappedOccupancyStore occupancyStore;
 
     public Cinema(String name) {
         if (name == null || name.trim().isEmpty()) {
@@ -27,9 +58,28 @@ public class Cinema {
         }
         if (!rooms.contains(room)) {
             rooms.add(room);
+            if (occupancyStore != null) {
+                room.setOccupancyStore(occupancyStore);
+            }
+            room.attach(this);
         }
     }
 
+    /**
+     * Range l'occupation des séances de toutes les salles, présentes et ajoutées ensuite,
+     * dans des fichiers mappés (null pour la garder sur le tas).
+     */
+    public void setOccupancyStore(MappedOccupancyStore store) {
+        this.occupancyStore = store;
+        for (Room room : rooms) {
+            room.setOccupancyStore(store);
+        }
+    }
+
+    public MappedOccupancyStore getOccupancyStore() {
+        return occupancyStore;
+    }
+
     public void addRooms(ArrayList<Room> newRooms) {
         if (newRooms == null) {
             throw new IllegalArgumentException("La liste de salles ne peut pas être null");
@@ -40,7 +90,171 @@ public class Cinema {
     }
 
     public void removeRoom(Room room) {
-        rooms.remove(room);
+        if (rooms.remove(room)) {
+            room.detach(this);
+        }
+    }
+
+    void countersChanged(int seanceDelta, int reservationDelta, int seatDelta) {
+        if (seanceDelta != 0) {
+            totalSeances.add(seanceDelta);
+        }
+        if (reservationDelta != 0) {
+            totalReservations.add(reservationDelta);
+        }
+        if (seatDelta != 0) {
+            totalOccupiedSeats.add(seatDelta);
+        }
+    }
+
+    void seanceAdded(Seance seance) {
+        synchronized (showtimes) {
+            int slot = freeSlots.isEmpty() ? slots.size() : freeSlots.pop();
+            if (slot == slots.size()) {
+                slots.add(seance);
+            } else {
+                slots.set(slot, seance);
+            }
+            slotOf.put(seance, slot);
+            for (String token : TitleTokenizer.tokenize(seance.getMovie())) {
+                titleIndex.computeIfAbsent(token, t -> new BitSet()).set(slot);
+            }
+            if (seance.getStart() == null) {
+                unscheduled.add(seance);
+            } else {
+                showtimes.computeIfAbsent(seance.getStart(), start -> new ArrayList<>(1)).add(seance);
+            }
+        }
+    }
+
+    void seanceRemoved(Seance seance) {
+        synchronized (showtimes) {
+            Integer slot = slotOf.remove(seance);
+            if (slot == null) {
+                return;
+            }
+            for (String token : TitleTokenizer.tokenize(seance.getMovie())) {
+                BitSet withToken = titleIndex.get(token);
+                if (withToken != null) {
+                    withToken.clear(slot);
+                    if (withToken.isEmpty()) {
+                        titleIndex.remove(token);
+                    }
+                }
+            }
+            slots.set(slot, null);
+            freeSlots.push(slot);
+            if (seance.getStart() == null) {
+                unscheduled.remove(seance);
+                return;
+            }
+            ArrayList<Seance> atStart = showtimes.get(seance.getStart());
+            if (atStart != null && atStart.remove(seance) && atStart.isEmpty()) {
+                showtimes.remove(seance.getStart());
+            }
+        }
+    }
+
+    /**
+     * @return Toutes les séances du cinéma par heure de début, suivies de celles sans date lisible.
+     */
+    public List<Seance> getSeances() {
+        synchronized (showtimes) {
+            List<Seance> seances = new ArrayList<>(totalSeances.intValue());
+            for (ArrayList<Seance> atStart : showtimes.values()) {
+                seances.addAll(atStart);
+            }
+            seances.addAll(unscheduled);
+            return seances;
+        }
+    }
+
+    /**
+     * Séances qui commencent dans l'intervalle [from, to), par heure de début.
+     * Seule la portion demandée de l'index est parcourue.
+     */
+    public List<Seance> getSeancesBetween(LocalDateTime from, LocalDateTime to) {
+        if (from == null || to == null) {
+            throw new IllegalArgumentException("Les bornes de l'intervalle ne peuvent pas être null");
+        }
+        List<Seance> seances = new ArrayList<>();
+        if (!from.isBefore(to)) {
+            return seances;
+        }
+        synchronized (showtimes) {
+            for (ArrayList<Seance> atStart : showtimes.subMap(from, true, to, false).values()) {
+                seances.addAll(atStart);
+            }
+        }
+        return seances;
+    }
+
+    /**
+     * Recherche les séances dont le titre contient tous les mots de la requête, chacun
+     * pouvant n'être qu'un début de mot, sans tenir compte des accents ni de la casse :
+     * "mise vie" trouve "Misérables : la vie". Une requête vide renvoie toutes les séances.
+     *
+     * Chaque mot de l'index pointe vers un bitset d'emplacements de séances : un préfixe
+     * est l'union des bitsets de ses mots, la requête leur intersection.
+     *
+     * @return Séances trouvées, par heure de début.
+     */
+    public List<Seance> searchByTitle(String query) {
+        List<String> tokens = TitleTokenizer.tokenize(query);
+        if (tokens.isEmpty()) {
+            return getSeances();
+        }
+        Seance[] found;
+        synchronized (showtimes) {
+            BitSet matches = null;
+            for (String token : tokens) {
+                BitSet withPrefix = new BitSet();
+                for (BitSet withToken : titleIndex.subMap(token, true, token + Character.MAX_VALUE, false).values()) {
+                    withPrefix.or(withToken);
+                }
+                if (matches == null) {
+                    matches = withPrefix;
+                } else {
+                    matches.and(withPrefix);
+                }
+                if (matches.isEmpty()) {
+                    return new ArrayList<>();
+                }
+            }
+            found = new Seance[matches.cardinality()];
+            int i = 0;
+            for (int slot = matches.nextSetBit(0); slot >= 0; slot = matches.nextSetBit(slot + 1)) {
+                found[i++] = slots.get(slot);
+            }
+        }
+        return byStart(found);
+    }
+
+    /**
+     * Trie par heure de début (séances sans date en dernier) à l'aide de clés primitives
+     * (minute de début, position) plutôt que d'un comparateur d'objets.
+     */
+    private static List<Seance> byStart(Seance[] seances) {
+        long[] keys = new long[seances.length];
+        for (int i = 0; i < seances.length; i++) {
+            LocalDateTime start = seances[i].getStart();
+            long minute = start == null ? UNSCHEDULED_MINUTE : start.toEpochSecond(ZoneOffset.UTC) / 60 - EPOCH_MINUTE_OFFSET;
+            keys[i] = (minute << 24) | i;
+        }
+        Arrays.sort(keys);
+        List<Seance> sorted = new ArrayList<>(seances.length);
+        for (long key : keys) {
+            sorted.add(seances[(int) (key & 0xFFFFFF)]);
+        }
+        return sorted;
+    }
+
+    /**
+     * Taux de remplissage du cinéma par film, salle, créneau horaire et type de place,
+     * calculés en parallèle. Pour une chaîne : {@link OccupancyAnalytics#of(java.util.Collection)}.
+     */
+    public OccupancyAnalytics analyzeOccupancy() {
+        return OccupancyAnalytics.of(List.of(this));
     }
 
     public Room getRoomByName(String name) {
@@ -69,21 +283,15 @@ public class Cinema {
     }
 
     public int getTotalSeances() {
-        int total = 0;
-        for (Room room : rooms) {
-            total += room.getSeances().size();
-        }
-        return total;
+        return totalSeances.intValue();
     }
 
     public int getTotalReservations() {
-        int total = 0;
-        for (Room room : rooms) {
-            for (Seance seance : room.getSeances()) {
-                total += seance.getReservations().size();
-            }
-        }
-        return total;
+        return totalReservations.intValue();
+    }
+
+    public int getTotalOccupiedSeats() {
+        return totalOccupiedSeats.intValue();
     }
 
     public String getName() {
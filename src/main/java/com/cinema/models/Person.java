@@ -1,43 +1,68 @@
 package com.cinema.models;
 
+/**
+ * Personne d'une réservation, en représentation compacte : les noms sont internés (un même
+ * prénom n'est stocké qu'une fois, quel que soit le nombre de billets) et le siège tient
+ * dans un seul int (rangée sur les 16 bits de poids fort, colonne sur les 16 autres).
+ */
 public class Person {
+    /**
+     * Valeur de {@link #getPackedSeat()} quand aucun siège n'est assigné.
+     */
+    public static final int NO_SEAT = Integer.MIN_VALUE;
+
     private String firstName;
     private String lastName;
-    private int[] seat;
+    private int seat;
 
     public Person() {
         this.firstName = "";
         this.lastName = "";
-        this.seat = null;
+        this.seat = NO_SEAT;
     }
 
     public Person(String firstName, String lastName) {
         setFirstName(firstName);
         setLastName(lastName);
-        this.seat = null;
+        this.seat = NO_SEAT;
+    }
+
+    /**
+     * Recrée une personne enregistrée (snapshot) sans renormaliser ses noms : ils doivent
+     * déjà être tels que {@link #getFirstName()} et {@link #getLastName()} les rendent,
+     * et internés.
+     *
+     * @param packedSeat Siège encodé par {@link #pack}, ou {@link #NO_SEAT}.
+     */
+    public static Person restore(String firstName, String lastName, int packedSeat) {
+        Person person = new Person();
+        person.firstName = firstName;
+        person.lastName = lastName;
+        person.seat = packedSeat;
+        return person;
     }
 
     public void assignSeat(int row, int col) {
-        this.seat = new int[]{row, col};
+        this.seat = pack(row, col);
     }
 
     public void clearSeat() {
-        this.seat = null;
+        this.seat = NO_SEAT;
     }
 
     public boolean hasAssignedSeat() {
-        return seat != null;
+        return seat != NO_SEAT;
     }
 
     public void setFirstName(String firstName) {
         this.firstName = (firstName != null && !firstName.trim().isEmpty())
-                ? firstName.trim()
+                ? firstName.trim().intern()
                 : "No firstname";
     }
 
     public void setLastName(String lastName) {
         this.lastName = (lastName != null && !lastName.trim().isEmpty())
-                ? lastName.trim()
+                ? lastName.trim().intern()
                 : "No lastName";
     }
 
@@ -53,7 +78,35 @@ public class Person {
         return lastName;
     }
 
+    /**
+     * @return Copie {rangée, colonne} du siège, ou null si aucun siège n'est assigné.
+     */
     public int[] getSeat() {
-        return seat != null ? seat.clone() : null;
+        return seat != NO_SEAT ? new int[]{rowOf(seat), columnOf(seat)} : null;
+    }
+
+    /**
+     * @return Siège encodé par {@link #pack}, ou {@link #NO_SEAT}.
+     */
+    public int getPackedSeat() {
+        return seat;
+    }
+
+    /**
+     * Encode un siège dans un int. Rangée et colonne doivent tenir sur 16 bits signés.
+     */
+    public static int pack(int row, int col) {
+        if (row != (short) row || col != (short) col || (row == Short.MIN_VALUE && col == 0)) {
+            throw new IllegalArgumentException("Siège hors des limites encodables : [" + row + "," + col + "]");
+        }
+        return (row << 16) | (col & 0xFFFF);
+    }
+
+    public static int rowOf(int packedSeat) {
+        return packedSeat >> 16;
+    }
+
+    public static int columnOf(int packedSeat) {
+        return (short) packedSeat;
     }
-}
\ No newline at end of file
+}
@@ -1,30 +1,84 @@
 package com.cinema.models;
 
+import com.cinema.ids.BlockIdAllocator;
+import com.cinema.interfaces.IdAllocator;
 import java.util.ArrayList;
 import java.util.Arrays;
 
+/**
+ * Réservation d'un titulaire et de ses invités. Les invités sont gardés dans un tableau
+ * de taille exacte et les sièges sont lus depuis les {@link Person} (un int par siège) :
+ * les listes renvoyées par {@link #getSeats()} ou {@link #getOthers()} sont des copies
+ * construites à la demande.
+ */
 public class Reservation {
-    private static int nextId = 1;
-    private final int id;
+    private static final Person[] NO_OTHERS = new Person[0];
+    private static volatile IdAllocator idAllocator = new BlockIdAllocator();
+    private final long id;
     private Person holder;
-    private ArrayList<Person> others;
+    private Person[] others;
 
     public Reservation(Person holder) {
         if (holder == null) {
             throw new IllegalArgumentException("Le titulaire ne peut pas être null");
         }
-        this.id = nextId++;
+        this.id = idAllocator.nextId();
         this.holder = holder;
-        this.others = new ArrayList<>();
+        this.others = NO_OTHERS;
     }
 
     public Reservation(Person holder, ArrayList<Person> others) {
+        this(idAllocator.nextId(), holder, others);
+    }
+
+    private Reservation(long id, Person holder, ArrayList<Person> others) {
+        this(id, holder, others != null && !others.isEmpty() ? others.toArray(NO_OTHERS) : NO_OTHERS);
+    }
+
+    private Reservation(long id, Person holder, Person[] others) {
         if (holder == null) {
             throw new IllegalArgumentException("Le titulaire ne peut pas être null");
         }
-        this.id = nextId++;
+        this.id = id;
         this.holder = holder;
-        this.others = others != null ? new ArrayList<>(others) : new ArrayList<>();
+        this.others = others;
+    }
+
+    /**
+     * Recrée une réservation avec son identifiant d'origine (rechargement d'un snapshot).
+     * Les identifiants distribués ensuite ne reprendront pas celui-ci.
+     */
+    public static Reservation restore(long id, Person holder, ArrayList<Person> others) {
+        idAllocator.advancePast(id);
+        return new Reservation(id, holder, others);
+    }
+
+    /**
+     * Comme {@link #restore}, sans faire avancer l'allocateur : pour un rechargement en
+     * masse, l'appelant l'avance une seule fois au-delà du plus grand identifiant rechargé.
+     *
+     * @param others Invités, repris tel quel (non copié).
+     */
+    public static Reservation reload(long id, Person holder, Person[] others) {
+        return new Reservation(id, holder, others == null || others.length == 0 ? NO_OTHERS : others);
+    }
+
+    /**
+     * @return Allocateur qui fournit les identifiants des nouvelles réservations.
+     */
+    public static IdAllocator getIdAllocator() {
+        return idAllocator;
+    }
+
+    /**
+     * Remplace l'allocateur d'identifiants ; à faire au démarrage, avant de recharger
+     * ou de créer des réservations.
+     */
+    public static void setIdAllocator(IdAllocator allocator) {
+        if (allocator == null) {
+            throw new IllegalArgumentException("L'allocateur d'identifiants ne peut pas être null");
+        }
+        idAllocator = allocator;
     }
 
     public void addPersonToReservation(Person person, int[] seat) {
@@ -35,45 +89,77 @@ public class Reservation {
             throw new IllegalArgumentException("Le siège doit être un tableau de 2 entiers");
         }
         person.assignSeat(seat[0], seat[1]);
-        others.add(person);
+        others = Arrays.copyOf(others, others.length + 1);
+        others[others.length - 1] = person;
     }
 
     public ArrayList<int[]> getSeats() {
-        ArrayList<int[]> seats = new ArrayList<>();
-        if (holder.hasAssignedSeat()) {
-            seats.add(holder.getSeat());
+        int[] packed = getPackedSeats();
+        ArrayList<int[]> seats = new ArrayList<>(packed.length);
+        for (int seat : packed) {
+            seats.add(new int[]{Person.rowOf(seat), Person.columnOf(seat)});
+        }
+        return seats;
+    }
+
+    /**
+     * Sièges assignés (titulaire puis invités), encodés par {@link Person#pack}.
+     */
+    public int[] getPackedSeats() {
+        int count = 0;
+        for (int i = 0; i < getTotalPeople(); i++) {
+            if (getPerson(i).hasAssignedSeat()) {
+                count++;
+            }
         }
-        for (Person person : others) {
-            if (person.hasAssignedSeat()) {
-                seats.add(person.getSeat());
+        int[] seats = new int[count];
+        int next = 0;
+        for (int i = 0; i < getTotalPeople(); i++) {
+            int seat = getPerson(i).getPackedSeat();
+            if (seat != Person.NO_SEAT) {
+                seats[next++] = seat;
             }
         }
         return seats;
     }
 
     public String getSeatString() {
-        StringBuilder seatString = new StringBuilder();
-        for (int[] seat : getSeats()) {
-            seatString.append("[").append(seat[0]).append(",").append(seat[1]).append("], ");
-        }
-        if (seatString.length() > 0) {
-            seatString.setLength(seatString.length() - 2);
+        StringBuilder seatString = new StringBuilder(8 * getTotalPeople());
+        for (int i = 0; i < getTotalPeople(); i++) {
+            int seat = getPerson(i).getPackedSeat();
+            if (seat == Person.NO_SEAT) {
+                continue;
+            }
+            if (seatString.length() > 0) {
+                seatString.append(", ");
+            }
+            seatString.append('[').append(Person.rowOf(seat)).append(',').append(Person.columnOf(seat)).append(']');
         }
         return seatString.toString();
     }
 
     public int getTotalPeople() {
-        return 1 + others.size();
+        return 1 + others.length;
+    }
+
+    /**
+     * @param index 0 pour le titulaire, puis les invités dans leur ordre d'ajout.
+     */
+    public Person getPerson(int index) {
+        if (index < 0 || index > others.length) {
+            throw new IllegalArgumentException("Index de personne invalide : " + index);
+        }
+        return index == 0 ? holder : others[index - 1];
     }
 
     public ArrayList<Person> getAllPeople() {
-        ArrayList<Person> allPeople = new ArrayList<>();
+        ArrayList<Person> allPeople = new ArrayList<>(getTotalPeople());
         allPeople.add(holder);
-        allPeople.addAll(others);
+        allPeople.addAll(Arrays.asList(others));
         return allPeople;
     }
 
-    public int getId() {
+    public long getId() {
         return id;
     }
 
@@ -82,6 +168,6 @@ public class Reservation {
     }
 
     public ArrayList<Person> getOthers() {
-        return new ArrayList<>(others);
+        return new ArrayList<>(Arrays.asList(others));
     }
-}
\ No newline at end of file
+}
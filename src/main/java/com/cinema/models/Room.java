@@ -1,58 +1,68 @@
 package com.cinema.models;
 
+import com.cinema.interfaces.OccupancyEngine;
+import com.cinema.occupancy.AtomicBitSetOccupancy;
+import com.cinema.occupancy.MappedOccupancyStore;
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.LongAdder;
 
 public class Room {
+    private static final SeatLayout DEFAULT_LAYOUT = SeatLayout.of(new char[][]{
+            {'D', 'x', 'X', 'P', 'P', 'P', 'P', 'X', 'D', 'x'},
+            {'D', 'x', 'X', 'D', 'x', 'D', 'x', 'X', 'D', 'x'},
+            {'0', '0', 'X', '0', '0', '0', '0', 'X', '0', '0'},
+            {'0', '0', 'X', '0', '0', '0', '0', 'X', '0', '0'},
+            {'0', '0', 'X', '0', '0', '0', '0', 'X', '0', '0'}
+    });
+
     private String name;
     private ArrayList<Seance> seances;
-    private char[][] roomSeatMap;
+    private SeatLayout layout;
+    // Compteurs agrégés de toutes les séances, remontés vers les cinémas qui contiennent la salle
+    private final LongAdder reservationCount = new LongAdder();
+    private final LongAdder occupiedSeatCount = new LongAdder();
+    private final CopyOnWriteArrayList<Cinema> cinemas = new CopyOnWriteArrayList<>();
+    // Fichiers d'occupation des séances créées ou rechargées ensuite ; null : occupation sur le tas
+    private volatile MappedOccupancyStore occupancyStore;
 
     public Room(String name) {
-        this.name = name;
-        this.seances = new ArrayList<>();
-        this.roomSeatMap = new char[5][10];
-        initializeDefaultLayout();
+        this(name, DEFAULT_LAYOUT);
     }
 
     public Room(String name, char[][] customLayout) {
-        this.name = name;
-        this.seances = new ArrayList<>();
-        this.roomSeatMap = cloneSeatMap(customLayout);
-    }
-
-    private void initializeDefaultLayout() {
-        char[][] defaultLayout = {
-                {'D', 'x', 'X', 'P', 'P', 'P', 'P', 'X', 'D', 'x'},
-                {'D', 'x', 'X', 'D', 'x', 'D', 'x', 'X', 'D', 'x'},
-                {'0', '0', 'X', '0', '0', '0', '0', 'X', '0', '0'},
-                {'0', '0', 'X', '0', '0', '0', '0', 'X', '0', '0'},
-                {'0', '0', 'X', '0', '0', '0', '0', 'X', '0', '0'}
-        };
-
-        for (int row = 0; row < roomSeatMap.length; row++) {
-            for (int col = 0; col < roomSeatMap[0].length; col++) {
-                roomSeatMap[row][col] = defaultLayout[row][col];
-            }
-        }
+        this(name, SeatLayout.of(customLayout));
     }
 
-    private char[][] cloneSeatMap(char[][] template) {
-        char[][] clone = new char[template.length][];
-        for (int i = 0; i < template.length; i++) {
-            clone[i] = template[i].clone();
+    /**
+     * Crée une salle sur un plan partagé : aucune copie n'est faite.
+     */
+    public Room(String name, SeatLayout layout) {
+        if (layout == null) {
+            throw new IllegalArgumentException("Le plan ne peut pas être null");
         }
-        return clone;
+        this.name = name;
+        this.seances = new ArrayList<>();
+        this.layout = layout;
+        layout.getCatalogue();
     }
 
     public void setRoomLayout(char[][] layout) {
-        if (layout.length != roomSeatMap.length || layout[0].length != roomSeatMap[0].length) {
+        if (layout.length != this.layout.getRowCount() || layout[0].length != this.layout.getColumnCount()) {
             throw new IllegalArgumentException("Layout dimensions incorrectes");
         }
-        this.roomSeatMap = cloneSeatMap(layout);
+        this.layout = SeatLayout.of(layout);
+        this.layout.getCatalogue();
     }
 
     public void setSeatType(int row, int col, char type) {
-        if (row < 0 || row >= roomSeatMap.length || col < 0 || col >= roomSeatMap[0].length) {
+        if (row < 0 || row >= layout.getRowCount() || col < 0 || col >= layout.getColumnCount()) {
             throw new IndexOutOfBoundsException("Position invalide");
         }
 
@@ -60,28 +70,133 @@ public class Room {
             throw new IllegalArgumentException("Type de siège invalide: " + type);
         }
 
-        roomSeatMap[row][col] = type;
+        // Copie sur écriture : les séances existantes partagent l'ancien plan
+        this.layout = layout.withSeat(row, col, type);
+        this.layout.getCatalogue();
     }
 
+    /**
+     * @return true si chaque place double 'D' est suivie de sa moitié 'x'.
+     */
     public boolean validateLayout() {
-        for (int row = 0; row < roomSeatMap.length; row++) {
-            for (int col = 0; col < roomSeatMap[0].length; col++) {
-                if (roomSeatMap[row][col] == 'D') {
-                    if (col + 1 >= roomSeatMap[0].length || roomSeatMap[row][col + 1] != 'x') {
-                        return false;
-                    }
-                }
+        return layout.getCatalogue().hasCompleteDoubles();
+    }
+
+    public void addSeance(Seance seance) {
+        if (!this.seances.contains(seance)) {
+            this.seances.add(seance);
+            seance.attach(this);
+            for (Cinema cinema : cinemas) {
+                cinema.seanceAdded(seance);
             }
         }
-        return true;
     }
 
-    public void addSeance(Seance seance) {
-        this.seances.add(seance);
+    /**
+     * Ajoute plusieurs séances d'un coup (import en masse) : la présence de chacune est
+     * vérifiée avec un ensemble construit une fois, au lieu d'un parcours de la liste par séance.
+     */
+    public void addSeances(Collection<Seance> added) {
+        Set<Seance> present = Collections.newSetFromMap(new IdentityHashMap<>());
+        present.addAll(seances);
+        seances.ensureCapacity(seances.size() + added.size());
+        for (Seance seance : added) {
+            if (present.add(seance)) {
+                seances.add(seance);
+                seance.attach(this);
+                for (Cinema cinema : cinemas) {
+                    cinema.seanceAdded(seance);
+                }
+            }
+        }
     }
 
     public void removeSeance(Seance seance) {
-        this.seances.remove(seance);
+        if (this.seances.remove(seance)) {
+            seance.detach(this);
+            seance.closeOccupancy();
+            MappedOccupancyStore store = occupancyStore;
+            if (store != null) {
+                try {
+                    store.delete(seance.getId());
+                } catch (IOException e) {
+                    throw new UncheckedIOException("Impossible de supprimer l'occupation de la séance", e);
+                }
+            }
+            for (Cinema cinema : cinemas) {
+                cinema.seanceRemoved(seance);
+            }
+        }
+    }
+
+    /**
+     * Range l'occupation des séances créées ou rechargées ensuite dans des fichiers mappés
+     * (null pour la garder sur le tas). Les séances existantes gardent leur moteur.
+     */
+    public void setOccupancyStore(MappedOccupancyStore store) {
+        this.occupancyStore = store;
+    }
+
+    public MappedOccupancyStore getOccupancyStore() {
+        return occupancyStore;
+    }
+
+    /**
+     * Ouvre le moteur d'occupation d'une séance de la salle.
+     *
+     * @param recover true pour une séance rechargée : son fichier existant est repris.
+     */
+    OccupancyEngine openOccupancy(long seanceId, SeatLayout layout, boolean recover) {
+        int capacity = layout.getRowCount() * layout.getColumnCount();
+        MappedOccupancyStore store = occupancyStore;
+        if (store == null) {
+            return new AtomicBitSetOccupancy(capacity);
+        }
+        try {
+            return recover ? store.reopen(seanceId, capacity) : store.create(seanceId, capacity);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Impossible d'ouvrir l'occupation de la séance " + seanceId, e);
+        }
+    }
+
+    /**
+     * Appelé par les séances à chaque variation de leurs compteurs.
+     */
+    void countersChanged(int seanceDelta, int reservationDelta, int seatDelta) {
+        if (reservationDelta != 0) {
+            reservationCount.add(reservationDelta);
+        }
+        if (seatDelta != 0) {
+            occupiedSeatCount.add(seatDelta);
+        }
+        for (Cinema cinema : cinemas) {
+            cinema.countersChanged(seanceDelta, reservationDelta, seatDelta);
+        }
+    }
+
+    void attach(Cinema cinema) {
+        cinemas.add(cinema);
+        cinema.countersChanged(seances.size(), getReservationCount(), getOccupiedSeatCount());
+        for (Seance seance : seances) {
+            cinema.seanceAdded(seance);
+        }
+    }
+
+    void detach(Cinema cinema) {
+        if (cinemas.remove(cinema)) {
+            cinema.countersChanged(-seances.size(), -getReservationCount(), -getOccupiedSeatCount());
+            for (Seance seance : seances) {
+                cinema.seanceRemoved(seance);
+            }
+        }
+    }
+
+    public int getReservationCount() {
+        return reservationCount.intValue();
+    }
+
+    public int getOccupiedSeatCount() {
+        return occupiedSeatCount.intValue();
     }
 
     private void setName(String name) {
@@ -101,6 +216,29 @@ public class Room {
     }
 
     public char[][] getRoomSeatMap() {
-        return cloneSeatMap(this.roomSeatMap);
+        return layout.toArray();
+    }
+
+    public int getRowCount() {
+        return layout.getRowCount();
+    }
+
+    public int getColumnCount() {
+        return layout.getColumnCount();
+    }
+
+    /**
+     * @return Nombre de places réservables (toutes les cases hors allées 'X').
+     */
+    public int getSeatCount() {
+        return layout.getSeatCount();
+    }
+
+    /**
+     * Plan partagé avec les séances, sans copie. Il n'est jamais modifié en place :
+     * setSeatType / setRoomLayout installent un nouveau plan.
+     */
+    public SeatLayout getLayout() {
+        return layout;
     }
-}
\ No newline at end of file
+}
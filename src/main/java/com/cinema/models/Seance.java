@@ -1,16 +1,68 @@
 package com.cinema.models;
 
+import com.cinema.interfaces.OccupancyEngine;
 import com.cinema.interfaces.Reservable;
+import com.cinema.interfaces.SeanceJournal;
+import com.cinema.interfaces.SeanceObserver;
 import com.cinema.enums.SeatType;
+import com.cinema.utils.ShowtimeParser;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Instant;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Predicate;
 
 public class Seance implements Reservable {
+    private static final AtomicLong NEXT_ID = new AtomicLong(1);
+
+    // Identifiant stable (conservé par les snapshots), qui désigne la séance dans le journal
+    private final long id;
     private String date;
     private String time;
     private String movie;
     private Room room;
-    private final ArrayList<Reservation> reservations;
-    private char[][] seatMap;
+    // Début de la séance tiré de la date et de l'heure, null s'il n'est pas lisible
+    private final LocalDateTime start;
+    private final LinkedHashMap<Long, Reservation> reservations;
+    private final SeatLayout layout;
+    private final SeatCatalogue catalogue;
+    private final int columns;
+    private final OccupancyEngine occupancy;
+    // Index siège -> réservation, alloué à la première réservation enregistrée (creux si
+    // l'occupation est hors du tas, voir SeatSlots)
+    private volatile SeatSlots<Reservation> seatOwners;
+    // Index siège -> retenue en cours, alloué à la première retenue
+    private volatile SeatSlots<SeatHold> seatHolds;
+    private final AtomicInteger heldSeats = new AtomicInteger();
+    // Compteurs maintenus à chaque changement, remontés vers la salle qui contient la séance
+    private final AtomicInteger occupiedSeats;
+    private final AtomicInteger reservationCount;
+    // Version de chaque rangée, incrémentée à chaque prise ou libération d'un de ses sièges
+    private final AtomicIntegerArray rowVersions;
+    // Version de l'occupation entière, incrémentée après la version de rangée
+    private final AtomicLong seatMapVersion = new AtomicLong();
+    // Dernier plan construit, réutilisé tant que l'occupation n'a pas changé
+    private volatile SeatMapSnapshot seatMapSnapshot;
+    // Affichages du plan, créés au premier affichage
+    private volatile SeatMapRenderer plainRenderer;
+    private volatile SeatMapRenderer ansiRenderer;
+    // Par rangée et par type : plus longue suite libre (32 bits bas) et version de calcul (32 bits hauts),
+    // recalculée à la lecture quand la version de la rangée a changé (voir findBestBlock) ;
+    // allouée à la première recherche
+    private volatile AtomicLongArray freeRuns;
+    private volatile Room owner;
+    private static final SeanceObserver[] NO_OBSERVERS = new SeanceObserver[0];
+    private volatile SeanceObserver[] observers = NO_OBSERVERS;
+    private volatile SeanceJournal journal;
 
     public static class SeatReservationException extends Exception {
         public SeatReservationException(String message) {
@@ -24,121 +76,875 @@ public class Seance implements Reservable {
         }
     }
 
+    /**
+     * Crée une séance dont l'occupation est fournie par la salle : sur le tas, ou dans un
+     * fichier mappé si la salle a un stockage (voir {@link Room#setOccupancyStore}).
+     */
     public Seance(String date, String time, String movie, Room room) {
-        if (date == null || time == null || movie == null || room == null) {
+        this(NEXT_ID.getAndIncrement(), date, time, movie, room, room == null ? null : room.getLayout(), null, false);
+    }
+
+    /**
+     * Crée une séance avec un moteur d'occupation spécifique.
+     * Le plan de la salle est partagé (non copié) : seule l'occupation est propre à la séance.
+     */
+    public Seance(String date, String time, String movie, Room room, OccupancyEngine occupancy) {
+        this(NEXT_ID.getAndIncrement(), date, time, movie, room, room == null ? null : room.getLayout(),
+                requireEngine(occupancy), false);
+    }
+
+    /**
+     * Recrée une séance enregistrée (snapshot) avec son identifiant ; les séances créées
+     * ensuite reçoivent des identifiants plus grands.
+     */
+    public static Seance restore(long id, String date, String time, String movie, Room room) {
+        return restore(id, date, time, movie, room, room == null ? null : room.getLayout());
+    }
+
+    /**
+     * Recrée une séance enregistrée sur le plan qu'elle avait à sa création, qui peut être
+     * antérieur au plan actuel de la salle. Si la salle a un stockage, la séance rouvre son
+     * fichier d'occupation (voir {@link #isOccupancyRecovered()}).
+     */
+    public static Seance restore(long id, String date, String time, String movie, Room room, SeatLayout layout) {
+        if (id < 1) {
+            throw new IllegalArgumentException("Identifiant de séance invalide : " + id);
+        }
+        NEXT_ID.accumulateAndGet(id + 1, Math::max);
+        return new Seance(id, date, time, movie, room, layout, null, true);
+    }
+
+    /**
+     * @param occupancy Moteur de la séance, ou null pour l'ouvrir par la salle.
+     * @param recover Pour un moteur ouvert par la salle : reprendre le stockage existant.
+     */
+    private Seance(long id, String date, String time, String movie, Room room, SeatLayout layout,
+                   OccupancyEngine occupancy, boolean recover) {
+        if (date == null || time == null || movie == null || room == null || layout == null) {
             throw new IllegalArgumentException("Aucun paramètre ne peut être null.");
         }
+        if (occupancy == null) {
+            occupancy = room.openOccupancy(id, layout, recover);
+        }
+        this.id = id;
         this.date = date;
         this.time = time;
         this.movie = movie;
         this.room = room;
-        this.reservations = new ArrayList<>();
-        this.seatMap = cloneSeatMap(room.getRoomSeatMap());
+        this.start = ShowtimeParser.parse(date, time);
+        this.reservations = new LinkedHashMap<>();
+        this.layout = layout;
+        this.catalogue = layout.getCatalogue();
+        this.columns = layout.getColumnCount();
+        if (occupancy.capacity() < capacityOf(layout)) {
+            throw new IllegalArgumentException("Le moteur d'occupation est trop petit pour cette salle.");
+        }
+        this.occupancy = occupancy;
+        this.occupiedSeats = new AtomicInteger(occupancy.occupiedCount());
+        this.reservationCount = new AtomicInteger();
+        this.rowVersions = new AtomicIntegerArray(layout.getRowCount());
+    }
+
+    private static OccupancyEngine requireEngine(OccupancyEngine occupancy) {
+        if (occupancy == null) {
+            throw new IllegalArgumentException("Aucun paramètre ne peut être null.");
+        }
+        return occupancy;
+    }
+
+    private static final SeatType[] SEAT_TYPES = SeatType.values();
+    // Occupe la case de retenue d'un siège pendant sa libération par cancel : aucune retenue
+    // ne peut s'y inscrire, donc le siège libéré n'est jamais celui d'une retenue
+    private static final SeatHold CANCELLING = new SeatHold(null, new int[0], new SeatType[0], Instant.EPOCH);
+    private static final long STALE_RUN = -1L;
+
+    private static int capacityOf(SeatLayout layout) {
+        return layout.getRowCount() * layout.getColumnCount();
     }
 
     public void addReservation(Reservation reservation) {
         if (reservation == null) {
             throw new IllegalArgumentException("La réservation ne peut pas être null.");
         }
-        reservations.add(reservation);
+        SeanceJournal target = journal;
+        if (target != null) {
+            target.reservationAdding(this, reservation);
+        }
+        registerReservation(reservation);
+    }
+
+    private void registerReservation(Reservation reservation) {
+        boolean added;
+        synchronized (reservations) {
+            added = reservations.put(reservation.getId(), reservation) == null;
+        }
+        indexSeats(reservation);
+        if (added) {
+            reservationsChanged(1);
+            for (SeanceObserver observer : observers) {
+                observer.reservationAdded(this, reservation);
+            }
+        }
     }
 
     public void removeReservation(Reservation reservation) {
         if (reservation == null) {
             throw new IllegalArgumentException("La réservation ne peut pas être null.");
         }
-        reservations.remove(reservation);
+        SeanceJournal target = journal;
+        if (target != null) {
+            target.reservationRemoving(this, reservation);
+        }
+        boolean removed = removeFromReservations(reservation);
+        unindexSeats(reservation);
+        if (removed) {
+            for (SeanceObserver observer : observers) {
+                observer.reservationRemoved(this, reservation);
+            }
+        }
     }
 
     public void cancelReservation(Reservation reservation) throws SeatCancellationException {
         if (reservation == null) {
             throw new IllegalArgumentException("La réservation ne peut pas être null.");
         }
+        int[] seats = reservation.getPackedSeats();
+        for (int seat : seats) {
+            int row = Person.rowOf(seat);
+            int col = Person.columnOf(seat);
+            if (findReservationBySeat(row, col) != reservation) {
+                throw new SeatCancellationException("Le siège [" + row + "," + col
+                        + "] n'appartient pas à cette réservation.");
+            }
+        }
+        SeanceJournal target = journal;
+        if (target != null) {
+            target.reservationCancelling(this, reservation);
+        }
 
-        ArrayList<int[]> seats = reservation.getSeats();
-        for (int[] seat : seats) {
-            SeatType type = determineSeatType(seat[0], seat[1]);
-            cancel(seat, type);
+        for (int seat : seats) {
+            int row = Person.rowOf(seat);
+            int col = Person.columnOf(seat);
+            // Un siège qui appartient à la réservation n'est pas retenu
+            cancelSeat(row, col, determineSeatType(row, col), reservation);
         }
 
-        for (Person person : reservation.getAllPeople()) {
-            person.clearSeat();
+        unindexSeats(reservation);
+        for (int i = 0; i < reservation.getTotalPeople(); i++) {
+            reservation.getPerson(i).clearSeat();
         }
 
-        reservations.remove(reservation);
+        removeFromReservations(reservation);
+        for (SeanceObserver observer : observers) {
+            observer.reservationCancelled(this, reservation);
+        }
+    }
+
+    private boolean removeFromReservations(Reservation reservation) {
+        boolean removed;
+        synchronized (reservations) {
+            removed = reservations.remove(reservation.getId(), reservation);
+        }
+        if (removed) {
+            reservationsChanged(-1);
+        }
+        return removed;
+    }
+
+    /**
+     * Branche le journal durable de la séance (null pour le débrancher).
+     */
+    public void setJournal(SeanceJournal journal) {
+        this.journal = journal;
+    }
+
+    public synchronized void addObserver(SeanceObserver observer) {
+        if (observer == null) {
+            throw new IllegalArgumentException("L'observateur ne peut pas être null.");
+        }
+        SeanceObserver[] updated = Arrays.copyOf(observers, observers.length + 1);
+        updated[observers.length] = observer;
+        observers = updated;
+    }
+
+    public synchronized void removeObserver(SeanceObserver observer) {
+        for (int i = 0; i < observers.length; i++) {
+            if (observers[i] == observer) {
+                SeanceObserver[] updated = new SeanceObserver[observers.length - 1];
+                System.arraycopy(observers, 0, updated, 0, i);
+                System.arraycopy(observers, i + 1, updated, i, observers.length - i - 1);
+                observers = updated;
+                return;
+            }
+        }
     }
 
+    private void fireSeatReserved(int row, int col, SeatType type) {
+        for (SeanceObserver observer : observers) {
+            observer.seatReserved(this, row, col, type);
+        }
+    }
+
+    /**
+     * Retrouve la réservation qui occupe un siège, en temps constant.
+     */
     public Reservation findReservationBySeat(int row, int col) {
-        for (Reservation reservation : reservations) {
-            for (int[] seat : reservation.getSeats()) {
-                if (seat[0] == row && seat[1] == col) {
-                    return reservation;
+        SeatSlots<Reservation> owners = seatOwners;
+        if (owners == null || !isInBounds(row, col)) {
+            return null;
+        }
+        return owners.get(indexOf(row, col));
+    }
+
+    /**
+     * Retrouve une réservation de la séance par son identifiant, en temps constant.
+     */
+    public Reservation findReservationById(long id) {
+        synchronized (reservations) {
+            return reservations.get(id);
+        }
+    }
+
+    /**
+     * Cherche le meilleur bloc de {@code size} places libres côte à côte dans une même rangée,
+     * sans traverser d'allée ('X') ni de siège d'un autre type. Pour {@link SeatType#DOUBLE},
+     * {@code size} compte des places doubles : le bloc est une suite de paires "Dx".
+     * Le meilleur bloc est celui dont le centre est le plus proche du centre de la salle
+     * (axe de l'écran, rangées du milieu).
+     *
+     * Chaque rangée garde en résumé sa plus longue suite libre par type. Le résumé est
+     * paresseux : il n'est pas mis à jour par les prises et libérations, qui restent de
+     * simples opérations atomiques sans verrou, mais recalculé à la première lecture après
+     * un changement de la rangée (voir {@code rowVersions}). Plusieurs changements entre
+     * deux recherches ne coûtent donc qu'un parcours, et une rangée inchangée aucun. Les
+     * rangées trop pleines sont écartées sur leur résumé ; dans une rangée retenue, le
+     * parcours s'arrête au premier bloc qui atteint le centre, et la recherche s'arrête dès
+     * qu'aucune rangée plus éloignée ne peut battre le meilleur bloc trouvé.
+     *
+     * Le résultat est indicatif : les sièges peuvent être pris avant la réservation,
+     * que {@link #reserveGroup} refusera alors sans rien réserver.
+     *
+     * @return Les sièges du bloc, de gauche à droite (premier siège de chaque paire pour
+     *         une place double), ou une liste vide si aucun bloc ne convient.
+     */
+    public ArrayList<int[]> findBestBlock(int size, SeatType type) {
+        if (size < 1 || type == null) {
+            throw new IllegalArgumentException("Il faut au moins une place et un type de siège.");
+        }
+        int width = type == SeatType.DOUBLE ? 2 : 1;
+        long bestScore = Long.MAX_VALUE;
+        int bestRow = -1;
+        int bestStart = -1;
+        for (int row : layout.rowsByDistance()) {
+            long rowOffset = 2L * row - (layout.getRowCount() - 1);
+            if (rowOffset * rowOffset >= bestScore) {
+                break;
+            }
+            if (longestFreeRun(row, type) < size) {
+                continue;
+            }
+            int start = bestStartInRow(row, type, size);
+            if (start < 0) {
+                continue;
+            }
+            long colOffset = 2L * start + size * width - 1 - (columns - 1);
+            long score = rowOffset * rowOffset + colOffset * colOffset;
+            if (score < bestScore) {
+                bestScore = score;
+                bestRow = row;
+                bestStart = start;
+            }
+        }
+
+        return block(bestRow, bestStart, size, width);
+    }
+
+    /**
+     * Comme {@link #findBestBlock}, mais dans une seule rangée : le bloc le plus proche de
+     * l'axe de l'écran. Une rangée qui n'a pas changé depuis la dernière recherche est
+     * écartée sans être parcourue.
+     */
+    public ArrayList<int[]> findBlockInRow(int row, int size, SeatType type) {
+        if (size < 1 || type == null) {
+            throw new IllegalArgumentException("Il faut au moins une place et un type de siège.");
+        }
+        if (row < 0 || row >= layout.getRowCount() || longestFreeRun(row, type) < size) {
+            return new ArrayList<>(0);
+        }
+        int start = bestStartInRow(row, type, size);
+        return block(start < 0 ? -1 : row, start, size, type == SeatType.DOUBLE ? 2 : 1);
+    }
+
+    /**
+     * @return Plus longue suite de places libres côte à côte de ce type dans la rangée
+     *         (en places doubles pour {@link SeatType#DOUBLE}).
+     */
+    public int getLongestFreeRun(int row, SeatType type) {
+        if (type == null || row < 0 || row >= layout.getRowCount()) {
+            throw new IllegalArgumentException("Rangée ou type de siège invalide.");
+        }
+        return longestFreeRun(row, type);
+    }
+
+    private static ArrayList<int[]> block(int row, int start, int size, int width) {
+        ArrayList<int[]> block = new ArrayList<>(row < 0 ? 0 : size);
+        for (int i = 0; row >= 0 && i < size; i++) {
+            block.add(new int[]{row, start + i * width});
+        }
+        return block;
+    }
+
+    /**
+     * Plus longue suite de places libres du type dans la rangée, lue dans le résumé si
+     * la rangée n'a pas changé depuis son calcul.
+     */
+    private int longestFreeRun(int row, SeatType type) {
+        int slot = row * SEAT_TYPES.length + type.ordinal();
+        AtomicLongArray freeRuns = freeRuns();
+        int version = rowVersions.get(row);
+        long summary = freeRuns.get(slot);
+        if (summary != STALE_RUN && (int) (summary >>> 32) == version) {
+            return (int) summary;
+        }
+        int longest = 0;
+        int run = 0;
+        int width = type == SeatType.DOUBLE ? 2 : 1;
+        for (int col = 0; col < columns; ) {
+            if (isFreeFor(row, col, type)) {
+                longest = Math.max(longest, ++run);
+                col += width;
+            } else {
+                run = 0;
+                col++;
+            }
+        }
+        // Calculé à partir de la version lue avant le parcours : un changement
+        // concurrent rend ce résumé aussitôt périmé
+        freeRuns.set(slot, ((long) version << 32) | longest);
+        return longest;
+    }
+
+    /**
+     * @return Colonne de départ du bloc le plus centré de la rangée, ou -1.
+     */
+    private int bestStartInRow(int row, SeatType type, int size) {
+        int width = type == SeatType.DOUBLE ? 2 : 1;
+        int bestStart = -1;
+        long bestOffset = Long.MAX_VALUE;
+        int run = 0;
+        for (int col = 0; col < columns; ) {
+            if (isFreeFor(row, col, type)) {
+                run++;
+                col += width;
+                if (run >= size) {
+                    int start = col - size * width;
+                    long offset = 2L * start + size * width - 1 - (columns - 1);
+                    if (Math.abs(offset) < bestOffset) {
+                        bestOffset = Math.abs(offset);
+                        bestStart = start;
+                    }
+                    if (offset >= 0) {
+                        // Les blocs suivants sont encore plus à droite du centre
+                        break;
+                    }
                 }
+            } else {
+                run = 0;
+                col++;
+            }
+        }
+        return bestStart;
+    }
+
+    private boolean isFreeFor(int row, int col, SeatType type) {
+        int index = indexOf(row, col);
+        return catalogue.accepts(index, type) && !occupancy.isOccupied(index)
+                && (type != SeatType.DOUBLE || !occupancy.isOccupied(index + 1));
+    }
+
+    private AtomicLongArray freeRuns() {
+        AtomicLongArray runs = freeRuns;
+        if (runs == null) {
+            synchronized (this) {
+                runs = freeRuns;
+                if (runs == null) {
+                    runs = new AtomicLongArray(layout.getRowCount() * SEAT_TYPES.length);
+                    for (int i = 0; i < runs.length(); i++) {
+                        runs.set(i, STALE_RUN);
+                    }
+                    freeRuns = runs;
+                }
+            }
+        }
+        return runs;
+    }
+
+    private SeatSlots<SeatHold> seatHolds() {
+        SeatSlots<SeatHold> holds = seatHolds;
+        if (holds == null) {
+            synchronized (this) {
+                holds = seatHolds;
+                if (holds == null) {
+                    holds = newSlots();
+                    seatHolds = holds;
+                }
+            }
+        }
+        return holds;
+    }
+
+    private SeatSlots<Reservation> seatOwners() {
+        SeatSlots<Reservation> owners = seatOwners;
+        if (owners == null) {
+            synchronized (this) {
+                owners = seatOwners;
+                if (owners == null) {
+                    owners = newSlots();
+                    seatOwners = owners;
+                }
+            }
+        }
+        return owners;
+    }
+
+    private <T> SeatSlots<T> newSlots() {
+        return occupancy.isOffHeap() ? SeatSlots.sparse() : SeatSlots.dense(capacityOf(layout));
+    }
+
+    private void indexSeats(Reservation reservation) {
+        SeatSlots<Reservation> owners = seatOwners();
+        for (int seat : reservation.getPackedSeats()) {
+            int row = Person.rowOf(seat);
+            int col = Person.columnOf(seat);
+            if (isInBounds(row, col)) {
+                owners.set(indexOf(row, col), reservation);
+            }
+        }
+    }
+
+    private void unindexSeats(Reservation reservation) {
+        SeatSlots<Reservation> owners = seatOwners;
+        if (owners == null) {
+            return;
+        }
+        for (int seat : reservation.getPackedSeats()) {
+            int row = Person.rowOf(seat);
+            int col = Person.columnOf(seat);
+            if (isInBounds(row, col)) {
+                owners.compareAndSet(indexOf(row, col), reservation, null);
             }
         }
-        return null;
     }
 
     private SeatType determineSeatType(int row, int col) {
-        if (row < 0 || row >= seatMap.length || col < 0 || col >= seatMap[0].length) {
+        if (!isInBounds(row, col)) {
             return SeatType.NORMAL;
         }
+        int index = indexOf(row, col);
+        SeatType type = catalogue.typeOf(index);
+        return type != null && occupancy.isOccupied(index) ? type : SeatType.NORMAL;
+    }
+
+    private boolean isInBounds(int row, int col) {
+        return row >= 0 && row < layout.getRowCount() && col >= 0 && col < columns;
+    }
 
-        char current = seatMap[row][col];
-        if (current == 'O') {
-            char[][] template = room.getRoomSeatMap();
-            char original = template[row][col];
+    private int indexOf(int row, int col) {
+        return row * columns + col;
+    }
 
-            if (original == 'P') return SeatType.PMR;
-            if (original == 'D') return SeatType.DOUBLE;
+    /**
+     * @return true si le siège est réservé : occupé, et pas seulement retenu.
+     */
+    public boolean isSeatReserved(int row, int col) {
+        if (!isInBounds(row, col)) {
+            return false;
         }
+        return occupancy.isOccupied(indexOf(row, col)) && findHoldBySeat(row, col) == null;
+    }
 
-        return SeatType.NORMAL;
+    /**
+     * @return Nombre de sièges réservables (hors allées) encore libres, d'après le plan de
+     *         la séance (celui de la salle à sa création).
+     */
+    public int getFreeSeatCount() {
+        return layout.getSeatCount() - occupiedSeats.get();
     }
 
-    private char[][] cloneSeatMap(char[][] template) {
-        char[][] clone = new char[template.length][];
-        for (int i = 0; i < template.length; i++) {
-            clone[i] = template[i].clone();
+    public int getOccupiedSeatCount() {
+        return occupiedSeats.get();
+    }
+
+    /**
+     * Exporte l'occupation sous forme de bitset (bit i = siège d'index linéaire i).
+     * Les sièges seulement retenus n'en font pas partie.
+     */
+    public long[] exportOccupancy() {
+        long[] words = new long[(capacityOf(layout) + 63) >>> 6];
+        for (int word = 0; word < words.length; word++) {
+            words[word] = occupancy.wordAt(word);
+        }
+        SeatSlots<SeatHold> holds = seatHolds;
+        if (holds != null && heldSeats.get() > 0) {
+            holds.forEach((hold, index) -> {
+                if (hold != CANCELLING) {
+                    words[index >>> 6] &= ~(1L << index);
+                    // Une place double n'est retenue que sur sa moitié 'D' : la moitié 'x' suit
+                    int partner = catalogue.partnerOf(index);
+                    if (partner > index) {
+                        words[partner >>> 6] &= ~(1L << partner);
+                    }
+                }
+            });
+        }
+        return words;
+    }
+
+    /**
+     * Marque occupés tous les sièges du bitset, sans contrôle de type : réservé au
+     * rechargement d'un état exporté par {@link #exportOccupancy()}.
+     */
+    public void restoreOccupancy(long[] words) {
+        int capacity = capacityOf(layout);
+        int restored = 0;
+        for (int word = 0; word < words.length; word++) {
+            long bits = words[word];
+            while (bits != 0) {
+                int index = (word << 6) + Long.numberOfTrailingZeros(bits);
+                bits &= bits - 1;
+                if (index < capacity && occupancy.occupy(index)) {
+                    rowVersions.incrementAndGet(index / columns);
+                    restored++;
+                }
+            }
+        }
+        if (restored > 0) {
+            seatMapVersion.incrementAndGet();
+            seatsChanged(restored);
+        }
+    }
+
+    /**
+     * Rattache la séance à la salle qui la contient : la salle reçoit les compteurs
+     * actuels puis chaque variation ultérieure.
+     */
+    synchronized void attach(Room target) {
+        if (owner != null) {
+            owner.countersChanged(-1, -reservationCount.get(), -occupiedSeats.get());
+        }
+        owner = target;
+        target.countersChanged(1, reservationCount.get(), occupiedSeats.get());
+    }
+
+    /**
+     * Libère le stockage du moteur d'occupation (fichier mappé) quand la séance est retirée
+     * de sa salle ; l'occupation reste lisible tant que la séance est référencée.
+     */
+    void closeOccupancy() {
+        if (occupancy instanceof Closeable closeable) {
+            try {
+                closeable.close();
+            } catch (IOException e) {
+                throw new UncheckedIOException("Impossible de fermer l'occupation de la séance", e);
+            }
+        }
+    }
+
+    synchronized void detach(Room target) {
+        if (owner == target) {
+            owner = null;
+            target.countersChanged(-1, -reservationCount.get(), -occupiedSeats.get());
+        }
+    }
+
+    private void seatsChanged(int delta) {
+        occupiedSeats.addAndGet(delta);
+        Room target = owner;
+        if (target != null) {
+            target.countersChanged(0, 0, delta);
+        }
+    }
+
+    private void reservationsChanged(int delta) {
+        reservationCount.addAndGet(delta);
+        Room target = owner;
+        if (target != null) {
+            target.countersChanged(0, delta, 0);
         }
-        return clone;
     }
 
     public void displaySeatMap() {
-        System.out.println("\n=== Séance: " + movie + " - " + date + " " + time + " ===");
-        System.out.println("Salle: " + room.getName());
-        System.out.println();
-        System.out.print("    ");
-        for (int col = 0; col < seatMap[0].length; col++) {
-            System.out.print(col + " ");
-        }
-        System.out.println();
-        for (int row = 0; row < seatMap.length; row++) {
-            System.out.print(row + " - ");
-            for (int col = 0; col < seatMap[row].length; col++) {
-                System.out.print(seatMap[row][col] + " ");
-            }
-            System.out.println();
-        }
-        System.out.println("\nLégende:");
-        System.out.println("  0 = Libre");
-        System.out.println("  O = Occupé");
-        System.out.println("  X = Allée/Inexistant");
-        System.out.println("  P = PMR (libre)");
-        System.out.println("  D = Place double (libre)");
-        System.out.println("  x = Continuation place double");
-        System.out.println("\nRéservations actives: " + reservations.size());
+        displaySeatMap(false);
     }
 
+    /**
+     * Affiche le plan de la séance en une seule écriture sur la sortie standard.
+     *
+     * @param colors true pour colorer les sièges (terminal compatible ANSI).
+     */
+    public void displaySeatMap(boolean colors) {
+        SeatMapRenderer renderer = colors ? ansiRenderer : plainRenderer;
+        if (renderer == null) {
+            renderer = new SeatMapRenderer(this, colors);
+            if (colors) {
+                ansiRenderer = renderer;
+            } else {
+                plainRenderer = renderer;
+            }
+        }
+        renderer.print(System.out);
+    }
+
+    /**
+     * Réserve un siège. La vérification et la prise du siège forment une seule
+     * opération atomique du moteur d'occupation : deux appels concurrents sur le
+     * même siège ne peuvent pas réussir tous les deux.
+     */
     @Override
     public void reserve(int[] seat, SeatType type) throws SeatReservationException {
         if (seat == null || seat.length != 2) {
             throw new IllegalArgumentException("Le siège doit être un tableau de 2 entiers.");
         }
-        if (!canReserve(seat[0], seat[1], type)) {
+        if (!planAccepts(seat[0], seat[1], type) || !claim(seat[0], seat[1], type)) {
             throw new SeatReservationException("Le siège ne peut pas être réservé (déjà pris ou type incompatible).");
         }
-        applyReservation(seat[0], seat[1], type);
+        SeanceJournal target = journal;
+        if (target != null) {
+            setPending(seat[0], seat[1], type, true);
+            try {
+                target.seatReserved(this, seat[0], seat[1], type);
+            } catch (RuntimeException e) {
+                setPending(seat[0], seat[1], type, false);
+                release(seat[0], seat[1], type);
+                throw e;
+            }
+            setPending(seat[0], seat[1], type, false);
+        }
+        fireSeatReserved(seat[0], seat[1], type);
+    }
+
+    /**
+     * Réserve en une seule passe tous les sièges d'une réservation (titulaire puis invités).
+     * Soit tous les sièges sont pris, soit aucun : en cas de conflit, les sièges déjà
+     * obtenus sont rendus un par un, sans verrou sur la séance.
+     *
+     * @param reservation Réservation dont les personnes ont déjà un siège assigné.
+     * @param types Type de siège de chaque personne, dans l'ordre de {@link Reservation#getSeats()}.
+     * @throws SeatReservationException Si l'un des sièges ne peut pas être réservé.
+     */
+    public void reserveGroup(Reservation reservation, List<SeatType> types) throws SeatReservationException {
+        if (reservation == null || types == null) {
+            throw new IllegalArgumentException("La réservation et les types ne peuvent pas être null.");
+        }
+        int[] seats = reservation.getPackedSeats();
+        if (seats.length != types.size()) {
+            throw new IllegalArgumentException("Il faut un type de siège par siège réservé.");
+        }
+
+        // La réservation devient propriétaire de chaque siège avant de le prendre : cancel ne
+        // peut pas libérer un siège pris pour elle, et les observateurs de seatReserved la
+        // retrouvent déjà par ses sièges. Journalisés, les sièges restent en attente jusqu'à
+        // ce que le journal confirme l'écriture
+        SeanceJournal target = journal;
+        SeatSlots<Reservation> owners = seatOwners();
+        for (int i = 0; i < seats.length; i++) {
+            int row = Person.rowOf(seats[i]);
+            int col = Person.columnOf(seats[i]);
+            SeatType type = types.get(i);
+            boolean registered = type != null && planAccepts(row, col, type)
+                    && owners.compareAndSet(indexOf(row, col), null, reservation);
+            if (!registered || !claim(row, col, type)) {
+                if (registered) {
+                    owners.compareAndSet(indexOf(row, col), reservation, null);
+                }
+                rollbackGroup(reservation, types, i);
+                throw new SeatReservationException("Le siège [" + row + "," + col
+                        + "] ne peut pas être réservé (déjà pris ou type incompatible).");
+            }
+            if (target != null) {
+                setPending(row, col, type, true);
+            }
+        }
+
+        if (target != null) {
+            try {
+                target.reservationBooked(this, reservation, types);
+            } catch (RuntimeException e) {
+                rollbackGroup(reservation, types, seats.length);
+                throw e;
+            }
+            for (int i = 0; i < seats.length; i++) {
+                setPending(Person.rowOf(seats[i]), Person.columnOf(seats[i]), types.get(i), false);
+            }
+        }
+        for (int i = 0; i < seats.length; i++) {
+            fireSeatReserved(Person.rowOf(seats[i]), Person.columnOf(seats[i]), types.get(i));
+        }
+        registerReservation(reservation);
+    }
+
+    /**
+     * Retient des sièges sans les réserver. Comme pour {@link #reserveGroup}, soit tous
+     * les sièges sont pris, soit aucun. La retenue ne prévient pas les observateurs : ils
+     * ne voient les sièges qu'à sa transformation en réservation.
+     *
+     * L'échéance n'est qu'indicative ici : c'est l'appelant (voir
+     * {@code com.cinema.holds.SeatHolds}) qui fait expirer la retenue.
+     *
+     * @param seats Sièges à retenir ({rangée, colonne}).
+     * @param types Type de chaque siège.
+     * @throws SeatReservationException Si l'un des sièges ne peut pas être pris.
+     */
+    public SeatHold hold(List<int[]> seats, List<SeatType> types, Instant expiresAt) throws SeatReservationException {
+        if (seats == null || types == null || expiresAt == null) {
+            throw new IllegalArgumentException("Les sièges, les types et l'échéance ne peuvent pas être null.");
+        }
+        if (seats.isEmpty() || seats.size() != types.size()) {
+            throw new IllegalArgumentException("Il faut au moins un siège et un type par siège.");
+        }
+        int[] packed = new int[seats.size()];
+        for (int i = 0; i < packed.length; i++) {
+            int[] seat = seats.get(i);
+            if (seat == null || seat.length != 2) {
+                throw new IllegalArgumentException("Le siège doit être un tableau de 2 entiers.");
+            }
+            packed[i] = Person.pack(seat[0], seat[1]);
+        }
+        SeatHold hold = new SeatHold(this, packed, types.toArray(new SeatType[0]), expiresAt);
+        SeatSlots<SeatHold> holds = seatHolds();
+        // La retenue est inscrite sur chaque siège avant de le prendre : un siège pris pour
+        // elle n'est jamais vu comme réservé, ni libéré par cancel, ni exporté
+        heldSeats.addAndGet(packed.length);
+        for (int i = 0; i < packed.length; i++) {
+            int row = Person.rowOf(packed[i]);
+            int col = Person.columnOf(packed[i]);
+            SeatType type = types.get(i);
+            boolean registered = type != null && planAccepts(row, col, type)
+                    && holds.compareAndSet(indexOf(row, col), null, hold);
+            if (!registered || !claim(row, col, type)) {
+                if (registered) {
+                    holds.compareAndSet(indexOf(row, col), hold, null);
+                }
+                rollback(packed, types, i);
+                forgetHold(hold);
+                throw new SeatReservationException("Le siège [" + row + "," + col
+                        + "] ne peut pas être retenu (déjà pris ou type incompatible).");
+            }
+            // Une retenue n'est jamais durable : un stockage persistant la libère à la reprise
+            setPending(row, col, type, true);
+        }
+        return hold;
+    }
+
+    void promoteHold(SeatHold hold, Reservation reservation) throws SeatReservationException {
+        if (hold == null || reservation == null) {
+            throw new IllegalArgumentException("La retenue et la réservation ne peuvent pas être null.");
+        }
+        if (hold.getSeance() != this) {
+            throw new IllegalArgumentException("La retenue appartient à une autre séance.");
+        }
+        int[] held = hold.getPackedSeats().clone();
+        int[] booked = reservation.getPackedSeats();
+        Arrays.sort(held);
+        Arrays.sort(booked);
+        if (!Arrays.equals(held, booked)) {
+            throw new IllegalArgumentException("Les sièges de la réservation doivent être ceux de la retenue.");
+        }
+        if (!hold.end(SeatHold.State.PROMOTED)) {
+            throw new SeatReservationException("La retenue n'est plus active (" + hold.getState() + ").");
+        }
+        SeatType[] types = hold.getTypeArray();
+        int[] seats = hold.getPackedSeats();
+        SeanceJournal target = journal;
+        if (target != null) {
+            try {
+                target.reservationBooked(this, reservation, List.of(types));
+            } catch (RuntimeException e) {
+                // La retenue ne peut plus être transformée : ses sièges sont rendus
+                hold.abandon();
+                rollback(seats, List.of(types), seats.length);
+                forgetHold(hold);
+                for (SeanceObserver observer : observers) {
+                    observer.holdEnded(this, hold);
+                }
+                throw e;
+            }
+        }
+        // Les sièges restent retenus jusqu'à ce que la réservation en soit propriétaire
+        indexSeats(reservation);
+        for (int i = 0; i < seats.length; i++) {
+            setPending(Person.rowOf(seats[i]), Person.columnOf(seats[i]), types[i], false);
+        }
+        forgetHold(hold);
+        for (int i = 0; i < seats.length; i++) {
+            fireSeatReserved(Person.rowOf(seats[i]), Person.columnOf(seats[i]), types[i]);
+        }
+        registerReservation(reservation);
+        for (SeanceObserver observer : observers) {
+            observer.holdPromoted(this, hold, reservation);
+        }
+    }
+
+    boolean endHold(SeatHold hold, SeatHold.State outcome) {
+        if (!hold.end(outcome)) {
+            return false;
+        }
+        // Rendus avant d'être désinscrits : un siège retenu n'est jamais occupé sans retenue
+        int[] seats = hold.getPackedSeats();
+        rollback(seats, List.of(hold.getTypeArray()), seats.length);
+        forgetHold(hold);
+        for (SeanceObserver observer : observers) {
+            observer.holdEnded(this, hold);
+        }
+        return true;
+    }
+
+    private void forgetHold(SeatHold hold) {
+        SeatSlots<SeatHold> holds = seatHolds;
+        int[] seats = hold.getPackedSeats();
+        for (int seat : seats) {
+            holds.compareAndSet(indexOf(Person.rowOf(seat), Person.columnOf(seat)), hold, null);
+        }
+        heldSeats.addAndGet(-seats.length);
+    }
+
+    /**
+     * @return La retenue en cours sur ce siège, ou null.
+     */
+    public SeatHold findHoldBySeat(int row, int col) {
+        SeatSlots<SeatHold> holds = seatHolds;
+        if (holds == null || !isInBounds(row, col)) {
+            return null;
+        }
+        SeatHold hold = holds.get(indexOf(row, col));
+        return hold == CANCELLING ? null : hold;
+    }
+
+    /**
+     * @return Nombre de sièges actuellement retenus (comptés aussi comme occupés).
+     */
+    public int getHeldSeatCount() {
+        return heldSeats.get();
+    }
+
+    private void rollback(int[] seats, List<SeatType> types, int claimed) {
+        for (int i = claimed - 1; i >= 0; i--) {
+            // Démarqué avant d'être rendu : la marque d'un siège repris entre-temps est préservée
+            setPending(Person.rowOf(seats[i]), Person.columnOf(seats[i]), types.get(i), false);
+            release(Person.rowOf(seats[i]), Person.columnOf(seats[i]), types.get(i));
+        }
+    }
+
+    private void rollbackGroup(Reservation reservation, List<SeatType> types, int claimed) {
+        int[] seats = reservation.getPackedSeats();
+        SeatSlots<Reservation> owners = seatOwners;
+        for (int i = claimed - 1; i >= 0; i--) {
+            int row = Person.rowOf(seats[i]);
+            int col = Person.columnOf(seats[i]);
+            setPending(row, col, types.get(i), false);
+            release(row, col, types.get(i));
+            owners.compareAndSet(indexOf(row, col), reservation, null);
+        }
     }
 
     @Override
@@ -146,66 +952,216 @@ public class Seance implements Reservable {
         if (seat == null || seat.length != 2) {
             throw new IllegalArgumentException("Le siège doit être un tableau de 2 entiers.");
         }
-        if (!canCancel(seat[0], seat[1], type)) {
-            throw new SeatCancellationException("Le siège ne peut pas être libéré (déjà libre ou type incompatible).");
+        if (!planAccepts(seat[0], seat[1], type) || !isSeatReserved(seat[0], seat[1])) {
+            throw new SeatCancellationException("Le siège ne peut pas être libéré (déjà libre, retenu ou type incompatible).");
+        }
+        if (findReservationBySeat(seat[0], seat[1]) != null) {
+            throw new SeatCancellationException("Le siège appartient à une réservation : il se libère avec elle.");
+        }
+        SeanceJournal target = journal;
+        if (target != null) {
+            target.seatCancelling(this, seat[0], seat[1], type);
         }
-        applyCancellation(seat[0], seat[1], type);
+        cancelSeat(seat[0], seat[1], type, null);
     }
 
-    private boolean canReserve(int row, int col, SeatType type) {
-        if (row < 0 || row >= seatMap.length || col < 0 || col >= seatMap[0].length) {
-            return false;
+    /**
+     * Libère un siège appartenant à {@code owner} (null : à aucune réservation). Le siège
+     * est rendu avant que son propriétaire ne soit effacé : un siège occupé a toujours son
+     * propriétaire.
+     */
+    private void cancelSeat(int row, int col, SeatType type, Reservation owner) throws SeatCancellationException {
+        if (!planAccepts(row, col, type)) {
+            throw new SeatCancellationException("Le siège ne peut pas être libéré (type incompatible).");
         }
-        switch (type) {
-            case NORMAL:
-                return seatMap[row][col] == '0';
-            case PMR:
-                return seatMap[row][col] == 'P';
-            case DOUBLE:
-                return col + 1 < seatMap[0].length
-                        && seatMap[row][col] == 'D'
-                        && seatMap[row][col + 1] == 'x';
-            default:
-                return false;
+        int index = indexOf(row, col);
+        SeatSlots<SeatHold> holds = owner == null ? seatHolds() : null;
+        while (holds != null) {
+            SeatHold current = holds.get(index);
+            if (current == null && holds.compareAndSet(index, null, CANCELLING)) {
+                break;
+            }
+            if (current != null && current != CANCELLING) {
+                throw new SeatCancellationException("Le siège est retenu : il se libère avec sa retenue.");
+            }
+            // Une autre annulation de ce siège s'achève : le siège a pu être repris depuis
+            Thread.onSpinWait();
+        }
+        try {
+            if (findReservationBySeat(row, col) != owner) {
+                throw new SeatCancellationException("Le siège [" + row + "," + col + "] appartient à une autre réservation.");
+            }
+            if (!release(row, col, type)) {
+                throw new SeatCancellationException("Le siège ne peut pas être libéré (déjà libre ou type incompatible).");
+            }
+            if (owner != null) {
+                seatOwners.compareAndSet(index, owner, null);
+            }
+        } finally {
+            if (holds != null) {
+                holds.compareAndSet(index, CANCELLING, null);
+            }
+        }
+        for (SeanceObserver observer : observers) {
+            observer.seatCancelled(this, row, col, type);
         }
     }
 
-    private boolean canCancel(int row, int col, SeatType type) {
-        if (row < 0 || row >= seatMap.length || col < 0 || col >= seatMap[0].length) {
-            return false;
-        }
-        switch (type) {
-            case NORMAL:
-            case PMR:
-                return seatMap[row][col] == 'O';
-            case DOUBLE:
-                return col + 1 < seatMap[0].length
-                        && seatMap[row][col] == 'O'
-                        && seatMap[row][col + 1] == 'O';
-            default:
-                return false;
+    /**
+     * Vérifie que le plan de la salle accepte ce type de siège à cette position.
+     * L'occupation est vérifiée au moment de la prise ou de la libération ({@link #claim}, {@link #release}).
+     */
+    private boolean planAccepts(int row, int col, SeatType type) {
+        return isInBounds(row, col) && catalogue.accepts(indexOf(row, col), type);
+    }
+
+    private boolean claim(int row, int col, SeatType type) {
+        int index = indexOf(row, col);
+        if (type == SeatType.DOUBLE ? occupancy.occupyPair(index) : occupancy.occupy(index)) {
+            rowVersions.incrementAndGet(row);
+            seatMapVersion.incrementAndGet();
+            seatsChanged(type == SeatType.DOUBLE ? 2 : 1);
+            return true;
         }
+        return false;
     }
 
-    private void applyReservation(int row, int col, SeatType type) {
-        seatMap[row][col] = 'O';
-        if (type == SeatType.DOUBLE) {
-            seatMap[row][col + 1] = 'O';
+    private boolean release(int row, int col, SeatType type) {
+        int index = indexOf(row, col);
+        if (type == SeatType.DOUBLE ? occupancy.releasePair(index) : occupancy.release(index)) {
+            rowVersions.incrementAndGet(row);
+            seatMapVersion.incrementAndGet();
+            seatsChanged(type == SeatType.DOUBLE ? -2 : -1);
+            return true;
         }
+        return false;
     }
 
-    private void applyCancellation(int row, int col, SeatType type) {
-        char[][] template = room.getRoomSeatMap();
-        seatMap[row][col] = template[row][col];
+    /**
+     * Marque (ou démarque) un siège pris comme non durable dans le moteur d'occupation,
+     * les deux moitiés pour une place double (voir {@link OccupancyEngine#setPending}).
+     */
+    private void setPending(int row, int col, SeatType type, boolean pending) {
+        int index = indexOf(row, col);
+        occupancy.setPending(index, pending);
         if (type == SeatType.DOUBLE) {
-            seatMap[row][col + 1] = template[row][col + 1];
+            occupancy.setPending(index + 1, pending);
         }
     }
 
+    /**
+     * @return true si l'occupation a été reprise du stockage de la salle au rechargement
+     *         (fichier mappé rouvert) : elle est plus récente que celle du snapshot, et seules
+     *         les réservations restent à réenregistrer.
+     */
+    public boolean isOccupancyRecovered() {
+        return occupancy.isRecovered();
+    }
+
+    /**
+     * @return Identifiant stable de la séance, conservé par les snapshots.
+     */
+    public long getId() { return id; }
+
     public String getDate() { return date; }
     public String getTime() { return time; }
     public String getMovie() { return movie; }
     public Room getRoom() { return room; }
-    public char[][] getSeatMap() { return seatMap; }
-    public ArrayList<Reservation> getReservations() { return new ArrayList<>(reservations); }
+
+    /**
+     * @return Plan avec lequel la séance a été créée (la salle a pu changer de plan depuis).
+     */
+    public SeatLayout getLayout() { return layout; }
+
+    /**
+     * @return Début de la séance, ou null si la date ou l'heure saisie n'est pas lisible.
+     */
+    public LocalDateTime getStart() { return start; }
+
+    /**
+     * Construit le plan de la séance : le plan de la salle avec 'O' pour chaque siège occupé.
+     * Le tableau retourné est une copie, sa modification n'affecte pas la séance.
+     */
+    public char[][] getSeatMap() {
+        return getSeatMapSnapshot().toArray();
+    }
+
+    /**
+     * @return Version de l'occupation, incrémentée à chaque prise ou libération de siège.
+     */
+    public long getSeatMapVersion() {
+        return seatMapVersion.get();
+    }
+
+    /**
+     * Retourne le plan de la séance figé. Tant que l'occupation n'a pas changé, le même
+     * instantané est rendu sans rien recalculer ; sinon seules les rangées dont la version
+     * a changé sont reconstruites, les autres sont reprises de l'instantané précédent.
+     */
+    public SeatMapSnapshot getSeatMapSnapshot() {
+        SeatMapSnapshot previous = seatMapSnapshot;
+        // Versions lues avant les sièges : un changement concurrent force la reconstruction suivante
+        long version = seatMapVersion.get();
+        if (previous != null && previous.getVersion() == version) {
+            return previous;
+        }
+        int rows = layout.getRowCount();
+        String[] lines = new String[rows];
+        int[] versions = new int[rows];
+        for (int row = 0; row < rows; row++) {
+            versions[row] = rowVersions.get(row);
+            lines[row] = previous != null && previous.getRowVersion(row) == versions[row]
+                    ? previous.getRow(row)
+                    : renderRow(row);
+        }
+        SeatMapSnapshot snapshot = new SeatMapSnapshot(version, lines, versions);
+        if (previous == null || previous.getVersion() < version) {
+            seatMapSnapshot = snapshot;
+        }
+        return snapshot;
+    }
+
+    private String renderRow(int row) {
+        char[] line = layout.copyRow(row);
+        for (int col = 0; col < line.length && col < columns; col++) {
+            int index = indexOf(row, col);
+            // La moitié 'x' d'une place double suit sa moitié 'D' : la paire n'est jamais vue à moitié prise
+            int partner = catalogue.partnerOf(index);
+            if (occupancy.isOccupied(partner >= 0 && partner < index ? partner : index)) {
+                line[col] = 'O';
+            }
+        }
+        return new String(line);
+    }
+
+    /**
+     * Parcourt les réservations de la séance sans garder le verrou pendant l'action :
+     * seule une copie des références de cette séance est faite, bornée par le nombre de
+     * sièges de la salle.
+     *
+     * @param action Appelée pour chaque réservation ; renvoyer false arrête le parcours.
+     * @return false si le parcours a été interrompu par l'action.
+     */
+    public boolean forEachReservation(Predicate<Reservation> action) {
+        Reservation[] snapshot;
+        synchronized (reservations) {
+            snapshot = reservations.values().toArray(new Reservation[0]);
+        }
+        for (Reservation reservation : snapshot) {
+            if (!action.test(reservation)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public ArrayList<Reservation> getReservations() {
+        synchronized (reservations) {
+            return new ArrayList<>(reservations.values());
+        }
+    }
+
+    public int getReservationCount() {
+        return reservationCount.get();
+    }
 }
\ No newline at end of file
@@ -0,0 +1,234 @@
+package com.cinema.models;
+
+import com.cinema.enums.SeatType;
+
+/**
+ * Catalogue précalculé des sièges d'un plan : pour chaque siège, repéré par son index
+ * linéaire ({@code rangée * colonnes + colonne}), le type de place, le partenaire d'une
+ * place double et la présence d'une allée à gauche ou à droite.
+ *
+ * Le plan est interprété une seule fois, à la compilation ; réservation, annulation et
+ * validation se contentent ensuite d'une lecture de tableau par siège.
+ */
+public final class SeatCatalogue {
+    private static final byte AISLE = 0;
+    private static final byte NORMAL = 1;
+    private static final byte PMR = 2;
+    private static final byte DOUBLE = 3;
+    private static final byte DOUBLE_PARTNER = 4;
+    private static final byte ORPHAN_DOUBLE = 5;
+    private static final byte ORPHAN_PARTNER = 6;
+    private static final byte UNKNOWN = 7;
+    private static final int KIND_MASK = 0x7;
+    private static final int AISLE_LEFT = 0x8;
+    private static final int AISLE_RIGHT = 0x10;
+
+    private final byte[] seats;
+    private final int rows;
+    private final int columns;
+    private final int orphanDoubles;
+    private final int unknownCells;
+    // Par type de place : bitset des sièges qu'il occupe (les deux moitiés d'une place double),
+    // dans la disposition des bitsets d'occupation des séances
+    private final long[][] typeMasks;
+    private final int[] typeSeats;
+
+    private SeatCatalogue(byte[] seats, int rows, int columns, int orphanDoubles, int unknownCells) {
+        this.seats = seats;
+        this.rows = rows;
+        this.columns = columns;
+        this.orphanDoubles = orphanDoubles;
+        this.unknownCells = unknownCells;
+        this.typeMasks = new long[SeatType.values().length][(seats.length + 63) >>> 6];
+        this.typeSeats = new int[typeMasks.length];
+        for (int seat = 0; seat < seats.length; seat++) {
+            SeatType type = typeOf(seat);
+            if (type == null && (seats[seat] & KIND_MASK) == DOUBLE_PARTNER) {
+                type = SeatType.DOUBLE;
+            }
+            if (type != null) {
+                typeMasks[type.ordinal()][seat >>> 6] |= 1L << seat;
+                typeSeats[type.ordinal()]++;
+            }
+        }
+    }
+
+    /**
+     * Compile un plan. La grille a la largeur de la première rangée : une rangée plus
+     * courte est complétée par des allées, les cases au-delà de cette largeur sont ignorées.
+     */
+    public static SeatCatalogue compile(char[][] cells) {
+        if (cells == null) {
+            throw new IllegalArgumentException("Le plan ne peut pas être null");
+        }
+        int rows = cells.length;
+        int columns = rows == 0 ? 0 : cells[0].length;
+        byte[] seats = new byte[rows * columns];
+        int orphanDoubles = 0;
+        int unknownCells = 0;
+        for (int row = 0; row < rows; row++) {
+            char[] line = cells[row];
+            for (int col = 0; col < columns; col++) {
+                byte kind = kindOf(line, col);
+                if (kind == ORPHAN_DOUBLE) {
+                    orphanDoubles++;
+                } else if (kind == UNKNOWN) {
+                    unknownCells++;
+                }
+                int flags = kind;
+                if (kind != AISLE) {
+                    if (col == 0 || cellAt(line, col - 1) == 'X') {
+                        flags |= AISLE_LEFT;
+                    }
+                    if (col + 1 >= columns || cellAt(line, col + 1) == 'X') {
+                        flags |= AISLE_RIGHT;
+                    }
+                }
+                seats[row * columns + col] = (byte) flags;
+            }
+        }
+        return new SeatCatalogue(seats, rows, columns, orphanDoubles, unknownCells);
+    }
+
+    private static byte kindOf(char[] line, int col) {
+        switch (cellAt(line, col)) {
+            case 'X':
+                return AISLE;
+            case '0':
+                return NORMAL;
+            case 'P':
+                return PMR;
+            case 'D':
+                return cellAt(line, col + 1) == 'x' ? DOUBLE : ORPHAN_DOUBLE;
+            case 'x':
+                return col > 0 && cellAt(line, col - 1) == 'D' ? DOUBLE_PARTNER : ORPHAN_PARTNER;
+            default:
+                return UNKNOWN;
+        }
+    }
+
+    private static char cellAt(char[] line, int col) {
+        return col < line.length ? line[col] : 'X';
+    }
+
+    public int size() {
+        return seats.length;
+    }
+
+    public int getRowCount() {
+        return rows;
+    }
+
+    public int getColumnCount() {
+        return columns;
+    }
+
+    public boolean contains(int row, int col) {
+        return row >= 0 && row < rows && col >= 0 && col < columns;
+    }
+
+    public int indexOf(int row, int col) {
+        return row * columns + col;
+    }
+
+    public int rowOf(int seat) {
+        return seat / columns;
+    }
+
+    public int columnOf(int seat) {
+        return seat % columns;
+    }
+
+    /**
+     * @return Type de place qui commence sur ce siège, ou null pour une allée, la moitié
+     *         droite d'une place double ou une case invalide.
+     */
+    public SeatType typeOf(int seat) {
+        switch (seats[seat] & KIND_MASK) {
+            case NORMAL:
+                return SeatType.NORMAL;
+            case PMR:
+                return SeatType.PMR;
+            case DOUBLE:
+                return SeatType.DOUBLE;
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * @return true si le plan propose une place de ce type sur ce siège (pour une place
+     *         double, le siège est la moitié gauche 'D' et sa moitié droite 'x' suit).
+     */
+    public boolean accepts(int seat, SeatType type) {
+        return type != null && typeOf(seat) == type;
+    }
+
+    /**
+     * @return Index de l'autre moitié d'une place double, -1 pour les autres sièges.
+     */
+    public int partnerOf(int seat) {
+        switch (seats[seat] & KIND_MASK) {
+            case DOUBLE:
+                return seat + 1;
+            case DOUBLE_PARTNER:
+                return seat - 1;
+            default:
+                return -1;
+        }
+    }
+
+    /**
+     * @return Nombre de sièges de ce type ; une place double en compte deux.
+     */
+    public int seatCount(SeatType type) {
+        return typeSeats[type.ordinal()];
+    }
+
+    /**
+     * Compte les sièges de ce type occupés dans un bitset d'occupation (bit i = siège i),
+     * par comptage de bits mot à mot.
+     */
+    public int countOccupied(SeatType type, long[] occupancy) {
+        long[] mask = typeMasks[type.ordinal()];
+        int words = Math.min(mask.length, occupancy.length);
+        int count = 0;
+        for (int word = 0; word < words; word++) {
+            count += Long.bitCount(occupancy[word] & mask[word]);
+        }
+        return count;
+    }
+
+    public boolean isAisle(int seat) {
+        return (seats[seat] & KIND_MASK) == AISLE;
+    }
+
+    /**
+     * @return true si le siège est en bout de rangée ou bordé par une allée.
+     */
+    public boolean isNextToAisle(int seat) {
+        return (seats[seat] & (AISLE_LEFT | AISLE_RIGHT)) != 0;
+    }
+
+    public boolean hasAisleLeft(int seat) {
+        return (seats[seat] & AISLE_LEFT) != 0;
+    }
+
+    public boolean hasAisleRight(int seat) {
+        return (seats[seat] & AISLE_RIGHT) != 0;
+    }
+
+    /**
+     * @return true si chaque 'D' est immédiatement suivi de sa moitié 'x'.
+     */
+    public boolean hasCompleteDoubles() {
+        return orphanDoubles == 0;
+    }
+
+    /**
+     * @return true si le plan ne contient que des codes connus et des places doubles complètes.
+     */
+    public boolean isValid() {
+        return orphanDoubles == 0 && unknownCells == 0;
+    }
+}
@@ -0,0 +1,129 @@
+package com.cinema.models;
+
+import com.cinema.enums.SeatType;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Retenue temporaire de sièges d'une séance, le temps d'un paiement.
+ *
+ * Les sièges retenus sont pris dans le moteur d'occupation comme des sièges réservés :
+ * personne d'autre ne peut les obtenir. Une retenue se termine une seule fois, par
+ * compare-and-set sur son état : transformée en réservation, rendue par le client ou
+ * expirée. Si la transformation et l'expiration se croisent, une seule des deux gagne.
+ */
+public class SeatHold {
+    private static final AtomicLong NEXT_ID = new AtomicLong(1);
+
+    public enum State {
+        HELD,
+        PROMOTED,
+        RELEASED,
+        EXPIRED
+    }
+
+    private final long id;
+    private final Seance seance;
+    private final int[] seats;
+    private final SeatType[] types;
+    private final Instant expiresAt;
+    private final AtomicReference<State> state = new AtomicReference<>(State.HELD);
+
+    SeatHold(Seance seance, int[] seats, SeatType[] types, Instant expiresAt) {
+        this.id = NEXT_ID.getAndIncrement();
+        this.seance = seance;
+        this.seats = seats;
+        this.types = types;
+        this.expiresAt = expiresAt;
+    }
+
+    /**
+     * Termine la retenue si elle est encore active.
+     *
+     * @return true pour l'appel qui l'a terminée, false si elle l'était déjà.
+     */
+    boolean end(State outcome) {
+        return state.compareAndSet(State.HELD, outcome);
+    }
+
+    /**
+     * Rend la retenue après une transformation qui n'a pas pu être journalisée.
+     */
+    void abandon() {
+        state.compareAndSet(State.PROMOTED, State.RELEASED);
+    }
+
+    /**
+     * Transforme la retenue en réservation : les sièges passent directement de retenus à
+     * réservés, sans jamais redevenir libres.
+     *
+     * @param reservation Réservation dont les personnes occupent exactement les sièges retenus.
+     * @throws Seance.SeatReservationException Si la retenue a expiré, a été rendue ou déjà utilisée.
+     */
+    public void promote(Reservation reservation) throws Seance.SeatReservationException {
+        seance.promoteHold(this, reservation);
+    }
+
+    /**
+     * Rend les sièges retenus.
+     *
+     * @return false si la retenue était déjà terminée.
+     */
+    public boolean release() {
+        return seance.endHold(this, State.RELEASED);
+    }
+
+    /**
+     * Libère les sièges d'une retenue arrivée à échéance ; sans effet si elle a déjà été
+     * transformée ou rendue.
+     */
+    public boolean expire() {
+        return seance.endHold(this, State.EXPIRED);
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    public Seance getSeance() {
+        return seance;
+    }
+
+    int[] getPackedSeats() {
+        return seats;
+    }
+
+    SeatType[] getTypeArray() {
+        return types;
+    }
+
+    /**
+     * @return Copie des sièges retenus ({rangée, colonne}), dans l'ordre de la demande.
+     */
+    public List<int[]> getSeats() {
+        List<int[]> copy = new ArrayList<>(seats.length);
+        for (int seat : seats) {
+            copy.add(new int[]{Person.rowOf(seat), Person.columnOf(seat)});
+        }
+        return copy;
+    }
+
+    public List<SeatType> getTypes() {
+        return List.of(types);
+    }
+
+    public Instant getExpiresAt() {
+        return expiresAt;
+    }
+
+    public State getState() {
+        return state.get();
+    }
+
+    public boolean isActive() {
+        return state.get() == State.HELD;
+    }
+}
@@ -0,0 +1,183 @@
+package com.cinema.models;
+
+import java.lang.ref.WeakReference;
+import java.util.Arrays;
+import java.util.WeakHashMap;
+
+/**
+ * Plan de salle immuable, partagé entre les salles et leurs séances.
+ *
+ * Les plans sont internés : deux salles construites avec le même plan (par exemple le même
+ * préréglage de {@code RoomBuilder}) partagent une seule instance. Un plan n'est jamais
+ * modifié ; {@link #withSeat} en produit un nouveau (copie sur écriture).
+ *
+ * Codes : '0' normal, 'P' PMR, 'D' + 'x' place double, 'X' allée. Les rangées peuvent être
+ * de longueurs différentes ; une case au-delà de la fin de sa rangée se lit comme une allée.
+ */
+public final class SeatLayout {
+    private static final WeakHashMap<SeatLayout, WeakReference<SeatLayout>> TEMPLATES = new WeakHashMap<>();
+
+    private final char[][] cells;
+    private final int columns;
+    private final int seatCount;
+    private final int hash;
+    private volatile SeatCatalogue catalogue;
+    private volatile int[] rowsByDistance;
+
+    private SeatLayout(char[][] cells) {
+        this.cells = cells;
+        this.columns = cells.length == 0 ? 0 : cells[0].length;
+        int count = 0;
+        for (char[] line : cells) {
+            for (char cell : line) {
+                if (cell != 'X') {
+                    count++;
+                }
+            }
+        }
+        this.seatCount = count;
+        this.hash = Arrays.deepHashCode(cells);
+    }
+
+    /**
+     * @return Le plan interné équivalent à {@code layout} (copié s'il est nouveau).
+     */
+    public static SeatLayout of(char[][] layout) {
+        if (layout == null) {
+            throw new IllegalArgumentException("Le plan ne peut pas être null");
+        }
+        char[][] copy = new char[layout.length][];
+        for (int row = 0; row < layout.length; row++) {
+            if (layout[row] == null) {
+                throw new IllegalArgumentException("La rangée " + row + " du plan est null");
+            }
+            copy[row] = layout[row].clone();
+        }
+        return intern(new SeatLayout(copy));
+    }
+
+    private static SeatLayout intern(SeatLayout layout) {
+        synchronized (TEMPLATES) {
+            WeakReference<SeatLayout> ref = TEMPLATES.get(layout);
+            SeatLayout shared = ref != null ? ref.get() : null;
+            if (shared != null) {
+                return shared;
+            }
+            TEMPLATES.put(layout, new WeakReference<>(layout));
+            return layout;
+        }
+    }
+
+    /**
+     * Lecture d'une case en temps constant, sans allocation.
+     */
+    public char charAt(int row, int col) {
+        char[] line = cells[row];
+        return col < line.length ? line[col] : 'X';
+    }
+
+    /**
+     * @return Catalogue des sièges du plan, compilé à la première demande puis partagé.
+     */
+    public SeatCatalogue getCatalogue() {
+        SeatCatalogue compiled = catalogue;
+        if (compiled == null) {
+            compiled = SeatCatalogue.compile(cells);
+            catalogue = compiled;
+        }
+        return compiled;
+    }
+
+    /**
+     * @return Rangées triées de la plus proche à la plus éloignée du centre, calculées à la
+     *         première demande puis partagées par toutes les séances du plan (non modifiable).
+     */
+    int[] rowsByDistance() {
+        int[] order = rowsByDistance;
+        if (order == null) {
+            int rows = cells.length;
+            order = new int[rows];
+            int centre = rows - 1;
+            int next = 0;
+            for (int distance = centre & 1; next < rows; distance += 2) {
+                int before = (centre - distance) / 2;
+                int after = (centre + distance) / 2;
+                if (before >= 0 && before < rows) {
+                    order[next++] = before;
+                }
+                if (distance != 0 && after < rows && after != before) {
+                    order[next++] = after;
+                }
+            }
+            rowsByDistance = order;
+        }
+        return order;
+    }
+
+    /**
+     * @return Plan identique avec la case [row, col] remplacée par {@code type}.
+     */
+    public SeatLayout withSeat(int row, int col, char type) {
+        char[][] updated = cells.clone();
+        updated[row] = cells[row].clone();
+        updated[row][col] = type;
+        return intern(new SeatLayout(updated));
+    }
+
+    public int getRowCount() {
+        return cells.length;
+    }
+
+    /**
+     * @return Largeur de la première rangée, qui fixe la grille des index de sièges.
+     */
+    public int getColumnCount() {
+        return columns;
+    }
+
+    public int getRowWidth(int row) {
+        return cells[row].length;
+    }
+
+    /**
+     * @return Nombre de places réservables (toutes les cases hors allées 'X').
+     */
+    public int getSeatCount() {
+        return seatCount;
+    }
+
+    /**
+     * @return Copie de la rangée.
+     */
+    public char[] copyRow(int row) {
+        return cells[row].clone();
+    }
+
+    /**
+     * @return Copie complète du plan.
+     */
+    public char[][] toArray() {
+        char[][] copy = new char[cells.length][];
+        for (int row = 0; row < cells.length; row++) {
+            copy[row] = cells[row].clone();
+        }
+        return copy;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (this == other) {
+            return true;
+        }
+        if (!(other instanceof SeatLayout)) {
+            return false;
+        }
+        SeatLayout layout = (SeatLayout) other;
+        return hash == layout.hash && Arrays.deepEquals(cells, layout.cells);
+    }
+
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+}
@@ -0,0 +1,141 @@
+package com.cinema.models;
+
+import java.io.PrintStream;
+
+/**
+ * Affichage texte du plan d'une séance, en clair ou en couleurs ANSI.
+ *
+ * Le texte est construit dans un tampon réutilisé puis écrit d'un seul coup. Le titre,
+ * l'en-tête des colonnes et la légende ne sont construits qu'une fois ; chaque rangée
+ * est gardée toute rendue et n'est refaite que lorsque l'instantané du plan (voir
+ * {@link SeatMapSnapshot}) en fournit une nouvelle, c'est-à-dire après une prise ou une
+ * libération d'un de ses sièges.
+ */
+public final class SeatMapRenderer {
+    private static final String RESET = "\033[0m";
+
+    private static final String LEGEND = "\nLégende:\n"
+            + "  0 = Libre\n"
+            + "  O = Occupé\n"
+            + "  X = Allée/Inexistant\n"
+            + "  P = PMR (libre)\n"
+            + "  D = Place double (libre)\n"
+            + "  x = Continuation place double\n";
+
+    private static final String ANSI_LEGEND = "\nLégende:\n"
+            + "  " + colorOf('0') + "0" + RESET + " = Libre\n"
+            + "  " + colorOf('O') + "O" + RESET + " = Occupé\n"
+            + "  " + colorOf('X') + "X" + RESET + " = Allée/Inexistant\n"
+            + "  " + colorOf('P') + "P" + RESET + " = PMR (libre)\n"
+            + "  " + colorOf('D') + "D" + RESET + " = Place double (libre)\n"
+            + "  " + colorOf('x') + "x" + RESET + " = Continuation place double\n";
+
+    private final Seance seance;
+    private final boolean ansi;
+    private final String header;
+    // Rangée d'instantané rendue et son texte ; les instantanés partagent les rangées inchangées
+    private final String[] sources;
+    private final String[] rendered;
+    private final StringBuilder buffer = new StringBuilder();
+    private int renderedRows;
+
+    /**
+     * @param ansi true pour colorer les sièges avec les séquences d'échappement ANSI.
+     */
+    public SeatMapRenderer(Seance seance, boolean ansi) {
+        if (seance == null) {
+            throw new IllegalArgumentException("La séance ne peut pas être null");
+        }
+        this.seance = seance;
+        this.ansi = ansi;
+        int rows = seance.getLayout().getRowCount();
+        this.sources = new String[rows];
+        this.rendered = new String[rows];
+
+        StringBuilder title = new StringBuilder()
+                .append("\n=== Séance: ").append(seance.getMovie()).append(" - ")
+                .append(seance.getDate()).append(' ').append(seance.getTime()).append(" ===\n")
+                .append("Salle: ").append(seance.getRoom().getName()).append("\n\n    ");
+        int width = rows == 0 ? 0 : seance.getLayout().getRowWidth(0);
+        for (int col = 0; col < width; col++) {
+            title.append(col).append(' ');
+        }
+        this.header = title.append('\n').toString();
+    }
+
+    /**
+     * @return Plan actuel de la séance, légende et nombre de réservations compris.
+     */
+    public synchronized String render() {
+        return fill().toString();
+    }
+
+    /**
+     * Écrit le plan actuel en une seule écriture sur le flux.
+     */
+    public synchronized void print(PrintStream out) {
+        out.append(fill());
+        out.flush();
+    }
+
+    private StringBuilder fill() {
+        SeatMapSnapshot snapshot = seance.getSeatMapSnapshot();
+        buffer.setLength(0);
+        buffer.append(header);
+        for (int row = 0; row < snapshot.getRowCount(); row++) {
+            String source = snapshot.getRow(row);
+            if (sources[row] != source) {
+                rendered[row] = renderRow(row, source);
+                sources[row] = source;
+                renderedRows++;
+            }
+            buffer.append(rendered[row]);
+        }
+        return buffer.append(ansi ? ANSI_LEGEND : LEGEND)
+                .append("\nRéservations actives: ").append(seance.getReservationCount()).append('\n');
+    }
+
+    private String renderRow(int row, String seats) {
+        StringBuilder line = new StringBuilder(seats.length() * (ansi ? 8 : 2) + 8).append(row).append(" - ");
+        String color = null;
+        for (int col = 0; col < seats.length(); col++) {
+            char seat = seats.charAt(col);
+            if (ansi) {
+                // Une séquence par suite de sièges de même couleur, pas une par siège
+                String next = colorOf(seat);
+                if (!next.equals(color)) {
+                    line.append(next);
+                    color = next;
+                }
+            }
+            line.append(seat).append(' ');
+        }
+        if (ansi) {
+            line.append(RESET);
+        }
+        return line.append('\n').toString();
+    }
+
+    private static String colorOf(char seat) {
+        switch (seat) {
+            case 'O':
+                return "\033[31m";
+            case '0':
+                return "\033[32m";
+            case 'P':
+                return "\033[34m";
+            case 'D':
+            case 'x':
+                return "\033[35m";
+            default:
+                return "\033[90m";
+        }
+    }
+
+    /**
+     * @return Nombre de rangées rendues depuis la création (les autres venaient du cache).
+     */
+    synchronized int getRenderedRowCount() {
+        return renderedRows;
+    }
+}
@@ -0,0 +1,65 @@
+package com.cinema.models;
+
+/**
+ * Plan d'une séance figé à une version donnée : le plan de la salle avec 'O' pour chaque
+ * siège occupé (ou retenu). Immuable, il peut être partagé entre threads et mis en cache.
+ *
+ * Deux instantanés successifs partagent les rangées qui n'ont pas changé entre eux ;
+ * les deux moitiés d'une place double y sont toujours dans le même état.
+ */
+public final class SeatMapSnapshot {
+    private final long version;
+    private final String[] rows;
+    private final int[] rowVersions;
+
+    SeatMapSnapshot(long version, String[] rows, int[] rowVersions) {
+        this.version = version;
+        this.rows = rows;
+        this.rowVersions = rowVersions;
+    }
+
+    /**
+     * @return Version de l'occupation de la séance (voir {@link Seance#getSeatMapVersion()}) ;
+     *         le contenu est au moins aussi récent que cette version.
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    public int getRowCount() {
+        return rows.length;
+    }
+
+    /**
+     * @return Rangée sous forme de texte, un caractère par siège.
+     */
+    public String getRow(int row) {
+        return rows[row];
+    }
+
+    /**
+     * @return Version de la rangée : elle change à chaque prise ou libération d'un de ses sièges.
+     */
+    public int getRowVersion(int row) {
+        return rowVersions[row];
+    }
+
+    public char charAt(int row, int col) {
+        return rows[row].charAt(col);
+    }
+
+    public boolean isOccupied(int row, int col) {
+        return row >= 0 && row < rows.length && col >= 0 && col < rows[row].length() && rows[row].charAt(col) == 'O';
+    }
+
+    /**
+     * @return Copie modifiable du plan.
+     */
+    public char[][] toArray() {
+        char[][] seatMap = new char[rows.length][];
+        for (int row = 0; row < rows.length; row++) {
+            seatMap[row] = rows[row].toCharArray();
+        }
+        return seatMap;
+    }
+}
@@ -0,0 +1,100 @@
+package com.cinema.models;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.ObjIntConsumer;
+
+/**
+ * Case par siège d'une séance (propriétaire, retenue), modifiée par compare-and-set.
+ *
+ * La version dense est un tableau à la taille de la salle, en accès direct. La version
+ * creuse ne contient que les sièges renseignés : elle sert aux séances dont l'occupation
+ * vit hors du tas, pour que leur empreinte suive les réservations et non la capacité.
+ * Les comparaisons se font par identité (ni {@link Reservation} ni {@link SeatHold} ne
+ * redéfinissent equals).
+ */
+abstract class SeatSlots<T> {
+
+    static <T> SeatSlots<T> dense(int capacity) {
+        return new Dense<>(capacity);
+    }
+
+    static <T> SeatSlots<T> sparse() {
+        return new Sparse<>();
+    }
+
+    abstract T get(int index);
+
+    abstract void set(int index, T value);
+
+    abstract boolean compareAndSet(int index, T expected, T updated);
+
+    /**
+     * Parcourt les cases renseignées (valeur, index du siège).
+     */
+    abstract void forEach(ObjIntConsumer<T> action);
+
+    private static final class Dense<T> extends SeatSlots<T> {
+        private final AtomicReferenceArray<T> slots;
+
+        Dense(int capacity) {
+            slots = new AtomicReferenceArray<>(capacity);
+        }
+
+        @Override
+        T get(int index) {
+            return slots.get(index);
+        }
+
+        @Override
+        void set(int index, T value) {
+            slots.set(index, value);
+        }
+
+        @Override
+        boolean compareAndSet(int index, T expected, T updated) {
+            return slots.compareAndSet(index, expected, updated);
+        }
+
+        @Override
+        void forEach(ObjIntConsumer<T> action) {
+            for (int index = 0; index < slots.length(); index++) {
+                T value = slots.get(index);
+                if (value != null) {
+                    action.accept(value, index);
+                }
+            }
+        }
+    }
+
+    private static final class Sparse<T> extends SeatSlots<T> {
+        private final ConcurrentHashMap<Integer, T> slots = new ConcurrentHashMap<>();
+
+        @Override
+        T get(int index) {
+            return slots.get(index);
+        }
+
+        @Override
+        void set(int index, T value) {
+            if (value == null) {
+                slots.remove(index);
+            } else {
+                slots.put(index, value);
+            }
+        }
+
+        @Override
+        boolean compareAndSet(int index, T expected, T updated) {
+            if (expected == null) {
+                return updated == null ? !slots.containsKey(index) : slots.putIfAbsent(index, updated) == null;
+            }
+            return updated == null ? slots.remove(index, expected) : slots.replace(index, expected, updated);
+        }
+
+        @Override
+        void forEach(ObjIntConsumer<T> action) {
+            slots.forEach((index, value) -> action.accept(value, index));
+        }
+    }
+}
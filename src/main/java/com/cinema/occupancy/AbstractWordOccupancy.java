@@ -0,0 +1,144 @@
+package com.cinema.occupancy;
+
+import com.cinema.interfaces.OccupancyEngine;
+
+/**
+ * Base des moteurs thread-safe qui rangent un bit par siège dans des mots de 64 bits
+ * modifiés par compare-and-set. Les sous-classes ne fournissent que le stockage des mots.
+ */
+abstract class AbstractWordOccupancy implements OccupancyEngine {
+    private final int capacity;
+
+    AbstractWordOccupancy(int capacity) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("La capacité ne peut pas être négative");
+        }
+        this.capacity = capacity;
+    }
+
+    static int wordCount(int capacity) {
+        return (capacity + 63) >>> 6;
+    }
+
+    abstract long getWord(int word);
+
+    abstract boolean compareAndSetWord(int word, long expected, long updated);
+
+    @Override
+    public int capacity() {
+        return capacity;
+    }
+
+    @Override
+    public boolean isOccupied(int index) {
+        checkIndex(index);
+        return (getWord(index >>> 6) & (1L << index)) != 0;
+    }
+
+    @Override
+    public boolean occupy(int index) {
+        checkIndex(index);
+        return setBits(index >>> 6, 1L << index);
+    }
+
+    @Override
+    public boolean release(int index) {
+        checkIndex(index);
+        return clearBits(index >>> 6, 1L << index);
+    }
+
+    /**
+     * Les deux sièges d'une paire partagent presque toujours le même mot : un seul CAS suffit.
+     * Si la paire chevauche deux mots, le premier siège est pris puis rendu en cas d'échec
+     * sur le second.
+     */
+    @Override
+    public boolean occupyPair(int index) {
+        checkIndex(index);
+        checkIndex(index + 1);
+        int word = index >>> 6;
+        if (word == (index + 1) >>> 6) {
+            return setBits(word, 3L << index);
+        }
+        if (!setBits(word, 1L << index)) {
+            return false;
+        }
+        if (!setBits(word + 1, 1L)) {
+            clearBits(word, 1L << index);
+            return false;
+        }
+        return true;
+    }
+
+    @Override
+    public boolean releasePair(int index) {
+        checkIndex(index);
+        checkIndex(index + 1);
+        int word = index >>> 6;
+        if (word == (index + 1) >>> 6) {
+            return clearBits(word, 3L << index);
+        }
+        if (!isOccupied(index + 1) || !clearBits(word, 1L << index)) {
+            return false;
+        }
+        if (!clearBits(word + 1, 1L)) {
+            setBits(word, 1L << index);
+            return false;
+        }
+        return true;
+    }
+
+    @Override
+    public long wordAt(int word) {
+        if (word < 0 || word >= wordCount(capacity)) {
+            throw new IndexOutOfBoundsException("Index de mot invalide: " + word);
+        }
+        return getWord(word);
+    }
+
+    @Override
+    public int occupiedCount() {
+        int count = 0;
+        int words = wordCount(capacity);
+        for (int i = 0; i < words; i++) {
+            count += Long.bitCount(getWord(i));
+        }
+        return count;
+    }
+
+    /**
+     * Pose tous les bits du masque, uniquement s'ils sont tous libres.
+     */
+    private boolean setBits(int word, long mask) {
+        while (true) {
+            long current = getWord(word);
+            if ((current & mask) != 0) {
+                return false;
+            }
+            if (compareAndSetWord(word, current, current | mask)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Efface tous les bits du masque, uniquement s'ils sont tous posés.
+     */
+    private boolean clearBits(int word, long mask) {
+        while (true) {
+            long current = getWord(word);
+            if ((current & mask) != mask) {
+                return false;
+            }
+            if (compareAndSetWord(word, current, current & ~mask)) {
+                return true;
+            }
+        }
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= capacity) {
+            throw new IndexOutOfBoundsException("Index de siège invalide: " + index);
+        }
+    }
+}
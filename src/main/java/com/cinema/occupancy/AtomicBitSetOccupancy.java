@@ -0,0 +1,27 @@
+package com.cinema.occupancy;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Moteur d'occupation thread-safe : un bit par siège dans un AtomicLongArray.
+ * Chaque prise de siège est un compare-and-set sur le mot qui le contient,
+ * sans verrou global : deux guichets ne peuvent jamais obtenir le même siège.
+ */
+public class AtomicBitSetOccupancy extends AbstractWordOccupancy {
+    private final AtomicLongArray words;
+
+    public AtomicBitSetOccupancy(int capacity) {
+        super(capacity);
+        this.words = new AtomicLongArray(wordCount(capacity));
+    }
+
+    @Override
+    long getWord(int word) {
+        return words.get(word);
+    }
+
+    @Override
+    boolean compareAndSetWord(int word, long expected, long updated) {
+        return words.compareAndSet(word, expected, updated);
+    }
+}
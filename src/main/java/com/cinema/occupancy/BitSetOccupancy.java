@@ -0,0 +1,76 @@
+package com.cinema.occupancy;
+
+import com.cinema.interfaces.OccupancyEngine;
+
+/**
+ * Moteur d'occupation compact : un bit par siège, rangé dans un long[].
+ * Une séance de 800 places tient dans 13 mots (104 octets).
+ * Non thread-safe : voir {@link AtomicBitSetOccupancy} pour un accès concurrent.
+ */
+public class BitSetOccupancy implements OccupancyEngine {
+    private final long[] words;
+    private final int capacity;
+
+    public BitSetOccupancy(int capacity) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("La capacité ne peut pas être négative");
+        }
+        this.capacity = capacity;
+        this.words = new long[(capacity + 63) >>> 6];
+    }
+
+    @Override
+    public int capacity() {
+        return capacity;
+    }
+
+    @Override
+    public boolean isOccupied(int index) {
+        checkIndex(index);
+        return (words[index >>> 6] & (1L << index)) != 0;
+    }
+
+    @Override
+    public boolean occupy(int index) {
+        checkIndex(index);
+        long mask = 1L << index;
+        int word = index >>> 6;
+        if ((words[word] & mask) != 0) {
+            return false;
+        }
+        words[word] |= mask;
+        return true;
+    }
+
+    @Override
+    public boolean release(int index) {
+        checkIndex(index);
+        long mask = 1L << index;
+        int word = index >>> 6;
+        if ((words[word] & mask) == 0) {
+            return false;
+        }
+        words[word] &= ~mask;
+        return true;
+    }
+
+    @Override
+    public long wordAt(int word) {
+        return words[word];
+    }
+
+    @Override
+    public int occupiedCount() {
+        int count = 0;
+        for (long word : words) {
+            count += Long.bitCount(word);
+        }
+        return count;
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= capacity) {
+            throw new IndexOutOfBoundsException("Index de siège invalide: " + index);
+        }
+    }
+}
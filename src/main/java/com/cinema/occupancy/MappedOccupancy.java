@@ -0,0 +1,169 @@
+package com.cinema.occupancy;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Moteur d'occupation stocké dans un fichier mappé en mémoire ({@link MappedByteBuffer}).
+ *
+ * Le bitset des sièges vit hors du tas, et chaque changement est visible dans le fichier
+ * dès le CAS. Une séance sur ce moteur garde ses index par siège (propriétaire, retenue) à
+ * la taille de ses réservations et retenues ; ce qui reste sur le tas hors de celles-ci se
+ * compte par rangée (version, et résumé des suites libres après une recherche de bloc).
+ * Les fichiers des séances sont rangés par {@link MappedOccupancyStore}.
+ *
+ * Un second bitset marque les sièges pris mais pas encore durables (voir
+ * {@link #setPending}) : retenues, et réservations dont le journal n'a pas encore confirmé
+ * l'écriture. À la réouverture d'un fichier existant, ces sièges sont libérés et le reste
+ * est repris tel quel ({@link #isRecovered()}) : si la JVM s'arrête brutalement, les sièges
+ * réservés sont relus depuis le fichier, et {@link #force()} les protège aussi d'un arrêt
+ * du système. Le fichier ne contient pas les réservations : elles se rechargent par
+ * {@link com.cinema.persistence.CinemaSnapshot} et le journal.
+ *
+ * Format : magic "CNMO" (int), version (int), capacité (int), réservé (int), puis les mots
+ * du bitset des sièges pris et ceux du bitset des sièges en attente (long, ordre natif),
+ * alignés sur 8 octets pour les accès atomiques.
+ */
+public class MappedOccupancy extends AbstractWordOccupancy implements Closeable {
+    public static final int MAGIC = 0x434E4D4F;
+    public static final int VERSION = 1;
+
+    private static final int HEADER_SIZE = 16;
+    private static final VarHandle WORDS =
+            MethodHandles.byteBufferViewVarHandle(long[].class, ByteOrder.nativeOrder());
+
+    private final FileChannel channel;
+    private final MappedByteBuffer buffer;
+    // Position du bitset des sièges en attente, juste après celui des sièges pris
+    private final int pendingOffset;
+    private final boolean recovered;
+
+    private MappedOccupancy(int capacity, FileChannel channel, MappedByteBuffer buffer, boolean recovered) {
+        super(capacity);
+        this.channel = channel;
+        this.buffer = buffer;
+        this.pendingOffset = HEADER_SIZE + 8 * wordCount(capacity);
+        this.recovered = recovered;
+    }
+
+    /**
+     * Ouvre le fichier d'occupation d'une séance, ou le crée vide s'il n'existe pas. Un
+     * fichier existant est repris : ses sièges en attente sont libérés.
+     *
+     * @param capacity Nombre de sièges (rangées × colonnes de la salle).
+     * @throws IOException Si le fichier existe mais ne correspond pas à cette capacité.
+     */
+    public static MappedOccupancy open(Path file, int capacity) throws IOException {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("La capacité ne peut pas être négative");
+        }
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            long size = HEADER_SIZE + 16L * wordCount(capacity);
+            boolean created = channel.size() == 0;
+            if (!created && channel.size() != size) {
+                throw new IOException("Taille de fichier d'occupation inattendue : " + file);
+            }
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+            buffer.order(ByteOrder.nativeOrder());
+            if (created) {
+                buffer.putInt(0, MAGIC).putInt(4, VERSION).putInt(8, capacity);
+                buffer.force();
+            } else if (buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION
+                    || buffer.getInt(8) != capacity) {
+                throw new IOException("Fichier d'occupation invalide : " + file);
+            }
+            MappedOccupancy occupancy = new MappedOccupancy(capacity, channel, buffer, !created);
+            if (!created) {
+                occupancy.releasePending();
+            }
+            return occupancy;
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Crée le fichier d'occupation vide d'une nouvelle séance, en remplaçant celui qui
+     * resterait d'une séance retirée.
+     */
+    public static MappedOccupancy create(Path file, int capacity) throws IOException {
+        Files.deleteIfExists(file);
+        return open(file, capacity);
+    }
+
+    /**
+     * Libère les sièges restés en attente (arrêt avant leur confirmation), puis efface
+     * leurs marques.
+     */
+    private void releasePending() {
+        int words = wordCount(capacity());
+        for (int word = 0; word < words; word++) {
+            long pending = (long) WORDS.getAndSet(buffer, pendingOffset + (word << 3), 0L);
+            if (pending != 0) {
+                WORDS.getAndBitwiseAnd(buffer, HEADER_SIZE + (word << 3), ~pending);
+            }
+        }
+        buffer.force();
+    }
+
+    @Override
+    public void setPending(int index, boolean pending) {
+        if (index < 0 || index >= capacity()) {
+            throw new IndexOutOfBoundsException("Index de siège invalide: " + index);
+        }
+        int offset = pendingOffset + ((index >>> 6) << 3);
+        if (pending) {
+            WORDS.getAndBitwiseOr(buffer, offset, 1L << index);
+        } else {
+            WORDS.getAndBitwiseAnd(buffer, offset, ~(1L << index));
+        }
+    }
+
+    @Override
+    public boolean isOffHeap() {
+        return true;
+    }
+
+    @Override
+    public boolean isRecovered() {
+        return recovered;
+    }
+
+    @Override
+    long getWord(int word) {
+        return (long) WORDS.getVolatile(buffer, HEADER_SIZE + (word << 3));
+    }
+
+    @Override
+    boolean compareAndSetWord(int word, long expected, long updated) {
+        return WORDS.compareAndSet(buffer, HEADER_SIZE + (word << 3), expected, updated);
+    }
+
+    /**
+     * Écrit sur disque les pages modifiées.
+     */
+    public void force() {
+        buffer.force();
+    }
+
+    public boolean isOpen() {
+        return channel.isOpen();
+    }
+
+    @Override
+    public void close() throws IOException {
+        buffer.force();
+        channel.close();
+    }
+}
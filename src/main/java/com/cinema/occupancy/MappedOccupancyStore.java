@@ -0,0 +1,61 @@
+package com.cinema.occupancy;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Répertoire des fichiers d'occupation mappés, un par séance ("seance-&lt;id&gt;.occ").
+ *
+ * Branché sur une salle (voir {@link com.cinema.models.Room#setOccupancyStore}), il fournit
+ * le moteur de chaque séance : un fichier neuf à sa création, le fichier existant quand
+ * elle est rechargée d'un snapshot, et le fichier est supprimé quand elle est retirée.
+ */
+public class MappedOccupancyStore {
+    private final Path directory;
+
+    /**
+     * @param directory Répertoire des fichiers, créé s'il n'existe pas.
+     */
+    public MappedOccupancyStore(Path directory) throws IOException {
+        if (directory == null) {
+            throw new IllegalArgumentException("Le répertoire ne peut pas être null");
+        }
+        this.directory = Files.createDirectories(directory);
+    }
+
+    public Path getDirectory() {
+        return directory;
+    }
+
+    public Path fileOf(long seanceId) {
+        return directory.resolve("seance-" + seanceId + ".occ");
+    }
+
+    /**
+     * Crée l'occupation vide d'une nouvelle séance.
+     */
+    public MappedOccupancy create(long seanceId, int capacity) throws IOException {
+        return MappedOccupancy.create(fileOf(seanceId), capacity);
+    }
+
+    /**
+     * Rouvre l'occupation d'une séance rechargée. Si le fichier manque ou ne correspond
+     * plus à la salle, il est recréé vide : {@link MappedOccupancy#isRecovered()} le signale,
+     * et l'occupation est alors reprise du snapshot.
+     */
+    public MappedOccupancy reopen(long seanceId, int capacity) throws IOException {
+        try {
+            return MappedOccupancy.open(fileOf(seanceId), capacity);
+        } catch (IOException e) {
+            return create(seanceId, capacity);
+        }
+    }
+
+    /**
+     * Supprime le fichier d'une séance retirée (déjà fermé).
+     */
+    public void delete(long seanceId) throws IOException {
+        Files.deleteIfExists(fileOf(seanceId));
+    }
+}
@@ -0,0 +1,700 @@
+package com.cinema.persistence;
+
+import com.cinema.enums.SeatType;
+import com.cinema.models.Cinema;
+import com.cinema.models.Person;
+import com.cinema.models.Reservation;
+import com.cinema.models.Room;
+import com.cinema.models.Seance;
+import com.cinema.models.SeatCatalogue;
+import com.cinema.utils.ShowtimeParser;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Import en masse de séances et de réservations prévendues, depuis un fichier CSV (avec
+ * en-tête) ou JSON Lines.
+ *
+ * Le fichier est lu en flux, par lots de {@value #BATCH_LINES} lignes : chaque lot est analysé
+ * et validé sur un pool de threads (salle connue, date et heure lisibles, sièges conformes au
+ * plan), puis appliqué dans l'ordre du fichier par le thread appelant pendant que les lots
+ * suivants sont analysés. Une ligne invalide ou en conflit n'interrompt pas l'import : elle
+ * est consignée avec son numéro dans le {@link Report}.
+ *
+ * Séances : champs salle, date, heure, film.
+ * Réservations : champs salle, film, date, heure, titulaire, invites ("; " en CSV, où "\;"
+ * et "\\" désignent un ';' et un '\' du nom ; tableau en JSON) et sieges ("[r,c] [r,c]",
+ * titulaire puis invités), soit le format écrit par {@link ReservationExporter} dont les
+ * autres champs sont ignorés. Les noms sont coupés au premier espace (prénom, nom), le type
+ * de chaque siège est lu dans le plan de la séance et les identifiants de réservation sont
+ * réattribués.
+ */
+public class BatchImporter {
+    private static final int BATCH_LINES = 2048;
+    private static final String[] SEANCE_FIELDS = {"salle", "date", "heure", "film"};
+    private static final String[] RESERVATION_FIELDS = {"salle", "film", "date", "heure", "titulaire", "invites", "sieges"};
+
+    private final Cinema cinema;
+    private final ReservationExporter.Format format;
+    private final int parallelism;
+
+    public BatchImporter(Cinema cinema, ReservationExporter.Format format) {
+        this(cinema, format, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * @param parallelism Nombre de threads d'analyse.
+     */
+    public BatchImporter(Cinema cinema, ReservationExporter.Format format, int parallelism) {
+        if (cinema == null || format == null) {
+            throw new IllegalArgumentException("Le cinéma et le format ne peuvent pas être null");
+        }
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Il faut au moins un thread d'analyse");
+        }
+        this.cinema = cinema;
+        this.format = format;
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * Crée les séances du fichier dans les salles existantes du cinéma. Une séance déjà
+     * programmée (même salle, date, heure et film) est refusée.
+     */
+    public Report importSeances(Path file) throws IOException {
+        Set<String> scheduled = new HashSet<>();
+        for (Seance seance : cinema.getSeances()) {
+            scheduled.add(key(seance.getRoom().getName(), seance.getDate(), seance.getTime(), seance.getMovie()));
+        }
+        return run(file, SEANCE_FIELDS, this::parseSeance, (batch, report) -> {
+            Map<Room, List<Seance>> byRoom = new LinkedHashMap<>();
+            for (Parsed<Seance> line : batch) {
+                Seance seance = line.value;
+                String key = key(seance.getRoom().getName(), seance.getDate(), seance.getTime(), seance.getMovie());
+                if (!scheduled.add(key)) {
+                    report.error(line.line, "Séance déjà programmée");
+                    continue;
+                }
+                byRoom.computeIfAbsent(seance.getRoom(), room -> new ArrayList<>()).add(seance);
+                report.applied++;
+            }
+            for (Map.Entry<Room, List<Seance>> entry : byRoom.entrySet()) {
+                entry.getKey().addSeances(entry.getValue());
+            }
+        });
+    }
+
+    /**
+     * Réserve les places du fichier dans les séances existantes du cinéma. Chaque ligne est
+     * une réservation de groupe : tous ses sièges sont pris, ou aucun.
+     */
+    public Report importReservations(Path file) throws IOException {
+        Map<String, Seance> seances = new HashMap<>();
+        for (Seance seance : cinema.getSeances()) {
+            seances.put(key(seance.getRoom().getName(), seance.getDate(), seance.getTime(), seance.getMovie()), seance);
+        }
+        return run(file, RESERVATION_FIELDS, fields -> parseReservation(fields, seances), (batch, report) -> {
+            for (Parsed<Booking> line : batch) {
+                try {
+                    line.value.seance.reserveGroup(line.value.reservation, line.value.types);
+                    report.applied++;
+                } catch (Seance.SeatReservationException e) {
+                    report.error(line.line, e.getMessage());
+                }
+            }
+        });
+    }
+
+    private Seance parseSeance(Fields fields) {
+        Room room = roomNamed(fields.text("salle"));
+        String date = fields.text("date");
+        String time = fields.text("heure");
+        String movie = fields.text("film");
+        if (movie.isEmpty()) {
+            throw new IllegalArgumentException("Titre du film manquant");
+        }
+        if (ShowtimeParser.parse(date, time) == null) {
+            throw new IllegalArgumentException("Date ou heure illisible : " + date + " " + time);
+        }
+        return new Seance(date, time, movie, room);
+    }
+
+    private Booking parseReservation(Fields fields, Map<String, Seance> seances) {
+        String roomName = roomNamed(fields.text("salle")).getName();
+        Seance seance = seances.get(key(roomName, fields.text("date"), fields.text("heure"), fields.text("film")));
+        if (seance == null) {
+            throw new IllegalArgumentException("Séance introuvable : " + fields.text("film") + " le "
+                    + fields.text("date") + " à " + fields.text("heure") + " en " + roomName);
+        }
+        List<Person> people = new ArrayList<>();
+        people.add(person(fields.text("titulaire")));
+        for (String guest : fields.list("invites")) {
+            people.add(person(guest));
+        }
+        int[] seats = parseSeats(fields.text("sieges"));
+        if (seats.length != people.size() * 2) {
+            throw new IllegalArgumentException("Il faut un siège par personne : " + people.size()
+                    + " personne(s), " + seats.length / 2 + " siège(s)");
+        }
+
+        SeatCatalogue catalogue = seance.getLayout().getCatalogue();
+        List<SeatType> types = new ArrayList<>(people.size());
+        for (int i = 0; i < people.size(); i++) {
+            int row = seats[2 * i];
+            int col = seats[2 * i + 1];
+            SeatType type = catalogue.contains(row, col) ? catalogue.typeOf(catalogue.indexOf(row, col)) : null;
+            if (type == null) {
+                throw new IllegalArgumentException("Le siège [" + row + "," + col + "] n'existe pas dans le plan de la salle");
+            }
+            people.get(i).assignSeat(row, col);
+            types.add(type);
+        }
+        Reservation reservation = new Reservation(people.get(0), new ArrayList<>(people.subList(1, people.size())));
+        return new Booking(seance, reservation, types);
+    }
+
+    private Room roomNamed(String name) {
+        Room room = cinema.getRoomByName(name);
+        if (room == null) {
+            throw new IllegalArgumentException("Salle inconnue : " + name);
+        }
+        return room;
+    }
+
+    private static Person person(String fullName) {
+        if (fullName.isEmpty()) {
+            throw new IllegalArgumentException("Nom manquant");
+        }
+        int space = fullName.indexOf(' ');
+        return space < 0 ? new Person(fullName, "") : new Person(fullName.substring(0, space), fullName.substring(space + 1));
+    }
+
+    /**
+     * Lit "[r,c] [r,c]" (ou "[r,c], [r,c]") en {r0, c0, r1, c1, ...}.
+     */
+    private static int[] parseSeats(String text) {
+        int[] values = new int[8];
+        int count = 0;
+        int i = 0;
+        while ((i = text.indexOf('[', i)) >= 0) {
+            int comma = text.indexOf(',', i);
+            int close = text.indexOf(']', i);
+            if (comma < 0 || close < comma) {
+                throw new IllegalArgumentException("Siège illisible : " + text);
+            }
+            if (count + 2 > values.length) {
+                values = Arrays.copyOf(values, values.length * 2);
+            }
+            values[count++] = parseInt(text.substring(i + 1, comma));
+            values[count++] = parseInt(text.substring(comma + 1, close));
+            i = close + 1;
+        }
+        return Arrays.copyOf(values, count);
+    }
+
+    private static int parseInt(String value) {
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Nombre invalide : " + value);
+        }
+    }
+
+    private static String key(String room, String date, String time, String movie) {
+        return room.toLowerCase() + '\u0000' + date + '\u0000' + time + '\u0000' + movie;
+    }
+
+    /**
+     * Lit le fichier par lots, analyse les lots en parallèle et les applique dans l'ordre.
+     */
+    private <T> Report run(Path file, String[] required, LineParser<T> parser, BatchApplier<T> applier)
+            throws IOException {
+        long start = System.nanoTime();
+        Report report = new Report();
+        ArrayDeque<Future<List<Parsed<T>>>> inFlight = new ArrayDeque<>();
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8);
+             ExecutorService workers = Executors.newFixedThreadPool(parallelism)) {
+            try {
+                Map<String, Integer> header = null;
+                List<String> lines = new ArrayList<>(BATCH_LINES);
+                long[] numbers = new long[BATCH_LINES];
+                long lineNumber = 0;
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    long first = ++lineNumber;
+                    if (format == ReservationExporter.Format.CSV) {
+                        // Un champ entre guillemets peut contenir des retours à la ligne
+                        while (hasOpenQuote(line)) {
+                            String next = reader.readLine();
+                            if (next == null) {
+                                break;
+                            }
+                            line = line + '\n' + next;
+                            lineNumber++;
+                        }
+                        if (header == null) {
+                            header = readHeader(line, required);
+                            continue;
+                        }
+                    }
+                    if (line.isBlank()) {
+                        continue;
+                    }
+                    numbers[lines.size()] = first;
+                    lines.add(line);
+                    if (lines.size() == BATCH_LINES) {
+                        inFlight.add(submit(workers, lines, numbers, header, parser, report));
+                        lines = new ArrayList<>(BATCH_LINES);
+                        numbers = new long[BATCH_LINES];
+                        while (inFlight.size() > 2 * parallelism) {
+                            apply(inFlight.poll(), applier, report);
+                        }
+                    }
+                }
+                if (!lines.isEmpty()) {
+                    inFlight.add(submit(workers, lines, numbers, header, parser, report));
+                }
+                while (!inFlight.isEmpty()) {
+                    apply(inFlight.poll(), applier, report);
+                }
+                report.lines = lineNumber;
+            } finally {
+                // Après un échec, les lots restants sont annulés avant la fermeture du pool,
+                // qui attendrait sinon la fin de chacun
+                for (Future<List<Parsed<T>>> pending : inFlight) {
+                    pending.cancel(true);
+                }
+            }
+        }
+        report.errors.sort(Comparator.comparingLong(LineError::getLine));
+        report.elapsedNanos = System.nanoTime() - start;
+        return report;
+    }
+
+    private <T> Future<List<Parsed<T>>> submit(ExecutorService workers, List<String> lines, long[] numbers,
+                                               Map<String, Integer> header, LineParser<T> parser, Report report) {
+        report.parsed += lines.size();
+        return workers.submit(() -> {
+            List<Parsed<T>> parsed = new ArrayList<>(lines.size());
+            for (int i = 0; i < lines.size(); i++) {
+                try {
+                    Fields fields = header != null ? new CsvFields(header, splitCsv(lines.get(i))) : JsonFields.parse(lines.get(i));
+                    parsed.add(new Parsed<>(numbers[i], parser.parse(fields), null));
+                } catch (IllegalArgumentException e) {
+                    parsed.add(new Parsed<>(numbers[i], null, e.getMessage()));
+                }
+            }
+            return parsed;
+        });
+    }
+
+    private <T> void apply(Future<List<Parsed<T>>> future, BatchApplier<T> applier, Report report) throws IOException {
+        List<Parsed<T>> batch;
+        try {
+            batch = future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Import interrompu");
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Échec de l'analyse d'un lot", e.getCause());
+        }
+        List<Parsed<T>> valid = new ArrayList<>(batch.size());
+        for (Parsed<T> line : batch) {
+            if (line.error != null) {
+                report.error(line.line, line.error);
+            } else {
+                valid.add(line);
+            }
+        }
+        applier.apply(valid, report);
+    }
+
+    private static Map<String, Integer> readHeader(String line, String[] required) throws IOException {
+        List<String> names = splitCsv(line);
+        Map<String, Integer> header = new HashMap<>();
+        for (int i = 0; i < names.size(); i++) {
+            header.put(names.get(i).trim().toLowerCase(), i);
+        }
+        for (String name : required) {
+            if (!header.containsKey(name)) {
+                throw new IOException("En-tête CSV incomplet : colonne '" + name + "' manquante");
+            }
+        }
+        return header;
+    }
+
+    private static boolean hasOpenQuote(String line) {
+        boolean open = false;
+        for (int i = 0; i < line.length(); i++) {
+            if (line.charAt(i) == '"') {
+                open = !open;
+            }
+        }
+        return open;
+    }
+
+    /**
+     * Découpe une ligne CSV ; les guillemets doublés d'un champ entre guillemets donnent un guillemet.
+     */
+    private static List<String> splitCsv(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    /**
+     * Bilan d'un import : lignes appliquées et erreurs ligne par ligne.
+     */
+    public static class Report {
+        private long lines;
+        private long parsed;
+        private int applied;
+        private long elapsedNanos;
+        private final List<LineError> errors = new ArrayList<>();
+
+        void error(long line, String message) {
+            errors.add(new LineError(line, message));
+        }
+
+        /**
+         * @return Erreurs triées par numéro de ligne.
+         */
+        public List<LineError> getErrors() {
+            return errors;
+        }
+
+        /**
+         * @return Nombre de lignes physiques lues, en-tête compris.
+         */
+        public long getLines() {
+            return lines;
+        }
+
+        /**
+         * @return Nombre d'enregistrements analysés (hors en-tête et lignes vides).
+         */
+        public long getRecords() {
+            return parsed;
+        }
+
+        public int getApplied() {
+            return applied;
+        }
+
+        public long getElapsedMillis() {
+            return elapsedNanos / 1_000_000;
+        }
+
+        @Override
+        public String toString() {
+            return applied + " ligne(s) importée(s) sur " + parsed + ", " + errors.size() + " erreur(s) en "
+                    + getElapsedMillis() + " ms";
+        }
+    }
+
+    /**
+     * Ligne rejetée et sa raison.
+     */
+    public static class LineError {
+        private final long line;
+        private final String message;
+
+        LineError(long line, String message) {
+            this.line = line;
+            this.message = message;
+        }
+
+        public long getLine() {
+            return line;
+        }
+
+        public String getMessage() {
+            return message;
+        }
+
+        @Override
+        public String toString() {
+            return "ligne " + line + " : " + message;
+        }
+    }
+
+    @FunctionalInterface
+    private interface LineParser<T> {
+        T parse(Fields fields);
+    }
+
+    @FunctionalInterface
+    private interface BatchApplier<T> {
+        void apply(List<Parsed<T>> batch, Report report);
+    }
+
+    private static final class Parsed<T> {
+        final long line;
+        final T value;
+        final String error;
+
+        Parsed(long line, T value, String error) {
+            this.line = line;
+            this.value = value;
+            this.error = error;
+        }
+    }
+
+    private static final class Booking {
+        final Seance seance;
+        final Reservation reservation;
+        final List<SeatType> types;
+
+        Booking(Seance seance, Reservation reservation, List<SeatType> types) {
+            this.seance = seance;
+            this.reservation = reservation;
+            this.types = types;
+        }
+    }
+
+    /**
+     * Champs d'un enregistrement, quel que soit le format.
+     */
+    private interface Fields {
+        /**
+         * @return Valeur du champ sans espaces autour, chaîne vide si absent.
+         */
+        String text(String name);
+
+        List<String> list(String name);
+    }
+
+    private static final class CsvFields implements Fields {
+        private final Map<String, Integer> header;
+        private final List<String> values;
+
+        CsvFields(Map<String, Integer> header, List<String> values) {
+            this.header = header;
+            this.values = values;
+        }
+
+        @Override
+        public String text(String name) {
+            Integer index = header.get(name);
+            return index == null || index >= values.size() ? "" : values.get(index).trim();
+        }
+
+        @Override
+        public List<String> list(String name) {
+            String value = text(name);
+            if (value.isEmpty()) {
+                return List.of();
+            }
+            List<String> items = new ArrayList<>();
+            StringBuilder item = new StringBuilder();
+            for (int i = 0; i < value.length(); i++) {
+                char c = value.charAt(i);
+                if (c == '\\' && i + 1 < value.length()) {
+                    item.append(value.charAt(++i));
+                } else if (c == ';') {
+                    addItem(items, item);
+                } else {
+                    item.append(c);
+                }
+            }
+            addItem(items, item);
+            return items;
+        }
+
+        private static void addItem(List<String> items, StringBuilder item) {
+            if (!item.toString().isBlank()) {
+                items.add(item.toString().trim());
+            }
+            item.setLength(0);
+        }
+    }
+
+    /**
+     * Objet JSON plat : valeurs chaînes, nombres, booléens ou tableaux de ces valeurs.
+     */
+    private static final class JsonFields implements Fields {
+        private final Map<String, Object> values = new HashMap<>();
+        private final String json;
+        private int pos;
+
+        private JsonFields(String json) {
+            this.json = json;
+        }
+
+        static JsonFields parse(String json) {
+            JsonFields fields = new JsonFields(json);
+            fields.readObject();
+            return fields;
+        }
+
+        @Override
+        public String text(String name) {
+            Object value = values.get(name);
+            return value instanceof String ? ((String) value).trim() : "";
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public List<String> list(String name) {
+            Object value = values.get(name);
+            if (value instanceof List) {
+                return (List<String>) value;
+            }
+            String text = text(name);
+            return text.isEmpty() ? List.of() : List.of(text);
+        }
+
+        private void readObject() {
+            expect('{');
+            if (peek() == '}') {
+                pos++;
+            } else {
+                do {
+                    String key = readString();
+                    expect(':');
+                    values.put(key, readValue());
+                } while (consume(','));
+                expect('}');
+            }
+            if (peek() != 0) {
+                throw error("fin de ligne attendue");
+            }
+        }
+
+        private Object readValue() {
+            char c = peek();
+            if (c == '"') {
+                return readString();
+            }
+            if (c == '[') {
+                pos++;
+                List<String> items = new ArrayList<>();
+                if (peek() == ']') {
+                    pos++;
+                    return items;
+                }
+                do {
+                    Object item = readValue();
+                    if (!(item instanceof String)) {
+                        throw error("tableau imbriqué non supporté");
+                    }
+                    items.add(((String) item).trim());
+                } while (consume(','));
+                expect(']');
+                return items;
+            }
+            int start = pos;
+            while (pos < json.length() && ",]} \t".indexOf(json.charAt(pos)) < 0) {
+                pos++;
+            }
+            if (start == pos) {
+                throw error("valeur attendue");
+            }
+            return json.substring(start, pos);
+        }
+
+        private String readString() {
+            expect('"');
+            StringBuilder value = new StringBuilder();
+            while (pos < json.length()) {
+                char c = json.charAt(pos++);
+                if (c == '"') {
+                    return value.toString();
+                }
+                if (c != '\\') {
+                    value.append(c);
+                    continue;
+                }
+                if (pos >= json.length()) {
+                    break;
+                }
+                char escaped = json.charAt(pos++);
+                switch (escaped) {
+                    case 'n': value.append('\n'); break;
+                    case 'r': value.append('\r'); break;
+                    case 't': value.append('\t'); break;
+                    case 'b': value.append('\b'); break;
+                    case 'f': value.append('\f'); break;
+                    case 'u':
+                        if (pos + 4 > json.length()) {
+                            throw error("échappement \\u incomplet");
+                        }
+                        try {
+                            value.append((char) Integer.parseInt(json.substring(pos, pos + 4), 16));
+                        } catch (NumberFormatException e) {
+                            throw error("échappement \\u invalide");
+                        }
+                        pos += 4;
+                        break;
+                    default: value.append(escaped);
+                }
+            }
+            throw error("chaîne non terminée");
+        }
+
+        private char peek() {
+            while (pos < json.length() && Character.isWhitespace(json.charAt(pos))) {
+                pos++;
+            }
+            return pos < json.length() ? json.charAt(pos) : 0;
+        }
+
+        private boolean consume(char expected) {
+            if (peek() == expected) {
+                pos++;
+                return true;
+            }
+            return false;
+        }
+
+        private void expect(char expected) {
+            if (!consume(expected)) {
+                throw error("'" + expected + "' attendu");
+            }
+        }
+
+        private IllegalArgumentException error(String message) {
+            return new IllegalArgumentException("JSON invalide (colonne " + (pos + 1) + ") : " + message);
+        }
+    }
+}
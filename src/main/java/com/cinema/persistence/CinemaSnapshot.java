@@ -0,0 +1,381 @@
+package com.cinema.persistence;
+
+import com.cinema.models.Cinema;
+import com.cinema.models.Person;
+import com.cinema.models.Reservation;
+import com.cinema.models.Room;
+import com.cinema.models.Seance;
+import com.cinema.models.SeatLayout;
+import com.cinema.occupancy.MappedOccupancyStore;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+
+/**
+ * Snapshot binaire de l'ensemble Cinema → Room → Seance → Reservation → Person.
+ *
+ * Format (big-endian) :
+ * <pre>
+ * en-tête   : magic "CNMS" (int), version (int), borne des ids de réservation (long), nb cinémas (int)
+ * cinéma    : nom (str), nb salles (int)
+ * salle     : nom (str), plan, nb séances (int)
+ * plan      : nb rangées (int), puis par rangée : largeur (int) + cases (octets)
+ * séance    : identifiant (long), date, heure, film (str), plan de la séance (réf.), nb mots (int)
+ *             + mots du bitset d'occupation (long), nb réservations (int)
+ * résa      : id (long), titulaire (personne), nb invités (int) + invités
+ * personne  : prénom, nom (str), rangée (int, -1 si aucun siège), colonne (int)
+ * str       : référence (int) dans le dictionnaire du fichier ; -1 = nouvelle chaîne, suivie de
+ *             sa longueur (int) et de ses octets UTF-8
+ * </pre>
+ * réf.      : numéro (int) d'un plan déjà écrit (plan de salle ou de séance, dans l'ordre du
+ *             fichier) ; -1 = nouveau plan, qui suit
+ * Les chaînes répétées (films, noms, dates) ne sont écrites qu'une fois, comme les plans :
+ * une séance créée avant un changement du plan de sa salle garde le sien.
+ * Les versions précédentes restent lisibles : en version 1, les identifiants de réservation
+ * (et leur borne) étaient des int ; jusqu'à la version 2, les séances n'avaient pas
+ * d'identifiant et en reçoivent un nouveau au chargement ; jusqu'à la version 3, elles
+ * n'avaient pas de plan propre et reprennent celui de la salle.
+ *
+ * Rechargées avec un stockage d'occupation ({@link #read(Path, MappedOccupancyStore)}), les
+ * séances rouvrent leur fichier mappé : s'il existe, leur occupation en est reprise (plus
+ * récente que celle du snapshot) et le bitset du snapshot est ignoré.
+ */
+public final class CinemaSnapshot {
+    public static final int MAGIC = 0x434E4D53;
+    public static final int VERSION = 4;
+
+    private static final int BUFFER_SIZE = 1 << 16;
+    private static final Person[] NO_PEOPLE = new Person[0];
+
+    private CinemaSnapshot() {
+    }
+
+    /**
+     * Écrit le snapshot dans un fichier temporaire puis le renomme : un crash pendant
+     * l'écriture laisse le snapshot précédent intact.
+     */
+    public static void write(Path file, List<Cinema> cinemas) throws IOException {
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            Output out = new Output(channel);
+            out.putInt(MAGIC);
+            out.putInt(VERSION);
+            out.putLong(Reservation.getIdAllocator().highWaterMark());
+            out.putInt(cinemas.size());
+            for (Cinema cinema : cinemas) {
+                writeCinema(out, cinema);
+            }
+            out.flush();
+            channel.force(true);
+        }
+        try {
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    public static ArrayList<Cinema> read(Path file) throws IOException {
+        return read(file, null);
+    }
+
+    /**
+     * @param store Stockage des occupations des salles rechargées, ou null pour les garder
+     *              sur le tas.
+     */
+    public static ArrayList<Cinema> read(Path file, MappedOccupancyStore store) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            Input in = new Input(buffer);
+            if (buffer.remaining() < 16 || in.getInt() != MAGIC) {
+                throw new IOException("Fichier de snapshot invalide : " + file);
+            }
+            int version = in.getInt();
+            if (version < 1 || version > VERSION) {
+                throw new IOException("Version de snapshot non supportée : " + version);
+            }
+            in.version = version;
+            long highWaterMark = in.getId();
+            int cinemaCount = in.getInt();
+            ArrayList<Cinema> cinemas = new ArrayList<>(cinemaCount);
+            for (int i = 0; i < cinemaCount; i++) {
+                cinemas.add(readCinema(in, store));
+            }
+            // Une seule avance de l'allocateur pour toutes les réservations rechargées
+            long maxId = Math.max(highWaterMark - 1, in.maxReservationId);
+            if (maxId > 0) {
+                Reservation.getIdAllocator().advancePast(maxId);
+            }
+            return cinemas;
+        } catch (RuntimeException e) {
+            throw new IOException("Snapshot corrompu : " + file, e);
+        }
+    }
+
+    private static void writeCinema(Output out, Cinema cinema) throws IOException {
+        out.putString(cinema.getName());
+        ArrayList<Room> rooms = cinema.getRooms();
+        out.putInt(rooms.size());
+        for (Room room : rooms) {
+            out.putString(room.getName());
+            writeLayout(out, room.getLayout());
+            List<Seance> seances = room.getSeances();
+            out.putInt(seances.size());
+            for (Seance seance : seances) {
+                writeSeance(out, seance);
+            }
+        }
+    }
+
+    private static void writeSeance(Output out, Seance seance) throws IOException {
+        out.putLong(seance.getId());
+        out.putString(seance.getDate());
+        out.putString(seance.getTime());
+        out.putString(seance.getMovie());
+        Integer ref = out.layouts.get(seance.getLayout());
+        if (ref != null) {
+            out.putInt(ref);
+        } else {
+            out.putInt(-1);
+            writeLayout(out, seance.getLayout());
+        }
+        long[] words = seance.exportOccupancy();
+        out.putInt(words.length);
+        for (long word : words) {
+            out.putLong(word);
+        }
+        ArrayList<Reservation> reservations = seance.getReservations();
+        out.putInt(reservations.size());
+        for (Reservation reservation : reservations) {
+            out.putLong(reservation.getId());
+            writePerson(out, reservation.getHolder());
+            ArrayList<Person> others = reservation.getOthers();
+            out.putInt(others.size());
+            for (Person person : others) {
+                writePerson(out, person);
+            }
+        }
+    }
+
+    private static void writeLayout(Output out, SeatLayout layout) throws IOException {
+        // Chaque plan écrit en entier prend un nouveau numéro, comme à la lecture, même
+        // s'il a déjà été écrit (plan partagé par deux salles)
+        out.layouts.put(layout, out.layoutCount++);
+        out.putInt(layout.getRowCount());
+        for (int row = 0; row < layout.getRowCount(); row++) {
+            out.putInt(layout.getRowWidth(row));
+            for (int col = 0; col < layout.getRowWidth(row); col++) {
+                out.putByte((byte) layout.charAt(row, col));
+            }
+        }
+    }
+
+    private static void writePerson(Output out, Person person) throws IOException {
+        out.putString(person.getFirstName());
+        out.putString(person.getLastName());
+        int seat = person.getPackedSeat();
+        out.putInt(seat != Person.NO_SEAT ? Person.rowOf(seat) : -1);
+        out.putInt(seat != Person.NO_SEAT ? Person.columnOf(seat) : -1);
+    }
+
+    private static Cinema readCinema(Input in, MappedOccupancyStore store) {
+        Cinema cinema = new Cinema(in.getString());
+        cinema.setOccupancyStore(store);
+        int roomCount = in.getInt();
+        for (int r = 0; r < roomCount; r++) {
+            String name = in.getString();
+            Room room = new Room(name, readLayout(in));
+            room.setOccupancyStore(store);
+            int seanceCount = in.getInt();
+            for (int s = 0; s < seanceCount; s++) {
+                room.addSeance(readSeance(in, room));
+            }
+            cinema.addRoom(room);
+        }
+        return cinema;
+    }
+
+    private static SeatLayout readLayout(Input in) {
+        char[][] layout = new char[in.getInt()][];
+        for (int row = 0; row < layout.length; row++) {
+            layout[row] = new char[in.getInt()];
+            for (int col = 0; col < layout[row].length; col++) {
+                layout[row][col] = (char) in.getByte();
+            }
+        }
+        SeatLayout read = SeatLayout.of(layout);
+        in.layouts.add(read);
+        return read;
+    }
+
+    private static Seance readSeance(Input in, Room room) {
+        Seance seance;
+        if (in.version >= 3) {
+            long id = in.getLong();
+            String date = in.getString();
+            String time = in.getString();
+            String movie = in.getString();
+            SeatLayout layout = room.getLayout();
+            if (in.version >= 4) {
+                int ref = in.getInt();
+                layout = ref >= 0 ? in.layouts.get(ref) : readLayout(in);
+            }
+            seance = Seance.restore(id, date, time, movie, room, layout);
+        } else {
+            seance = new Seance(in.getString(), in.getString(), in.getString(), room);
+        }
+        long[] words = new long[in.getInt()];
+        for (int i = 0; i < words.length; i++) {
+            words[i] = in.getLong();
+        }
+        if (!seance.isOccupancyRecovered()) {
+            seance.restoreOccupancy(words);
+        }
+        int reservationCount = in.getInt();
+        for (int i = 0; i < reservationCount; i++) {
+            long id = in.getId();
+            Person holder = readPerson(in);
+            int othersCount = in.getInt();
+            Person[] others = othersCount == 0 ? NO_PEOPLE : new Person[othersCount];
+            for (int o = 0; o < othersCount; o++) {
+                others[o] = readPerson(in);
+            }
+            in.maxReservationId = Math.max(in.maxReservationId, id);
+            seance.addReservation(Reservation.reload(id, holder, others));
+        }
+        return seance;
+    }
+
+    private static Person readPerson(Input in) {
+        String firstName = in.getString();
+        String lastName = in.getString();
+        int row = in.getInt();
+        int col = in.getInt();
+        return Person.restore(firstName, lastName, row >= 0 ? Person.pack(row, col) : Person.NO_SEAT);
+    }
+
+    /**
+     * Écriture tamponnée vers le FileChannel, avec dictionnaire de chaînes.
+     */
+    private static final class Output {
+        private final FileChannel channel;
+        private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+        private final HashMap<String, Integer> strings = new HashMap<>();
+        // Plans déjà écrits et leur dernier numéro
+        private final HashMap<SeatLayout, Integer> layouts = new HashMap<>();
+        private int layoutCount;
+
+        Output(FileChannel channel) {
+            this.channel = channel;
+        }
+
+        void putByte(byte value) throws IOException {
+            ensure(1);
+            buffer.put(value);
+        }
+
+        void putInt(int value) throws IOException {
+            ensure(4);
+            buffer.putInt(value);
+        }
+
+        void putLong(long value) throws IOException {
+            ensure(8);
+            buffer.putLong(value);
+        }
+
+        void putString(String value) throws IOException {
+            Integer ref = strings.get(value);
+            if (ref != null) {
+                putInt(ref);
+                return;
+            }
+            strings.put(value, strings.size());
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            putInt(-1);
+            putInt(bytes.length);
+            if (bytes.length > buffer.capacity()) {
+                flush();
+                ByteBuffer large = ByteBuffer.wrap(bytes);
+                while (large.hasRemaining()) {
+                    channel.write(large);
+                }
+            } else {
+                ensure(bytes.length);
+                buffer.put(bytes);
+            }
+        }
+
+        private void ensure(int bytes) throws IOException {
+            if (buffer.remaining() < bytes) {
+                flush();
+            }
+        }
+
+        void flush() throws IOException {
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            buffer.clear();
+        }
+    }
+
+    /**
+     * Lecture depuis le fichier mappé, avec dictionnaire de chaînes.
+     */
+    private static final class Input {
+        private final ByteBuffer buffer;
+        private final ArrayList<String> strings = new ArrayList<>();
+        private final ArrayList<SeatLayout> layouts = new ArrayList<>();
+        private int version = VERSION;
+        private long maxReservationId;
+
+        Input(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        byte getByte() {
+            return buffer.get();
+        }
+
+        int getInt() {
+            return buffer.getInt();
+        }
+
+        long getLong() {
+            return buffer.getLong();
+        }
+
+        /**
+         * Identifiant de réservation : int en version 1, long ensuite.
+         */
+        long getId() {
+            return version == 1 ? buffer.getInt() : buffer.getLong();
+        }
+
+        String getString() {
+            int ref = buffer.getInt();
+            if (ref >= 0) {
+                return strings.get(ref);
+            }
+            byte[] bytes = new byte[buffer.getInt()];
+            buffer.get(bytes);
+            // Internée une fois pour toutes : les noms de personnes sont repris sans copie
+            String value = new String(bytes, StandardCharsets.UTF_8).intern();
+            strings.add(value);
+            return value;
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.cinema.persistence;
+
+import com.cinema.ids.BlockIdAllocator;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Bail d'identifiants d'un nœud, conservé dans un petit fichier.
+ *
+ * Format (big-endian) : magic "CNMI" (int), version (int), bail (long). Le bail est réécrit
+ * sur place puis synchronisé ; il n'est relu qu'au démarrage.
+ */
+public class IdLeaseFile implements BlockIdAllocator.LeaseStore, Closeable {
+    public static final int MAGIC = 0x434E4D49;
+    public static final int VERSION = 1;
+
+    private static final int FILE_SIZE = 16;
+
+    private final Path file;
+    private final FileChannel channel;
+    private final ByteBuffer buffer = ByteBuffer.allocate(FILE_SIZE);
+
+    public IdLeaseFile(Path file) throws IOException {
+        this.file = file;
+        this.channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+    }
+
+    @Override
+    public long load() throws IOException {
+        if (channel.size() == 0) {
+            return 0;
+        }
+        buffer.clear();
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, buffer.position()) < 0) {
+                break;
+            }
+        }
+        buffer.flip();
+        if (buffer.remaining() != FILE_SIZE || buffer.getInt() != MAGIC || buffer.getInt() != VERSION) {
+            throw new IOException("Fichier de bail d'identifiants invalide : " + file);
+        }
+        return buffer.getLong();
+    }
+
+    @Override
+    public void store(long ceiling) throws IOException {
+        buffer.clear();
+        buffer.putInt(MAGIC).putInt(VERSION).putLong(ceiling).flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer, buffer.position());
+        }
+        channel.force(false);
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
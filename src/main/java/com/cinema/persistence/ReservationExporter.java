@@ -0,0 +1,311 @@
+package com.cinema.persistence;
+
+import com.cinema.models.Cinema;
+import com.cinema.models.Person;
+import com.cinema.models.Reservation;
+import com.cinema.models.Seance;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.util.List;
+
+/**
+ * Export en flux de l'historique des réservations, en CSV ou en JSON Lines.
+ *
+ * Les cinémas sont parcourus séance par séance ({@link Seance#forEachReservation}) et chaque
+ * ligne est encodée directement en UTF-8 dans un tampon fixe vidé vers le canal : la mémoire
+ * utilisée ne dépend pas du nombre de réservations exportées.
+ *
+ * Colonnes : id, cinéma, salle, film, date, heure, nombre de personnes, titulaire,
+ * invités (séparés par "; " en CSV, où ';' et '\' sont précédés d'un '\' dans les noms),
+ * sièges ("[r,c] [r,c]").
+ */
+public class ReservationExporter {
+    public enum Format { CSV, JSON_LINES }
+
+    private static final String CSV_HEADER = "id,cinema,salle,film,date,heure,personnes,titulaire,invites,sieges\n";
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private final WritableByteChannel channel;
+    private final Format format;
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+    private long exported;
+
+    public ReservationExporter(WritableByteChannel channel, Format format) {
+        if (channel == null || format == null) {
+            throw new IllegalArgumentException("Le canal et le format ne peuvent pas être null");
+        }
+        this.channel = channel;
+        this.format = format;
+    }
+
+    /**
+     * Exporte toutes les réservations des cinémas puis vide le tampon.
+     *
+     * @return Nombre de réservations écrites.
+     */
+    public long export(List<Cinema> cinemas) throws IOException {
+        exported = 0;
+        if (format == Format.CSV) {
+            putText(CSV_HEADER);
+        }
+        try {
+            for (Cinema cinema : cinemas) {
+                for (Seance seance : cinema.getSeances()) {
+                    seance.forEachReservation(reservation -> {
+                        write(cinema, seance, reservation);
+                        return true;
+                    });
+                }
+            }
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        flush();
+        return exported;
+    }
+
+    private void write(Cinema cinema, Seance seance, Reservation reservation) {
+        try {
+            if (format == Format.CSV) {
+                writeCsv(cinema, seance, reservation);
+            } else {
+                writeJson(cinema, seance, reservation);
+            }
+            exported++;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void writeCsv(Cinema cinema, Seance seance, Reservation reservation) throws IOException {
+        putLong(reservation.getId());
+        putByte(',');
+        putCsv(cinema.getName());
+        putByte(',');
+        putCsv(seance.getRoom().getName());
+        putByte(',');
+        putCsv(seance.getMovie());
+        putByte(',');
+        putCsv(seance.getDate());
+        putByte(',');
+        putCsv(seance.getTime());
+        putByte(',');
+        putInt(reservation.getTotalPeople());
+        // Noms et sièges sont toujours entre guillemets : ils peuvent contenir des séparateurs
+        putText(",\"");
+        putName(reservation.getHolder(), true);
+        putText("\",\"");
+        for (int i = 1; i < reservation.getTotalPeople(); i++) {
+            if (i > 1) {
+                putText("; ");
+            }
+            putGuestName(reservation.getPerson(i));
+        }
+        putText("\",\"");
+        putSeats(reservation);
+        putText("\"\n");
+    }
+
+    private void writeJson(Cinema cinema, Seance seance, Reservation reservation) throws IOException {
+        putText("{\"id\":");
+        putLong(reservation.getId());
+        putText(",\"cinema\":");
+        putJson(cinema.getName());
+        putText(",\"salle\":");
+        putJson(seance.getRoom().getName());
+        putText(",\"film\":");
+        putJson(seance.getMovie());
+        putText(",\"date\":");
+        putJson(seance.getDate());
+        putText(",\"heure\":");
+        putJson(seance.getTime());
+        putText(",\"personnes\":");
+        putInt(reservation.getTotalPeople());
+        putText(",\"titulaire\":\"");
+        putName(reservation.getHolder(), false);
+        putText("\",\"invites\":[");
+        for (int i = 1; i < reservation.getTotalPeople(); i++) {
+            putText(i > 1 ? ",\"" : "\"");
+            putName(reservation.getPerson(i), false);
+            putByte('"');
+        }
+        putText("],\"sieges\":\"");
+        putSeats(reservation);
+        putText("\"}\n");
+    }
+
+    private void putName(Person person, boolean csv) throws IOException {
+        putEscaped(person.getFirstName(), csv);
+        putByte(' ');
+        putEscaped(person.getLastName(), csv);
+    }
+
+    /**
+     * Nom d'un invité dans la colonne CSV "invites" : en plus de l'échappement CSV, le
+     * séparateur ';' et l'antislash sont précédés d'un antislash.
+     */
+    private void putGuestName(Person person) throws IOException {
+        putGuestText(person.getFirstName());
+        putByte(' ');
+        putGuestText(person.getLastName());
+    }
+
+    private void putGuestText(String value) throws IOException {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == ';' || c == '\\') {
+                putByte('\\');
+            } else if (c == '"') {
+                putByte('"');
+            }
+            putChar(value, i);
+            if (Character.isHighSurrogate(c) && i + 1 < value.length()) {
+                i++;
+            }
+        }
+    }
+
+    private void putSeats(Reservation reservation) throws IOException {
+        boolean first = true;
+        for (int i = 0; i < reservation.getTotalPeople(); i++) {
+            int seat = reservation.getPerson(i).getPackedSeat();
+            if (seat == Person.NO_SEAT) {
+                continue;
+            }
+            if (!first) {
+                putByte(' ');
+            }
+            putByte('[');
+            putInt(Person.rowOf(seat));
+            putByte(',');
+            putInt(Person.columnOf(seat));
+            putByte(']');
+            first = false;
+        }
+    }
+
+    private void putCsv(String value) throws IOException {
+        boolean quote = false;
+        for (int i = 0; i < value.length() && !quote; i++) {
+            char c = value.charAt(i);
+            quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+        if (quote) {
+            putByte('"');
+            putEscaped(value, true);
+            putByte('"');
+        } else {
+            putText(value);
+        }
+    }
+
+    private void putJson(String value) throws IOException {
+        putByte('"');
+        putEscaped(value, false);
+        putByte('"');
+    }
+
+    /**
+     * Écrit la chaîne en UTF-8 en échappant les guillemets : doublés en CSV,
+     * précédés d'un antislash en JSON (ainsi que l'antislash et les caractères de contrôle).
+     */
+    private void putEscaped(String value, boolean csv) throws IOException {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (csv) {
+                if (c == '"') {
+                    putByte('"');
+                }
+                putChar(value, i);
+            } else if (c == '"' || c == '\\') {
+                putByte('\\');
+                putByte(c);
+            } else if (c < 0x20) {
+                putText("\\u00");
+                putByte(Character.forDigit(c >> 4, 16));
+                putByte(Character.forDigit(c & 0xF, 16));
+            } else {
+                putChar(value, i);
+            }
+            if (Character.isHighSurrogate(c) && i + 1 < value.length()) {
+                i++;
+            }
+        }
+    }
+
+    private void putText(String value) throws IOException {
+        for (int i = 0; i < value.length(); i++) {
+            putChar(value, i);
+            if (Character.isHighSurrogate(value.charAt(i)) && i + 1 < value.length()) {
+                i++;
+            }
+        }
+    }
+
+    /**
+     * Encode en UTF-8 le caractère (ou la paire de substitution) à la position donnée.
+     */
+    private void putChar(String value, int index) throws IOException {
+        int c = value.codePointAt(index);
+        ensure(4);
+        if (c < 0x80) {
+            buffer.put((byte) c);
+        } else if (c < 0x800) {
+            buffer.put((byte) (0xC0 | (c >> 6)));
+            buffer.put((byte) (0x80 | (c & 0x3F)));
+        } else if (c < 0x10000) {
+            buffer.put((byte) (0xE0 | (c >> 12)));
+            buffer.put((byte) (0x80 | ((c >> 6) & 0x3F)));
+            buffer.put((byte) (0x80 | (c & 0x3F)));
+        } else {
+            buffer.put((byte) (0xF0 | (c >> 18)));
+            buffer.put((byte) (0x80 | ((c >> 12) & 0x3F)));
+            buffer.put((byte) (0x80 | ((c >> 6) & 0x3F)));
+            buffer.put((byte) (0x80 | (c & 0x3F)));
+        }
+    }
+
+    private void putInt(int value) throws IOException {
+        putLong(value);
+    }
+
+    private void putLong(long value) throws IOException {
+        ensure(20);
+        if (value < 0) {
+            buffer.put((byte) '-');
+            if (value == Long.MIN_VALUE) {
+                putText("9223372036854775808");
+                return;
+            }
+            value = -value;
+        }
+        long divisor = 1;
+        while (divisor <= value / 10) {
+            divisor *= 10;
+        }
+        for (; divisor > 0; divisor /= 10) {
+            buffer.put((byte) ('0' + value / divisor % 10));
+        }
+    }
+
+    private void putByte(char c) throws IOException {
+        ensure(1);
+        buffer.put((byte) c);
+    }
+
+    private void ensure(int bytes) throws IOException {
+        if (buffer.remaining() < bytes) {
+            flush();
+        }
+    }
+
+    private void flush() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+}
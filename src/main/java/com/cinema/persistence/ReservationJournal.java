@@ -0,0 +1,550 @@
+package com.cinema.persistence;
+
+import com.cinema.enums.SeatType;
+import com.cinema.interfaces.SeanceJournal;
+import com.cinema.models.Cinema;
+import com.cinema.models.Person;
+import com.cinema.models.Reservation;
+import com.cinema.models.Room;
+import com.cinema.models.Seance;
+import com.cinema.models.SeatCatalogue;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.function.ObjIntConsumer;
+import java.util.zip.CRC32;
+
+/**
+ * Journal append-only des réservations et annulations, rejoué au démarrage
+ * après le dernier {@link CinemaSnapshot}.
+ *
+ * Le journal est branché sur chaque séance surveillée comme {@link SeanceJournal} : un
+ * changement n'est visible qu'une fois sur disque, et si l'écriture échoue, l'appel
+ * ({@code reserve}, {@code cancel}, ...) échoue sans rien changer (voir {@link SeanceJournal}).
+ * Les fsync sont groupés : un fsync couvre au plus {@code batchSize} enregistrements, ou tout
+ * ce qui a été ajouté pendant {@code maxDelayMicros} si le lot n'est pas plein. Après un
+ * échec d'écriture, toutes les écritures suivantes échouent.
+ *
+ * Format : en-tête magic "CNMJ" (int) + version (int), puis des enregistrements
+ * [longueur (int)][CRC32 (int)][type (octet), identifiant de séance (long), données]. Un
+ * enregistrement incomplet ou corrompu en fin de fichier (crash pendant l'écriture) est
+ * ignoré puis tronqué. Les journaux des versions 1 et 2, où la séance était désignée par
+ * cinéma, salle, date, heure et film, peuvent encore être rejoués mais pas rouverts en
+ * écriture : ils doivent d'abord être absorbés dans un snapshot.
+ */
+public class ReservationJournal implements Closeable {
+    public static final int MAGIC = 0x434E4D4A;
+    public static final int VERSION = 3;
+
+    private static final int HEADER_SIZE = 8;
+    private static final byte SEAT_RESERVED = 1;
+    private static final byte SEAT_CANCELLED = 2;
+    private static final byte RESERVATION_ADDED = 3;
+    private static final byte RESERVATION_REMOVED = 4;
+    private static final byte RESERVATION_CANCELLED = 5;
+    private static final byte RESERVATION_BOOKED = 6;
+
+    private final FileChannel channel;
+    private final int batchSize;
+    private final long maxDelayNanos;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition durable = lock.newCondition();
+    private final CRC32 crc = new CRC32();
+    private ByteBuffer pending = ByteBuffer.allocate(1 << 16);
+    private ByteBuffer spare = ByteBuffer.allocate(1 << 16);
+    private int pendingRecords;
+    private long appendedSeq;
+    private long durableSeq;
+    private boolean flushing;
+    private IOException failure;
+    private volatile boolean paused;
+    private final Binding binding = new Binding();
+
+    public ReservationJournal(Path file) throws IOException {
+        this(file, 32, 2_000);
+    }
+
+    /**
+     * Ouvre (ou crée) le journal en ajout. Une fin de fichier corrompue est tronquée.
+     *
+     * @param batchSize Nombre maximal d'enregistrements couverts par un même fsync.
+     * @param maxDelayMicros Attente maximale d'un lot incomplet avant fsync.
+     */
+    public ReservationJournal(Path file, int batchSize, long maxDelayMicros) throws IOException {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("La taille de lot doit être au moins 1");
+        }
+        this.batchSize = batchSize;
+        this.maxDelayNanos = TimeUnit.MICROSECONDS.toNanos(maxDelayMicros);
+        this.channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+        long validEnd = channel.size() == 0 ? 0 : scan(channel, false, (record, version) -> { });
+        if (validEnd == 0 && channel.size() > 0) {
+            channel.close();
+            throw new IOException("Fichier de journal invalide : " + file);
+        }
+        if (validEnd == 0) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).putInt(MAGIC).putInt(VERSION);
+            header.flip();
+            channel.write(header, 0);
+            validEnd = HEADER_SIZE;
+        }
+        channel.truncate(validEnd);
+        channel.position(validEnd);
+        channel.force(true);
+    }
+
+    /**
+     * Surveille toutes les séances actuelles du cinéma.
+     */
+    public void watch(Cinema cinema) {
+        for (Room room : cinema.getRooms()) {
+            for (Seance seance : room.getSeances()) {
+                watch(seance);
+            }
+        }
+    }
+
+    /**
+     * Surveille une séance (à appeler pour chaque nouvelle séance).
+     */
+    public void watch(Seance seance) {
+        seance.setJournal(binding);
+    }
+
+    /**
+     * Vide le journal : à appeler juste après l'écriture d'un snapshot qui contient
+     * tous les changements journalisés, sans réservation en cours.
+     */
+    public void checkpoint() throws IOException {
+        lock.lock();
+        try {
+            while (flushing) {
+                durable.awaitUninterruptibly();
+            }
+            pending.clear();
+            pendingRecords = 0;
+            durableSeq = appendedSeq;
+            channel.truncate(HEADER_SIZE);
+            channel.position(HEADER_SIZE);
+            channel.force(true);
+            durable.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Suspend la journalisation, par exemple pendant un import en masse : les changements
+     * faits d'ici {@link #resume()} doivent être couverts par un snapshot suivi d'un
+     * {@link #checkpoint()}.
+     */
+    public void pause() {
+        paused = true;
+    }
+
+    public void resume() {
+        paused = false;
+    }
+
+    @Override
+    public void close() throws IOException {
+        lock.lock();
+        try {
+            while (flushing) {
+                durable.awaitUninterruptibly();
+            }
+            if (pendingRecords > 0) {
+                flushPending();
+            }
+        } finally {
+            lock.unlock();
+        }
+        channel.close();
+    }
+
+    /**
+     * Rejoue le journal sur les cinémas rechargés depuis le dernier snapshot. Sur une séance
+     * dont l'occupation a été reprise de son fichier ({@link Seance#isOccupancyRecovered()}),
+     * les sièges sont souvent déjà dans l'état du journal : une réservation est alors
+     * seulement réenregistrée, et une annulation rend les sièges que le fichier gardait.
+     *
+     * @return Nombre d'enregistrements appliqués (ceux qui visent une séance inconnue ou
+     *         qui ne s'appliquent plus sont ignorés).
+     */
+    public static int replay(Path file, List<Cinema> cinemas) throws IOException {
+        HashMap<Long, Seance> byId = new HashMap<>();
+        HashMap<String, Seance> byKey = new HashMap<>();
+        for (Cinema cinema : cinemas) {
+            for (Room room : cinema.getRooms()) {
+                for (Seance seance : room.getSeances()) {
+                    byId.put(seance.getId(), seance);
+                    byKey.put(legacyKey(cinema.getName(), seance), seance);
+                }
+            }
+        }
+        int[] applied = {0};
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            scan(channel, true, (record, version) -> {
+                byte type = record.get();
+                Seance seance = version < 3 ? byKey.get(getLegacyKey(record)) : byId.get(record.getLong());
+                if (seance != null && apply(type, record, version, seance)) {
+                    applied[0]++;
+                }
+            });
+        }
+        return applied[0];
+    }
+
+    private static boolean apply(byte type, ByteBuffer record, int version, Seance seance) {
+        try {
+            switch (type) {
+                case SEAT_RESERVED:
+                    seance.reserve(new int[]{record.getInt(), record.getInt()}, SeatType.values()[record.get()]);
+                    return true;
+                case SEAT_CANCELLED:
+                    int row = record.getInt();
+                    int col = record.getInt();
+                    if (version < 3 && seance.findReservationBySeat(row, col) != null) {
+                        // Versions 1 et 2 : les sièges d'une réservation sont libérés avec elle (RESERVATION_CANCELLED)
+                        return false;
+                    }
+                    seance.cancel(new int[]{row, col}, SeatType.values()[record.get()]);
+                    return true;
+                case RESERVATION_ADDED:
+                    seance.addReservation(getReservation(record, version));
+                    return true;
+                case RESERVATION_BOOKED:
+                    Reservation booked = getReservation(record, version);
+                    ArrayList<SeatType> types = new ArrayList<>();
+                    for (int i = record.getInt(); i > 0; i--) {
+                        types.add(SeatType.values()[record.get()]);
+                    }
+                    if (seance.isOccupancyRecovered()) {
+                        return rebook(seance, booked, types);
+                    }
+                    seance.reserveGroup(booked, types);
+                    return true;
+                case RESERVATION_REMOVED:
+                case RESERVATION_CANCELLED:
+                    Reservation reservation = seance.findReservationById(getId(record, version));
+                    if (reservation == null) {
+                        return false;
+                    }
+                    if (type == RESERVATION_CANCELLED) {
+                        if (seance.isOccupancyRecovered()) {
+                            // Le fichier a pu libérer les sièges avant l'arrêt : ils sont
+                            // repris pour que l'annulation les rende tous
+                            reclaim(seance, reservation, null);
+                        }
+                        seance.cancelReservation(reservation);
+                    } else {
+                        seance.removeReservation(reservation);
+                    }
+                    return true;
+                default:
+                    return false;
+            }
+        } catch (Seance.SeatReservationException | Seance.SeatCancellationException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Rejoue une réservation sur une séance dont l'occupation a été reprise de son fichier :
+     * ses sièges y sont peut-être déjà pris. Seuls les sièges encore libres sont pris, puis
+     * la réservation est enregistrée.
+     */
+    private static boolean rebook(Seance seance, Reservation booked, List<SeatType> types)
+            throws Seance.SeatReservationException {
+        int[] seats = booked.getPackedSeats();
+        for (int seat : seats) {
+            if (seance.findReservationBySeat(Person.rowOf(seat), Person.columnOf(seat)) != null) {
+                return false;
+            }
+        }
+        reclaim(seance, booked, types);
+        seance.addReservation(booked);
+        return true;
+    }
+
+    /**
+     * Reprend les sièges libres d'une réservation ({@code types} : type de chaque siège, ou
+     * null pour le lire dans le plan de la séance).
+     */
+    private static void reclaim(Seance seance, Reservation reservation, List<SeatType> types)
+            throws Seance.SeatReservationException {
+        SeatCatalogue catalogue = seance.getLayout().getCatalogue();
+        int[] seats = reservation.getPackedSeats();
+        for (int i = 0; i < seats.length; i++) {
+            int row = Person.rowOf(seats[i]);
+            int col = Person.columnOf(seats[i]);
+            if (!seance.isSeatReserved(row, col)) {
+                SeatType type = types != null ? types.get(i)
+                        : catalogue.contains(row, col) ? catalogue.typeOf(catalogue.indexOf(row, col)) : null;
+                seance.reserve(new int[]{row, col}, type);
+            }
+        }
+    }
+
+    /**
+     * Parcourt les enregistrements valides et retourne la position de fin du dernier.
+     *
+     * @param acceptOlder true pour accepter un journal des versions 1 et 2 (relecture seule).
+     */
+    private static long scan(FileChannel channel, boolean acceptOlder, ObjIntConsumer<ByteBuffer> handler)
+            throws IOException {
+        ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        if (buffer.remaining() < HEADER_SIZE || buffer.getInt() != MAGIC) {
+            return 0;
+        }
+        int version = buffer.getInt();
+        if (version != VERSION && !(acceptOlder && version >= 1 && version < VERSION)) {
+            throw new IOException("Version de journal non supportée : " + version);
+        }
+        CRC32 checksum = new CRC32();
+        long validEnd = buffer.position();
+        while (buffer.remaining() >= 8) {
+            int length = buffer.getInt();
+            int expected = buffer.getInt();
+            if (length <= 0 || length > buffer.remaining()) {
+                break;
+            }
+            ByteBuffer record = buffer.slice();
+            record.limit(length);
+            checksum.reset();
+            checksum.update(record.duplicate());
+            if ((int) checksum.getValue() != expected) {
+                break;
+            }
+            handler.accept(record, version);
+            buffer.position(buffer.position() + length);
+            validEnd = buffer.position();
+        }
+        return validEnd;
+    }
+
+    /**
+     * Clé de séance des versions 1 et 2 : cinéma, salle, date, heure et film.
+     */
+    private static String legacyKey(String cinema, Seance seance) {
+        return cinema + '\u0000' + seance.getRoom().getName() + '\u0000' + seance.getDate()
+                + '\u0000' + seance.getTime() + '\u0000' + seance.getMovie();
+    }
+
+    private static String getLegacyKey(ByteBuffer record) {
+        return getString(record) + '\u0000' + getString(record) + '\u0000' + getString(record)
+                + '\u0000' + getString(record) + '\u0000' + getString(record);
+    }
+
+    /**
+     * Ajoute un enregistrement puis attend qu'il soit sur disque.
+     *
+     * @throws UncheckedIOException Si le journal ne peut pas être écrit.
+     */
+    private void append(byte type, Seance seance, Consumer<ByteBuffer> body) {
+        if (paused) {
+            return;
+        }
+        lock.lock();
+        try {
+            int start = pending.position();
+            while (true) {
+                try {
+                    pending.position(start + 8);
+                    pending.put(type);
+                    pending.putLong(seance.getId());
+                    body.accept(pending);
+                    break;
+                } catch (BufferOverflowException e) {
+                    pending.position(start);
+                    pending = grow(pending);
+                }
+            }
+            int end = pending.position();
+            ByteBuffer payload = pending.duplicate();
+            payload.position(start + 8).limit(end);
+            crc.reset();
+            crc.update(payload);
+            pending.putInt(start, end - start - 8);
+            pending.putInt(start + 4, (int) crc.getValue());
+            pendingRecords++;
+            awaitDurable(++appendedSeq);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void awaitDurable(long seq) {
+        long deadline = System.nanoTime() + maxDelayNanos;
+        boolean interrupted = false;
+        while (durableSeq < seq) {
+            if (failure != null) {
+                throw new UncheckedIOException("Écriture du journal impossible", failure);
+            }
+            long remaining = interrupted ? 0 : deadline - System.nanoTime();
+            if (!flushing && (pendingRecords >= batchSize || remaining <= 0)) {
+                flushPending();
+            } else if (remaining > 0) {
+                try {
+                    durable.awaitNanos(remaining);
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            } else {
+                durable.awaitUninterruptibly();
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Écrit et synchronise le lot en cours. Appelé verrou tenu ; le verrou est relâché
+     * pendant l'écriture pour que d'autres threads remplissent le lot suivant.
+     */
+    private void flushPending() {
+        flushing = true;
+        ByteBuffer batch = pending;
+        pending = spare;
+        pending.clear();
+        pendingRecords = 0;
+        long upTo = appendedSeq;
+        lock.unlock();
+        try {
+            batch.flip();
+            while (batch.hasRemaining()) {
+                channel.write(batch);
+            }
+            channel.force(false);
+        } catch (IOException e) {
+            failure = e;
+        } finally {
+            lock.lock();
+        }
+        batch.clear();
+        spare = batch;
+        flushing = false;
+        if (failure == null) {
+            durableSeq = Math.max(durableSeq, upTo);
+        }
+        durable.signalAll();
+    }
+
+    private static ByteBuffer grow(ByteBuffer buffer) {
+        ByteBuffer larger = ByteBuffer.allocate(buffer.capacity() * 2);
+        buffer.flip();
+        larger.put(buffer);
+        return larger;
+    }
+
+    private static void putString(ByteBuffer buffer, String value) {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        buffer.putInt(bytes.length);
+        buffer.put(bytes);
+    }
+
+    private static String getString(ByteBuffer buffer) {
+        byte[] bytes = new byte[buffer.getInt()];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static long getId(ByteBuffer buffer, int version) {
+        return version == 1 ? buffer.getInt() : buffer.getLong();
+    }
+
+    private static void putPerson(ByteBuffer buffer, Person person) {
+        putString(buffer, person.getFirstName());
+        putString(buffer, person.getLastName());
+        int seat = person.getPackedSeat();
+        buffer.putInt(seat != Person.NO_SEAT ? Person.rowOf(seat) : -1);
+        buffer.putInt(seat != Person.NO_SEAT ? Person.columnOf(seat) : -1);
+    }
+
+    private static void putReservation(ByteBuffer buffer, Reservation reservation) {
+        buffer.putLong(reservation.getId());
+        putPerson(buffer, reservation.getHolder());
+        ArrayList<Person> others = reservation.getOthers();
+        buffer.putInt(others.size());
+        for (Person person : others) {
+            putPerson(buffer, person);
+        }
+    }
+
+    private static Reservation getReservation(ByteBuffer buffer, int version) {
+        long id = getId(buffer, version);
+        Person holder = getPerson(buffer);
+        int othersCount = buffer.getInt();
+        ArrayList<Person> others = new ArrayList<>(othersCount);
+        for (int i = 0; i < othersCount; i++) {
+            others.add(getPerson(buffer));
+        }
+        return Reservation.restore(id, holder, others);
+    }
+
+    private static Person getPerson(ByteBuffer buffer) {
+        Person person = new Person(getString(buffer), getString(buffer));
+        int row = buffer.getInt();
+        int col = buffer.getInt();
+        if (row >= 0) {
+            person.assignSeat(row, col);
+        }
+        return person;
+    }
+
+    /**
+     * Journal posé sur chaque séance surveillée.
+     */
+    private final class Binding implements SeanceJournal {
+        @Override
+        public void seatReserved(Seance seance, int row, int col, SeatType type) {
+            append(SEAT_RESERVED, seance, buffer -> buffer.putInt(row).putInt(col).put((byte) type.ordinal()));
+        }
+
+        @Override
+        public void seatCancelling(Seance seance, int row, int col, SeatType type) {
+            append(SEAT_CANCELLED, seance, buffer -> buffer.putInt(row).putInt(col).put((byte) type.ordinal()));
+        }
+
+        @Override
+        public void reservationBooked(Seance seance, Reservation reservation, List<SeatType> types) {
+            append(RESERVATION_BOOKED, seance, buffer -> {
+                putReservation(buffer, reservation);
+                buffer.putInt(types.size());
+                for (SeatType type : types) {
+                    buffer.put((byte) type.ordinal());
+                }
+            });
+        }
+
+        @Override
+        public void reservationAdding(Seance seance, Reservation reservation) {
+            append(RESERVATION_ADDED, seance, buffer -> putReservation(buffer, reservation));
+        }
+
+        @Override
+        public void reservationRemoving(Seance seance, Reservation reservation) {
+            append(RESERVATION_REMOVED, seance, buffer -> buffer.putLong(reservation.getId()));
+        }
+
+        @Override
+        public void reservationCancelling(Seance seance, Reservation reservation) {
+            append(RESERVATION_CANCELLED, seance, buffer -> buffer.putLong(reservation.getId()));
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.cinema.utils;
 
+import com.cinema.models.SeatCatalogue;
 import java.util.ArrayList;
 import java.util.Scanner;
 
@@ -197,23 +198,7 @@ public class RoomBuilder {
         if (pattern == null || pattern.isEmpty()) {
             return false;
         }
-
-        for (char c : pattern.toCharArray()) {
-            if (c != '0' && c != 'X' && c != 'P' && c != 'D' && c != 'x') {
-                return false;
-            }
-        }
-
-        // Vérifier que chaque 'D' est suivi de 'x'
-        for (int i = 0; i < pattern.length(); i++) {
-            if (pattern.charAt(i) == 'D') {
-                if (i + 1 >= pattern.length() || pattern.charAt(i + 1) != 'x') {
-                    return false;
-                }
-            }
-        }
-
-        return true;
+        return SeatCatalogue.compile(new char[][]{pattern.toCharArray()}).isValid();
     }
 
     // Méthodes utilitaires pour l'input
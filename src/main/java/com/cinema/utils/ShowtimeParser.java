@@ -0,0 +1,65 @@
+package com.cinema.utils;
+
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+
+/**
+ * Convertit la date et l'heure saisies pour une séance ("10/12/2025", "18h15")
+ * en instant de début. Formats acceptés : jj/mm/aaaa (séparateurs '/', '-' ou '.'),
+ * et HHhmm, HHh, HH:mm.
+ */
+public final class ShowtimeParser {
+
+    private ShowtimeParser() {
+    }
+
+    /**
+     * @return L'heure de début, ou null si la date ou l'heure n'est pas lisible.
+     */
+    public static LocalDateTime parse(String date, String time) {
+        LocalDate day = parseDate(date);
+        LocalTime hour = parseTime(time);
+        return day == null || hour == null ? null : LocalDateTime.of(day, hour);
+    }
+
+    public static LocalDate parseDate(String date) {
+        if (date == null) {
+            return null;
+        }
+        String[] parts = date.trim().split("[/.-]");
+        if (parts.length != 3) {
+            return null;
+        }
+        try {
+            int day = Integer.parseInt(parts[0]);
+            int month = Integer.parseInt(parts[1]);
+            int year = Integer.parseInt(parts[2]);
+            return LocalDate.of(year < 100 ? 2000 + year : year, month, day);
+        } catch (NumberFormatException | DateTimeException e) {
+            return null;
+        }
+    }
+
+    public static LocalTime parseTime(String time) {
+        if (time == null) {
+            return null;
+        }
+        String value = time.trim().toLowerCase();
+        int separator = value.indexOf('h');
+        if (separator < 0) {
+            separator = value.indexOf(':');
+        }
+        try {
+            if (separator < 0) {
+                return LocalTime.of(Integer.parseInt(value), 0);
+            }
+            String minutes = value.substring(separator + 1);
+            return LocalTime.of(Integer.parseInt(value.substring(0, separator)),
+                    minutes.isEmpty() ? 0 : Integer.parseInt(minutes));
+        } catch (NumberFormatException | DateTimeException e) {
+            return null;
+        }
+    }
+}
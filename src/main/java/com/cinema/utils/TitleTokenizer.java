@@ -0,0 +1,56 @@
+package com.cinema.utils;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Découpe un titre de film en mots normalisés pour la recherche : minuscules, sans accents
+ * ("Amélie" → "amelie"), ligatures développées ("Cœur" → "coeur"), apostrophes et
+ * ponctuation traitées comme séparateurs ("L'Été" → "l", "ete").
+ */
+public final class TitleTokenizer {
+
+    private TitleTokenizer() {
+    }
+
+    public static List<String> tokenize(String title) {
+        List<String> tokens = new ArrayList<>();
+        if (title == null) {
+            return tokens;
+        }
+        String normalized = Normalizer.normalize(title, Normalizer.Form.NFD);
+        StringBuilder token = new StringBuilder();
+        for (int i = 0; i < normalized.length(); i++) {
+            char c = normalized.charAt(i);
+            if (Character.getType(c) == Character.NON_SPACING_MARK) {
+                continue;
+            }
+            if (Character.isLetterOrDigit(c)) {
+                appendLower(token, c);
+            } else if (token.length() > 0) {
+                tokens.add(token.toString());
+                token.setLength(0);
+            }
+        }
+        if (token.length() > 0) {
+            tokens.add(token.toString());
+        }
+        return tokens;
+    }
+
+    private static void appendLower(StringBuilder token, char c) {
+        switch (c) {
+            case 'œ':
+            case 'Œ':
+                token.append("oe");
+                break;
+            case 'æ':
+            case 'Æ':
+                token.append("ae");
+                break;
+            default:
+                token.append(Character.toLowerCase(c));
+        }
+    }
+}
@@ -0,0 +1,296 @@
+package com.cinema.waitlist;
+
+import com.cinema.enums.SeatType;
+import com.cinema.holds.SeatHolds;
+import com.cinema.interfaces.SeanceObserver;
+import com.cinema.models.Person;
+import com.cinema.models.Reservation;
+import com.cinema.models.Seance;
+import com.cinema.models.SeatHold;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiConsumer;
+
+/**
+ * Liste d'attente d'une séance. Quand des places se libèrent, elles sont proposées au
+ * groupe prioritaire qui y tient : les places sont retenues pour lui (voir {@link SeatHolds})
+ * le temps qu'il confirme. Une offre non confirmée expire : ses places sont proposées aux
+ * groupes suivants.
+ *
+ * La recherche est incrémentale : seules les rangées où des sièges viennent d'être libérés
+ * sont examinées, à l'aide de la plus longue suite libre que la séance tient à jour par
+ * rangée. Les groupes sont rangés par type de place puis par taille : pour une suite
+ * libre de n places, seuls les premiers de chaque taille ≤ n sont comparés.
+ *
+ * Un groupe qui s'inscrit reçoit aussitôt les places déjà libres qui lui conviennent :
+ * toutes les rangées sont alors examinées, pour son type de place seulement. Les sièges
+ * libérés par une annulation de réservation ou la fin d'une retenue sont proposés
+ * aussitôt ; ceux d'un {@link Seance#cancel} isolé le sont au prochain de ces événements,
+ * ou à l'appel de {@link #match()}.
+ *
+ * Une offre qui expire sans confirmation fait passer le groupe à l'état
+ * {@link WaitlistEntry.State#EXPIRED} : il n'attend plus, ses places vont aux suivants, et
+ * il reste consultable par {@link #find(long)} jusqu'à ce qu'il quitte la liste. Un groupe
+ * qui confirme son offre passe à l'état {@link WaitlistEntry.State#BOOKED} et quitte la liste.
+ */
+public class Waitlist implements SeanceObserver, AutoCloseable {
+    private static final AtomicLong NEXT_ID = new AtomicLong(1);
+
+    private final Seance seance;
+    private final SeatHolds holds;
+    private final Duration offerTtl;
+    private final Comparator<WaitlistEntry> priority;
+    private final Clock clock;
+    // Par type de place : groupes en attente par taille, chaque ensemble trié par priorité
+    private final Map<SeatType, TreeMap<Integer, TreeSet<WaitlistEntry>>> waiting = new EnumMap<>(SeatType.class);
+    // Rangées où des sièges ont été libérés depuis la dernière recherche
+    private final BitSet dirtyRows = new BitSet();
+    private final HashMap<Long, WaitlistEntry> entries = new HashMap<>();
+    // Offres en cours et groupe à qui chacune a été faite
+    private final HashMap<SeatHold, WaitlistEntry> offered = new HashMap<>();
+    private volatile BiConsumer<WaitlistEntry, SeatHold> listener = (entry, hold) -> {
+    };
+    private int size;
+
+    /**
+     * Crée la liste d'attente d'une séance et l'inscrit comme observateur.
+     */
+    public static Waitlist attach(Seance seance, SeatHolds holds, Duration offerTtl) {
+        return attach(seance, holds, offerTtl, WaitlistEntry.DEFAULT_PRIORITY, Clock.systemUTC());
+    }
+
+    /**
+     * @param offerTtl Délai laissé à un groupe pour confirmer les places proposées.
+     * @param priority Ordre de passage ; il doit départager deux groupes distincts
+     *                 (voir {@link WaitlistEntry#DEFAULT_PRIORITY}).
+     */
+    public static Waitlist attach(Seance seance, SeatHolds holds, Duration offerTtl,
+                                  Comparator<WaitlistEntry> priority, Clock clock) {
+        Waitlist waitlist = new Waitlist(seance, holds, offerTtl, priority, clock);
+        seance.addObserver(waitlist);
+        return waitlist;
+    }
+
+    private Waitlist(Seance seance, SeatHolds holds, Duration offerTtl, Comparator<WaitlistEntry> priority, Clock clock) {
+        if (seance == null || holds == null || offerTtl == null || priority == null || clock == null) {
+            throw new IllegalArgumentException("Aucun paramètre ne peut être null");
+        }
+        this.seance = seance;
+        this.holds = holds;
+        this.offerTtl = offerTtl;
+        this.priority = priority;
+        this.clock = clock;
+        for (SeatType type : SeatType.values()) {
+            waiting.put(type, new TreeMap<>());
+        }
+    }
+
+    /**
+     * Prévient de chaque offre, dans le thread qui a libéré les places ou inscrit le groupe.
+     */
+    public void setListener(BiConsumer<WaitlistEntry, SeatHold> listener) {
+        this.listener = listener == null ? (entry, hold) -> {
+        } : listener;
+    }
+
+    /**
+     * Inscrit un groupe qui veut {@code groupSize} places côte à côte du type donné
+     * (en places doubles pour {@link SeatType#DOUBLE}). Si de telles places sont déjà
+     * libres, elles lui sont proposées avant le retour.
+     *
+     * @param loyalty Niveau de fidélité du client ; plus il est élevé, plus le groupe passe tôt.
+     */
+    public synchronized WaitlistEntry join(Person contact, int groupSize, SeatType type, int loyalty) {
+        if (contact == null || type == null || groupSize < 1) {
+            throw new IllegalArgumentException("Il faut un contact, un type de siège et au moins une place");
+        }
+        WaitlistEntry entry = new WaitlistEntry(NEXT_ID.getAndIncrement(), contact, groupSize, type, loyalty,
+                clock.instant());
+        waiting.get(type).computeIfAbsent(groupSize, s -> new TreeSet<>(priority)).add(entry);
+        entries.put(entry.getId(), entry);
+        size++;
+        int rows = seance.getLayout().getRowCount();
+        for (int row = 0; row < rows && entry.getState() == WaitlistEntry.State.WAITING; row++) {
+            matchRow(row, type);
+        }
+        return entry;
+    }
+
+    /**
+     * Retire un groupe de la liste ; une offre en cours lui est reprise et les places
+     * repartent vers les suivants.
+     *
+     * @return false si le groupe n'était plus dans la liste.
+     */
+    public boolean leave(WaitlistEntry entry) {
+        SeatHold offer;
+        synchronized (this) {
+            if (entry == null || entry.getState() == WaitlistEntry.State.LEFT
+                    || entry.getState() == WaitlistEntry.State.BOOKED) {
+                return false;
+            }
+            if (entry.getState() == WaitlistEntry.State.WAITING) {
+                remove(entry);
+            }
+            offer = entry.getOffer();
+            if (offer != null) {
+                offered.remove(offer);
+            }
+            entry.left();
+            entries.remove(entry.getId());
+        }
+        if (offer != null) {
+            offer.release();
+        }
+        return true;
+    }
+
+    /**
+     * @return Le groupe inscrit sous cet identifiant (en attente, avec une offre en cours ou
+     *         expirée), ou null s'il a quitté la liste ou confirmé son offre.
+     */
+    public synchronized WaitlistEntry find(long id) {
+        return entries.get(id);
+    }
+
+    /**
+     * @return Groupes en attente d'une offre, par ordre de priorité.
+     */
+    public synchronized List<WaitlistEntry> getWaiting() {
+        TreeSet<WaitlistEntry> all = new TreeSet<>(priority);
+        for (TreeMap<Integer, TreeSet<WaitlistEntry>> bySize : waiting.values()) {
+            for (TreeSet<WaitlistEntry> sameSize : bySize.values()) {
+                all.addAll(sameSize);
+            }
+        }
+        return new ArrayList<>(all);
+    }
+
+    /**
+     * @return Nombre de groupes en attente d'une offre.
+     */
+    public synchronized int size() {
+        return size;
+    }
+
+    /**
+     * Propose les places des rangées libérées depuis la dernière recherche.
+     *
+     * @return Nombre d'offres faites.
+     */
+    public synchronized int match() {
+        int offers = 0;
+        for (int row = dirtyRows.nextSetBit(0); row >= 0; row = dirtyRows.nextSetBit(row + 1)) {
+            for (SeatType type : SeatType.values()) {
+                offers += matchRow(row, type);
+            }
+        }
+        dirtyRows.clear();
+        return offers;
+    }
+
+    private int matchRow(int row, SeatType type) {
+        TreeMap<Integer, TreeSet<WaitlistEntry>> bySize = waiting.get(type);
+        int offers = 0;
+        while (!bySize.isEmpty()) {
+            int run = seance.getLongestFreeRun(row, type);
+            WaitlistEntry best = null;
+            for (TreeSet<WaitlistEntry> sameSize : bySize.headMap(run, true).values()) {
+                WaitlistEntry first = sameSize.first();
+                if (best == null || priority.compare(first, best) < 0) {
+                    best = first;
+                }
+            }
+            if (best == null) {
+                break;
+            }
+            List<int[]> block = seance.findBlockInRow(row, best.getGroupSize(), type);
+            if (block.isEmpty()) {
+                break;
+            }
+            List<SeatType> types = new ArrayList<>(block.size());
+            for (int i = 0; i < block.size(); i++) {
+                types.add(type);
+            }
+            SeatHold hold;
+            try {
+                hold = holds.hold(seance, block, types, offerTtl);
+            } catch (Seance.SeatReservationException e) {
+                // Places prises entre-temps : la suite libre est recalculée au tour suivant
+                continue;
+            }
+            remove(best);
+            best.offered(hold);
+            offered.put(hold, best);
+            offers++;
+            listener.accept(best, hold);
+        }
+        return offers;
+    }
+
+    private void remove(WaitlistEntry entry) {
+        TreeMap<Integer, TreeSet<WaitlistEntry>> bySize = waiting.get(entry.getType());
+        TreeSet<WaitlistEntry> sameSize = bySize.get(entry.getGroupSize());
+        if (sameSize != null && sameSize.remove(entry)) {
+            size--;
+            if (sameSize.isEmpty()) {
+                bySize.remove(entry.getGroupSize());
+            }
+        }
+    }
+
+    @Override
+    public synchronized void seatCancelled(Seance seance, int row, int col, SeatType type) {
+        dirtyRows.set(row);
+    }
+
+    @Override
+    public void reservationCancelled(Seance seance, Reservation reservation) {
+        match();
+    }
+
+    @Override
+    public void holdEnded(Seance seance, SeatHold hold) {
+        synchronized (this) {
+            WaitlistEntry entry = offered.remove(hold);
+            if (entry != null && hold.getState() == SeatHold.State.EXPIRED) {
+                entry.expired();
+            } else if (entry != null && hold.getState() == SeatHold.State.RELEASED) {
+                // Offre déclinée en libérant directement la retenue
+                entry.left();
+                entries.remove(entry.getId());
+            }
+            for (int[] seat : hold.getSeats()) {
+                dirtyRows.set(seat[0]);
+            }
+        }
+        match();
+    }
+
+    @Override
+    public synchronized void holdPromoted(Seance seance, SeatHold hold, Reservation reservation) {
+        WaitlistEntry entry = offered.remove(hold);
+        if (entry != null) {
+            entry.booked();
+            entries.remove(entry.getId());
+        }
+    }
+
+    /**
+     * Détache la liste de la séance ; les offres en cours restent valables jusqu'à leur échéance.
+     */
+    @Override
+    public void close() {
+        seance.removeObserver(this);
+    }
+}
@@ -0,0 +1,106 @@
+package com.cinema.waitlist;
+
+import com.cinema.enums.SeatType;
+import com.cinema.models.Person;
+import com.cinema.models.SeatHold;
+import java.time.Instant;
+import java.util.Comparator;
+
+/**
+ * Groupe en attente de places sur une séance complète.
+ */
+public class WaitlistEntry {
+    /**
+     * Ordre par défaut : fidélité décroissante, puis groupes les plus grands (les plus
+     * difficiles à placer), puis ordre d'arrivée.
+     */
+    public static final Comparator<WaitlistEntry> DEFAULT_PRIORITY = Comparator
+            .comparingInt(WaitlistEntry::getLoyalty).reversed()
+            .thenComparing(Comparator.comparingInt(WaitlistEntry::getGroupSize).reversed())
+            .thenComparingLong(WaitlistEntry::getId);
+
+    public enum State {
+        WAITING,
+        OFFERED,
+        LEFT,
+        /** Le groupe a confirmé l'offre : ses places sont réservées. */
+        BOOKED,
+        /** L'offre a expiré sans confirmation ; le groupe n'est plus dans la liste. */
+        EXPIRED
+    }
+
+    private final long id;
+    private final Person contact;
+    private final int groupSize;
+    private final SeatType type;
+    private final int loyalty;
+    private final Instant joinedAt;
+    private volatile State state = State.WAITING;
+    private volatile SeatHold offer;
+
+    WaitlistEntry(long id, Person contact, int groupSize, SeatType type, int loyalty, Instant joinedAt) {
+        this.id = id;
+        this.contact = contact;
+        this.groupSize = groupSize;
+        this.type = type;
+        this.loyalty = loyalty;
+        this.joinedAt = joinedAt;
+    }
+
+    void offered(SeatHold hold) {
+        offer = hold;
+        state = State.OFFERED;
+    }
+
+    void left() {
+        state = State.LEFT;
+    }
+
+    void expired() {
+        state = State.EXPIRED;
+    }
+
+    void booked() {
+        state = State.BOOKED;
+    }
+
+    /**
+     * @return Identifiant, croissant dans l'ordre d'arrivée.
+     */
+    public long getId() {
+        return id;
+    }
+
+    public Person getContact() {
+        return contact;
+    }
+
+    public int getGroupSize() {
+        return groupSize;
+    }
+
+    public SeatType getType() {
+        return type;
+    }
+
+    public int getLoyalty() {
+        return loyalty;
+    }
+
+    public Instant getJoinedAt() {
+        return joinedAt;
+    }
+
+    public State getState() {
+        return state;
+    }
+
+    /**
+     * @return Places retenues pour le groupe, à transformer en réservation avant leur
+     *         échéance (voir {@link SeatHold#getState()}) ; null tant qu'aucune place
+     *         ne s'est libérée.
+     */
+    public SeatHold getOffer() {
+        return offer;
+    }
+}
@@ -0,0 +1,137 @@
+package com.cinema.analytics;
+
+import com.cinema.enums.SeatType;
+import com.cinema.models.Cinema;
+import com.cinema.models.Person;
+import com.cinema.models.Reservation;
+import com.cinema.models.Room;
+import com.cinema.models.Seance;
+import com.cinema.utils.RoomBuilder;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Tests de la classe OccupancyAnalytics")
+public class OccupancyAnalyticsTest {
+
+    // 1 PMR, 3 normaux, 1 place double (2 sièges) et 3 allées
+    private static final char[][] LAYOUT = {
+            "P0X0".toCharArray(),
+            "DxX0".toCharArray()
+    };
+
+    private Cinema cinema;
+    private Room small;
+    private Room large;
+
+    @BeforeEach
+    void setUp() {
+        cinema = new Cinema("Cinéma Test");
+        small = new Room("Petite", LAYOUT);
+        large = new Room("Grande", RoomBuilder.createRectangular(4, 5));
+        cinema.addRoom(small);
+        cinema.addRoom(large);
+        cinema.addRoom(new Room("Vide"));
+    }
+
+    private static void book(Seance seance, SeatType type, int... seat) throws Exception {
+        Person holder = new Person("Jean", "Dupont");
+        holder.assignSeat(seat[0], seat[1]);
+        seance.reserveGroup(new Reservation(holder), List.of(type));
+    }
+
+    private Seance add(Room room, String time, String movie) {
+        Seance seance = new Seance("10/12/2025", time, movie, room);
+        room.addSeance(seance);
+        return seance;
+    }
+
+    @Test
+    @DisplayName("Remplissage par film, salle, créneau et type de place")
+    void testAggregates() throws Exception {
+        Seance evening = add(small, "20h00", "Dune");
+        book(evening, SeatType.PMR, 0, 0);
+        book(evening, SeatType.DOUBLE, 1, 0);
+        book(evening, SeatType.NORMAL, 1, 3);
+        Seance late = add(small, "20h45", "Alien");
+        book(late, SeatType.NORMAL, 0, 1);
+        Seance matinee = add(large, "14h00", "Dune");
+        book(matinee, SeatType.NORMAL, 2, 2);
+        book(matinee, SeatType.NORMAL, 3, 4);
+
+        OccupancyAnalytics analytics = cinema.analyzeOccupancy();
+
+        assertEquals(new FillRate(6 + 6 + 20, 4 + 1 + 2, 3), analytics.getOverall());
+        assertEquals(List.of("Alien", "Dune"), new ArrayList<>(analytics.getByMovie().keySet()));
+        assertEquals(new FillRate(26, 6, 2), analytics.getByMovie().get("Dune"));
+        assertEquals(List.of(small, large), new ArrayList<>(analytics.getByRoom().keySet()));
+        assertEquals(new FillRate(12, 5, 2), analytics.getByRoom().get(small));
+        assertEquals(new FillRate(12, 5, 2), analytics.getByTimeSlot().get(LocalTime.of(20, 0)));
+        assertEquals(new FillRate(20, 2, 1), analytics.getByTimeSlot().get(LocalTime.of(14, 0)));
+        assertEquals(2, analytics.getByTimeSlot().size());
+        assertEquals(new FillRate(2, 1, 2), analytics.getBySeatType().get(SeatType.PMR));
+        assertEquals(new FillRate(4, 2, 2), analytics.getBySeatType().get(SeatType.DOUBLE));
+        assertEquals(new FillRate(26, 4, 3), analytics.getBySeatType().get(SeatType.NORMAL));
+        assertEquals(6.0 / 26, analytics.getByMovie().get("Dune").getRate(), 1e-9);
+    }
+
+    @Test
+    @DisplayName("Une séance sans date lisible compte partout sauf dans les créneaux")
+    void testUnscheduledSeance() throws Exception {
+        Seance seance = add(small, "bientôt", "Dune");
+        book(seance, SeatType.PMR, 0, 0);
+
+        OccupancyAnalytics analytics = cinema.analyzeOccupancy();
+
+        assertEquals(new FillRate(6, 1, 1), analytics.getOverall());
+        assertTrue(analytics.getByTimeSlot().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Le calcul en parallèle sur une chaîne donne les mêmes totaux qu'un seul thread")
+    void testParallelMatchesSequential() throws Exception {
+        List<Cinema> chain = new ArrayList<>();
+        Random random = new Random(42);
+        long expectedOccupied = 0;
+        for (int c = 0; c < 4; c++) {
+            Cinema site = new Cinema("Site " + c);
+            for (int r = 0; r < 5; r++) {
+                Room room = new Room("Salle " + r, RoomBuilder.createRectangular(10, 12));
+                site.addRoom(room);
+                for (int s = 0; s < 60; s++) {
+                    Seance seance = add(room, (10 + s % 12) + "h00", "Film " + (s % 7));
+                    for (int seat = 0; seat < 120; seat++) {
+                        if (random.nextInt(100) < 40) {
+                            book(seance, SeatType.NORMAL, seat / 12, seat % 12);
+                            expectedOccupied++;
+                        }
+                    }
+                }
+            }
+            chain.add(site);
+        }
+
+        OccupancyAnalytics parallel = OccupancyAnalytics.of(chain);
+        ForkJoinPool single = new ForkJoinPool(1);
+        OccupancyAnalytics sequential;
+        try {
+            sequential = OccupancyAnalytics.of(chain, single);
+        } finally {
+            single.shutdown();
+        }
+
+        assertEquals(new FillRate(4 * 5 * 60 * 120, expectedOccupied, 4 * 5 * 60), parallel.getOverall());
+        assertEquals(sequential.getByMovie(), parallel.getByMovie());
+        assertEquals(sequential.getByRoom(), parallel.getByRoom());
+        assertEquals(sequential.getByTimeSlot(), parallel.getByTimeSlot());
+        assertEquals(sequential.getBySeatType(), parallel.getBySeatType());
+        assertEquals(20, parallel.getByRoom().size());
+        assertEquals(12, parallel.getByTimeSlot().size());
+    }
+}
@@ -0,0 +1,244 @@
+package com.cinema.feed;
+
+import com.cinema.enums.SeatType;
+import com.cinema.models.Person;
+import com.cinema.models.Reservation;
+import com.cinema.models.Room;
+import com.cinema.models.Seance;
+import com.cinema.models.SeatHold;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Tests du flux de changements de sièges")
+public class SeatFeedTest {
+
+    private Room room;
+    private Seance seance;
+
+    @BeforeEach
+    void setUp() {
+        room = new Room("Salle 1", new char[][]{
+                "Dx000000".toCharArray(),
+                "00000000".toCharArray(),
+                "00000000".toCharArray(),
+                "00000000".toCharArray()
+        });
+        seance = new Seance("10/12/2025", "20h00", "Direct", room);
+        room.addSeance(seance);
+    }
+
+    private Reservation book(int row, int firstCol, int count) throws Exception {
+        Person holder = new Person("Client", row + "-" + firstCol);
+        holder.assignSeat(row, firstCol);
+        Reservation reservation = new Reservation(holder);
+        List<SeatType> types = new ArrayList<>();
+        types.add(SeatType.NORMAL);
+        for (int i = 1; i < count; i++) {
+            reservation.addPersonToReservation(new Person("Invité", String.valueOf(i)), new int[]{row, firstCol + i});
+            types.add(SeatType.NORMAL);
+        }
+        seance.reserveGroup(reservation, types);
+        return reservation;
+    }
+
+    private List<SeatDelta> poll(SeatFeed.Subscription subscription) {
+        List<SeatDelta> deltas = new ArrayList<>();
+        subscription.poll(deltas::add);
+        return deltas;
+    }
+
+    private void assertMatchesSeance(SeatFeed.Subscription subscription) {
+        for (int row = 0; row < 4; row++) {
+            for (int col = 0; col < 8; col++) {
+                assertEquals(seance.isSeatReserved(row, col), subscription.isReserved(row, col), row + "," + col);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Réservation et annulation publient les sièges avec la réservation concernée")
+    void testReserveAndCancel() throws Exception {
+        SeatFeed feed = SeatFeed.attach(seance);
+        SeatFeed.Subscription subscription = feed.subscribe();
+
+        Reservation reservation = book(1, 2, 3);
+        List<SeatDelta> reserved = poll(subscription);
+        assertEquals(3, reserved.size());
+        for (int i = 0; i < 3; i++) {
+            SeatDelta delta = reserved.get(i);
+            assertEquals(i, delta.getSequence());
+            assertEquals(1, delta.getRow());
+            assertEquals(2 + i, delta.getCol());
+            assertEquals(SeatDelta.State.FREE, delta.getOldState());
+            assertEquals(SeatDelta.State.RESERVED, delta.getNewState());
+            assertEquals(reservation.getId(), delta.getReservationId());
+        }
+
+        seance.cancelReservation(reservation);
+        List<SeatDelta> cancelled = poll(subscription);
+        assertEquals(3, cancelled.size());
+        for (SeatDelta delta : cancelled) {
+            assertEquals(SeatDelta.State.FREE, delta.getNewState());
+            assertEquals(reservation.getId(), delta.getReservationId());
+        }
+
+        seance.reserve(new int[]{0, 0}, SeatType.DOUBLE);
+        List<SeatDelta> single = poll(subscription);
+        assertEquals(1, single.size());
+        assertEquals(SeatType.DOUBLE, single.get(0).getType());
+        assertTrue(subscription.isReserved(0, 1), "Les deux moitiés de la place double sont réservées");
+        assertTrue(poll(subscription).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Un siège retenu reste libre pour le flux jusqu'à sa réservation")
+    void testHolds() throws Exception {
+        SeatFeed feed = SeatFeed.attach(seance);
+        SeatFeed.Subscription subscription = feed.subscribe();
+
+        SeatHold hold = seance.hold(List.of(new int[]{2, 0}), List.of(SeatType.NORMAL), Instant.now().plusSeconds(60));
+        assertTrue(poll(subscription).isEmpty());
+        hold.release();
+        assertTrue(poll(subscription).isEmpty());
+
+        hold = seance.hold(List.of(new int[]{2, 0}), List.of(SeatType.NORMAL), Instant.now().plusSeconds(60));
+        Person holder = new Person("Client", "Retenue");
+        holder.assignSeat(2, 0);
+        Reservation reservation = new Reservation(holder);
+        hold.promote(reservation);
+        List<SeatDelta> deltas = poll(subscription);
+        assertEquals(1, deltas.size());
+        assertEquals(reservation.getId(), deltas.get(0).getReservationId());
+    }
+
+    @Test
+    @DisplayName("Un abonné en retard ne reçoit que l'état final de chaque siège")
+    void testCoalescing() throws Exception {
+        SeatFeed feed = SeatFeed.attach(seance);
+        SeatFeed.Subscription subscription = feed.subscribe();
+
+        for (int i = 0; i < SeatFeed.COALESCE_AFTER; i++) {
+            seance.reserve(new int[]{3, 0}, SeatType.NORMAL);
+            seance.cancel(new int[]{3, 0}, SeatType.NORMAL);
+        }
+        seance.reserve(new int[]{3, 1}, SeatType.NORMAL);
+        assertTrue(subscription.getLag() > SeatFeed.COALESCE_AFTER);
+
+        List<SeatDelta> deltas = poll(subscription);
+        assertEquals(1, deltas.size());
+        assertEquals(1, deltas.get(0).getCol());
+        assertEquals(0, subscription.getLag());
+        assertEquals(0, subscription.getResyncCount());
+    }
+
+    @Test
+    @DisplayName("Un abonné dépassé par l'anneau est rattrapé depuis l'occupation")
+    void testResync() throws Exception {
+        SeatFeed feed = SeatFeed.attach(seance, 8);
+        Reservation early = book(0, 2, 2);
+        SeatFeed.Subscription subscription = feed.subscribe();
+
+        seance.cancelReservation(early);
+        Reservation late = book(1, 0, 8);
+        seance.reserve(new int[]{0, 0}, SeatType.DOUBLE);
+        assertTrue(subscription.getLag() > feed.getCapacity());
+
+        List<SeatDelta> deltas = poll(subscription);
+        assertEquals(1, subscription.getResyncCount());
+        assertEquals(11, deltas.size());
+        for (SeatDelta delta : deltas) {
+            assertEquals(-1, delta.getSequence());
+            if (delta.getRow() == 1) {
+                assertEquals(late.getId(), delta.getReservationId());
+            }
+        }
+        assertMatchesSeance(subscription);
+    }
+
+    @Test
+    @DisplayName("Des abonnés lents ne bloquent pas les réservations concurrentes")
+    void testConcurrentProducers() throws Exception {
+        SeatFeed feed = SeatFeed.attach(seance, 64);
+        List<SeatFeed.Subscription> subscriptions = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            subscriptions.add(feed.subscribe());
+        }
+
+        int threads = 4;
+        CountDownLatch done = new CountDownLatch(threads);
+        for (int t = 0; t < threads; t++) {
+            int seed = t;
+            new Thread(() -> {
+                Random random = new Random(seed);
+                for (int i = 0; i < 5_000; i++) {
+                    int[] seat = {1 + random.nextInt(3), random.nextInt(8)};
+                    try {
+                        if (random.nextBoolean()) {
+                            seance.reserve(seat, SeatType.NORMAL);
+                        } else {
+                            seance.cancel(seat, SeatType.NORMAL);
+                        }
+                    } catch (Seance.SeatReservationException | Seance.SeatCancellationException e) {
+                        // Siège déjà pris ou déjà libre
+                    }
+                }
+                done.countDown();
+            }).start();
+        }
+        SeatFeed.Subscription eager = subscriptions.get(0);
+        while (done.getCount() > 0) {
+            eager.poll(delta -> { });
+        }
+        done.await();
+
+        for (SeatFeed.Subscription subscription : subscriptions) {
+            subscription.poll(delta -> { });
+            assertEquals(0, subscription.getLag());
+            assertMatchesSeance(subscription);
+        }
+        feed.close();
+        assertEquals(200, feed.getSubscriberCount());
+    }
+
+    @Test
+    @DisplayName("Le dernier changement publié d'un siège disputé donne son état final")
+    void testContendedSeatEndsInFinalState() throws Exception {
+        SeatFeed feed = SeatFeed.attach(seance, 1 << 16);
+        SeatFeed.Subscription subscription = feed.subscribe();
+
+        int threads = 8;
+        CountDownLatch done = new CountDownLatch(threads);
+        for (int t = 0; t < threads; t++) {
+            int seed = t;
+            new Thread(() -> {
+                Random random = new Random(seed);
+                for (int i = 0; i < 4_000; i++) {
+                    int[] seat = {2, random.nextInt(2)};
+                    try {
+                        if (random.nextBoolean()) {
+                            seance.reserve(seat, SeatType.NORMAL);
+                        } else {
+                            seance.cancel(seat, SeatType.NORMAL);
+                        }
+                    } catch (Seance.SeatReservationException | Seance.SeatCancellationException e) {
+                        // Siège déjà pris ou déjà libre
+                    }
+                }
+                done.countDown();
+            }).start();
+        }
+        done.await();
+
+        subscription.poll(delta -> { });
+        assertEquals(0, subscription.getResyncCount());
+        assertEquals(0, subscription.getLag());
+        assertMatchesSeance(subscription);
+    }
+}
@@ -0,0 +1,249 @@
+package com.cinema.holds;
+
+import com.cinema.enums.SeatType;
+import com.cinema.models.Cinema;
+import com.cinema.models.Person;
+import com.cinema.models.Reservation;
+import com.cinema.models.Room;
+import com.cinema.models.Seance;
+import com.cinema.models.SeatHold;
+import com.cinema.utils.RoomBuilder;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Tests des retenues de sièges")
+public class SeatHoldsTest {
+
+    private static final Instant NOW = Instant.parse("2025-12-10T19:00:00Z");
+
+    private TimerWheel wheel;
+    private SeatHolds holds;
+    private Cinema cinema;
+    private Seance seance;
+
+    @BeforeEach
+    void setUp() {
+        wheel = new TimerWheel(Duration.ofSeconds(1), 64);
+        holds = new SeatHolds(wheel, Clock.fixed(NOW, ZoneOffset.UTC));
+        cinema = new Cinema("Cinéma Test");
+        Room room = new Room("Salle 1");
+        seance = new Seance("10/12/2025", "20h00", "Test Movie", room);
+        room.addSeance(seance);
+        cinema.addRoom(room);
+    }
+
+    private static Reservation groupOn(List<int[]> seats) {
+        Person holder = new Person("Jean", "Dupont");
+        holder.assignSeat(seats.get(0)[0], seats.get(0)[1]);
+        Reservation reservation = new Reservation(holder);
+        for (int i = 1; i < seats.size(); i++) {
+            reservation.addPersonToReservation(new Person("Invité", "N" + i), seats.get(i));
+        }
+        return reservation;
+    }
+
+    private SeatHold holdTwo(Duration ttl) throws Exception {
+        return holds.hold(seance, List.of(new int[]{3, 3}, new int[]{3, 4}),
+                List.of(SeatType.NORMAL, SeatType.NORMAL), ttl);
+    }
+
+    private void advance(int ticks) {
+        for (int i = 0; i < ticks; i++) {
+            wheel.advance();
+        }
+    }
+
+    @Test
+    @DisplayName("Un siège retenu n'est ni réservable ni annulable par un autre client")
+    void testHeldSeatsAreTaken() throws Exception {
+        SeatHold hold = holdTwo(Duration.ofMinutes(5));
+
+        assertEquals(NOW.plus(Duration.ofMinutes(5)), hold.getExpiresAt());
+        assertSame(hold, seance.findHoldBySeat(3, 4));
+        assertEquals(2, seance.getHeldSeatCount());
+        assertEquals(2, cinema.getTotalOccupiedSeats());
+        assertThrows(Seance.SeatReservationException.class, () -> seance.reserve(new int[]{3, 3}, SeatType.NORMAL));
+        assertThrows(Seance.SeatCancellationException.class, () -> seance.cancel(new int[]{3, 3}, SeatType.NORMAL));
+        assertThrows(Seance.SeatReservationException.class, () -> holds.hold(seance,
+                List.of(new int[]{3, 5}, new int[]{3, 4}), List.of(SeatType.NORMAL, SeatType.NORMAL)));
+        // Le premier siège de la retenue refusée a été rendu
+        assertNull(seance.findHoldBySeat(3, 5));
+        assertNotEquals('O', seance.getSeatMap()[3][5]);
+    }
+
+    @Test
+    @DisplayName("La retenue expire à son échéance et rend ses sièges")
+    void testExpiry() throws Exception {
+        SeatHold hold = holdTwo(Duration.ofSeconds(3));
+
+        advance(2);
+        assertTrue(hold.isActive());
+        assertSame(hold, holds.find(hold.getId()));
+        advance(1);
+
+        assertEquals(SeatHold.State.EXPIRED, hold.getState());
+        assertNull(holds.find(hold.getId()));
+        assertEquals(0, holds.size());
+        assertEquals(0, seance.getHeldSeatCount());
+        assertEquals(0, cinema.getTotalOccupiedSeats());
+        seance.reserve(new int[]{3, 3}, SeatType.NORMAL);
+        Seance.SeatReservationException late = assertThrows(Seance.SeatReservationException.class,
+                () -> hold.promote(groupOn(List.of(new int[]{3, 3}, new int[]{3, 4}))));
+        assertTrue(late.getMessage().contains("EXPIRED"));
+    }
+
+    @Test
+    @DisplayName("La transformation en réservation garde les sièges et survit à l'échéance")
+    void testPromotion() throws Exception {
+        SeatHold hold = holdTwo(Duration.ofSeconds(3));
+        Reservation reservation = groupOn(List.of(new int[]{3, 4}, new int[]{3, 3}));
+
+        hold.promote(reservation);
+        advance(5);
+
+        assertEquals(SeatHold.State.PROMOTED, hold.getState());
+        assertSame(reservation, seance.findReservationBySeat(3, 3));
+        assertNull(seance.findHoldBySeat(3, 3));
+        assertEquals(1, cinema.getTotalReservations());
+        assertEquals(2, cinema.getTotalOccupiedSeats());
+        assertEquals(0, holds.size());
+        assertThrows(Seance.SeatReservationException.class, () -> hold.promote(reservation));
+        assertFalse(hold.release());
+    }
+
+    @Test
+    @DisplayName("Une réservation sur d'autres sièges que ceux retenus est refusée")
+    void testPromotionWithOtherSeats() throws Exception {
+        SeatHold hold = holdTwo(Duration.ofMinutes(1));
+
+        assertThrows(IllegalArgumentException.class,
+                () -> hold.promote(groupOn(List.of(new int[]{3, 3}, new int[]{3, 5}))));
+        assertTrue(hold.isActive());
+    }
+
+    @Test
+    @DisplayName("Les sièges retenus ne sont pas enregistrés dans l'occupation exportée")
+    void testExportSkipsHolds() throws Exception {
+        seance.reserve(new int[]{2, 0}, SeatType.NORMAL);
+        holdTwo(Duration.ofMinutes(1));
+
+        long[] words = seance.exportOccupancy();
+
+        assertEquals(1, Long.bitCount(words[0]));
+        assertEquals(3, seance.getOccupiedSeatCount());
+    }
+
+    @Test
+    @DisplayName("Une place double retenue n'est pas exportée à moitié occupée")
+    void testExportSkipsHeldDouble() throws Exception {
+        holds.hold(seance, List.of(new int[]{0, 0}), List.of(SeatType.DOUBLE), Duration.ofMinutes(1));
+
+        long[] words = seance.exportOccupancy();
+        assertEquals(0, words[0]);
+
+        Seance restored = new Seance("10/12/2025", "22h00", "Test Movie", seance.getRoom());
+        restored.restoreOccupancy(words);
+        assertFalse(restored.isSeatReserved(0, 1));
+        assertEquals(0, restored.getOccupiedSeatCount());
+        restored.reserve(new int[]{0, 0}, SeatType.DOUBLE);
+        assertEquals(2, restored.getOccupiedSeatCount());
+    }
+
+    @Test
+    @DisplayName("Transformation et expiration simultanées : une seule gagne, les compteurs restent justes")
+    void testPromotionRacesExpiry() throws Exception {
+        Room room = new Room("Première", RoomBuilder.createRectangular(100, 200));
+        Seance premiere = new Seance("10/12/2025", "20h00", "Première", room);
+        room.addSeance(premiere);
+        cinema.addRoom(room);
+        int count = 20_000;
+        List<SeatHold> held = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            held.add(holds.hold(premiere, List.of(new int[]{i / 200, i % 200}), List.of(SeatType.NORMAL),
+                    Duration.ofSeconds(1)));
+        }
+        assertEquals(count, premiere.getHeldSeatCount());
+
+        ExecutorService buyers = Executors.newFixedThreadPool(4);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger promoted = new AtomicInteger();
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            int first = t;
+            futures.add(buyers.submit(() -> {
+                start.await();
+                for (int i = first; i < count; i += 4) {
+                    SeatHold hold = held.get(i);
+                    try {
+                        hold.promote(groupOn(hold.getSeats()));
+                        promoted.incrementAndGet();
+                    } catch (Seance.SeatReservationException e) {
+                        assertEquals(SeatHold.State.EXPIRED, hold.getState());
+                    }
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        wheel.advance();
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        buyers.shutdown();
+
+        int expired = 0;
+        for (SeatHold hold : held) {
+            assertNotEquals(SeatHold.State.HELD, hold.getState());
+            if (hold.getState() == SeatHold.State.EXPIRED) {
+                expired++;
+            }
+        }
+        assertEquals(count, promoted.get() + expired);
+        assertEquals(0, premiere.getHeldSeatCount());
+        assertEquals(promoted.get(), premiere.getOccupiedSeatCount());
+        assertEquals(promoted.get(), premiere.getReservationCount());
+        assertEquals(0, holds.size());
+    }
+
+    @Test
+    @DisplayName("Un siège pris pour une retenue n'est jamais libéré par cancel")
+    void testHeldSeatNeverCancelled() throws Exception {
+        AtomicInteger cancelled = new AtomicInteger();
+        Thread holder = new Thread(() -> {
+            try {
+                for (int i = 0; i < 20_000; i++) {
+                    holdTwo(Duration.ofMinutes(5)).release();
+                }
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        holder.start();
+        while (holder.isAlive()) {
+            try {
+                seance.cancel(new int[]{3, 3}, SeatType.NORMAL);
+                cancelled.incrementAndGet();
+            } catch (Seance.SeatCancellationException expected) {
+                // Le siège est libre ou retenu
+            }
+        }
+        holder.join();
+
+        assertEquals(0, cancelled.get());
+        assertEquals(0, seance.getHeldSeatCount());
+        assertEquals(0, seance.getOccupiedSeatCount());
+    }
+}
@@ -0,0 +1,95 @@
+package com.cinema.holds;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Tests de la classe TimerWheel")
+public class TimerWheelTest {
+
+    @Test
+    @DisplayName("Chaque tâche s'exécute au tic de son échéance, même après plusieurs tours")
+    void testDeadlines() {
+        TimerWheel wheel = new TimerWheel(Duration.ofMillis(100), 4);
+        List<String> ran = new ArrayList<>();
+        wheel.schedule(() -> ran.add("a"), Duration.ofMillis(250));
+        wheel.schedule(() -> ran.add("b"), Duration.ofMillis(100));
+        wheel.schedule(() -> ran.add("c"), Duration.ofMillis(1000));
+        wheel.schedule(() -> ran.add("d"), Duration.ZERO);
+        assertEquals(4, wheel.size());
+
+        assertEquals(2, wheel.advance());
+        assertEquals(List.of("b", "d"), ran.stream().sorted().toList());
+        assertEquals(0, wheel.advance());
+        assertEquals(1, wheel.advance());
+        assertEquals("a", ran.get(2));
+        for (int tick = 4; tick < 10; tick++) {
+            assertEquals(0, wheel.advance(), "tic " + tick);
+        }
+        assertEquals(1, wheel.advance());
+        assertEquals("c", ran.get(3));
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    @DisplayName("Une tâche en erreur n'empêche pas les suivantes")
+    void testFailingTask() {
+        TimerWheel wheel = new TimerWheel(Duration.ofMillis(10), 8);
+        List<String> ran = new ArrayList<>();
+        wheel.schedule(() -> {
+            throw new IllegalStateException("échec");
+        }, Duration.ofMillis(10));
+        wheel.schedule(() -> ran.add("ok"), Duration.ofMillis(10));
+        Thread thread = Thread.currentThread();
+        Thread.UncaughtExceptionHandler previous = thread.getUncaughtExceptionHandler();
+        List<Throwable> reported = new ArrayList<>();
+        thread.setUncaughtExceptionHandler((t, e) -> reported.add(e));
+        try {
+            assertEquals(2, wheel.advance());
+        } finally {
+            thread.setUncaughtExceptionHandler(previous);
+        }
+        assertEquals(List.of("ok"), ran);
+        assertEquals(1, reported.size());
+        assertEquals(1, wheel.getFailureCount());
+    }
+
+    @Test
+    @DisplayName("Une Error dans une tâche est signalée et le thread de la roue continue")
+    void testWorkerSurvivesError() throws Exception {
+        CountDownLatch reported = new CountDownLatch(1);
+        CountDownLatch after = new CountDownLatch(1);
+        try (TimerWheel wheel = TimerWheel.start(Duration.ofMillis(5), 64)) {
+            wheel.schedule(() -> Thread.currentThread().setUncaughtExceptionHandler((t, e) -> {
+                if (e instanceof AssertionError) {
+                    reported.countDown();
+                }
+            }), Duration.ZERO);
+            wheel.schedule(() -> {
+                throw new AssertionError("échec");
+            }, Duration.ofMillis(20));
+            wheel.schedule(after::countDown, Duration.ofMillis(40));
+
+            assertTrue(reported.await(2, TimeUnit.SECONDS));
+            assertTrue(after.await(2, TimeUnit.SECONDS));
+            assertEquals(1, wheel.getFailureCount());
+        }
+    }
+
+    @Test
+    @DisplayName("Le thread de la roue exécute les tâches à l'heure")
+    void testWorkerThread() throws Exception {
+        CountDownLatch done = new CountDownLatch(1);
+        try (TimerWheel wheel = TimerWheel.start(Duration.ofMillis(5), 64)) {
+            long start = System.nanoTime();
+            wheel.schedule(done::countDown, Duration.ofMillis(50));
+            assertTrue(done.await(2, TimeUnit.SECONDS));
+            assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(45));
+        }
+    }
+}
@@ -0,0 +1,195 @@
+package com.cinema.http;
+
+import com.cinema.models.Cinema;
+import com.cinema.models.Room;
+import com.cinema.models.Seance;
+import com.cinema.persistence.ReservationJournal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Tests de l'API HTTP de réservation")
+public class BookingServerTest {
+    private BookingServer server;
+    private Seance seance;
+    private HttpClient client;
+    private String baseUrl;
+
+    @TempDir
+    Path tempDir;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        Cinema cinema = new Cinema("Cinéma Test");
+        Room room = new Room("Salle 1");
+        seance = new Seance("10/12/2025", "20h00", "Test Movie", room);
+        room.addSeance(seance);
+        cinema.addRoom(room);
+        server = new BookingServer(List.of(cinema), 0);
+        server.start();
+        client = HttpClient.newHttpClient();
+        baseUrl = "http://localhost:" + server.getPort();
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop();
+    }
+
+    private HttpResponse<String> get(String path) throws Exception {
+        return client.send(HttpRequest.newBuilder(URI.create(baseUrl + path)).build(),
+                HttpResponse.BodyHandlers.ofString());
+    }
+
+    private HttpResponse<String> post(String path, String form) throws Exception {
+        return client.send(HttpRequest.newBuilder(URI.create(baseUrl + path))
+                        .header("Content-Type", "application/x-www-form-urlencoded")
+                        .POST(HttpRequest.BodyPublishers.ofString(form)).build(),
+                HttpResponse.BodyHandlers.ofString());
+    }
+
+    private HttpResponse<String> delete(String path) throws Exception {
+        return client.send(HttpRequest.newBuilder(URI.create(baseUrl + path)).DELETE().build(),
+                HttpResponse.BodyHandlers.ofString());
+    }
+
+    @Test
+    @DisplayName("La liste des séances et le plan sont servis en JSON")
+    void testListAndSeatMap() throws Exception {
+        HttpResponse<String> list = get("/seances");
+        assertEquals(200, list.statusCode());
+        assertTrue(list.body().contains("\"movie\":\"Test Movie\""));
+        assertTrue(list.body().contains("\"cinema\":\"Cinéma Test\""));
+
+        HttpResponse<String> seats = get("/seances/1/seats");
+        assertEquals(200, seats.statusCode());
+        assertTrue(seats.body().startsWith("{\"rows\":[\"DxXPPPPXDx\""));
+        assertEquals(404, get("/seances/2/seats").statusCode());
+    }
+
+    @Test
+    @DisplayName("Le plan inchangé répond 304 à If-None-Match")
+    void testSeatMapETag() throws Exception {
+        HttpResponse<String> seats = get("/seances/1/seats");
+        String etag = seats.headers().firstValue("ETag").orElseThrow();
+        HttpRequest.Builder revalidate = HttpRequest.newBuilder(URI.create(baseUrl + "/seances/1/seats"))
+                .header("If-None-Match", etag);
+
+        HttpResponse<String> unchanged = client.send(revalidate.build(), HttpResponse.BodyHandlers.ofString());
+        assertEquals(304, unchanged.statusCode());
+        assertEquals("", unchanged.body());
+
+        assertEquals(201, post("/seances/1/reservations", "firstName=Jean&lastName=Dupont&seat=2,0,NORMAL").statusCode());
+        HttpResponse<String> changed = client.send(revalidate.build(), HttpResponse.BodyHandlers.ofString());
+        assertEquals(200, changed.statusCode());
+        assertNotEquals(etag, changed.headers().firstValue("ETag").orElseThrow());
+        assertTrue(changed.body().contains("\"O0X0000X00\""));
+    }
+
+    @Test
+    @DisplayName("Une erreur imprévue répond 500 sans rien réserver")
+    void testUnexpectedErrorIs500() throws Exception {
+        // Un journal fermé refuse d'écrire : la réservation échoue par UncheckedIOException
+        ReservationJournal journal = new ReservationJournal(tempDir.resolve("closed.journal"));
+        journal.watch(seance);
+        journal.close();
+
+        HttpResponse<String> failed = post("/seances/1/reservations", "firstName=Jean&lastName=Dupont&seat=2,0,NORMAL");
+        assertEquals(500, failed.statusCode());
+        assertTrue(failed.body().contains("\"error\""));
+        assertEquals(0, seance.getOccupiedSeatCount());
+        assertEquals(200, get("/seances/1/seats").statusCode());
+    }
+
+    @Test
+    @DisplayName("Réserver puis annuler une réservation")
+    void testReserveAndCancel() throws Exception {
+        HttpResponse<String> created = post("/seances/1/reservations",
+                "firstName=Jean&lastName=Dupont&seat=2,0,NORMAL&seat=2,1,NORMAL");
+        assertEquals(201, created.statusCode());
+        assertEquals(2, seance.getOccupiedSeatCount());
+
+        HttpResponse<String> conflict = post("/seances/1/reservations",
+                "firstName=Marie&lastName=Martin&seat=2,1,NORMAL");
+        assertEquals(409, conflict.statusCode());
+
+        long id = seance.getReservations().get(0).getId();
+        assertEquals(204, delete("/seances/1/reservations/" + id).statusCode());
+        assertEquals(0, seance.getOccupiedSeatCount());
+        assertEquals(404, delete("/seances/1/reservations/" + id).statusCode());
+    }
+
+    @Test
+    @DisplayName("Un nombre de places réserve le meilleur bloc")
+    void testReserveBestBlock() throws Exception {
+        HttpResponse<String> created = post("/seances/1/reservations",
+                "firstName=Jean&lastName=Dupont&count=3&type=NORMAL");
+
+        assertEquals(201, created.statusCode());
+        assertEquals(3, seance.getOccupiedSeatCount());
+        assertEquals(400, post("/seances/1/reservations", "firstName=Jean&lastName=Dupont").statusCode());
+        assertEquals(405, delete("/seances/1/seats").statusCode());
+    }
+
+    @Test
+    @DisplayName("Retenir des places, les transformer en réservation ou les rendre")
+    void testHolds() throws Exception {
+        HttpResponse<String> held = post("/seances/1/holds", "seat=3,0,NORMAL&seat=3,1,NORMAL");
+        assertEquals(201, held.statusCode());
+        assertTrue(held.body().contains("\"seats\":\"[3,0], [3,1]\""));
+        assertTrue(held.body().contains("\"expiresAt\":"));
+        long holdId = idOf(held);
+        assertEquals(holdId, seance.findHoldBySeat(3, 0).getId());
+        assertEquals(409, post("/seances/1/reservations",
+                "firstName=Marie&lastName=Martin&seat=3,1,NORMAL").statusCode());
+
+        HttpResponse<String> promoted = post("/seances/1/holds/" + holdId, "firstName=Jean&lastName=Dupont");
+        assertEquals(201, promoted.statusCode());
+        assertEquals(1, seance.getReservationCount());
+        assertEquals("Jean Dupont", seance.findReservationBySeat(3, 0).getHolder().getFullName());
+        assertEquals(404, post("/seances/1/holds/" + holdId, "firstName=Jean&lastName=Dupont").statusCode());
+
+        long other = idOf(post("/seances/1/holds", "count=2&type=NORMAL"));
+        assertEquals(2, seance.getHeldSeatCount());
+        assertEquals(204, delete("/seances/1/holds/" + other).statusCode());
+        assertEquals(0, seance.getHeldSeatCount());
+        assertEquals(2, seance.getOccupiedSeatCount());
+    }
+
+    @Test
+    @DisplayName("Un groupe en liste d'attente reçoit les places annulées")
+    void testWaitlist() throws Exception {
+        // Toutes les places PMR prises : le groupe attend
+        post("/seances/1/reservations", "firstName=Jean&lastName=Dupont&seat=0,3,PMR&seat=0,4,PMR&seat=0,5,PMR&seat=0,6,PMR");
+        long reservationId = seance.getReservations().get(0).getId();
+        HttpResponse<String> joined = post("/seances/1/waitlist", "firstName=Marie&lastName=Martin&count=2&type=PMR");
+        assertEquals(201, joined.statusCode());
+        long entryId = idOf(joined);
+        assertTrue(get("/seances/1/waitlist/" + entryId).body().contains("\"state\":\"WAITING\""));
+
+        delete("/seances/1/reservations/" + reservationId);
+
+        String status = get("/seances/1/waitlist/" + entryId).body();
+        assertTrue(status.contains("\"state\":\"OFFERED\""), status);
+        long holdId = Long.parseLong(status.replaceAll(".*\"hold\":(\\d+).*", "$1"));
+        assertEquals(201, post("/seances/1/holds/" + holdId, "firstName=Marie&lastName=Martin").statusCode());
+        assertEquals(2, seance.getOccupiedSeatCount());
+        // Offre confirmée : le groupe a quitté la liste
+        assertEquals(404, get("/seances/1/waitlist/" + entryId).statusCode());
+        assertEquals(404, delete("/seances/1/waitlist/" + entryId).statusCode());
+    }
+
+    private static long idOf(HttpResponse<String> response) {
+        String body = response.body();
+        return Long.parseLong(body.substring(body.indexOf("\"id\":") + 5, body.indexOf(',')));
+    }
+}
@@ -0,0 +1,134 @@
+package com.cinema.ids;
+
+import com.cinema.persistence.IdLeaseFile;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.io.TempDir;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Tests de la classe BlockIdAllocator")
+public class BlockIdAllocatorTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    @DisplayName("Un seul thread reçoit des identifiants consécutifs à partir de 1")
+    void testSequentialIds() {
+        BlockIdAllocator allocator = new BlockIdAllocator(0, 4);
+        for (long expected = 1; expected <= 10; expected++) {
+            assertEquals(expected, allocator.nextId());
+        }
+        assertEquals(13, allocator.highWaterMark());
+    }
+
+    @Test
+    @DisplayName("Les identifiants restent uniques sous forte concurrence")
+    void testConcurrentUniqueness() throws Exception {
+        BlockIdAllocator allocator = new BlockIdAllocator(3, 64);
+        int tasks = 256;
+        int perTask = 2_000;
+        List<Future<long[]>> futures = new ArrayList<>();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int t = 0; t < tasks; t++) {
+                futures.add(executor.submit(() -> {
+                    long[] ids = new long[perTask];
+                    for (int i = 0; i < perTask; i++) {
+                        ids[i] = allocator.nextId();
+                    }
+                    return ids;
+                }));
+            }
+        }
+
+        Set<Long> seen = new HashSet<>();
+        for (Future<long[]> future : futures) {
+            for (long id : future.get()) {
+                assertTrue(seen.add(id), "Identifiant distribué deux fois : " + id);
+                assertEquals(3, BlockIdAllocator.nodeOf(id));
+                assertTrue(id < allocator.highWaterMark());
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Deux nœuds distribuent des identifiants disjoints sans se coordonner")
+    void testNodesAreDisjoint() {
+        BlockIdAllocator first = new BlockIdAllocator(1, 16);
+        BlockIdAllocator second = new BlockIdAllocator(2, 16);
+        Set<Long> seen = new HashSet<>();
+        for (int i = 0; i < 1_000; i++) {
+            assertTrue(seen.add(first.nextId()));
+            assertTrue(seen.add(second.nextId()));
+        }
+    }
+
+    @Test
+    @DisplayName("advancePast ne concerne que les identifiants du même nœud")
+    void testAdvancePast() {
+        BlockIdAllocator allocator = new BlockIdAllocator(0, 8);
+        allocator.nextId();
+        allocator.advancePast(100);
+        assertEquals(101, allocator.nextId());
+
+        allocator.advancePast((5L << BlockIdAllocator.SEQUENCE_BITS) | 1_000);
+        assertEquals(102, allocator.nextId());
+    }
+
+    @Test
+    @DisplayName("advancePast ne laisse pas un bloc déjà distribué reprendre un identifiant restauré")
+    void testAdvancePastInsideLiveBlock() {
+        BlockIdAllocator allocator = new BlockIdAllocator();
+        assertEquals(1, allocator.nextId());
+        allocator.advancePast(5);
+        for (int i = 0; i < 2_000; i++) {
+            assertTrue(allocator.nextId() > 5);
+        }
+
+        BlockIdAllocator restored = new BlockIdAllocator(0, 8);
+        restored.nextId();
+        restored.advancePast(3);
+        restored.advancePast(2);
+        Set<Long> ids = new HashSet<>();
+        for (int i = 0; i < 100; i++) {
+            long id = restored.nextId();
+            assertTrue(id > 3);
+            assertTrue(ids.add(id));
+        }
+    }
+
+    @Test
+    @DisplayName("Après redémarrage, la distribution reprend au-dessus du bail enregistré")
+    void testLeaseSurvivesRestart() throws Exception {
+        Path file = tempDir.resolve("cinemas.ids");
+        long last;
+        try (IdLeaseFile lease = new IdLeaseFile(file)) {
+            BlockIdAllocator allocator = new BlockIdAllocator(0, 16, lease);
+            last = 0;
+            for (int i = 0; i < 5_000; i++) {
+                last = allocator.nextId();
+            }
+        }
+        try (IdLeaseFile lease = new IdLeaseFile(file)) {
+            assertTrue(lease.load() > last);
+            BlockIdAllocator restarted = new BlockIdAllocator(0, 16, lease);
+            assertTrue(restarted.nextId() > last);
+        }
+    }
+
+    @Test
+    @DisplayName("Un numéro de nœud hors limites est refusé")
+    void testInvalidNode() {
+        assertThrows(IllegalArgumentException.class, () -> new BlockIdAllocator(-1, 16));
+        assertThrows(IllegalArgumentException.class, () -> new BlockIdAllocator(1 << 16, 16));
+        assertThrows(IllegalArgumentException.class, () -> new BlockIdAllocator(0, 0));
+    }
+}
@@ -0,0 +1,121 @@
+package com.cinema.models;
+
+import com.cinema.enums.SeatType;
+import com.cinema.utils.RoomBuilder;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Tests des compteurs de Cinema, Room et Seance")
+public class CinemaCountersTest {
+
+    private Cinema cinema;
+    private Room room;
+    private Seance seance;
+
+    @BeforeEach
+    void setUp() {
+        cinema = new Cinema("Cinéma Test");
+        room = new Room("Salle Test");
+        seance = new Seance("10/12/2025", "20h00", "Test Movie", room);
+        room.addSeance(seance);
+        cinema.addRoom(room);
+    }
+
+    private Reservation reservationAt(int row, int col) {
+        Person holder = new Person("Jean", "Dupont");
+        holder.assignSeat(row, col);
+        return new Reservation(holder);
+    }
+
+    @Test
+    @DisplayName("Les compteurs suivent réservations et annulations")
+    void testCountersFollowBookings() throws Exception {
+        Reservation reservation = reservationAt(0, 0);
+        seance.reserveGroup(reservation, List.of(SeatType.DOUBLE));
+        seance.reserve(new int[]{2, 0}, SeatType.NORMAL);
+
+        assertEquals(1, cinema.getTotalSeances());
+        assertEquals(1, cinema.getTotalReservations());
+        assertEquals(3, cinema.getTotalOccupiedSeats());
+        assertEquals(3, room.getOccupiedSeatCount());
+        assertEquals(3, seance.getOccupiedSeatCount());
+
+        seance.cancelReservation(reservation);
+
+        assertEquals(0, cinema.getTotalReservations());
+        assertEquals(1, cinema.getTotalOccupiedSeats());
+        assertEquals(0, room.getReservationCount());
+    }
+
+    @Test
+    @DisplayName("Les compteurs suivent l'ajout et la suppression de séances et de salles")
+    void testCountersFollowStructure() throws Exception {
+        seance.reserve(new int[]{2, 0}, SeatType.NORMAL);
+        Seance other = new Seance("11/12/2025", "20h00", "Autre", room);
+        other.reserve(new int[]{2, 1}, SeatType.NORMAL);
+        room.addSeance(other);
+
+        assertEquals(2, cinema.getTotalSeances());
+        assertEquals(2, cinema.getTotalOccupiedSeats());
+
+        room.removeSeance(seance);
+        assertEquals(1, cinema.getTotalSeances());
+        assertEquals(1, cinema.getTotalOccupiedSeats());
+
+        cinema.removeRoom(room);
+        assertEquals(0, cinema.getTotalSeances());
+        assertEquals(0, cinema.getTotalOccupiedSeats());
+
+        cinema.addRoom(room);
+        assertEquals(1, cinema.getTotalSeances());
+        assertEquals(1, cinema.getTotalOccupiedSeats());
+    }
+
+    @Test
+    @DisplayName("Les compteurs restent exacts sous des mises à jour concurrentes")
+    void testCountersExactUnderConcurrency() throws Exception {
+        Room large = new Room("Grande Salle", RoomBuilder.createRectangular(32, 32));
+        cinema.addRoom(large);
+        Seance[] seances = new Seance[4];
+        for (int i = 0; i < seances.length; i++) {
+            seances[i] = new Seance("10/12/2025", "20h00", "Film " + i, large);
+            large.addSeance(seances[i]);
+        }
+
+        ExecutorService pool = Executors.newFixedThreadPool(16);
+        CountDownLatch start = new CountDownLatch(1);
+        for (int t = 0; t < 16; t++) {
+            final Seance target = seances[t % seances.length];
+            final int offset = t / seances.length;
+            pool.submit(() -> {
+                start.await();
+                for (int row = offset; row < 32; row += 4) {
+                    for (int col = 0; col < 32; col++) {
+                        Reservation reservation = reservationAt(row, col);
+                        target.reserveGroup(reservation, List.of(SeatType.NORMAL));
+                        if (col % 2 == 0) {
+                            target.cancelReservation(reservation);
+                        }
+                    }
+                }
+                return null;
+            });
+        }
+        start.countDown();
+        pool.shutdown();
+        assertTrue(pool.awaitTermination(60, TimeUnit.SECONDS));
+
+        int expected = seances.length * 32 * 16;
+        assertEquals(expected, large.getOccupiedSeatCount());
+        assertEquals(expected, large.getReservationCount());
+        assertEquals(expected, cinema.getTotalReservations());
+        assertEquals(expected, cinema.getTotalOccupiedSeats());
+    }
+}
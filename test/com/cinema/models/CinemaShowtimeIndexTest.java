@@ -0,0 +1,70 @@
+package com.cinema.models;
+
+import com.cinema.utils.ShowtimeParser;
+import java.time.LocalDateTime;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Tests de l'index des séances par horaire")
+public class CinemaShowtimeIndexTest {
+
+    @Test
+    @DisplayName("La date et l'heure saisies sont converties en heure de début")
+    void testParse() {
+        assertEquals(LocalDateTime.of(2025, 12, 10, 18, 15), ShowtimeParser.parse("10/12/2025", "18h15"));
+        assertEquals(LocalDateTime.of(2025, 12, 10, 18, 0), ShowtimeParser.parse("10/12/2025", "18h"));
+        assertEquals(LocalDateTime.of(2025, 12, 10, 9, 5), ShowtimeParser.parse("10-12-2025", "09:05"));
+        assertNull(ShowtimeParser.parse("31/02/2025", "18h15"));
+        assertNull(ShowtimeParser.parse("demain", "18h15"));
+        assertNull(ShowtimeParser.parse("10/12/2025", "25h00"));
+    }
+
+    @Test
+    @DisplayName("Les séances sont triées par heure, toutes salles confondues")
+    void testChronologicalOrder() {
+        Cinema cinema = new Cinema("Cinéma Test");
+        Room room1 = new Room("Salle 1");
+        Room room2 = new Room("Salle 2");
+        cinema.addRoom(room1);
+        Seance late = new Seance("10/12/2025", "21h00", "Film C", room1);
+        Seance early = new Seance("10/12/2025", "14h00", "Film A", room2);
+        Seance undated = new Seance("bientôt", "18h00", "Film D", room1);
+        Seance nextDay = new Seance("11/12/2025", "10h00", "Film E", room2);
+        room1.addSeance(late);
+        room1.addSeance(undated);
+        room2.addSeance(early);
+        room2.addSeance(nextDay);
+        cinema.addRoom(room2);
+
+        assertEquals(List.of(early, late, nextDay, undated), cinema.getSeances());
+    }
+
+    @Test
+    @DisplayName("Une requête par intervalle suit les ajouts et suppressions")
+    void testRangeQuery() {
+        Cinema cinema = new Cinema("Cinéma Test");
+        Room room = new Room("Salle 1");
+        cinema.addRoom(room);
+        Seance s17 = new Seance("12/12/2025", "17h30", "Film A", room);
+        Seance s18 = new Seance("12/12/2025", "18h00", "Film B", room);
+        Seance s20 = new Seance("12/12/2025", "20h15", "Film C", room);
+        Seance s22 = new Seance("12/12/2025", "22h00", "Film D", room);
+        room.addSeance(s17);
+        room.addSeance(s18);
+        room.addSeance(s20);
+        room.addSeance(s22);
+
+        LocalDateTime from = LocalDateTime.of(2025, 12, 12, 18, 0);
+        LocalDateTime to = LocalDateTime.of(2025, 12, 12, 22, 0);
+        assertEquals(List.of(s18, s20), cinema.getSeancesBetween(from, to));
+
+        room.removeSeance(s18);
+        assertEquals(List.of(s20), cinema.getSeancesBetween(from, to));
+
+        cinema.removeRoom(room);
+        assertTrue(cinema.getSeancesBetween(from, to).isEmpty());
+        assertTrue(cinema.getSeances().isEmpty());
+    }
+}
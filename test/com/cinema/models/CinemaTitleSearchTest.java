@@ -0,0 +1,70 @@
+package com.cinema.models;
+
+import com.cinema.utils.TitleTokenizer;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Tests de la recherche de séances par titre")
+public class CinemaTitleSearchTest {
+
+    @Test
+    @DisplayName("Les titres sont découpés sans accents, casse ni ligatures")
+    void testTokenize() {
+        assertEquals(List.of("l", "ete", "meurtrier"), TitleTokenizer.tokenize("L'Été meurtrier"));
+        assertEquals(List.of("coeur", "de", "pirate"), TitleTokenizer.tokenize("Cœur de pirate"));
+        assertEquals(List.of("amelie", "2"), TitleTokenizer.tokenize("  AMÉLIE – 2 "));
+    }
+
+    @Test
+    @DisplayName("Recherche par préfixes, insensible aux accents, tenue à jour")
+    void testSearch() {
+        Cinema cinema = new Cinema("Cinéma Test");
+        Room room = new Room("Salle 1");
+        cinema.addRoom(room);
+        Seance amelie = new Seance("10/12/2025", "20h00", "Le Fabuleux Destin d'Amélie Poulain", room);
+        Seance miserables = new Seance("10/12/2025", "18h00", "Les Misérables", room);
+        Seance intouchables = new Seance("11/12/2025", "14h00", "Intouchables", room);
+        room.addSeance(amelie);
+        room.addSeance(miserables);
+        room.addSeance(intouchables);
+
+        assertEquals(List.of(amelie), cinema.searchByTitle("amelie"));
+        assertEquals(List.of(amelie), cinema.searchByTitle("DESTIN amél"));
+        assertEquals(List.of(miserables, amelie), cinema.searchByTitle("le"));
+        assertEquals(List.of(miserables), cinema.searchByTitle("misé"));
+        assertTrue(cinema.searchByTitle("amelie intouch").isEmpty());
+        assertEquals(3, cinema.searchByTitle("").size());
+
+        room.removeSeance(miserables);
+        assertTrue(cinema.searchByTitle("miserables").isEmpty());
+        cinema.removeRoom(room);
+        assertTrue(cinema.searchByTitle("amelie").isEmpty());
+    }
+
+    @Test
+    @DisplayName("La recherche retrouve tous les mots parmi des dizaines de milliers de séances")
+    void testLargeCatalogue() {
+        Cinema cinema = new Cinema("Cinéma Test");
+        String[] words = {"Le", "Retour", "Guerre", "Étoiles", "Mystère", "Château", "Nuit", "Été",
+                "Chronique", "Dernier", "Voyage", "Océan", "Cœur", "Ombre", "Lumière", "Secret"};
+        for (int r = 0; r < 50; r++) {
+            Room room = new Room("Salle " + r);
+            for (int s = 0; s < 800; s++) {
+                int n = r * 800 + s;
+                String title = words[n % 16] + " " + words[(n / 16) % 16] + " " + words[(n / 256) % 16] + " " + n % 97;
+                room.addSeance(new Seance((1 + s % 28) + "/12/2025", (10 + s % 12) + "h00", title, room));
+            }
+            cinema.addRoom(room);
+        }
+
+        List<Seance> result = cinema.searchByTitle("chat nuit ocea");
+
+        assertFalse(result.isEmpty());
+        for (Seance seance : result) {
+            String title = String.join(" ", TitleTokenizer.tokenize(seance.getMovie()));
+            assertTrue(title.contains("chateau") && title.contains("nuit") && title.contains("ocean"));
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.cinema.models;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import java.util.ArrayList;
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Tests de la représentation compacte des sièges et des personnes")
+public class ReservationSeatsTest {
+
+    private Reservation group() {
+        Person holder = new Person("Jean", "Valjean");
+        holder.assignSeat(2, 7);
+        Reservation reservation = new Reservation(holder);
+        reservation.addPersonToReservation(new Person("Cosette", "Fauchelevent"), new int[]{2, 8});
+        reservation.addPersonToReservation(new Person("Marius", "Pontmercy"), new int[]{300, 1_000});
+        return reservation;
+    }
+
+    @Test
+    @DisplayName("Les sièges encodés se relisent à l'identique, titulaire en premier")
+    void testPackedSeats() {
+        Reservation reservation = group();
+
+        int[] packed = reservation.getPackedSeats();
+        assertEquals(3, packed.length);
+        assertEquals(2, Person.rowOf(packed[0]));
+        assertEquals(7, Person.columnOf(packed[0]));
+        assertEquals(300, Person.rowOf(packed[2]));
+        assertEquals(1_000, Person.columnOf(packed[2]));
+        assertArrayEquals(new int[]{2, 8}, reservation.getSeats().get(1));
+        assertEquals("[2,7], [2,8], [300,1000]", reservation.getSeatString());
+    }
+
+    @Test
+    @DisplayName("getSeat renvoie une copie et les personnes sans siège sont ignorées")
+    void testSeatCopiesAndUnseated() {
+        Reservation reservation = group();
+        Person holder = reservation.getHolder();
+        holder.getSeat()[0] = 99;
+        assertArrayEquals(new int[]{2, 7}, holder.getSeat());
+
+        reservation.getPerson(1).clearSeat();
+        assertNull(reservation.getPerson(1).getSeat());
+        assertEquals(2, reservation.getSeats().size());
+        assertEquals("[2,7], [300,1000]", reservation.getSeatString());
+    }
+
+    @Test
+    @DisplayName("Les noms identiques partagent la même chaîne")
+    void testNamesInterned() {
+        Person first = new Person(new String("Jean"), new String(" Dupont "));
+        Person second = new Person(new String("Jean"), new String("Dupont"));
+        assertSame(first.getFirstName(), second.getFirstName());
+        assertSame(first.getLastName(), second.getLastName());
+    }
+
+    @Test
+    @DisplayName("Les vues de la réservation sont des copies")
+    void testViewsAreCopies() {
+        Reservation reservation = group();
+        ArrayList<Person> others = reservation.getOthers();
+        others.clear();
+        assertEquals(3, reservation.getTotalPeople());
+        assertEquals("Marius Pontmercy", reservation.getPerson(2).getFullName());
+        assertThrows(IllegalArgumentException.class, () -> reservation.getPerson(3));
+    }
+
+    @Test
+    @DisplayName("Un siège hors des limites encodables est refusé")
+    void testPackOutOfRange() {
+        Person person = new Person("Jean", "Dupont");
+        assertThrows(IllegalArgumentException.class, () -> person.assignSeat(40_000, 0));
+        assertThrows(IllegalArgumentException.class, () -> person.assignSeat(0, -40_000));
+        person.assignSeat(-1, -1);
+        assertArrayEquals(new int[]{-1, -1}, person.getSeat());
+    }
+}
@@ -0,0 +1,97 @@
+package com.cinema.models;
+
+import com.cinema.enums.SeatType;
+import com.cinema.utils.RoomBuilder;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Tests de la recherche du meilleur bloc de places")
+public class SeanceBestBlockTest {
+
+    private static Seance seance(char[][] layout) {
+        return new Seance("10/12/2025", "20h00", "Test Movie", new Room("Salle Test", layout));
+    }
+
+    @Test
+    @DisplayName("Le bloc le plus centré est choisi, sans traverser d'allée")
+    void testCentredBlockRespectsAisles() {
+        Seance seance = seance(new char[][]{
+                {'0', '0', '0', 'X', '0', '0', '0', '0'},
+                {'0', '0', '0', 'X', '0', '0', '0', '0'},
+                {'0', '0', '0', 'X', '0', '0', '0', '0'}
+        });
+
+        ArrayList<int[]> block = seance.findBestBlock(3, SeatType.NORMAL);
+
+        assertEquals(3, block.size());
+        assertArrayEquals(new int[]{1, 4}, block.get(0));
+        assertArrayEquals(new int[]{1, 6}, block.get(2));
+        assertTrue(seance.findBestBlock(5, SeatType.NORMAL).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Les places prises sont évitées et le résumé suit les annulations")
+    void testFollowsOccupancy() throws Exception {
+        Seance seance = seance(new char[][]{
+                {'0', '0', '0', '0', '0'},
+                {'0', '0', '0', '0', '0'},
+                {'0', '0', '0', '0', '0'}
+        });
+        assertEquals(1, seance.findBestBlock(4, SeatType.NORMAL).get(0)[0]);
+
+        seance.reserve(new int[]{1, 2}, SeatType.NORMAL);
+        ArrayList<int[]> block = seance.findBestBlock(4, SeatType.NORMAL);
+        assertNotEquals(1, block.get(0)[0]);
+
+        seance.cancel(new int[]{1, 2}, SeatType.NORMAL);
+        assertEquals(1, seance.findBestBlock(4, SeatType.NORMAL).get(0)[0]);
+    }
+
+    @Test
+    @DisplayName("Places PMR et doubles ne se mélangent pas aux sièges normaux")
+    void testSeatTypes() throws Exception {
+        Room room = new Room("Salle Test");
+        Seance seance = new Seance("10/12/2025", "20h00", "Test Movie", room);
+
+        ArrayList<int[]> pmr = seance.findBestBlock(4, SeatType.PMR);
+        assertEquals(4, pmr.size());
+        assertArrayEquals(new int[]{0, 3}, pmr.get(0));
+        assertTrue(seance.findBestBlock(5, SeatType.PMR).isEmpty());
+
+        ArrayList<int[]> doubles = seance.findBestBlock(2, SeatType.DOUBLE);
+        assertArrayEquals(new int[]{1, 3}, doubles.get(0));
+        assertArrayEquals(new int[]{1, 5}, doubles.get(1));
+
+        Reservation reservation = new Reservation(new Person("Jean", "Dupont"));
+        reservation.getHolder().assignSeat(doubles.get(0)[0], doubles.get(0)[1]);
+        reservation.addPersonToReservation(new Person("Marie", "Martin"), doubles.get(1));
+        seance.reserveGroup(reservation, List.of(SeatType.DOUBLE, SeatType.DOUBLE));
+        assertTrue(seance.findBestBlock(2, SeatType.DOUBLE).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Sur une grande salle en arc, le bloc évite les rangées entamées")
+    void testLargeArchedRoom() throws Exception {
+        char[][] layout = RoomBuilder.createArched(120, 160);
+        Seance seance = seance(layout);
+        for (int row = 0; row < layout.length; row += 2) {
+            for (int col = 0; col < layout[row].length; col += 3) {
+                if (layout[row][col] == '0') {
+                    seance.reserve(new int[]{row, col}, SeatType.NORMAL);
+                }
+            }
+        }
+
+        ArrayList<int[]> block = seance.findBestBlock(6, SeatType.NORMAL);
+
+        assertEquals(6, block.size());
+        int row = block.get(0)[0];
+        assertEquals(1, row % 2);
+        for (int[] seat : block) {
+            assertEquals('0', layout[seat[0]][seat[1]]);
+        }
+    }
+}
@@ -0,0 +1,252 @@
+package com.cinema.models;
+
+import com.cinema.enums.SeatType;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Tests de concurrence de la classe Seance")
+public class SeanceConcurrencyTest {
+
+    private static final int THREADS = 64;
+    private static final int ROWS = 40;
+    private static final int COLS = 40;
+
+    /**
+     * Salle 40x40 : la première rangée en places doubles (dont une paire à cheval
+     * sur deux mots du bitset), la deuxième en PMR, le reste en places normales.
+     */
+    private Room createRoom() {
+        char[][] layout = new char[ROWS][COLS];
+        for (int row = 0; row < ROWS; row++) {
+            for (int col = 0; col < COLS; col++) {
+                if (row == 0) {
+                    layout[row][col] = col % 2 == 0 ? 'D' : 'x';
+                } else if (row == 1) {
+                    layout[row][col] = col == 23 ? 'D' : col == 24 ? 'x' : 'P';
+                } else {
+                    layout[row][col] = '0';
+                }
+            }
+        }
+        return new Room("Avant-première", layout);
+    }
+
+    private List<int[]> allClaims(Room room) {
+        char[][] layout = room.getRoomSeatMap();
+        List<int[]> claims = new ArrayList<>();
+        for (int row = 0; row < ROWS; row++) {
+            for (int col = 0; col < COLS; col++) {
+                char cell = layout[row][col];
+                if (cell == 'D') {
+                    claims.add(new int[]{row, col, SeatType.DOUBLE.ordinal()});
+                } else if (cell == 'P') {
+                    claims.add(new int[]{row, col, SeatType.PMR.ordinal()});
+                } else if (cell == '0') {
+                    claims.add(new int[]{row, col, SeatType.NORMAL.ordinal()});
+                }
+            }
+        }
+        return claims;
+    }
+
+    @Test
+    @DisplayName("64 threads ne réservent jamais deux fois le même siège")
+    void testNoDoubleBooking() throws Exception {
+        Room room = createRoom();
+        Seance seance = new Seance("10/12/2025", "20h00", "Première", room);
+        List<int[]> claims = allClaims(room);
+        AtomicIntegerArray winners = new AtomicIntegerArray(claims.size());
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+
+        for (int t = 0; t < THREADS; t++) {
+            final long seed = t;
+            pool.submit(() -> {
+                List<Integer> order = new ArrayList<>();
+                for (int i = 0; i < claims.size(); i++) {
+                    order.add(i);
+                }
+                Collections.shuffle(order, new Random(seed));
+                start.await();
+                for (int i : order) {
+                    int[] claim = claims.get(i);
+                    try {
+                        seance.reserve(new int[]{claim[0], claim[1]}, SeatType.values()[claim[2]]);
+                        winners.incrementAndGet(i);
+                        Person holder = new Person("Client", String.valueOf(i));
+                        holder.assignSeat(claim[0], claim[1]);
+                        seance.addReservation(new Reservation(holder));
+                    } catch (Seance.SeatReservationException e) {
+                        // siège déjà pris par un autre thread
+                    }
+                }
+                return null;
+            });
+        }
+
+        start.countDown();
+        pool.shutdown();
+        assertTrue(pool.awaitTermination(60, TimeUnit.SECONDS));
+
+        for (int i = 0; i < claims.size(); i++) {
+            assertEquals(1, winners.get(i), "Siège réservé " + winners.get(i) + " fois");
+        }
+        assertEquals(claims.size(), seance.getReservationCount());
+        assertEquals(0, seance.getFreeSeatCount());
+    }
+
+    @Test
+    @DisplayName("Réservations et annulations concurrentes restent cohérentes")
+    void testConcurrentReserveAndCancel() throws Exception {
+        Room room = createRoom();
+        Seance seance = new Seance("10/12/2025", "20h00", "Première", room);
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+
+        for (int t = 0; t < THREADS; t++) {
+            final int col = t % COLS;
+            final boolean pair = t % 2 == 0;
+            pool.submit(() -> {
+                start.await();
+                int[] seat = pair ? new int[]{0, col - col % 2} : new int[]{5, col};
+                SeatType type = pair ? SeatType.DOUBLE : SeatType.NORMAL;
+                for (int i = 0; i < 2_000; i++) {
+                    try {
+                        seance.reserve(seat, type);
+                        seance.cancel(seat, type);
+                    } catch (Seance.SeatReservationException | Seance.SeatCancellationException e) {
+                        // un autre thread tient le siège
+                    }
+                }
+                return null;
+            });
+        }
+
+        start.countDown();
+        pool.shutdown();
+        assertTrue(pool.awaitTermination(60, TimeUnit.SECONDS));
+
+        assertEquals(0, seance.getOccupiedSeatCount());
+        assertEquals('D', seance.getSeatMap()[0][0]);
+        assertEquals('x', seance.getSeatMap()[0][1]);
+    }
+
+    @Test
+    @DisplayName("Le thread qui a pris un siège peut toujours le libérer")
+    void testWinnerCanAlwaysCancel() throws Exception {
+        Room room = createRoom();
+        Seance seance = new Seance("10/12/2025", "20h00", "Première", room);
+        AtomicInteger refused = new AtomicInteger();
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+
+        for (int t = 0; t < THREADS; t++) {
+            pool.submit(() -> {
+                start.await();
+                int[] seat = {5, 5};
+                for (int i = 0; i < 20_000; i++) {
+                    try {
+                        seance.reserve(seat, SeatType.NORMAL);
+                    } catch (Seance.SeatReservationException e) {
+                        continue;
+                    }
+                    try {
+                        seance.cancel(seat, SeatType.NORMAL);
+                    } catch (Seance.SeatCancellationException e) {
+                        refused.incrementAndGet();
+                    }
+                }
+                return null;
+            });
+        }
+
+        start.countDown();
+        pool.shutdown();
+        assertTrue(pool.awaitTermination(60, TimeUnit.SECONDS));
+
+        assertEquals(0, refused.get());
+        assertEquals(0, seance.getOccupiedSeatCount());
+    }
+
+    @Test
+    @DisplayName("reserveGroup ne laisse aucun siège pris en cas de conflit")
+    void testReserveGroupRollsBack() throws Exception {
+        Room room = createRoom();
+        Seance seance = new Seance("10/12/2025", "20h00", "Première", room);
+        seance.reserve(new int[]{5, 3}, SeatType.NORMAL);
+
+        Person holder = new Person("Jean", "Dupont");
+        holder.assignSeat(0, 0);
+        Reservation reservation = new Reservation(holder);
+        reservation.addPersonToReservation(new Person("Marie", "Dupont"), new int[]{5, 2});
+        reservation.addPersonToReservation(new Person("Paul", "Dupont"), new int[]{5, 3});
+
+        assertThrows(Seance.SeatReservationException.class, () -> seance.reserveGroup(reservation,
+                List.of(SeatType.DOUBLE, SeatType.NORMAL, SeatType.NORMAL)));
+
+        assertEquals(1, seance.getOccupiedSeatCount());
+        assertEquals(0, seance.getReservationCount());
+        assertEquals('D', seance.getSeatMap()[0][0]);
+        assertEquals('0', seance.getSeatMap()[5][2]);
+    }
+
+    @Test
+    @DisplayName("Des groupes concurrents qui se chevauchent sont réservés tout ou rien")
+    void testConcurrentGroupsAllOrNothing() throws Exception {
+        Room room = createRoom();
+        Seance seance = new Seance("10/12/2025", "20h00", "Première", room);
+        AtomicIntegerArray owners = new AtomicIntegerArray(ROWS * COLS);
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+
+        for (int t = 0; t < THREADS; t++) {
+            final int thread = t;
+            pool.submit(() -> {
+                Random random = new Random(thread);
+                start.await();
+                for (int i = 0; i < 200; i++) {
+                    int row = 2 + random.nextInt(ROWS - 2);
+                    int col = random.nextInt(COLS - 3);
+                    Person holder = new Person("Client", String.valueOf(thread));
+                    holder.assignSeat(row, col);
+                    Reservation reservation = new Reservation(holder);
+                    reservation.addPersonToReservation(new Person("Invité", "1"), new int[]{row, col + 1});
+                    reservation.addPersonToReservation(new Person("Invité", "2"), new int[]{row, col + 2});
+                    try {
+                        seance.reserveGroup(reservation,
+                                List.of(SeatType.NORMAL, SeatType.NORMAL, SeatType.NORMAL));
+                        for (int[] seat : reservation.getSeats()) {
+                            owners.incrementAndGet(seat[0] * COLS + seat[1]);
+                        }
+                    } catch (Seance.SeatReservationException e) {
+                        // groupe en conflit : rien ne doit rester réservé
+                    }
+                }
+                return null;
+            });
+        }
+
+        start.countDown();
+        pool.shutdown();
+        assertTrue(pool.awaitTermination(60, TimeUnit.SECONDS));
+
+        int owned = 0;
+        for (int i = 0; i < owners.length(); i++) {
+            assertTrue(owners.get(i) <= 1);
+            owned += owners.get(i);
+        }
+        assertEquals(owned, seance.getOccupiedSeatCount());
+        assertEquals(owned, seance.getReservationCount() * 3);
+    }
+}
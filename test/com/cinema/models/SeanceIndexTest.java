@@ -0,0 +1,74 @@
+package com.cinema.models;
+
+import com.cinema.enums.SeatType;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import java.util.List;
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Tests des index de réservation de Seance")
+public class SeanceIndexTest {
+
+    private Seance seance;
+    private Reservation reservation;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        seance = new Seance("10/12/2025", "20h00", "Test Movie", new Room("Salle Test"));
+        Person holder = new Person("Jean", "Dupont");
+        holder.assignSeat(2, 0);
+        reservation = new Reservation(holder);
+        reservation.addPersonToReservation(new Person("Marie", "Dupont"), new int[]{0, 3});
+        seance.reserveGroup(reservation, List.of(SeatType.NORMAL, SeatType.PMR));
+    }
+
+    @Test
+    @DisplayName("findReservationBySeat retrouve la réservation de chaque siège")
+    void testFindBySeat() {
+        assertSame(reservation, seance.findReservationBySeat(2, 0));
+        assertSame(reservation, seance.findReservationBySeat(0, 3));
+        assertNull(seance.findReservationBySeat(2, 1));
+        assertNull(seance.findReservationBySeat(-1, 0));
+        assertNull(seance.findReservationBySeat(9, 9));
+    }
+
+    @Test
+    @DisplayName("findReservationById retrouve la réservation par identifiant")
+    void testFindById() {
+        assertSame(reservation, seance.findReservationById(reservation.getId()));
+        assertNull(seance.findReservationById(-1));
+    }
+
+    @Test
+    @DisplayName("cancel refuse les sièges d'une réservation, cancelReservation les libère")
+    void testIndexesUpdatedOnCancel() throws Exception {
+        assertThrows(Seance.SeatCancellationException.class, () -> seance.cancel(new int[]{0, 3}, SeatType.PMR));
+        assertSame(reservation, seance.findReservationBySeat(0, 3));
+        assertTrue(seance.isSeatReserved(0, 3));
+
+        seance.reserve(new int[]{2, 1}, SeatType.NORMAL);
+        seance.cancel(new int[]{2, 1}, SeatType.NORMAL);
+        seance.cancelReservation(reservation);
+
+        assertNull(seance.findReservationBySeat(2, 0));
+        assertNull(seance.findReservationBySeat(0, 3));
+        assertNull(seance.findReservationById(reservation.getId()));
+        assertEquals(0, seance.getReservationCount());
+        assertEquals(0, seance.getOccupiedSeatCount());
+    }
+
+    @Test
+    @DisplayName("Une réservation ne libère que ses propres sièges")
+    void testCancelReservationChecksOwner() throws Exception {
+        seance.removeReservation(reservation);
+        Person holder = new Person("Paul", "Martin");
+        holder.assignSeat(2, 0);
+        Reservation other = new Reservation(holder);
+        seance.addReservation(other);
+
+        assertThrows(Seance.SeatCancellationException.class, () -> seance.cancelReservation(reservation));
+        assertTrue(seance.isSeatReserved(0, 3), "Rien n'est libéré si un siège n'est pas à elle");
+        assertSame(other, seance.findReservationBySeat(2, 0));
+    }
+}
@@ -0,0 +1,82 @@
+package com.cinema.models;
+
+import com.cinema.enums.SeatType;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Tests de la classe SeatCatalogue")
+public class SeatCatalogueTest {
+
+    private final SeatCatalogue catalogue = SeatCatalogue.compile(new char[][]{
+            {'D', 'x', 'X', 'P', 'P', 'X', '0'},
+            {'0', '0', '0', 'X', 'D', 'x'},
+            {'0', 'D', '0'}
+    });
+
+    @Test
+    @DisplayName("Chaque siège a son type, sa rangée et sa colonne")
+    void testTypes() {
+        assertEquals(SeatType.DOUBLE, catalogue.typeOf(catalogue.indexOf(0, 0)));
+        assertNull(catalogue.typeOf(catalogue.indexOf(0, 1)));
+        assertTrue(catalogue.isAisle(catalogue.indexOf(0, 2)));
+        assertEquals(SeatType.PMR, catalogue.typeOf(catalogue.indexOf(0, 3)));
+        assertEquals(SeatType.NORMAL, catalogue.typeOf(catalogue.indexOf(1, 0)));
+
+        int seat = catalogue.indexOf(1, 4);
+        assertEquals(1, catalogue.rowOf(seat));
+        assertEquals(4, catalogue.columnOf(seat));
+        assertTrue(catalogue.accepts(seat, SeatType.DOUBLE));
+        assertFalse(catalogue.accepts(seat, SeatType.NORMAL));
+    }
+
+    @Test
+    @DisplayName("Les deux moitiés d'une place double sont partenaires")
+    void testPartners() {
+        assertEquals(catalogue.indexOf(0, 1), catalogue.partnerOf(catalogue.indexOf(0, 0)));
+        assertEquals(catalogue.indexOf(0, 0), catalogue.partnerOf(catalogue.indexOf(0, 1)));
+        assertEquals(-1, catalogue.partnerOf(catalogue.indexOf(0, 3)));
+        // 'D' sans sa moitié 'x' n'est pas une place double
+        assertNull(catalogue.typeOf(catalogue.indexOf(2, 1)));
+        assertEquals(-1, catalogue.partnerOf(catalogue.indexOf(2, 1)));
+    }
+
+    @Test
+    @DisplayName("Les sièges en bout de rangée ou bordés d'une allée sont repérés")
+    void testAisleAdjacency() {
+        assertTrue(catalogue.hasAisleRight(catalogue.indexOf(0, 1)));
+        assertTrue(catalogue.hasAisleLeft(catalogue.indexOf(0, 3)));
+        assertFalse(catalogue.isNextToAisle(catalogue.indexOf(1, 1)));
+        assertTrue(catalogue.hasAisleLeft(catalogue.indexOf(1, 0)));
+        // La rangée courte est complétée par des allées
+        assertTrue(catalogue.hasAisleRight(catalogue.indexOf(1, 5)));
+        assertTrue(catalogue.isAisle(catalogue.indexOf(2, 5)));
+    }
+
+    @Test
+    @DisplayName("La validation repère les places doubles incomplètes et les codes inconnus")
+    void testValidation() {
+        assertFalse(catalogue.hasCompleteDoubles());
+        assertTrue(SeatCatalogue.compile(new char[][]{{'D', 'x', '0'}}).isValid());
+        assertFalse(SeatCatalogue.compile(new char[][]{{'0', '?'}}).isValid());
+        assertTrue(SeatCatalogue.compile(new char[][]{{'0', '?'}}).hasCompleteDoubles());
+
+        Room room = new Room("Salle", new char[][]{{'D', '0'}, {'0', '0'}});
+        assertFalse(room.validateLayout());
+        room.setSeatType(0, 1, 'x');
+        assertTrue(room.validateLayout());
+    }
+
+    @Test
+    @DisplayName("Annuler avec un type que le plan ne propose pas est refusé")
+    void testCancelWithWrongType() throws Exception {
+        Room room = new Room("Salle");
+        Seance seance = new Seance("10/12/2025", "20h00", "Film", room);
+        seance.reserve(new int[]{0, 0}, SeatType.DOUBLE);
+
+        assertThrows(Seance.SeatCancellationException.class,
+                () -> seance.cancel(new int[]{0, 0}, SeatType.NORMAL));
+        seance.cancel(new int[]{0, 0}, SeatType.DOUBLE);
+        assertEquals(0, seance.getOccupiedSeatCount());
+    }
+}
@@ -0,0 +1,67 @@
+package com.cinema.models;
+
+import com.cinema.enums.SeatType;
+import com.cinema.utils.RoomBuilder;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Tests de la classe SeatLayout")
+public class SeatLayoutTest {
+
+    @Test
+    @DisplayName("Les salles construites avec le même préréglage partagent un seul plan")
+    void testPresetsAreShared() {
+        Room first = new Room("Salle 1", RoomBuilder.createArched(12, 20));
+        Room second = new Room("Salle 2", RoomBuilder.createArched(12, 20));
+        Room other = new Room("Salle 3", RoomBuilder.createArched(12, 22));
+
+        assertSame(first.getLayout(), second.getLayout());
+        assertNotSame(first.getLayout(), other.getLayout());
+        assertSame(new Room("A").getLayout(), new Room("B").getLayout());
+    }
+
+    @Test
+    @DisplayName("Le plan d'origine n'est pas affecté par le tableau source ni par les copies")
+    void testImmutable() {
+        char[][] source = RoomBuilder.createRectangular(3, 4);
+        SeatLayout layout = SeatLayout.of(source);
+        source[0][0] = 'X';
+        layout.toArray()[1][1] = 'X';
+        layout.copyRow(2)[2] = 'X';
+
+        assertEquals('0', layout.charAt(0, 0));
+        assertEquals('0', layout.charAt(1, 1));
+        assertEquals('0', layout.charAt(2, 2));
+    }
+
+    @Test
+    @DisplayName("Modifier une salle lui donne un nouveau plan sans toucher les autres ni ses séances")
+    void testCopyOnWrite() throws Exception {
+        Room first = new Room("Salle 1", RoomBuilder.createRectangular(3, 4));
+        Room second = new Room("Salle 2", RoomBuilder.createRectangular(3, 4));
+        Seance seance = new Seance("10/12/2025", "20h00", "Film", first);
+        first.addSeance(seance);
+
+        first.setSeatType(0, 0, 'P');
+
+        assertEquals('P', first.getLayout().charAt(0, 0));
+        assertEquals('0', second.getLayout().charAt(0, 0));
+        assertEquals('0', seance.getSeatMap()[0][0]);
+        seance.reserve(new int[]{0, 0}, SeatType.NORMAL);
+        seance.cancel(new int[]{0, 0}, SeatType.NORMAL);
+
+        second.setSeatType(0, 0, 'P');
+        assertSame(first.getLayout(), second.getLayout());
+    }
+
+    @Test
+    @DisplayName("Une case au-delà d'une rangée courte se lit comme une allée")
+    void testRaggedRows() {
+        SeatLayout layout = SeatLayout.of(new char[][]{{'0', '0', '0'}, {'0'}});
+        assertEquals('X', layout.charAt(1, 2));
+        assertEquals(1, layout.getRowWidth(1));
+        assertEquals(4, layout.getSeatCount());
+        assertThrows(IllegalArgumentException.class, () -> SeatLayout.of(new char[][]{null}));
+    }
+}
@@ -0,0 +1,94 @@
+package com.cinema.models;
+
+import com.cinema.enums.SeatType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Tests de l'affichage du plan de séance")
+public class SeatMapRendererTest {
+
+    private Seance seance;
+
+    @BeforeEach
+    void setUp() {
+        seance = new Seance("10/12/2025", "20h00", "Test Movie", new Room("Salle Test"));
+    }
+
+    @Test
+    @DisplayName("Le rendu en clair reprend le format d'affichage habituel")
+    void testPlainFormat() throws Exception {
+        seance.reserve(new int[]{2, 0}, SeatType.NORMAL);
+        String text = new SeatMapRenderer(seance, false).render();
+
+        assertTrue(text.startsWith("\n=== Séance: Test Movie - 10/12/2025 20h00 ===\nSalle: Salle Test\n\n"
+                + "    0 1 2 3 4 5 6 7 8 9 \n"
+                + "0 - D x X P P P P X D x \n"
+                + "1 - D x X D x D x X D x \n"
+                + "2 - O 0 X 0 0 0 0 X 0 0 \n"));
+        assertTrue(text.contains("\nLégende:\n  0 = Libre\n"));
+        assertTrue(text.endsWith("  x = Continuation place double\n\nRéservations actives: 0\n"));
+    }
+
+    @Test
+    @DisplayName("Seules les rangées modifiées sont rendues de nouveau")
+    void testRowCache() throws Exception {
+        SeatMapRenderer renderer = new SeatMapRenderer(seance, false);
+        renderer.render();
+        assertEquals(5, renderer.getRenderedRowCount());
+        renderer.render();
+        assertEquals(5, renderer.getRenderedRowCount());
+
+        seance.reserve(new int[]{3, 4}, SeatType.NORMAL);
+        String text = renderer.render();
+        assertEquals(6, renderer.getRenderedRowCount());
+        assertTrue(text.contains("3 - 0 0 X 0 O 0 0 X 0 0 \n"));
+
+        seance.cancel(new int[]{3, 4}, SeatType.NORMAL);
+        seance.reserve(new int[]{1, 3}, SeatType.DOUBLE);
+        text = renderer.render();
+        assertEquals(8, renderer.getRenderedRowCount());
+        assertTrue(text.contains("1 - D x X O O D x X D x \n"));
+    }
+
+    @Test
+    @DisplayName("Le rendu ANSI colore les sièges sans changer le texte")
+    void testAnsi() throws Exception {
+        seance.reserve(new int[]{4, 8}, SeatType.NORMAL);
+        String plain = new SeatMapRenderer(seance, false).render();
+        String colored = new SeatMapRenderer(seance, true).render();
+
+        assertTrue(colored.contains("\033[31mO"));
+        assertEquals(plain, colored.replaceAll("\033\\[[0-9;]*m", ""));
+    }
+
+    @Test
+    @DisplayName("Le plan est écrit en une seule fois")
+    void testSingleWrite() {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        int[] writes = {0};
+        OutputStream counting = new OutputStream() {
+            @Override
+            public void write(int b) {
+                writes[0]++;
+                bytes.write(b);
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) {
+                writes[0]++;
+                bytes.write(b, off, len);
+            }
+        };
+        SeatMapRenderer renderer = new SeatMapRenderer(seance, false);
+        renderer.print(new PrintStream(counting, false, StandardCharsets.UTF_8));
+
+        assertEquals(1, writes[0]);
+        assertEquals(renderer.render(), bytes.toString(StandardCharsets.UTF_8));
+    }
+}
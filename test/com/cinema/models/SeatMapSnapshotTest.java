@@ -0,0 +1,103 @@
+package com.cinema.models;
+
+import com.cinema.enums.SeatType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Tests des instantanés du plan de séance")
+public class SeatMapSnapshotTest {
+
+    private Seance seance;
+
+    @BeforeEach
+    void setUp() {
+        // Rangée 0 : DxXPPPPXDx, rangée 1 : DxXDxDxXDx, rangées 2 à 4 : 00X0000X00
+        seance = new Seance("10/12/2025", "20h00", "Test Movie", new Room("Salle Test"));
+    }
+
+    @Test
+    @DisplayName("Sans changement, le même instantané est rendu")
+    void testUnchangedIsReused() throws Exception {
+        SeatMapSnapshot first = seance.getSeatMapSnapshot();
+        assertSame(first, seance.getSeatMapSnapshot());
+        assertEquals(0, first.getVersion());
+
+        seance.reserve(new int[]{2, 0}, SeatType.NORMAL);
+        SeatMapSnapshot second = seance.getSeatMapSnapshot();
+        assertNotSame(first, second);
+        assertEquals(1, second.getVersion());
+        assertEquals(seance.getSeatMapVersion(), second.getVersion());
+        assertEquals("O0X0000X00", second.getRow(2));
+        assertEquals("00X0000X00", first.getRow(2), "Un instantané ne change plus");
+    }
+
+    @Test
+    @DisplayName("Les rangées inchangées sont partagées entre instantanés")
+    void testRowsAreShared() throws Exception {
+        SeatMapSnapshot before = seance.getSeatMapSnapshot();
+        seance.reserve(new int[]{3, 3}, SeatType.NORMAL);
+        SeatMapSnapshot after = seance.getSeatMapSnapshot();
+
+        for (int row = 0; row < after.getRowCount(); row++) {
+            if (row == 3) {
+                assertNotSame(before.getRow(row), after.getRow(row));
+                assertNotEquals(before.getRowVersion(row), after.getRowVersion(row));
+            } else {
+                assertSame(before.getRow(row), after.getRow(row));
+                assertEquals(before.getRowVersion(row), after.getRowVersion(row));
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Chaque prise ou libération change la version")
+    void testVersionBumps() throws Exception {
+        seance.reserve(new int[]{1, 0}, SeatType.DOUBLE);
+        assertEquals(1, seance.getSeatMapVersion());
+        assertEquals("OOXDxDxXDx", seance.getSeatMapSnapshot().getRow(1));
+        seance.cancel(new int[]{1, 0}, SeatType.DOUBLE);
+        assertEquals(2, seance.getSeatMapVersion());
+        assertThrows(Seance.SeatCancellationException.class, () -> seance.cancel(new int[]{1, 0}, SeatType.DOUBLE));
+        assertEquals(2, seance.getSeatMapVersion(), "Un échec ne change rien");
+    }
+
+    @Test
+    @DisplayName("getSeatMap retourne une copie")
+    void testSeatMapIsCopy() throws Exception {
+        char[][] seatMap = seance.getSeatMap();
+        seatMap[2][0] = 'O';
+        assertFalse(seance.getSeatMapSnapshot().isOccupied(2, 0));
+        assertEquals('0', seance.getSeatMap()[2][0]);
+    }
+
+    @Test
+    @DisplayName("Une place double n'est jamais vue à moitié prise")
+    void testDoublesAreNeverTorn() throws Exception {
+        int[] doubles = {0, 3, 5, 8};
+        AtomicBoolean running = new AtomicBoolean(true);
+        AtomicReference<String> torn = new AtomicReference<>();
+        Thread reader = new Thread(() -> {
+            while (running.get()) {
+                SeatMapSnapshot snapshot = seance.getSeatMapSnapshot();
+                for (int col : doubles) {
+                    if (snapshot.isOccupied(1, col) != snapshot.isOccupied(1, col + 1)) {
+                        torn.set(snapshot.getRow(1));
+                    }
+                }
+            }
+        });
+        reader.start();
+        for (int i = 0; i < 20_000; i++) {
+            int col = doubles[i % doubles.length];
+            seance.reserve(new int[]{1, col}, SeatType.DOUBLE);
+            seance.cancel(new int[]{1, col}, SeatType.DOUBLE);
+        }
+        running.set(false);
+        reader.join();
+        assertNull(torn.get());
+    }
+}
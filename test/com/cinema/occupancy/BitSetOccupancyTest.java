@@ -0,0 +1,70 @@
+package com.cinema.occupancy;
+
+import com.cinema.enums.SeatType;
+import com.cinema.models.Room;
+import com.cinema.models.Seance;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Tests de la classe BitSetOccupancy")
+public class BitSetOccupancyTest {
+
+    @Test
+    @DisplayName("occupy et release basculent un siège une seule fois")
+    void testOccupyRelease() {
+        BitSetOccupancy occupancy = new BitSetOccupancy(130);
+
+        assertTrue(occupancy.occupy(64));
+        assertFalse(occupancy.occupy(64));
+        assertTrue(occupancy.isOccupied(64));
+        assertFalse(occupancy.isOccupied(63));
+
+        assertTrue(occupancy.release(64));
+        assertFalse(occupancy.release(64));
+        assertFalse(occupancy.isOccupied(64));
+    }
+
+    @Test
+    @DisplayName("occupiedCount compte les sièges sur plusieurs mots")
+    void testOccupiedCount() {
+        BitSetOccupancy occupancy = new BitSetOccupancy(200);
+        occupancy.occupy(0);
+        occupancy.occupy(63);
+        occupancy.occupy(64);
+        occupancy.occupy(199);
+
+        assertEquals(4, occupancy.occupiedCount());
+        assertEquals(200, occupancy.capacity());
+    }
+
+    @Test
+    @DisplayName("Un index hors limites est refusé")
+    void testOutOfBounds() {
+        BitSetOccupancy occupancy = new BitSetOccupancy(10);
+
+        assertThrows(IndexOutOfBoundsException.class, () -> occupancy.occupy(10));
+        assertThrows(IndexOutOfBoundsException.class, () -> occupancy.isOccupied(-1));
+    }
+
+    @Test
+    @DisplayName("La séance lit le plan partagé et l'occupation du moteur")
+    void testSeanceUsesEngine() throws Exception {
+        Room room = new Room("Salle Test");
+        BitSetOccupancy occupancy = new BitSetOccupancy(50);
+        Seance seance = new Seance("10/12/2025", "20h00", "Test Movie", room, occupancy);
+
+        seance.reserve(new int[]{0, 0}, SeatType.DOUBLE);
+        seance.reserve(new int[]{0, 3}, SeatType.PMR);
+
+        assertTrue(occupancy.isOccupied(0));
+        assertTrue(occupancy.isOccupied(1));
+        assertTrue(occupancy.isOccupied(3));
+        assertEquals('O', seance.getSeatMap()[0][1]);
+        assertEquals(room.getSeatCount() - 3, seance.getFreeSeatCount());
+
+        seance.cancel(new int[]{0, 0}, SeatType.DOUBLE);
+        assertEquals('D', seance.getSeatMap()[0][0]);
+        assertEquals('x', seance.getSeatMap()[0][1]);
+    }
+}
@@ -0,0 +1,208 @@
+package com.cinema.occupancy;
+
+import com.cinema.enums.SeatType;
+import com.cinema.models.Cinema;
+import com.cinema.models.Person;
+import com.cinema.models.Reservation;
+import com.cinema.models.Room;
+import com.cinema.models.Seance;
+import com.cinema.persistence.CinemaSnapshot;
+import com.cinema.persistence.ReservationJournal;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Tests de la classe MappedOccupancy")
+public class MappedOccupancyTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    @DisplayName("L'occupation est relue depuis le fichier à la réouverture")
+    void testReopen() throws IOException {
+        Path file = dir.resolve("seance.occ");
+        try (MappedOccupancy occupancy = MappedOccupancy.open(file, 200)) {
+            assertTrue(occupancy.occupy(5));
+            assertTrue(occupancy.occupyPair(63));
+            assertFalse(occupancy.occupy(64));
+        }
+
+        try (MappedOccupancy occupancy = MappedOccupancy.open(file, 200)) {
+            assertTrue(occupancy.isOccupied(5));
+            assertTrue(occupancy.isOccupied(63));
+            assertTrue(occupancy.isOccupied(64));
+            assertEquals(3, occupancy.occupiedCount());
+            assertTrue(occupancy.releasePair(63));
+            assertEquals(1, occupancy.occupiedCount());
+        }
+    }
+
+    @Test
+    @DisplayName("Les sièges encore en attente sont libérés à la réouverture")
+    void testPendingReleasedOnReopen() throws IOException {
+        Path file = dir.resolve("seance.occ");
+        try (MappedOccupancy occupancy = MappedOccupancy.open(file, 200)) {
+            assertFalse(occupancy.isRecovered());
+            assertTrue(occupancy.occupy(5));
+            assertTrue(occupancy.occupy(70));
+            occupancy.setPending(70, true);
+            assertTrue(occupancy.occupy(71));
+            occupancy.setPending(71, true);
+            occupancy.setPending(71, false);
+        }
+
+        try (MappedOccupancy occupancy = MappedOccupancy.open(file, 200)) {
+            assertTrue(occupancy.isRecovered());
+            assertTrue(occupancy.isOccupied(5));
+            assertFalse(occupancy.isOccupied(70));
+            assertTrue(occupancy.isOccupied(71));
+            assertEquals(2, occupancy.occupiedCount());
+        }
+
+        try (MappedOccupancy occupancy = MappedOccupancy.create(file, 200)) {
+            assertFalse(occupancy.isRecovered());
+            assertEquals(0, occupancy.occupiedCount());
+        }
+    }
+
+    @Test
+    @DisplayName("Une séance du stockage reprend son fichier après un arrêt brutal")
+    void testStoreRecovery() throws Exception {
+        MappedOccupancyStore store = new MappedOccupancyStore(dir.resolve("occupation"));
+        Path snapshot = dir.resolve("cinemas.snapshot");
+        Path journalFile = dir.resolve("cinemas.journal");
+        Cinema cinema = new Cinema("Cinéma Test");
+        cinema.setOccupancyStore(store);
+        Room room = new Room("Salle 1");
+        cinema.addRoom(room);
+        Seance seance = new Seance("10/12/2025", "20h00", "Test Movie", room);
+        room.addSeance(seance);
+        assertTrue(Files.exists(store.fileOf(seance.getId())));
+        CinemaSnapshot.write(snapshot, List.of(cinema));
+
+        Reservation kept;
+        try (ReservationJournal journal = new ReservationJournal(journalFile, 4, 500)) {
+            journal.watch(cinema);
+            Person holder = new Person("Jean", "Dupont");
+            holder.assignSeat(0, 0);
+            kept = new Reservation(holder);
+            kept.addPersonToReservation(new Person("Marie", "Dupont"), new int[]{0, 3});
+            seance.reserveGroup(kept, List.of(SeatType.DOUBLE, SeatType.PMR));
+
+            Person other = new Person("Paul", "Martin");
+            other.assignSeat(2, 0);
+            Reservation cancelled = new Reservation(other);
+            seance.reserveGroup(cancelled, List.of(SeatType.NORMAL));
+            seance.cancelReservation(cancelled);
+
+            seance.hold(List.of(new int[]{3, 3}), List.of(SeatType.NORMAL), Instant.now().plusSeconds(60));
+        }
+
+        // Arrêt brutal : le fichier de la séance n'est pas fermé, le snapshot est celui d'avant
+        ArrayList<Cinema> reloaded = CinemaSnapshot.read(snapshot, new MappedOccupancyStore(store.getDirectory()));
+        Room reloadedRoom = reloaded.get(0).getRooms().get(0);
+        Seance recovered = reloadedRoom.getSeances().get(0);
+        assertTrue(recovered.isOccupancyRecovered());
+        assertEquals(3, recovered.getOccupiedSeatCount());
+        assertFalse(recovered.isSeatReserved(3, 3));
+        assertTrue(recovered.getReservations().isEmpty());
+
+        ReservationJournal.replay(journalFile, reloaded);
+        assertEquals(1, recovered.getReservations().size());
+        assertEquals(kept.getId(), recovered.findReservationBySeat(0, 3).getId());
+        assertNull(recovered.findReservationBySeat(2, 0));
+        assertEquals(3, recovered.getOccupiedSeatCount());
+
+        room.removeSeance(seance);
+        reloadedRoom.removeSeance(recovered);
+        assertFalse(Files.exists(store.fileOf(seance.getId())));
+    }
+
+    @Test
+    @DisplayName("Un fichier d'une autre capacité est refusé")
+    void testCapacityMismatch() throws IOException {
+        Path file = dir.resolve("seance.occ");
+        MappedOccupancy.open(file, 100).close();
+
+        assertThrows(IOException.class, () -> MappedOccupancy.open(file, 300));
+    }
+
+    @Test
+    @DisplayName("Une séance rouverte retrouve ses compteurs depuis le fichier")
+    void testSeanceRecovery() throws Exception {
+        Room room = new Room("Salle Test");
+        int capacity = room.getRowCount() * room.getColumnCount();
+        Path file = dir.resolve("seance.occ");
+
+        try (MappedOccupancy occupancy = MappedOccupancy.open(file, capacity)) {
+            Seance seance = new Seance("10/12/2025", "20h00", "Test Movie", room, occupancy);
+            seance.reserve(new int[]{0, 0}, SeatType.DOUBLE);
+            seance.reserve(new int[]{0, 3}, SeatType.PMR);
+        }
+
+        try (MappedOccupancy occupancy = MappedOccupancy.open(file, capacity)) {
+            Seance seance = new Seance("10/12/2025", "20h00", "Test Movie", room, occupancy);
+            assertEquals(3, seance.getOccupiedSeatCount());
+            assertEquals('O', seance.getSeatMap()[0][3]);
+            assertThrows(Seance.SeatReservationException.class,
+                    () -> seance.reserve(new int[]{0, 0}, SeatType.DOUBLE));
+        }
+    }
+
+    @Test
+    @DisplayName("Retirer la séance de sa salle ferme son fichier")
+    void testClosedWhenSeanceRemoved() throws Exception {
+        Room room = new Room("Salle Test");
+        MappedOccupancy occupancy = MappedOccupancy.open(dir.resolve("retiree.occ"),
+                room.getRowCount() * room.getColumnCount());
+        Seance seance = new Seance("10/12/2025", "20h00", "Test Movie", room, occupancy);
+        room.addSeance(seance);
+        seance.reserve(new int[]{2, 0}, SeatType.NORMAL);
+
+        room.removeSeance(seance);
+        assertFalse(occupancy.isOpen());
+        assertEquals(1, seance.getOccupiedSeatCount());
+    }
+
+    @Test
+    @DisplayName("Chaque siège n'est attribué qu'une fois sous concurrence")
+    void testConcurrentOccupy() throws Exception {
+        int capacity = 4096;
+        try (MappedOccupancy occupancy = MappedOccupancy.open(dir.resolve("seance.occ"), capacity)) {
+            ExecutorService pool = Executors.newFixedThreadPool(8);
+            List<Future<Integer>> results = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                results.add(pool.submit(() -> {
+                    int won = 0;
+                    for (int i = 0; i < capacity; i++) {
+                        if (occupancy.occupy(i)) {
+                            won++;
+                        }
+                    }
+                    return won;
+                }));
+            }
+            int total = 0;
+            for (Future<Integer> result : results) {
+                total += result.get();
+            }
+            pool.shutdown();
+            pool.awaitTermination(10, TimeUnit.SECONDS);
+
+            assertEquals(capacity, total);
+            assertEquals(capacity, occupancy.occupiedCount());
+        }
+    }
+}
@@ -0,0 +1,157 @@
+package com.cinema.persistence;
+
+import com.cinema.enums.SeatType;
+import com.cinema.models.Cinema;
+import com.cinema.models.Person;
+import com.cinema.models.Reservation;
+import com.cinema.models.Room;
+import com.cinema.models.Seance;
+import com.cinema.utils.RoomBuilder;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.io.TempDir;
+import java.io.BufferedWriter;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Tests de la classe BatchImporter")
+public class BatchImporterTest {
+
+    @TempDir
+    Path tempDir;
+
+    private Cinema cinema;
+
+    @BeforeEach
+    void setUp() {
+        cinema = new Cinema("Le Grand Rex");
+        cinema.addRoom(new Room("Salle 1"));
+        cinema.addRoom(new Room("Salle 2", RoomBuilder.createRectangular(4, 6)));
+    }
+
+    private Path write(String name, String... lines) throws Exception {
+        Path file = tempDir.resolve(name);
+        Files.write(file, List.of(lines), StandardCharsets.UTF_8);
+        return file;
+    }
+
+    @Test
+    @DisplayName("Les séances CSV valides sont créées, les autres signalées avec leur numéro de ligne")
+    void testImportSeancesCsv() throws Exception {
+        Path file = write("seances.csv",
+                "film,salle,date,heure",
+                "\"Amélie, le film\",Salle 1,10/12/2025,20h00",
+                "Dune,salle 2,10/12/2025,18h30",
+                "Dune,Salle 9,10/12/2025,18h30",
+                "Dune,Salle 2,demain,18h30",
+                "Dune,Salle 2,10/12/2025,18h30");
+
+        BatchImporter.Report report = new BatchImporter(cinema, ReservationExporter.Format.CSV).importSeances(file);
+
+        assertEquals(2, report.getApplied(), report.getErrors().toString());
+        assertEquals(3, report.getErrors().size());
+        assertEquals(4, report.getErrors().get(0).getLine());
+        assertTrue(report.getErrors().get(0).getMessage().contains("Salle inconnue"));
+        assertEquals(5, report.getErrors().get(1).getLine());
+        assertEquals(6, report.getErrors().get(2).getLine());
+        assertEquals(2, cinema.getTotalSeances());
+        assertEquals("Amélie, le film", cinema.getRoomByName("Salle 1").getSeances().get(0).getMovie());
+    }
+
+    @Test
+    @DisplayName("Les réservations exportées se réimportent dans une copie du programme")
+    void testRoundTripWithExporter() throws Exception {
+        Room room = cinema.getRoomByName("Salle 1");
+        Seance seance = new Seance("10/12/2025", "20h00", "Film", room);
+        room.addSeance(seance);
+        Person holder = new Person("Jean", "Valjean");
+        holder.assignSeat(0, 0);
+        Reservation group = new Reservation(holder);
+        group.addPersonToReservation(new Person("Cosette", "Fauchelevent"), new int[]{0, 3});
+        // Le séparateur des invités en CSV dans un nom
+        group.addPersonToReservation(new Person("Marius", "Pontmercy; \\Gillenormand"), new int[]{2, 0});
+        seance.reserveGroup(group, List.of(SeatType.DOUBLE, SeatType.PMR, SeatType.NORMAL));
+
+        for (ReservationExporter.Format format : ReservationExporter.Format.values()) {
+            Path file = tempDir.resolve("export-" + format);
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+                new ReservationExporter(channel, format).export(List.of(cinema));
+            }
+
+            Cinema copy = new Cinema("Copie");
+            Room copyRoom = new Room("Salle 1");
+            copy.addRoom(copyRoom);
+            Seance target = new Seance("10/12/2025", "20h00", "Film", copyRoom);
+            copyRoom.addSeance(target);
+
+            BatchImporter.Report report = new BatchImporter(copy, format).importReservations(file);
+            assertEquals(1, report.getApplied(), format + " : " + report.getErrors());
+            assertArrayEquals(seance.getSeatMap(), target.getSeatMap());
+            Reservation imported = target.findReservationBySeat(0, 3);
+            assertEquals("Cosette Fauchelevent", imported.getOthers().get(0).getFullName());
+            assertEquals("Marius Pontmercy; \\Gillenormand", imported.getOthers().get(1).getFullName());
+            assertNotEquals(group.getId(), imported.getId());
+        }
+    }
+
+    @Test
+    @DisplayName("Sièges absents du plan, en conflit ou en nombre incorrect sont refusés")
+    void testReservationErrors() throws Exception {
+        Room room = cinema.getRoomByName("Salle 2");
+        room.addSeance(new Seance("10/12/2025", "18h30", "Dune", room));
+        Path file = write("reservations.jsonl",
+                "{\"salle\":\"Salle 2\",\"film\":\"Dune\",\"date\":\"10/12/2025\",\"heure\":\"18h30\","
+                        + "\"titulaire\":\"Ana Lima\",\"invites\":[\"Rui Costa\"],\"sieges\":\"[1,1] [1,2]\"}",
+                "{\"salle\":\"Salle 2\",\"film\":\"Dune\",\"date\":\"10/12/2025\",\"heure\":\"18h30\","
+                        + "\"titulaire\":\"Eva Kim\",\"invites\":[],\"sieges\":\"[1,2]\"}",
+                "{\"salle\":\"Salle 2\",\"film\":\"Dune\",\"date\":\"10/12/2025\",\"heure\":\"18h30\","
+                        + "\"titulaire\":\"Eva Kim\",\"invites\":[],\"sieges\":\"[9,9]\"}",
+                "{\"salle\":\"Salle 2\",\"film\":\"Dune\",\"date\":\"10/12/2025\",\"heure\":\"18h30\","
+                        + "\"titulaire\":\"Eva Kim\",\"invites\":[\"Rui Costa\"],\"sieges\":\"[2,2]\"}",
+                "{\"salle\":\"Salle 2\",\"film\":\"Autre\",\"date\":\"10/12/2025\",\"heure\":\"18h30\"}",
+                "{pas du json");
+
+        BatchImporter.Report report = new BatchImporter(cinema, ReservationExporter.Format.JSON_LINES)
+                .importReservations(file);
+
+        assertEquals(1, report.getApplied(), report.getErrors().toString());
+        assertEquals(5, report.getErrors().size(), report.getErrors().toString());
+        assertEquals(2, report.getErrors().get(0).getLine());
+        assertTrue(report.getErrors().get(1).getMessage().contains("[9,9]"));
+        assertTrue(report.getErrors().get(2).getMessage().contains("un siège par personne"));
+        assertTrue(report.getErrors().get(3).getMessage().contains("Séance introuvable"));
+        assertTrue(report.getErrors().get(4).getMessage().contains("JSON invalide"));
+        assertEquals(2, cinema.getTotalOccupiedSeats());
+    }
+
+    @Test
+    @DisplayName("Le programme d'une chaîne s'importe en entier")
+    void testLargeSchedule() throws Exception {
+        Cinema chain = new Cinema("Chaîne");
+        for (int r = 0; r < 50; r++) {
+            chain.addRoom(new Room("Salle " + r, RoomBuilder.createArched(12, 20)));
+        }
+        Path file = tempDir.resolve("programme.csv");
+        int count = 20_000;
+        try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            writer.write("salle,date,heure,film\n");
+            for (int i = 0; i < count; i++) {
+                int slot = i / 50;
+                writer.write("Salle " + (i % 50) + "," + (1 + slot / 80 % 28) + "/" + (1 + slot / 2240 % 12) + "/2026,"
+                        + (10 + slot % 80 / 6) + "h" + (slot % 6) + "0,Film " + (i % 300) + "\n");
+            }
+        }
+
+        BatchImporter.Report report = new BatchImporter(chain, ReservationExporter.Format.CSV).importSeances(file);
+
+        assertEquals(count, report.getApplied(), String.valueOf(report.getErrors().isEmpty() ? "" : report.getErrors().get(0)));
+        assertEquals(count, chain.getTotalSeances());
+        assertEquals((count - 42 + 299) / 300, chain.searchByTitle("Film 42").size());
+    }
+}
@@ -0,0 +1,187 @@
+package com.cinema.persistence;
+
+import com.cinema.enums.SeatType;
+import com.cinema.ids.BlockIdAllocator;
+import com.cinema.interfaces.IdAllocator;
+import com.cinema.models.Cinema;
+import com.cinema.models.Person;
+import com.cinema.models.Reservation;
+import com.cinema.models.Room;
+import com.cinema.models.Seance;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.io.TempDir;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Tests de la classe CinemaSnapshot")
+public class CinemaSnapshotTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    @DisplayName("Un snapshot rechargé restaure salles, séances, plans et réservations")
+    void testRoundTrip() throws Exception {
+        Cinema cinema = new Cinema("Le Grand Rex");
+        Room room = new Room("Salle 1");
+        cinema.addRoom(room);
+        Seance seance = new Seance("10/12/2025", "20h00", "Les Misérables", room);
+        room.addSeance(seance);
+
+        Person holder = new Person("Jean", "Valjean");
+        holder.assignSeat(0, 0);
+        Reservation reservation = new Reservation(holder);
+        reservation.addPersonToReservation(new Person("Cosette", "Fauchelevent"), new int[]{0, 3});
+        seance.reserveGroup(reservation, List.of(SeatType.DOUBLE, SeatType.PMR));
+        seance.reserve(new int[]{4, 9}, SeatType.NORMAL);
+
+        Path file = tempDir.resolve("cinemas.snapshot");
+        CinemaSnapshot.write(file, List.of(cinema));
+        ArrayList<Cinema> loaded = CinemaSnapshot.read(file);
+
+        assertEquals(1, loaded.size());
+        Cinema reloaded = loaded.get(0);
+        assertEquals("Le Grand Rex", reloaded.getName());
+        assertEquals(1, reloaded.getTotalSeances());
+        assertEquals(1, reloaded.getTotalReservations());
+        assertEquals(4, reloaded.getTotalOccupiedSeats());
+
+        Seance reloadedSeance = reloaded.getRoomByName("Salle 1").getSeances().get(0);
+        assertEquals("Les Misérables", reloadedSeance.getMovie());
+        assertArrayEquals(seance.getSeatMap(), reloadedSeance.getSeatMap());
+
+        Reservation reloadedReservation = reloadedSeance.findReservationBySeat(0, 3);
+        assertNotNull(reloadedReservation);
+        assertEquals(reservation.getId(), reloadedReservation.getId());
+        assertEquals("Cosette Fauchelevent", reloadedReservation.getOthers().get(0).getFullName());
+
+        reloadedSeance.cancelReservation(reloadedReservation);
+        assertEquals('D', reloadedSeance.getSeatMap()[0][0]);
+        assertEquals('P', reloadedSeance.getSeatMap()[0][3]);
+    }
+
+    @Test
+    @DisplayName("Une séance créée avant un changement de plan le garde au rechargement")
+    void testSeanceKeepsItsLayout() throws Exception {
+        Cinema cinema = new Cinema("Cinéma");
+        Room room = new Room("Salle");
+        cinema.addRoom(room);
+        Seance before = new Seance("10/12/2025", "20h00", "Film", room);
+        room.addSeance(before);
+        before.reserve(new int[]{2, 3}, SeatType.NORMAL);
+        room.setSeatType(2, 3, 'X');
+        room.setSeatType(2, 4, 'X');
+        Seance after = new Seance("10/12/2025", "22h00", "Film", room);
+        room.addSeance(after);
+        assertEquals(before.getLayout().getSeatCount() - 1, before.getFreeSeatCount());
+        assertEquals(before.getLayout().getSeatCount() - 2, after.getFreeSeatCount());
+
+        Path file = tempDir.resolve("plans.snapshot");
+        CinemaSnapshot.write(file, List.of(cinema));
+        Room reloaded = CinemaSnapshot.read(file).get(0).getRoomByName("Salle");
+
+        Seance reloadedBefore = reloaded.getSeances().get(0);
+        Seance reloadedAfter = reloaded.getSeances().get(1);
+        assertEquals(before.getLayout(), reloadedBefore.getLayout());
+        assertEquals(room.getLayout(), reloadedAfter.getLayout());
+        assertSame(reloaded.getLayout(), reloadedAfter.getLayout());
+        assertEquals(before.getFreeSeatCount(), reloadedBefore.getFreeSeatCount());
+        assertEquals(after.getFreeSeatCount(), reloadedAfter.getFreeSeatCount());
+        assertArrayEquals(before.getSeatMap(), reloadedBefore.getSeatMap());
+        assertTrue(reloadedBefore.isSeatReserved(2, 3));
+    }
+
+    @Test
+    @DisplayName("Un plan partagé par deux salles ne décale pas les plans écrits ensuite")
+    void testSharedRoomLayout() throws Exception {
+        Cinema cinema = new Cinema("Cinéma");
+        cinema.addRoom(new Room("Salle 1"));
+        cinema.addRoom(new Room("Salle 2"));
+        Room small = new Room("Salle 3", new char[][]{"000".toCharArray(), "000".toCharArray()});
+        cinema.addRoom(small);
+        Seance seance = new Seance("10/12/2025", "20h00", "Film", small);
+        small.addSeance(seance);
+        seance.reserve(new int[]{1, 2}, SeatType.NORMAL);
+        assertSame(cinema.getRoomByName("Salle 1").getLayout(), cinema.getRoomByName("Salle 2").getLayout());
+
+        Path file = tempDir.resolve("partage.snapshot");
+        CinemaSnapshot.write(file, List.of(cinema));
+        Cinema reloaded = CinemaSnapshot.read(file).get(0);
+
+        Seance reloadedSeance = reloaded.getRoomByName("Salle 3").getSeances().get(0);
+        assertEquals(small.getLayout(), reloadedSeance.getLayout());
+        assertEquals(2, reloadedSeance.getLayout().getRowCount());
+        assertTrue(reloadedSeance.isSeatReserved(1, 2));
+        assertEquals(1, reloadedSeance.getOccupiedSeatCount());
+        assertEquals(5, reloadedSeance.getFreeSeatCount());
+        assertArrayEquals(seance.getSeatMap(), reloadedSeance.getSeatMap());
+        assertEquals(reloaded.getRoomByName("Salle 1").getLayout(), reloaded.getRoomByName("Salle 2").getLayout());
+    }
+
+    @Test
+    @DisplayName("Les identifiants distribués après rechargement ne réutilisent pas ceux du snapshot")
+    void testNextIdRestored() throws Exception {
+        Cinema cinema = new Cinema("Cinéma");
+        Room room = new Room("Salle");
+        cinema.addRoom(room);
+        Seance seance = new Seance("10/12/2025", "20h00", "Film", room);
+        room.addSeance(seance);
+        Reservation reservation = new Reservation(new Person("Jean", "Dupont"));
+        seance.addReservation(reservation);
+        for (int i = 0; i < 5; i++) {
+            new Reservation(new Person("Sans", "Séance"));
+        }
+
+        Path file = tempDir.resolve("ids.snapshot");
+        CinemaSnapshot.write(file, List.of(cinema));
+        long highWaterMark = Reservation.getIdAllocator().highWaterMark();
+
+        // Redémarrage simulé : un allocateur neuf repartirait de 1
+        IdAllocator previous = Reservation.getIdAllocator();
+        Reservation.setIdAllocator(new BlockIdAllocator());
+        try {
+            CinemaSnapshot.read(file);
+            assertTrue(new Reservation(new Person("Nouveau", "Client")).getId() >= highWaterMark);
+        } finally {
+            Reservation.setIdAllocator(previous);
+        }
+    }
+
+    @Test
+    @DisplayName("Un snapshot de version 1 (identifiants int) reste lisible")
+    void testReadVersion1() throws Exception {
+        ByteBuffer v1 = ByteBuffer.allocate(64);
+        v1.putInt(CinemaSnapshot.MAGIC).putInt(1).putInt(42).putInt(1);
+        byte[] name = "Ancien".getBytes(StandardCharsets.UTF_8);
+        v1.putInt(-1).putInt(name.length).put(name).putInt(0);
+        Path file = tempDir.resolve("v1.snapshot");
+        Files.write(file, Arrays.copyOf(v1.array(), v1.position()));
+
+        IdAllocator previous = Reservation.getIdAllocator();
+        Reservation.setIdAllocator(new BlockIdAllocator());
+        try {
+            ArrayList<Cinema> loaded = CinemaSnapshot.read(file);
+            assertEquals("Ancien", loaded.get(0).getName());
+            assertEquals(42, new Reservation(new Person("Nouveau", "Client")).getId());
+        } finally {
+            Reservation.setIdAllocator(previous);
+        }
+    }
+
+    @Test
+    @DisplayName("Un fichier qui n'est pas un snapshot est refusé")
+    void testInvalidFile() throws Exception {
+        Path file = tempDir.resolve("invalide.snapshot");
+        Files.write(file, new byte[]{1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 13, 14, 15, 16});
+
+        assertThrows(IOException.class, () -> CinemaSnapshot.read(file));
+    }
+}
@@ -0,0 +1,83 @@
+package com.cinema.persistence;
+
+import com.cinema.enums.SeatType;
+import com.cinema.models.Cinema;
+import com.cinema.models.Person;
+import com.cinema.models.Reservation;
+import com.cinema.models.Room;
+import com.cinema.models.Seance;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import java.io.ByteArrayOutputStream;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Tests de la classe ReservationExporter")
+public class ReservationExporterTest {
+    private Cinema cinema;
+    private Reservation group;
+    private Reservation single;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        cinema = new Cinema("Le \"Grand\" Rex");
+        Room room = new Room("Salle 1");
+        cinema.addRoom(room);
+        Seance seance = new Seance("10/12/2025", "20h00", "Amélie, le film", room);
+        room.addSeance(seance);
+
+        Person holder = new Person("Jean", "Valjean");
+        holder.assignSeat(0, 3);
+        group = new Reservation(holder);
+        group.addPersonToReservation(new Person("Cosette", "Fauchelevent"), new int[]{0, 4});
+        seance.reserveGroup(group, List.of(SeatType.PMR, SeatType.PMR));
+
+        Person alone = new Person("Zoë", "O\"Hara");
+        alone.assignSeat(4, 9);
+        single = new Reservation(alone);
+        seance.reserveGroup(single, List.of(SeatType.NORMAL));
+    }
+
+    private String export(ReservationExporter.Format format) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        long count = new ReservationExporter(Channels.newChannel(out), format).export(List.of(cinema));
+        assertEquals(2, count);
+        return out.toString(StandardCharsets.UTF_8);
+    }
+
+    @Test
+    @DisplayName("L'export CSV écrit l'en-tête et met entre guillemets les champs à séparateurs")
+    void testCsv() throws Exception {
+        String[] lines = export(ReservationExporter.Format.CSV).split("\n");
+
+        assertEquals(3, lines.length);
+        assertEquals("id,cinema,salle,film,date,heure,personnes,titulaire,invites,sieges", lines[0]);
+        assertEquals(group.getId() + ",\"Le \"\"Grand\"\" Rex\",Salle 1,\"Amélie, le film\",10/12/2025,20h00,2,"
+                + "\"Jean Valjean\",\"Cosette Fauchelevent\",\"[0,3] [0,4]\"", lines[1]);
+        assertEquals(single.getId() + ",\"Le \"\"Grand\"\" Rex\",Salle 1,\"Amélie, le film\",10/12/2025,20h00,1,"
+                + "\"Zoë O\"\"Hara\",\"\",\"[4,9]\"", lines[2]);
+    }
+
+    @Test
+    @DisplayName("L'export JSON Lines écrit un objet échappé par réservation")
+    void testJsonLines() throws Exception {
+        String[] lines = export(ReservationExporter.Format.JSON_LINES).split("\n");
+
+        assertEquals(2, lines.length);
+        assertEquals("{\"id\":" + group.getId() + ",\"cinema\":\"Le \\\"Grand\\\" Rex\",\"salle\":\"Salle 1\","
+                + "\"film\":\"Amélie, le film\",\"date\":\"10/12/2025\",\"heure\":\"20h00\",\"personnes\":2,"
+                + "\"titulaire\":\"Jean Valjean\",\"invites\":[\"Cosette Fauchelevent\"],\"sieges\":\"[0,3] [0,4]\"}",
+                lines[0]);
+        assertTrue(lines[1].contains("\"titulaire\":\"Zoë O\\\"Hara\",\"invites\":[]"));
+    }
+
+    @Test
+    @DisplayName("Un canal null est refusé")
+    void testNullChannel() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new ReservationExporter(null, ReservationExporter.Format.CSV));
+    }
+}
@@ -0,0 +1,160 @@
+package com.cinema.persistence;
+
+import com.cinema.enums.SeatType;
+import com.cinema.models.Cinema;
+import com.cinema.models.Person;
+import com.cinema.models.Reservation;
+import com.cinema.models.Room;
+import com.cinema.models.Seance;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.io.TempDir;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Tests de la classe ReservationJournal")
+public class ReservationJournalTest {
+
+    @TempDir
+    Path tempDir;
+
+    private Cinema createCinema(char[][] layout) {
+        Cinema cinema = new Cinema("Cinéma Test");
+        Room room = layout == null ? new Room("Salle 1") : new Room("Salle 1", layout);
+        cinema.addRoom(room);
+        room.addSeance(new Seance("10/12/2025", "20h00", "Film", room));
+        return cinema;
+    }
+
+    private Seance seanceOf(Cinema cinema) {
+        return cinema.getRooms().get(0).getSeances().get(0);
+    }
+
+    @Test
+    @DisplayName("Le rejeu reconstruit exactement le plan et les réservations")
+    void testReplayRebuildsState() throws Exception {
+        Path snapshot = tempDir.resolve("cinemas.snapshot");
+        Path journalFile = tempDir.resolve("cinemas.journal");
+        Cinema cinema = createCinema(null);
+        CinemaSnapshot.write(snapshot, List.of(cinema));
+
+        Seance seance = seanceOf(cinema);
+        try (ReservationJournal journal = new ReservationJournal(journalFile, 4, 500)) {
+            journal.watch(cinema);
+
+            Person holder = new Person("Jean", "Dupont");
+            holder.assignSeat(0, 0);
+            Reservation kept = new Reservation(holder);
+            kept.addPersonToReservation(new Person("Marie", "Dupont"), new int[]{0, 3});
+            seance.reserveGroup(kept, List.of(SeatType.DOUBLE, SeatType.PMR));
+
+            Person other = new Person("Paul", "Martin");
+            other.assignSeat(2, 0);
+            Reservation cancelled = new Reservation(other);
+            seance.reserveGroup(cancelled, List.of(SeatType.NORMAL));
+            seance.cancelReservation(cancelled);
+
+            seance.reserve(new int[]{4, 9}, SeatType.NORMAL);
+            seance.reserve(new int[]{4, 8}, SeatType.NORMAL);
+            seance.cancel(new int[]{4, 8}, SeatType.NORMAL);
+        }
+
+        ArrayList<Cinema> reloaded = CinemaSnapshot.read(snapshot);
+        int applied = ReservationJournal.replay(journalFile, reloaded);
+        Seance replayed = seanceOf(reloaded.get(0));
+
+        assertTrue(applied > 0);
+        assertArrayEquals(seance.getSeatMap(), replayed.getSeatMap());
+        assertEquals(seance.getReservationCount(), replayed.getReservationCount());
+        assertEquals(4, replayed.getOccupiedSeatCount());
+        assertNotNull(replayed.findReservationBySeat(0, 3));
+        assertNull(replayed.findReservationBySeat(2, 0));
+    }
+
+    @Test
+    @DisplayName("Un enregistrement tronqué en fin de journal est ignoré")
+    void testTornTailIgnored() throws Exception {
+        Path snapshot = tempDir.resolve("torn.snapshot");
+        Path journalFile = tempDir.resolve("torn.journal");
+        Cinema cinema = createCinema(null);
+        CinemaSnapshot.write(snapshot, List.of(cinema));
+        try (ReservationJournal journal = new ReservationJournal(journalFile, 1, 0)) {
+            journal.watch(cinema);
+            seanceOf(cinema).reserve(new int[]{2, 0}, SeatType.NORMAL);
+            seanceOf(cinema).reserve(new int[]{2, 1}, SeatType.NORMAL);
+        }
+        try (FileChannel channel = FileChannel.open(journalFile, StandardOpenOption.WRITE)) {
+            channel.truncate(channel.size() - 3);
+            channel.write(ByteBuffer.wrap(new byte[]{0, 0, 0, 40, 1, 2}), channel.size());
+        }
+
+        Cinema fresh = CinemaSnapshot.read(snapshot).get(0);
+        assertEquals(1, ReservationJournal.replay(journalFile, List.of(fresh)));
+        assertEquals('O', seanceOf(fresh).getSeatMap()[2][0]);
+        assertEquals('0', seanceOf(fresh).getSeatMap()[2][1]);
+
+        try (ReservationJournal reopened = new ReservationJournal(journalFile)) {
+            reopened.watch(fresh);
+            seanceOf(fresh).reserve(new int[]{3, 0}, SeatType.NORMAL);
+        }
+        Cinema again = CinemaSnapshot.read(snapshot).get(0);
+        assertEquals(2, ReservationJournal.replay(journalFile, List.of(again)));
+    }
+
+    @Test
+    @DisplayName("Le rejeu retrouve les séances par identifiant, même renommées ou identiques")
+    void testReplayBySeanceId() throws Exception {
+        Path snapshot = tempDir.resolve("ids.snapshot");
+        Path journalFile = tempDir.resolve("ids.journal");
+        Cinema cinema = createCinema(null);
+        Room room = cinema.getRooms().get(0);
+        Seance twin = new Seance("10/12/2025", "20h00", "Film", room);
+        room.addSeance(twin);
+        CinemaSnapshot.write(snapshot, List.of(cinema));
+
+        try (ReservationJournal journal = new ReservationJournal(journalFile)) {
+            journal.watch(cinema);
+            cinema.rename("Cinéma Renommé");
+            twin.reserve(new int[]{2, 0}, SeatType.NORMAL);
+        }
+
+        ArrayList<Cinema> reloaded = CinemaSnapshot.read(snapshot);
+        reloaded.get(0).rename("Autre Nom");
+        assertEquals(1, ReservationJournal.replay(journalFile, reloaded));
+        List<Seance> seances = reloaded.get(0).getRooms().get(0).getSeances();
+        assertEquals(twin.getId(), seances.get(1).getId());
+        assertEquals(0, seances.get(0).getOccupiedSeatCount());
+        assertEquals(1, seances.get(1).getOccupiedSeatCount());
+    }
+
+    @Test
+    @DisplayName("Un changement qui ne peut pas être journalisé est défait")
+    void testFailedAppendRollsBack() throws Exception {
+        Path journalFile = tempDir.resolve("failed.journal");
+        Cinema cinema = createCinema(null);
+        Seance seance = seanceOf(cinema);
+        ReservationJournal journal = new ReservationJournal(journalFile, 1, 0);
+        journal.watch(cinema);
+        seance.reserve(new int[]{3, 0}, SeatType.NORMAL);
+        journal.close();
+
+        assertThrows(UncheckedIOException.class, () -> seance.reserve(new int[]{2, 0}, SeatType.NORMAL));
+        Person holder = new Person("Jean", "Dupont");
+        holder.assignSeat(2, 1);
+        Reservation reservation = new Reservation(holder);
+        assertThrows(UncheckedIOException.class, () -> seance.reserveGroup(reservation, List.of(SeatType.NORMAL)));
+        assertThrows(UncheckedIOException.class, () -> seance.cancel(new int[]{3, 0}, SeatType.NORMAL));
+
+        assertEquals(1, seance.getOccupiedSeatCount());
+        assertEquals(0, seance.getReservationCount());
+        assertTrue(seance.isSeatReserved(3, 0));
+        assertFalse(seance.isSeatReserved(2, 0));
+        assertFalse(seance.isSeatReserved(2, 1));
+    }
+}
@@ -0,0 +1,183 @@
+package com.cinema.waitlist;
+
+import com.cinema.enums.SeatType;
+import com.cinema.holds.SeatHolds;
+import com.cinema.holds.TimerWheel;
+import com.cinema.models.Person;
+import com.cinema.models.Reservation;
+import com.cinema.models.Room;
+import com.cinema.models.Seance;
+import com.cinema.models.SeatHold;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Tests de la liste d'attente")
+public class WaitlistTest {
+
+    private SeatHolds holds;
+    private Seance seance;
+    private Waitlist waitlist;
+    private List<WaitlistEntry> offered;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        holds = new SeatHolds(TimerWheel.start(Duration.ofMillis(10), 64), Clock.systemUTC());
+        Room room = new Room("Salle 1", new char[][]{
+                "0000".toCharArray(),
+                "0000".toCharArray(),
+                "0000".toCharArray()
+        });
+        seance = new Seance("10/12/2025", "20h00", "Complet", room);
+        room.addSeance(seance);
+        offered = Collections.synchronizedList(new ArrayList<>());
+        useWaitlist(Duration.ofMinutes(1));
+    }
+
+    private void useWaitlist(Duration offerTtl) {
+        if (waitlist != null) {
+            waitlist.close();
+        }
+        waitlist = Waitlist.attach(seance, holds, offerTtl);
+        waitlist.setListener((entry, hold) -> offered.add(entry));
+    }
+
+    @AfterEach
+    void tearDown() {
+        waitlist.close();
+        holds.close();
+    }
+
+    private Reservation book(int row, int firstCol, int count) throws Exception {
+        Person holder = new Person("Client", row + "-" + firstCol);
+        holder.assignSeat(row, firstCol);
+        Reservation reservation = new Reservation(holder);
+        List<SeatType> types = new ArrayList<>();
+        types.add(SeatType.NORMAL);
+        for (int i = 1; i < count; i++) {
+            reservation.addPersonToReservation(new Person("Invité", String.valueOf(i)), new int[]{row, firstCol + i});
+            types.add(SeatType.NORMAL);
+        }
+        seance.reserveGroup(reservation, types);
+        return reservation;
+    }
+
+    private WaitlistEntry join(String name, int size, int loyalty) {
+        return waitlist.join(new Person(name, "Attente"), size, SeatType.NORMAL, loyalty);
+    }
+
+    @Test
+    @DisplayName("Les places libérées vont au groupe prioritaire qui y tient")
+    void testPriority() throws Exception {
+        Reservation pair = book(0, 0, 2);
+        book(0, 2, 2);
+        book(1, 0, 1);
+        Reservation trio = book(1, 1, 3);
+        book(2, 0, 4);
+        WaitlistEntry couple = join("Couple", 2, 0);
+        WaitlistEntry loyal = join("Fidèle", 1, 5);
+        WaitlistEntry family = join("Famille", 3, 0);
+        WaitlistEntry late = join("Retard", 2, 0);
+
+        assertEquals(List.of(loyal, family, couple, late), waitlist.getWaiting());
+
+        seance.cancelReservation(pair);
+        // Le client fidèle passe d'abord ; la place restante ne suffit à aucun autre groupe
+        assertEquals(List.of(loyal), offered);
+        assertEquals(WaitlistEntry.State.OFFERED, loyal.getState());
+        assertEquals(1, loyal.getOffer().getSeats().size());
+
+        seance.cancelReservation(trio);
+        // À fidélité égale, le plus grand groupe passe avant le premier arrivé
+        assertEquals(List.of(loyal, family), offered);
+        assertEquals(List.of(couple, late), waitlist.getWaiting());
+        SeatHold offer = family.getOffer();
+        Person contact = family.getContact();
+        List<int[]> seats = offer.getSeats();
+        contact.assignSeat(seats.get(0)[0], seats.get(0)[1]);
+        Reservation confirmed = new Reservation(contact);
+        for (int i = 1; i < seats.size(); i++) {
+            confirmed.addPersonToReservation(new Person("Invité", String.valueOf(i)), seats.get(i));
+        }
+        offer.promote(confirmed);
+        assertSame(confirmed, seance.findReservationBySeat(1, 2));
+        assertEquals(WaitlistEntry.State.BOOKED, family.getState());
+        assertNull(waitlist.find(family.getId()));
+        assertFalse(waitlist.leave(family));
+    }
+
+    @Test
+    @DisplayName("Seules les rangées libérées sont examinées")
+    void testIncrementalRows() throws Exception {
+        book(0, 0, 4);
+        Reservation middle = book(1, 0, 2);
+        book(1, 2, 2);
+        book(2, 0, 4);
+        WaitlistEntry couple = join("Couple", 2, 0);
+        assertEquals(WaitlistEntry.State.WAITING, couple.getState());
+        assertEquals(0, waitlist.match());
+
+        seance.cancelReservation(middle);
+
+        assertEquals(List.of(couple), offered);
+        assertEquals(1, couple.getOffer().getSeats().get(0)[0]);
+    }
+
+    @Test
+    @DisplayName("Un groupe reçoit dès son inscription les places déjà libres")
+    void testJoinMatchesFreeSeats() throws Exception {
+        book(0, 0, 4);
+        book(1, 0, 3);
+        WaitlistEntry single = join("Seul", 1, 0);
+        assertEquals(List.of(single), offered);
+        assertEquals(WaitlistEntry.State.OFFERED, single.getState());
+        assertEquals(1, single.getOffer().getSeats().get(0)[0]);
+
+        WaitlistEntry trio = join("Trio", 3, 0);
+        assertEquals(List.of(single, trio), offered);
+        assertEquals(2, trio.getOffer().getSeats().get(0)[0]);
+
+        WaitlistEntry pair = join("Paire", 2, 0);
+        assertEquals(WaitlistEntry.State.WAITING, pair.getState());
+        assertEquals(List.of(pair), waitlist.getWaiting());
+    }
+
+    @Test
+    @DisplayName("Une offre expirée ou abandonnée passe au groupe suivant")
+    void testExpiredOfferMovesOn() throws Exception {
+        useWaitlist(Duration.ofMillis(100));
+        Reservation pair = book(0, 0, 2);
+        book(0, 2, 2);
+        book(1, 0, 4);
+        book(2, 0, 4);
+        WaitlistEntry first = join("Premier", 2, 0);
+        WaitlistEntry second = join("Second", 2, 0);
+        WaitlistEntry third = join("Troisième", 2, 0);
+
+        seance.cancelReservation(pair);
+        assertEquals(List.of(first), offered);
+
+        long deadline = System.nanoTime() + 2_000_000_000L;
+        while (offered.size() < 2 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(SeatHold.State.EXPIRED, first.getOffer().getState());
+        assertEquals(WaitlistEntry.State.EXPIRED, first.getState());
+        assertSame(first, waitlist.find(first.getId()));
+        assertEquals(List.of(first, second), offered);
+
+        assertTrue(waitlist.leave(second));
+        assertEquals(SeatHold.State.RELEASED, second.getOffer().getState());
+        assertEquals(List.of(first, second, third), offered);
+        assertEquals(0, waitlist.size());
+        assertFalse(waitlist.leave(second));
+        assertNull(waitlist.find(second.getId()));
+    }
+}